@@ -42,6 +42,51 @@ public final class Common {
 		return (fieldNumber << TAG_TYPE_BITS) | wireType;
 	}
 
+	/**
+	 * Check if a field is parsed lazily. That is a plain sub-message field of a message with the
+	 * "pbj.lazy_sub_messages" option, repeated, oneof and optional value type fields are always parsed eagerly.
+	 *
+	 * @param field the field to check
+	 * @param lazySubMessages true if the message the field belongs to has the "pbj.lazy_sub_messages" option
+	 * @return true if the model object holds the field in a LazyMessage
+	 */
+	public static boolean isLazyField(final Field field, final boolean lazySubMessages) {
+		return lazySubMessages && field.type() == Field.FieldType.MESSAGE && !field.repeated()
+				&& !field.optionalValueType() && field.parent() == null;
+	}
+
+	/**
+	 * Get the name of the hidden record component holding a lazily parsed field, '$' makes sure it can not clash with
+	 * a field name.
+	 *
+	 * @param field the lazily parsed field
+	 * @return the record component name
+	 */
+	public static String lazyComponentName(final Field field) {
+		return "$" + field.nameCamelFirstLower();
+	}
+
+	/**
+	 * Get the runtime primitive list class used to parse a repeated scalar field without boxing its values
+	 *
+	 * @param field the field
+	 * @return "IntList", "LongList", "FloatList", "DoubleList" or "BooleanList", or null if the field is not a repeated
+	 *         numeric or bool field
+	 */
+	public static String primitiveListType(final Field field) {
+		if (!field.repeated() || field.optionalValueType()) {
+			return null;
+		}
+		return switch (field.type()) {
+			case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> "IntList";
+			case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "LongList";
+			case FLOAT -> "FloatList";
+			case DOUBLE -> "DoubleList";
+			case BOOL -> "BooleanList";
+			default -> null;
+		};
+	}
+
 	/**
 	 * Make sure first character of a string is upper case
 	 *
@@ -339,6 +384,127 @@ public final class Common {
 		return generatedCodeSoFar;
 	}
 
+	/**
+	 * Generate the statements that mix the fields of a message into a content hash, held in a local long named
+	 * "hash$". A field is only mixed in when it would be written, along with its field number, so the content hash of
+	 * objects that are equal is always the same. Values are hashed by content that is the same in every JVM: enums by
+	 * their protobuf ordinal, strings by their UTF-8 encoding, bytes by {@code hashCode64()} and sub-messages by their
+	 * own content hash. Lazily parsed sub-messages are parsed for their content hash, as different encodings of the same
+	 * sub-message are equal.
+	 *
+	 * @param fields the fields of the message
+	 * @param lazySubMessages true if the message has the "pbj.lazy_sub_messages" option
+	 * @return the generated statements
+	 */
+	public static String getFieldsContentHash(final List<Field> fields, final boolean lazySubMessages) {
+		String generatedCode = "";
+		for (final Field f : fields) {
+			final String fieldName = f.nameCamelFirstLower();
+			final String code;
+			if (isLazyField(f, lazySubMessages)) {
+				code = """
+						if ($fieldName != null) {
+						    hash$ = ContentHash.mix(ContentHash.mix(hash$, $fieldNumber), $fieldName.get().contentHash64());
+						}
+						""";
+			} else if (f instanceof final OneOfField oneOfField) {
+				code = """
+						switch ($fieldName.kind()) {
+						$cases
+						    default -> {}
+						}
+						""".replace("$cases", oneOfField.fields().stream().map(subField -> """
+						case $kind -> {
+						    final $javaFieldType value$ = $fieldName.as();
+						    hash$ = ContentHash.mix(ContentHash.mix(hash$, $subFieldNumber), $value);
+						}"""
+								.replace("$kind", camelToUpperSnake(subField.name()))
+								.replace("$javaFieldType", javaPrimitiveToObjectType(subField.javaFieldType()))
+								.replace("$subFieldNumber", Integer.toString(subField.fieldNumber()))
+								.replace("$value", getContentHashValue(subField, "value$")))
+						.collect(Collectors.joining("\n")).indent(DEFAULT_INDENT).stripTrailing());
+			} else if (f instanceof final MapField mapField) {
+				code = """
+						if (!$fieldName.isEmpty()) {
+						    hash$ = ContentHash.mix(hash$, $fieldNumber);
+						    final PbjMap<$keyType, $valueType> map$ = (PbjMap<$keyType, $valueType>) $fieldName;
+						    for (int i$ = 0; i$ < map$.size(); i$++) {
+						        hash$ = ContentHash.mix(hash$, $key);
+						        hash$ = ContentHash.mix(hash$, $value);
+						    }
+						    hash$ = ContentHash.mix(hash$, map$.size());
+						}
+						"""
+						.replace("$keyType", mapField.javaKeyType())
+						.replace("$valueType", mapField.javaValueType())
+						.replace("$key", getContentHashValue(mapField.keyField(), "map$.keyAt(i$)"))
+						.replace("$value", getContentHashValue(mapField.valueField(), "map$.valueAt(i$)"));
+			} else if (f.repeated()) {
+				code = """
+						if ($fieldName != null && !$fieldName.isEmpty()) {
+						    hash$ = ContentHash.mix(hash$, $fieldNumber);
+						    for (final var item$ : $fieldName) {
+						        hash$ = ContentHash.mix(hash$, $value);
+						    }
+						    hash$ = ContentHash.mix(hash$, $fieldName.size());
+						}
+						""".replace("$value", getContentHashValue(f, "item$"));
+			} else {
+				final String isSet = f.optionalValueType() ? "$fieldName != null" : switch (f.type()) {
+					case BOOL -> "$fieldName";
+					case STRING -> "$fieldName != null && !$fieldName.isEmpty()";
+					case BYTES -> "$fieldName != null && $fieldName.length() > 0";
+					case ENUM -> "$fieldName != null && $fieldName.protoOrdinal() != 0";
+					case MESSAGE -> "$fieldName != null";
+					default -> "$fieldName != 0";
+				};
+				code = """
+						if ($isSet) {
+						    hash$ = ContentHash.mix(ContentHash.mix(hash$, $fieldNumber), $value);
+						}
+						"""
+						.replace("$isSet", isSet)
+						.replace("$value", getContentHashValue(f, fieldName));
+			}
+			generatedCode += code
+					.replace("$fieldNumber", Integer.toString(f.fieldNumber()))
+					.replace("$fieldName", isLazyField(f, lazySubMessages) ? lazyComponentName(f) : fieldName);
+		}
+		return generatedCode;
+	}
+
+	/**
+	 * Get the code for the long value mixed into a content hash for a single value of a field. For repeated and map
+	 * fields that is one item, key or value.
+	 *
+	 * @param f the field
+	 * @param value the code for the value, which is never null
+	 * @return the code for the long to mix into the hash
+	 */
+	private static String getContentHashValue(final Field f, final String value) {
+		final Field.FieldType type = !f.optionalValueType() ? f.type() : switch (f.messageType()) {
+			case "StringValue" -> Field.FieldType.STRING;
+			case "BoolValue" -> Field.FieldType.BOOL;
+			case "Int32Value", "UInt32Value" -> Field.FieldType.INT32;
+			case "Int64Value", "UInt64Value" -> Field.FieldType.INT64;
+			case "FloatValue" -> Field.FieldType.FLOAT;
+			case "DoubleValue" -> Field.FieldType.DOUBLE;
+			case "BytesValue" -> Field.FieldType.BYTES;
+			default -> throw new UnsupportedOperationException("Unhandled optional message type:" + f.messageType());
+		};
+		return switch (type) {
+			case BOOL -> "(" + value + " ? 1 : 0)";
+			case FLOAT -> "Float.floatToIntBits(" + value + ")";
+			case DOUBLE -> "Double.doubleToLongBits(" + value + ")";
+			case STRING -> "ContentHash.hash(" + value + ")";
+			case BYTES -> value + ".hashCode64()";
+			case ENUM -> value + ".protoOrdinal()";
+			case MESSAGE -> value + ".contentHash64()";
+			case INT32, UINT32, SINT32, FIXED32, SFIXED32, INT64, UINT64, SINT64, FIXED64, SFIXED64 -> value;
+			default -> throw new RuntimeException("Unexpected field type for getting content hash - " + type);
+		};
+	}
+
 	/**
 	 * Recursively calculates the hashcode for a message fields.
 	 *
@@ -92,6 +92,17 @@ public class ContextualLookupHelper {
         return lookupHelper.getPackage(srcProtoFileContext, fileType, fieldContext.type_().messageType());
     }
 
+    /**
+     * Get the PBJ Java package a class should be generated into for the value type of a given map field and file type.
+     *
+     * @param fileType The type of file we want the package for
+     * @param mapContext The map field to get package for value message type for
+     * @return java package to put model class in
+     */
+    public String getPackageMapFieldMessageType(final FileType fileType, final MapFieldContext mapContext) {
+        return lookupHelper.getPackage(srcProtoFileContext, fileType, mapContext.type_().messageType());
+    }
+
     /**
      * Check if the given messageType is a known enum
      *
@@ -101,4 +112,34 @@ public class ContextualLookupHelper {
     public boolean isEnum(MessageTypeContext messageType) {
         return lookupHelper.isEnum(srcProtoFileContext, messageType);
     }
+
+    /**
+     * Check if the given message has the option set to cache the hash code of its model objects
+     *
+     * @param message The msgDef to check
+     * @return true if generated model objects should compute their hash code once and cache it
+     */
+    public boolean isHashCodeCached(MessageDefContext message) {
+        return lookupHelper.isHashCodeCached(message);
+    }
+
+    /**
+     * Check if the given message has the option set to cache the content hash of its model objects
+     *
+     * @param message The msgDef to check
+     * @return true if generated model objects should compute their content hash once and cache it
+     */
+    public boolean isContentHashCached(MessageDefContext message) {
+        return lookupHelper.isContentHashCached(message);
+    }
+
+    /**
+     * Check if the given message has the option set to parse its sub-message fields lazily
+     *
+     * @param message The msgDef to check
+     * @return true if sub-message fields of generated model objects are kept as bytes until first accessed
+     */
+    public boolean isLazySubMessages(MessageDefContext message) {
+        return lookupHelper.isLazySubMessages(message);
+    }
 }
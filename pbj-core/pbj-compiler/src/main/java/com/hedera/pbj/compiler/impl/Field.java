@@ -8,7 +8,7 @@ import java.util.Set;
 import static com.hedera.pbj.compiler.impl.Common.*;
 
 /**
- * Interface for SingleFields and OneOfFields
+ * Interface for SingleFields, OneOfFields and MapFields
  */
 @SuppressWarnings("unused")
 public interface Field {
@@ -209,7 +209,9 @@ public interface Field {
 		/** Protobuf bytes field type */
 		BYTES("Bytes", "Bytes.EMPTY", TYPE_LENGTH_DELIMITED),
 		/** Protobuf oneof field type, this is not a true field type in protobuf. Needed here for a few edge cases */
-		ONE_OF("OneOf", "null", 0 );// BAD TYPE
+		ONE_OF("OneOf", "null", 0 ),// BAD TYPE
+		/** Protobuf map field type, on the wire a repeated message of key value entries */
+		MAP("Map", "PbjMap.empty()", TYPE_LENGTH_DELIMITED);
 
 		/** The type of field type in Java code */
 		public final String javaType;
@@ -50,6 +50,12 @@ public final class LookupHelper {
     private static final String PBJ_ENUM_PACKAGE_OPTION_NAME = "pbj.enum_java_package";
     /** The option name for protoc java package at file level */
     private static final String PROTOC_JAVA_PACKAGE_OPTION_NAME = "java_package";
+    /** The option name for caching the hash code of generated model objects at msgDef level */
+    private static final String PBJ_CACHE_HASH_CODE_OPTION_NAME = "pbj.cache_hash_code";
+    /** The option name for caching the content hash of generated model objects at msgDef level */
+    private static final String PBJ_CACHE_CONTENT_HASH_OPTION_NAME = "pbj.cache_content_hash";
+    /** The option name for lazily parsing the sub-message fields of generated model objects at msgDef level */
+    private static final String PBJ_LAZY_SUB_MESSAGES_OPTION_NAME = "pbj.lazy_sub_messages";
 
     /**
      * Map from fully qualified msgDef name to fully qualified pbj java package, not including java
@@ -79,6 +85,24 @@ public final class LookupHelper {
      */
     private final Set<String> enumNames = new HashSet<>();
 
+    /**
+     * Set of all fully qualified message names that have the "pbj.cache_hash_code" option set, so their generated
+     * model objects compute the hash code once and cache it
+     */
+    private final Set<String> cachedHashCodeMessages = new HashSet<>();
+
+    /**
+     * Set of all fully qualified message names that have the "pbj.cache_content_hash" option set, so their generated
+     * model objects compute the content hash once and cache it
+     */
+    private final Set<String> cachedContentHashMessages = new HashSet<>();
+
+    /**
+     * Set of all fully qualified message names that have the "pbj.lazy_sub_messages" option set, so their sub-message
+     * fields are kept as bytes when parsed and only parsed on first access
+     */
+    private final Set<String> lazySubMessagesMessages = new HashSet<>();
+
     /**
      * Build a new lookup helper, root directory of protobuf files. This scans directory reading
      * protobuf files extracting what is needed.
@@ -334,6 +358,39 @@ public final class LookupHelper {
         return isEnum(getFullyQualifiedProtoName(protoSrcFile, messageType));
     }
 
+    /**
+     * Check if the given message has the "pbj.cache_hash_code" option set, in which case its model object should
+     * compute its hash code once and cache it.
+     *
+     * @param msgDef the message to check
+     * @return true if hash code should be cached, recorded by buildMessage()
+     */
+    boolean isHashCodeCached(MessageDefContext msgDef) {
+        return cachedHashCodeMessages.contains(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
+    }
+
+    /**
+     * Check if the given message has the "pbj.cache_content_hash" option set, in which case its model object should
+     * compute its content hash once and cache it.
+     *
+     * @param msgDef the message to check
+     * @return true if content hash should be cached, recorded by buildMessage()
+     */
+    boolean isContentHashCached(MessageDefContext msgDef) {
+        return cachedContentHashMessages.contains(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
+    }
+
+    /**
+     * Check if the given message has the "pbj.lazy_sub_messages" option set, in which case its sub-message fields
+     * should be parsed lazily.
+     *
+     * @param msgDef the message to check
+     * @return true if sub-message fields are parsed lazily, recorded by buildMessage()
+     */
+    boolean isLazySubMessages(MessageDefContext msgDef) {
+        return lazySubMessagesMessages.contains(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
+    }
+
     // =================================================================================================================
     // BUILD METHODS to construct lookup tables
 
@@ -545,6 +602,15 @@ public final class LookupHelper {
                     final String optionValue = matcher.group(2);
                     if (optionName.equals(PBJ_PACKAGE_OPTION_NAME)) {
                         messagePbjPackage = optionValue;
+                    } else if (optionName.equals(PBJ_CACHE_HASH_CODE_OPTION_NAME)
+                            && Boolean.parseBoolean(optionValue)) {
+                        cachedHashCodeMessages.add(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
+                    } else if (optionName.equals(PBJ_CACHE_CONTENT_HASH_OPTION_NAME)
+                            && Boolean.parseBoolean(optionValue)) {
+                        cachedContentHashMessages.add(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
+                    } else if (optionName.equals(PBJ_LAZY_SUB_MESSAGES_OPTION_NAME)
+                            && Boolean.parseBoolean(optionValue)) {
+                        lazySubMessagesMessages.add(getFullyQualifiedProtoNameForMsgOrEnum(msgDef));
                     }
                 }
             }
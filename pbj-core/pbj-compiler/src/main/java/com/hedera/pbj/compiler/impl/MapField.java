@@ -0,0 +1,256 @@
+package com.hedera.pbj.compiler.impl;
+
+import com.hedera.pbj.compiler.impl.grammar.Protobuf3Parser;
+
+import java.util.Set;
+
+/**
+ * An implementation of Field for map fields. On the wire a map field is a repeated message field, each entry is a
+ * message with the key as field 1 and the value as field 2. In the model it is a {@code Map} held in a
+ * {@code PbjMap}, which keeps the entries sorted by key so they are always written in the same order.
+ *
+ * @param name        The name of this map field
+ * @param fieldNumber The protobuf field number
+ * @param keyField    Field for the key in each entry, named "key" with field number 1
+ * @param valueField  Field for the value in each entry, named "value" with field number 2
+ * @param comment     The java doc comment for this field
+ * @param deprecated  If this field is deprecated
+ */
+public record MapField(String name, int fieldNumber, SingleField keyField, SingleField valueField,
+					   String comment, boolean deprecated) implements Field {
+
+	/**
+	 * Create a map field from parser context
+	 *
+	 * @param mapContext the parsed map field
+	 * @param lookupHelper helper for accessing global context
+	 */
+	public MapField(final Protobuf3Parser.MapFieldContext mapContext, final ContextualLookupHelper lookupHelper) {
+		this(mapContext.mapName().getText(),
+				Integer.parseInt(mapContext.fieldNumber().getText()),
+				new SingleField(false, keyFieldType(mapContext.keyType()), 1, "key", null, null, null, null,
+						"", false, null),
+				new SingleField(false,
+						FieldType.of(mapContext.type_(), lookupHelper),
+						2, "value",
+						(mapContext.type_().messageType() == null) ? null :
+								mapContext.type_().messageType().messageName().getText(),
+						(mapContext.type_().messageType() == null) ? null :
+								lookupHelper.getPackageMapFieldMessageType(FileType.MODEL, mapContext),
+						(mapContext.type_().messageType() == null) ? null :
+								lookupHelper.getPackageMapFieldMessageType(FileType.CODEC, mapContext),
+						(mapContext.type_().messageType() == null) ? null :
+								lookupHelper.getPackageMapFieldMessageType(FileType.TEST, mapContext),
+						"", false, null),
+				Common.buildCleanFieldJavaDoc(Integer.parseInt(mapContext.fieldNumber().getText()), null),
+				getDeprecatedOption(mapContext.fieldOptions())
+		);
+	}
+
+	/**
+	 * Map fields are not repeated in the model, they are a single map
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean repeated() {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FieldType type() {
+		return FieldType.MAP;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String protobufFieldType() {
+		return "map<" + keyField.protobufFieldType() + ", " + valueField.protobufFieldType() + ">";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String javaFieldType() {
+		return "Map<" + javaKeyType() + ", " + javaValueType() + ">";
+	}
+
+	/**
+	 * Get the boxed Java type for the keys of this map
+	 *
+	 * @return Java type for keys, like "Integer" or "String"
+	 */
+	public String javaKeyType() {
+		return Common.javaPrimitiveToObjectType(keyField.javaFieldType());
+	}
+
+	/**
+	 * Get the boxed Java type for the values of this map
+	 *
+	 * @return Java type for values, like "Long" or a message class name
+	 */
+	public String javaValueType() {
+		return Common.javaPrimitiveToObjectType(valueField.javaFieldType());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String methodNameType() {
+		return "Map";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void addAllNeededImports(final Set<String> imports, boolean modelImports,
+									boolean codecImports, final boolean testImports) {
+		imports.add("java.util");
+		imports.add("com.hedera.pbj.runtime");
+		keyField.addAllNeededImports(imports, modelImports, codecImports, testImports);
+		valueField.addAllNeededImports(imports, modelImports, codecImports, testImports);
+	}
+
+	/**
+	 * N/A for MapField, entries are parsed by the codec
+	 */
+	@Override
+	public String parseCode() {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String javaDefault() {
+		return "PbjMap.empty()";
+	}
+
+	/**
+	 * Get the name of the schema field definition constant for the key of each entry
+	 *
+	 * @return constant name, like "COUNT_BY_NAME_KEY"
+	 */
+	public String keyFieldDefName() {
+		return Common.camelToUpperSnake(name) + "_KEY";
+	}
+
+	/**
+	 * Get the name of the schema field definition constant for the value of each entry
+	 *
+	 * @return constant name, like "COUNT_BY_NAME_VALUE"
+	 */
+	public String valueFieldDefName() {
+		return Common.camelToUpperSnake(name) + "_VALUE";
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * <p>The map field itself is defined as a repeated message field. The key and value of each entry get their own
+	 * definitions, marked as oneof so that default values are still written, as protobuf always writes both.
+	 */
+	@Override
+	public String schemaFieldsDef() {
+		final String javaDocComment =
+				"""
+                    /**
+                     * $doc
+                     */
+                """
+				.replace("$doc", comment().replaceAll("\n","\n     * "));
+		return javaDocComment +
+				"    public static final FieldDefinition %s = new FieldDefinition(\"%s\", FieldType.MESSAGE, true, false, false, %d);\n"
+						.formatted(Common.camelToUpperSnake(name), name, fieldNumber) +
+				"    /** Key of each entry in the {@link #%s} map */\n"
+						.formatted(Common.camelToUpperSnake(name)) +
+				"    public static final FieldDefinition %s = new FieldDefinition(\"key\", FieldType.%s, false, false, true, 1);\n"
+						.formatted(keyFieldDefName(), keyField.type().fieldType()) +
+				"    /** Value of each entry in the {@link #%s} map */\n"
+						.formatted(Common.camelToUpperSnake(name)) +
+				"    public static final FieldDefinition %s = new FieldDefinition(\"value\", FieldType.%s, false, false, true, 2);\n"
+						.formatted(valueFieldDefName(), valueField.type().fieldType());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String schemaGetFieldsDefCase() {
+		return "case %d -> %s;".formatted(fieldNumber, Common.camelToUpperSnake(name));
+	}
+
+	/**
+	 * N/A for MapField
+	 */
+	@Override
+	public String parserFieldsSetMethodCase() {
+		return null;
+	}
+
+	// ====== Static Utility Methods ============================
+
+	/**
+	 * Get the field type for a map key type
+	 *
+	 * @param keyType The parser context for the key type
+	 * @return The field type enum for the key
+	 */
+	private static FieldType keyFieldType(final Protobuf3Parser.KeyTypeContext keyType) {
+		if (keyType.INT32() != null) {
+			return FieldType.INT32;
+		} else if (keyType.INT64() != null) {
+			return FieldType.INT64;
+		} else if (keyType.UINT32() != null) {
+			return FieldType.UINT32;
+		} else if (keyType.UINT64() != null) {
+			return FieldType.UINT64;
+		} else if (keyType.SINT32() != null) {
+			return FieldType.SINT32;
+		} else if (keyType.SINT64() != null) {
+			return FieldType.SINT64;
+		} else if (keyType.FIXED32() != null) {
+			return FieldType.FIXED32;
+		} else if (keyType.FIXED64() != null) {
+			return FieldType.FIXED64;
+		} else if (keyType.SFIXED32() != null) {
+			return FieldType.SFIXED32;
+		} else if (keyType.SFIXED64() != null) {
+			return FieldType.SFIXED64;
+		} else if (keyType.BOOL() != null) {
+			return FieldType.BOOL;
+		} else if (keyType.STRING() != null) {
+			return FieldType.STRING;
+		} else {
+			throw new IllegalArgumentException("Unknown map key type: " + keyType.getText());
+		}
+	}
+
+	/**
+	 * Extract if a field is deprecated or not from the protobuf options on the field
+	 *
+	 * @param optionContext protobuf options from parser
+	 * @return true if field has deprecated option, otherwise false
+	 */
+	private static boolean getDeprecatedOption(Protobuf3Parser.FieldOptionsContext optionContext) {
+		if (optionContext != null) {
+			for (var option : optionContext.fieldOption()) {
+				if ("deprecated".equals(option.optionName().getText())) {
+					return true;
+				} else {
+					System.err.println("Unhandled Option on map field: "+optionContext.getText());
+				}
+			}
+		}
+		return false;
+	}
+}
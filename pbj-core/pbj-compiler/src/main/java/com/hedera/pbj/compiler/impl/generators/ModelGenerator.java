@@ -14,9 +14,11 @@ import com.hedera.pbj.compiler.impl.ContextualLookupHelper;
 import com.hedera.pbj.compiler.impl.Field;
 import com.hedera.pbj.compiler.impl.Field.FieldType;
 import com.hedera.pbj.compiler.impl.FileType;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 import com.hedera.pbj.compiler.impl.SingleField;
 import com.hedera.pbj.compiler.impl.grammar.Protobuf3Parser;
+import edu.umd.cs.findbugs.annotations.NonNull;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -25,9 +27,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Code generator that parses protobuf files and generates nice Java source for record files for each message type and
@@ -36,6 +40,15 @@ import java.util.stream.Collectors;
 @SuppressWarnings({"StringConcatenationInLoop", "EscapedSpace"})
 public final class ModelGenerator implements Generator {
 
+	/** Name of the hidden record component used to cache the hash code, '$' makes sure it can not clash with a field */
+	private static final String CACHED_HASH_CODE_FIELD = "$hashCode";
+	/** Name of the hidden record component used to cache the content hash */
+	private static final String CACHED_CONTENT_HASH_FIELD = "$contentHash64";
+	/** Name of the hidden record component that makes the canonical constructor distinct when there are lazy fields */
+	private static final String LAZY_FIELDS_MARKER_FIELD = "$lazyFields";
+	/** The value passed for the lazy fields marker component */
+	private static final String LAZY_FIELDS_MARKER = "LazyMessage.Marker.LAZY_FIELDS";
+
 	private static final String HASH_CODE_MANIPULATION =
 		"""
 		// Shifts: 30, 27, 16, 20, 5, 18, 10, 24, 30
@@ -79,6 +92,12 @@ public final class ModelGenerator implements Generator {
 		final List<String> oneofGetters = new ArrayList<>();
 		// The generated Java code for has methods for normal fields
 		final List<String> hasMethods = new ArrayList<>();
+		// True if the model object should compute its hash code once on construction and cache it
+		final boolean cacheHashCode = lookupHelper.isHashCodeCached(msgDef);
+		// True if the model object should compute its content hash once on construction and cache it
+		final boolean cacheContentHash = lookupHelper.isContentHashCached(msgDef);
+		// True if plain sub-message fields are kept as bytes when parsed and only parsed on first access
+		final boolean lazySubMessages = lookupHelper.isLazySubMessages(msgDef);
 		// The generated Java import statements. We'll build this up as we go.
 		final Set<String> imports = new TreeSet<>();
 		imports.add("com.hedera.pbj.runtime");
@@ -167,7 +186,9 @@ public final class ModelGenerator implements Generator {
 				fields.add(oneOfField);
 				imports.add("com.hedera.pbj.runtime");
 			} else if (item.mapField() != null) { // process map fields
-				System.err.println("Encountered a mapField that was not handled in " + javaRecordName);
+				final MapField field = new MapField(item.mapField(), lookupHelper);
+				fields.add(field);
+				field.addAllNeededImports(imports, true, false, false);
 			} else if (item.field() != null && item.field().fieldName() != null) {
 				final SingleField field = new SingleField(item.field(), lookupHelper);
 				fields.add(field);
@@ -180,7 +201,7 @@ public final class ModelGenerator implements Generator {
 							 * @return true of the $fieldName has a value
 							 */
 							public boolean has$fieldNameUpperFirst() {
-							    return $fieldName != null;
+							    return $fieldComponent != null;
 							}
 							
 							/**
@@ -191,7 +212,7 @@ public final class ModelGenerator implements Generator {
 							 * @return the value for $fieldName if it has a value, or else returns the default value
 							 */
 							public $javaFieldType $fieldNameOrElse(@NonNull final $javaFieldType defaultValue) {
-							    return has$fieldNameUpperFirst() ? $fieldName : defaultValue;
+							    return has$fieldNameUpperFirst() ? $fieldValue : defaultValue;
 							}
 							
 							/**
@@ -202,7 +223,7 @@ public final class ModelGenerator implements Generator {
 							 * @throws NullPointerException if $fieldName is null
 							 */
 							public @NonNull $javaFieldType $fieldNameOrThrow() {
-							    return requireNonNull($fieldName, "Field $fieldName is null");
+							    return requireNonNull($fieldValue, "Field $fieldName is null");
 							}
 							
 							/**
@@ -212,13 +233,15 @@ public final class ModelGenerator implements Generator {
 							 */
 							public void if$fieldNameUpperFirst(@NonNull final Consumer<$javaFieldType> ifPresent) {
 							    if (has$fieldNameUpperFirst()) {
-							        ifPresent.accept($fieldName);
+							        ifPresent.accept($fieldValue);
 							    }
 							}
 							"""
 							.replace("$fieldNameUpperFirst", field.nameCamelFirstUpper())
 							.replace("$javaFieldType", field.javaFieldType())
 							.replace("$fieldName", field.nameCamelFirstLower())
+							.replace("$fieldComponent", componentName(field, lazySubMessages))
+							.replace("$fieldValue", fieldValue(field, lazySubMessages))
 							.indent(DEFAULT_INDENT)
 					);
 				}
@@ -228,11 +251,17 @@ public final class ModelGenerator implements Generator {
 				} else {
 					System.err.println("Unhandled Option: "+item.optionStatement().getText());
 				}
-			} else if (item.reserved() == null){ // ignore reserved and warn about anything else
+			} else if (item.reserved() == null && item.optionComment() == null){ // ignore reserved and warn about anything else
 				System.err.println("ModelGenerator Warning - Unknown element: "+item+" -- "+item.getText());
 			}
 		}
 
+		// fields as seen inside the record, lazily parsed fields are held in hidden LazyMessage components
+		final List<Field> componentFields = fields.stream()
+				.map(field -> Common.isLazyField(field, lazySubMessages) ? new LazyComponentField(field) : field)
+				.toList();
+		final boolean hasLazyFields = componentFields.stream().anyMatch(field -> field instanceof LazyComponentField);
+
 		// process field java doc and insert into record java doc
 		if (!fields.isEmpty()) {
 			String recordJavaDoc = !javaDocComment.isEmpty() ?
@@ -240,9 +269,24 @@ public final class ModelGenerator implements Generator {
 					"/**\n * "+javaRecordName;
 			recordJavaDoc += "\n *";
 			for(var field: fields) {
-				recordJavaDoc += "\n * @param "+field.nameCamelFirstLower()+" "+
+				final String componentName = componentName(field, lazySubMessages);
+				recordJavaDoc += "\n * @param "+componentName+" "+
+							(Common.isLazyField(field, lazySubMessages) ? "<b>(internal)</b> lazily parsed holder, use "
+									+ field.nameCamelFirstLower() + "() instead. " : "")+
 							field.comment()
-								.replaceAll("\n", "\n *         "+" ".repeat(field.nameCamelFirstLower().length()));
+								.replaceAll("\n", "\n *         "+" ".repeat(componentName.length()));
+			}
+			if (cacheHashCode) {
+				recordJavaDoc += "\n * @param "+CACHED_HASH_CODE_FIELD+" <b>(internal)</b> cached hash code, not part of the API. It is always"+
+						"\n *         computed on construction so any value passed in is ignored";
+			}
+			if (cacheContentHash) {
+				recordJavaDoc += "\n * @param "+CACHED_CONTENT_HASH_FIELD+" <b>(generated)</b> cached content hash, always computed on"+
+						"\n *         construction so any value passed in is ignored";
+			}
+			if (hasLazyFields) {
+				recordJavaDoc += "\n * @param "+LAZY_FIELDS_MARKER_FIELD+" <b>(internal)</b> marker that makes the constructor taking lazily"+
+						"\n *         parsed holders distinct, not part of the API";
 			}
 			recordJavaDoc += "\n */";
 			javaDocComment = cleanDocStr(recordJavaDoc);
@@ -268,7 +312,15 @@ public final class ModelGenerator implements Generator {
 				.indent(DEFAULT_INDENT);
 
 		// constructor
-		if (fields.stream().anyMatch(f -> f instanceof OneOfField || f.optionalValueType())) {
+		if (cacheHashCode || cacheContentHash || hasLazyFields || fields.stream().anyMatch(f -> f instanceof OneOfField || f instanceof MapField || f.optionalValueType())) {
+			final String paramDocs = fields.stream().map(field -> "\n * @param "+field.nameCamelFirstLower()+" "+
+							field.comment()
+							.replaceAll("\n", "\n *         "+" ".repeat(field.nameCamelFirstLower().length()))
+					).collect(Collectors.joining());
+			final String componentParamDocs = componentFields.stream().map(field -> "\n * @param "+field.nameCamelFirstLower()+" "+
+							field.comment()
+							.replaceAll("\n", "\n *         "+" ".repeat(field.nameCamelFirstLower().length()))
+					).collect(Collectors.joining());
 			bodyContent += """
      
 					/**
@@ -280,48 +332,126 @@ public final class ModelGenerator implements Generator {
 					}
 					"""
 					.formatted(
-						fields.stream().map(field -> "\n * @param "+field.nameCamelFirstLower()+" "+
-								field.comment()
-								.replaceAll("\n", "\n *         "+" ".repeat(field.nameCamelFirstLower().length()))
-						).collect(Collectors.joining()),
+						componentParamDocs
+							+ (cacheHashCode ? "\n * @param " + CACHED_HASH_CODE_FIELD + " internal, ignored as the hash code is always computed, use the"
+									+ "\n *         constructor without it" : "")
+							+ (cacheContentHash ? "\n * @param " + CACHED_CONTENT_HASH_FIELD + " ignored, the content hash is always computed" : "")
+							+ (hasLazyFields ? "\n * @param " + LAZY_FIELDS_MARKER_FIELD + " internal, for generated code only, use the constructor"
+									+ "\n *         without it" : ""),
 						javaRecordName,
 						fields.stream()
-								.filter(f -> f instanceof OneOfField)
+								.filter(f -> f instanceof OneOfField || f instanceof MapField)
 								.map(ModelGenerator::generateConstructorCode)
 								.collect(Collectors.joining("\n"))
+							+ (cacheHashCode ? generateCachedHashCodeConstructorCode(componentFields) : "")
+							+ (cacheContentHash ? generateCachedContentHashConstructorCode(fields, lazySubMessages) : "")
 					)
 					.indent(DEFAULT_INDENT);
+			if (cacheHashCode || cacheContentHash || hasLazyFields) {
+				// constructor with just the field values, so model objects are created exactly as without hidden components
+				bodyContent += """
+     
+						/**
+						 * Create a new $javaRecordName$constructorDoc
+						 * $paramDocs
+						 */
+						public $javaRecordName($constructorParams) {
+						    this($constructorArgs);
+						}
+						"""
+						.replace("$javaRecordName", javaRecordName)
+						.replace("$constructorDoc", cacheHashCode || cacheContentHash ? ", computing and caching its "
+								+ (cacheHashCode ? "hash code" : "") + (cacheHashCode && cacheContentHash ? " and " : "")
+								+ (cacheContentHash ? "content hash" : "") : "")
+						.replace("$paramDocs", paramDocs)
+						.replace("$constructorParams", fields.stream()
+								.map(field -> field.javaFieldType() + " " + field.nameCamelFirstLower())
+								.collect(Collectors.joining(", ")))
+						.replace("$constructorArgs", Stream.concat(
+								fields.stream().map(field -> Common.isLazyField(field, lazySubMessages)
+										? "LazyMessage.of(" + field.nameCamelFirstLower() + ", " + field.javaFieldType() + ".PROTOBUF)"
+										: field.nameCamelFirstLower()),
+								hiddenConstructorArgs(cacheHashCode, cacheContentHash, hasLazyFields))
+								.collect(Collectors.joining(", ")))
+						.indent(DEFAULT_INDENT);
+			}
 		}
 
-		// Generate a call to private method that iterates through fields and calculates the hashcode
-		final String statements = getFieldsHashCode(fields, "");
+		if (cacheHashCode) {
+			bodyContent +=
+				"""
+				/**
+				* Override the default hashCode method returning the hash code computed on construction
+				*/
+				@Override
+				public int hashCode() {
+				    return $cachedHashCode;
+				}
 
-		bodyContent +=
-			"""
-			/**
-			* Override the default hashCode method for
-			* all other objects to make hashCode
-			*/
-			@Override
-			public int hashCode() {
-				int result = 1;
-			""".indent(DEFAULT_INDENT);
+				/**
+				 * Internal accessor of the hash code cached on construction, it is not part of the API and may be removed
+				 * without notice. Use {@link #hashCode()} instead.
+				 *
+				 * @return the cached hash code
+				 */
+				public int $cachedHashCode() {
+				    return $cachedHashCode;
+				}
+				"""
+				.replace("$cachedHashCode", CACHED_HASH_CODE_FIELD)
+				.indent(DEFAULT_INDENT);
+		} else {
+			// Generate a call to private method that iterates through fields and calculates the hashcode
+			final String statements = getFieldsHashCode(componentFields, "");
 
-		bodyContent += statements;
+			bodyContent +=
+				"""
+				/**
+				* Override the default hashCode method for
+				* all other objects to make hashCode
+				*/
+				@Override
+				public int hashCode() {
+					int result = 1;
+				""".indent(DEFAULT_INDENT);
 
-		bodyContent +=
-			"""
-				long hashCode = result;
-			$hashCodeManipulation
-				return (int)hashCode;
-			}
-			""".replace("$hashCodeManipulation", HASH_CODE_MANIPULATION)
+			bodyContent += statements;
+
+			bodyContent +=
+				"""
+					long hashCode = result;
+				$hashCodeManipulation
+					return (int)hashCode;
+				}
+				""".replace("$hashCodeManipulation", HASH_CODE_MANIPULATION)
+					.indent(DEFAULT_INDENT);
+		}
+
+		bodyContent += generateContentHashMethod(fields, lazySubMessages, cacheContentHash);
+
+		if (cacheHashCode || cacheContentHash || hasLazyFields) {
+			bodyContent +=
+				"""
+				
+				/**
+				* Override the default toString method so hidden generated components are not included
+				*/
+				@Override
+				public String toString() {
+				    return "$javaRecordName[$toStringFields]";
+				}
+				"""
+				.replace("$javaRecordName", javaRecordName)
+				.replace("$toStringFields", fields.stream()
+						.map(field -> field.nameCamelFirstLower() + "=\" + " + fieldValue(field, lazySubMessages) + " + \"")
+						.collect(Collectors.joining(", ")))
 				.indent(DEFAULT_INDENT);
+		}
 
 		String equalsStatements = "";
 		// Generate a call to private method that iterates through fields
 		// and calculates the hashcode.
-		equalsStatements = Common.getFieldsEqualsStatements(fields, equalsStatements);
+		equalsStatements = Common.getFieldsEqualsStatements(componentFields, equalsStatements);
 
 		bodyContent +=
 		"""
@@ -335,6 +465,24 @@ public final class ModelGenerator implements Generator {
 		    }
 		    $javaRecordName thatObj = ($javaRecordName)that;
 		""".replace("$javaRecordName", javaRecordName).indent(DEFAULT_INDENT);
+		if (cacheHashCode) {
+			// cheap reject, objects with different hash codes can not be equal
+			bodyContent +=
+			"""
+			    if ($cachedHashCode != thatObj.$cachedHashCode) {
+			        return false;
+			    }
+			""".replace("$cachedHashCode", CACHED_HASH_CODE_FIELD).indent(DEFAULT_INDENT);
+		}
+		if (cacheContentHash) {
+			// cheap reject, objects with different content hashes can not be equal
+			bodyContent +=
+			"""
+			    if ($cachedContentHash != thatObj.$cachedContentHash) {
+			        return false;
+			    }
+			""".replace("$cachedContentHash", CACHED_CONTENT_HASH_FIELD).indent(DEFAULT_INDENT);
+		}
 
 		bodyContent += equalsStatements.indent(DEFAULT_INDENT);
 		bodyContent +=
@@ -343,6 +491,15 @@ public final class ModelGenerator implements Generator {
 		}
 		""".indent(DEFAULT_INDENT);
 
+		// Getters for lazily parsed fields
+		bodyContent += componentFields.stream()
+				.filter(field -> field instanceof LazyComponentField)
+				.map(field -> generateLazyGetter(((LazyComponentField) field).field()))
+				.collect(Collectors.joining("\n"));
+		if (hasLazyFields) {
+			bodyContent += generateLazyFieldsMarkerAccessor();
+		}
+
 		// Has methods
 		bodyContent += String.join("\n", hasMethods);
 		bodyContent += "\n";
@@ -361,7 +518,7 @@ public final class ModelGenerator implements Generator {
 			 * @return a pre-populated builder
 			 */
 			public Builder copyBuilder() {
-			    return new Builder(%s);
+			%s
 			}
 			
 			/**
@@ -373,11 +530,19 @@ public final class ModelGenerator implements Generator {
 			    return new Builder();
 			}
 			"""
-			.formatted(fields.stream().map(Field::nameCamelFirstLower).collect(Collectors.joining(", ")))
+			.formatted((hasLazyFields
+					// copy the holders of lazily parsed fields, so copying does not parse them
+					? "final Builder builder$ = new Builder();\n"
+							+ componentFields.stream()
+									.map(field -> "builder$.%1$s = %1$s;\n".formatted(field.nameCamelFirstLower()))
+									.collect(Collectors.joining())
+							+ "return builder$;"
+					: "return new Builder(%s);".formatted(fields.stream().map(Field::nameCamelFirstLower)
+							.collect(Collectors.joining(", ")))).indent(DEFAULT_INDENT).stripTrailing())
 			.indent(DEFAULT_INDENT);
 
 		// generate builder
-		bodyContent += generateBuilder(msgDef, fields, lookupHelper);
+		bodyContent += generateBuilder(msgDef, fields, lookupHelper, lazySubMessages, cacheHashCode, cacheContentHash);
 		bodyContent += "\n";
 
 		// oneof enums
@@ -404,16 +569,20 @@ public final class ModelGenerator implements Generator {
 					.replace("$javaDocComment",javaDocComment)
 					.replace("$deprecated", deprecated)
 					.replace("$javaRecordName",javaRecordName)
-					.replace("$fields", fields.stream().map(field ->
+					.replace("$fields", Stream.concat(componentFields.stream().map(field ->
 							(field.type() == FieldType.MESSAGE ? "@Nullable " : "")
-									+ field.javaFieldType() + " " + field.nameCamelFirstLower()
+									+ field.javaFieldType() + " " + field.nameCamelFirstLower()),
+							Stream.of(cacheHashCode ? "int " + CACHED_HASH_CODE_FIELD : null,
+									cacheContentHash ? "long " + CACHED_CONTENT_HASH_FIELD : null,
+									hasLazyFields ? "LazyMessage.Marker " + LAZY_FIELDS_MARKER_FIELD : null)
+									.filter(Objects::nonNull)
 					).collect(Collectors.joining(",\n")).indent(DEFAULT_INDENT))
 					.replace("$bodyContent",bodyContent)
 			);
 		}
 	}
 
-	private static void generateBuilderMethods(List<String> builderMethods, Field field) {
+	private static void generateBuilderMethods(List<String> builderMethods, Field field, final boolean lazySubMessages) {
 		final String prefix, postfix, fieldToSet;
 		final OneOfField parentOneOfField = field.parent();
 		if (parentOneOfField != null) {
@@ -421,6 +590,11 @@ public final class ModelGenerator implements Generator {
 			prefix = " new OneOf<>("+oneOfEnumValue+",";
 			postfix = ")";
 			fieldToSet = parentOneOfField.nameCamelFirstLower();
+		} else if (Common.isLazyField(field, lazySubMessages)) {
+			// the builder holds lazily parsed fields in LazyMessages, like the model record
+			prefix = " LazyMessage.of(";
+			postfix = ", " + field.javaFieldType() + ".PROTOBUF)";
+			fieldToSet = Common.lazyComponentName(field);
 		} else {
 			prefix = "";
 			postfix = "";
@@ -497,19 +671,22 @@ public final class ModelGenerator implements Generator {
 		}
 	}
 
-	private static String generateBuilder(final Protobuf3Parser.MessageDefContext msgDef, List<Field> fields, final ContextualLookupHelper lookupHelper) {
+	private static String generateBuilder(final Protobuf3Parser.MessageDefContext msgDef, List<Field> fields,
+			final ContextualLookupHelper lookupHelper, final boolean lazySubMessages, final boolean cacheHashCode,
+			final boolean cacheContentHash) {
 		final String javaRecordName = msgDef.messageName().getText();
 		List<String> builderMethods = new ArrayList<>();
 		for (Field field: fields) {
 			if (field.type() == Field.FieldType.ONE_OF) {
 				final OneOfField oneOfField = (OneOfField) field;
 				for (Field subField: oneOfField.fields()) {
-					generateBuilderMethods(builderMethods, subField);
+					generateBuilderMethods(builderMethods, subField, lazySubMessages);
 				}
 			} else {
-				generateBuilderMethods(builderMethods, field);
+				generateBuilderMethods(builderMethods, field, lazySubMessages);
 			}
 		}
+		final boolean hasLazyFields = fields.stream().anyMatch(field -> Common.isLazyField(field, lazySubMessages));
 		return """
 			/**
 			 * Builder class for easy creation, ideal for clean code where performance is not critical. In critical performance
@@ -540,8 +717,9 @@ public final class ModelGenerator implements Generator {
 			    }
 		
 			    $builderMethods}"""
-				.replace("$fields", fields.stream().map(field ->
-						"private " + field.javaFieldType() + " " + field.nameCamelFirstLower() +
+				.replace("$fields", fields.stream().map(field -> Common.isLazyField(field, lazySubMessages)
+						? "private LazyMessage<" + field.javaFieldType() + "> " + Common.lazyComponentName(field) + " = null"
+						: "private " + field.javaFieldType() + " " + field.nameCamelFirstLower() +
 								" = " + getDefaultValue(field, msgDef, lookupHelper)
 						).collect(Collectors.joining(";\n    ")))
 				.replace("$constructorParamDocs",fields.stream().map(field ->
@@ -551,11 +729,21 @@ public final class ModelGenerator implements Generator {
 				.replace("$constructorParams",fields.stream().map(field ->
 						field.javaFieldType() + " " + field.nameCamelFirstLower()
 						).collect(Collectors.joining(", ")))
-				.replace("$constructorCode",fields.stream().map(field ->
-						"this.$name = $name;".replace("$name", field.nameCamelFirstLower())
+				.replace("$constructorCode",fields.stream().map(field -> Common.isLazyField(field, lazySubMessages)
+						? "this.$component = LazyMessage.of($name, $type.PROTOBUF);"
+								.replace("$component", Common.lazyComponentName(field))
+								.replace("$name", field.nameCamelFirstLower())
+								.replace("$type", field.javaFieldType())
+						: "this.$name = $name;".replace("$name", field.nameCamelFirstLower())
 						).collect(Collectors.joining("\n")).indent(DEFAULT_INDENT * 2))
 				.replace("$javaRecordName",javaRecordName)
-				.replace("$recordParams",fields.stream().map(Field::nameCamelFirstLower).collect(Collectors.joining(", ")))
+				.replace("$recordParams", hasLazyFields
+						// with lazy fields the builder holds LazyMessages, which are passed to the canonical constructor
+						? Stream.concat(fields.stream().map(field -> Common.isLazyField(field, lazySubMessages)
+										? Common.lazyComponentName(field) : field.nameCamelFirstLower()),
+								hiddenConstructorArgs(cacheHashCode, cacheContentHash, true))
+								.collect(Collectors.joining(", "))
+						: fields.stream().map(Field::nameCamelFirstLower).collect(Collectors.joining(", ")))
 				.replace("$builderMethods", String.join("\n", builderMethods))
 				.indent(DEFAULT_INDENT);
 	}
@@ -568,7 +756,186 @@ public final class ModelGenerator implements Generator {
 		}
 	}
 
+	/**
+	 * Get the arguments passed for the hidden components when calling the canonical constructor
+	 *
+	 * @param cacheHashCode true if the record has the cached hash code component
+	 * @param cacheContentHash true if the record has the cached content hash component
+	 * @param hasLazyFields true if the record has the lazy fields marker component
+	 * @return the arguments, in component order
+	 */
+	private static Stream<String> hiddenConstructorArgs(final boolean cacheHashCode, final boolean cacheContentHash,
+			final boolean hasLazyFields) {
+		return Stream.of(cacheHashCode ? "0" : null, cacheContentHash ? "0" : null, hasLazyFields ? LAZY_FIELDS_MARKER : null)
+				.filter(Objects::nonNull);
+	}
+
+	/**
+	 * Generate the code for the compact constructor that computes the hash code and assigns it to the cached hash
+	 * code parameter. This is the same computation as the non-cached hashCode() method. While the DEFAULT instance
+	 * itself is being constructed DEFAULT is still null, all of its fields are default values so none of them
+	 * contribute to the hash code.
+	 *
+	 * @param fields the fields of the message
+	 * @return java code for computing the hash code in the constructor
+	 */
+	private static String generateCachedHashCodeConstructorCode(final List<Field> fields) {
+		return """
+				
+				// compute hash code once, model objects are immutable
+				int result = 1;
+				if (DEFAULT != null) {
+				$statements
+				}
+				long hashCode = result;
+				$hashCodeManipulation
+				$cachedHashCode = (int)hashCode;
+				"""
+				.replace("$statements", getFieldsHashCode(fields, "").stripTrailing())
+				.replace("$hashCodeManipulation", HASH_CODE_MANIPULATION.stripIndent().stripTrailing())
+				.replace("$cachedHashCode", CACHED_HASH_CODE_FIELD)
+				.indent(DEFAULT_INDENT);
+	}
+
+	/**
+	 * Generate the code for the compact constructor that computes the content hash and assigns it to the cached
+	 * content hash parameter. This is the same computation as the non-cached contentHash64() method.
+	 *
+	 * @param fields the fields of the message
+	 * @param lazySubMessages true if the message has the "pbj.lazy_sub_messages" option
+	 * @return java code for computing the content hash in the constructor
+	 */
+	private static String generateCachedContentHashConstructorCode(final List<Field> fields, final boolean lazySubMessages) {
+		return """
+				
+				// compute content hash once, model objects are immutable
+				long hash$ = ContentHash.SEED;
+				$statements
+				$cachedContentHash = ContentHash.finish(hash$);
+				"""
+				.replace("$statements", Common.getFieldsContentHash(fields, lazySubMessages).stripTrailing())
+				.replace("$cachedContentHash", CACHED_CONTENT_HASH_FIELD)
+				.indent(DEFAULT_INDENT);
+	}
+
+	/**
+	 * Generate the contentHash64() method, which either returns the content hash cached on construction or computes
+	 * it.
+	 *
+	 * @param fields the fields of the message
+	 * @param lazySubMessages true if the message has the "pbj.lazy_sub_messages" option
+	 * @param cacheContentHash true if the content hash is computed on construction and cached
+	 * @return java code for the method
+	 */
+	private static String generateContentHashMethod(final List<Field> fields, final boolean lazySubMessages,
+			final boolean cacheContentHash) {
+		return """
+				
+				/**
+				 * Get a 64-bit hash of the content of this object. Unlike {@link #hashCode()} it only depends on the
+				 * values of the fields that are written when serialized, so it is the same in every JVM and every run
+				 * and can be used to shard, deduplicate or cache objects across processes. It is not a cryptographic
+				 * hash.
+				 *
+				 * @return the content hash$cachedDoc
+				 */
+				public long contentHash64() {
+				$body
+				}
+				"""
+				.replace("$cachedDoc", cacheContentHash ? ", computed on construction" : "")
+				.replace("$body", (cacheContentHash ? "return " + CACHED_CONTENT_HASH_FIELD + ";" : """
+						long hash$ = ContentHash.SEED;
+						$statements
+						return ContentHash.finish(hash$);"""
+						.replace("$statements", Common.getFieldsContentHash(fields, lazySubMessages).stripTrailing()))
+						.indent(DEFAULT_INDENT).stripTrailing())
+				.indent(DEFAULT_INDENT);
+	}
+
+	/**
+	 * Get the name of the record component holding a field
+	 *
+	 * @param field the field
+	 * @param lazySubMessages true if the message has the "pbj.lazy_sub_messages" option
+	 * @return the hidden component name for lazily parsed fields, otherwise the field name
+	 */
+	private static String componentName(final Field field, final boolean lazySubMessages) {
+		return Common.isLazyField(field, lazySubMessages) ? Common.lazyComponentName(field) : field.nameCamelFirstLower();
+	}
+
+	/**
+	 * Get the code for the value of a field inside the model record
+	 *
+	 * @param field the field
+	 * @param lazySubMessages true if the message has the "pbj.lazy_sub_messages" option
+	 * @return a call to the getter for lazily parsed fields, which parses them, otherwise the field name
+	 */
+	private static String fieldValue(final Field field, final boolean lazySubMessages) {
+		return Common.isLazyField(field, lazySubMessages) ? field.nameCamelFirstLower() + "()" : field.nameCamelFirstLower();
+	}
+
+	/**
+	 * Generate the getter for a lazily parsed field, which takes the place of the record component accessor
+	 *
+	 * @param field the lazily parsed field
+	 * @return java code for the getter
+	 */
+	private static String generateLazyGetter(final Field field) {
+		return """
+				/**
+				 * Get the $fieldName, it is parsed from its bytes the first time it is accessed.
+				 *
+				 * @return the $fieldName, or null if it is not set
+				 */
+				public @Nullable $javaFieldType $fieldName() {
+				    return $fieldComponent == null ? null : $fieldComponent.get();
+				}
+
+				/**
+				 * Internal accessor of the holder of the lazily parsed $fieldName, for the generated codec only. It is not
+				 * part of the API and may be removed without notice. Use {@link #$fieldName()} instead.
+				 *
+				 * @return the holder, or null if the $fieldName is not set
+				 */
+				public @Nullable LazyMessage<$javaFieldType> $fieldComponent() {
+				    return $fieldComponent;
+				}
+				"""
+				.replace("$javaFieldType", field.javaFieldType())
+				.replace("$fieldName", field.nameCamelFirstLower())
+				.replace("$fieldComponent", Common.lazyComponentName(field))
+				.indent(DEFAULT_INDENT);
+	}
+
+	/**
+	 * Generate the accessor of the lazy fields marker component, documented as internal
+	 *
+	 * @return java code for the accessor
+	 */
+	private static String generateLazyFieldsMarkerAccessor() {
+		return """
+				
+				/**
+				 * Internal accessor of the marker that makes the constructor taking lazily parsed holders distinct, it is
+				 * not part of the API and may be removed without notice.
+				 *
+				 * @return the marker
+				 */
+				public LazyMessage.Marker $lazyFields() {
+				    return $lazyFields;
+				}
+				"""
+				.replace("$lazyFields", LAZY_FIELDS_MARKER_FIELD)
+				.indent(DEFAULT_INDENT);
+	}
+
 	private static String generateConstructorCode(final Field f) {
+		if (f instanceof MapField) {
+			// maps are always held in a sorted immutable PbjMap, so they are written in a deterministic order
+			return "$fieldName = $fieldName == null ? PbjMap.empty() : PbjMap.copyOf($fieldName);"
+					.replace("$fieldName", f.nameCamelFirstLower());
+		}
 		StringBuilder sb = new StringBuilder("""
 								if ($fieldName == null) {
 								    throw new NullPointerException("Parameter '$fieldName' must be supplied and can not be null");
@@ -592,4 +959,109 @@ public final class ModelGenerator implements Generator {
 		}
 		return sb.toString().indent(DEFAULT_INDENT);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * A lazily parsed field as seen from inside the model record, where it is held in a hidden LazyMessage
+	 * component. Used to generate the record components and the hashCode() and equals() code, which work on the
+	 * LazyMessage so they never need to parse.
+	 *
+	 * @param field the lazily parsed field
+	 */
+	private record LazyComponentField(Field field) implements Field {
+		@Override
+		public boolean repeated() {
+			return field.repeated();
+		}
+
+		@Override
+		public int fieldNumber() {
+			return field.fieldNumber();
+		}
+
+		@Override
+		public String name() {
+			return field.name();
+		}
+
+		@NonNull
+		@Override
+		public String nameCamelFirstLower() {
+			return Common.lazyComponentName(field);
+		}
+
+		@Override
+		public FieldType type() {
+			return field.type();
+		}
+
+		@Override
+		public String protobufFieldType() {
+			return field.protobufFieldType();
+		}
+
+		@Override
+		public String javaFieldType() {
+			return "LazyMessage<" + field.javaFieldType() + ">";
+		}
+
+		@Override
+		public String methodNameType() {
+			return field.methodNameType();
+		}
+
+		@Override
+		public void addAllNeededImports(Set<String> imports, boolean modelImports, boolean codecImports, boolean testImports) {
+			field.addAllNeededImports(imports, modelImports, codecImports, testImports);
+		}
+
+		@Override
+		public String parseCode() {
+			return field.parseCode();
+		}
+
+		@Override
+		public String javaDefault() {
+			return field.javaDefault();
+		}
+
+		@Override
+		public String schemaFieldsDef() {
+			return field.schemaFieldsDef();
+		}
+
+		@Override
+		public String schemaGetFieldsDefCase() {
+			return field.schemaGetFieldsDefCase();
+		}
+
+		@Override
+		public String parserFieldsSetMethodCase() {
+			return field.parserFieldsSetMethodCase();
+		}
+
+		@Override
+		public String comment() {
+			return field.comment();
+		}
+
+		@Override
+		public boolean deprecated() {
+			return field.deprecated();
+		}
+
+		@Override
+		public String messageType() {
+			return field.messageType();
+		}
+
+		@Override
+		public boolean optionalValueType() {
+			return field.optionalValueType();
+		}
+
+		@Override
+		public OneOfField parent() {
+			return field.parent();
+		}
+	}
+}
@@ -46,7 +46,9 @@ public final class TestGenerator implements Generator {
 					subField.addAllNeededImports(imports, true, false, true);
 				}
 			} else if (item.mapField() != null) { // process map fields
-				throw new IllegalStateException("Encountered a mapField that was not handled in "+ modelClassName);
+				final var field = new MapField(item.mapField(), lookupHelper);
+				fields.add(field);
+				field.addAllNeededImports(imports, true, false, true);
 			} else if (item.field() != null && item.field().fieldName() != null) {
 				final var field = new SingleField(item.field(), lookupHelper);
 				fields.add(field);
@@ -156,7 +158,14 @@ public final class TestGenerator implements Generator {
 	}
 
 	private static String generateTestData(String modelClassName, Field field, boolean optional, boolean repeated) {
-		if (optional) {
+		if (field instanceof final MapField mapField) {
+			final SingleField keyField = mapField.keyField();
+			final SingleField valueField = mapField.valueField();
+			return """
+					generateMapArguments(%s, %s)""".formatted(
+							getOptionsForFieldType(keyField.type(), keyField.javaFieldTypeForTest()),
+							getOptionsForFieldType(valueField.type(), valueField.javaFieldTypeForTest()));
+		} else if (optional) {
 
 			Field.FieldType convertedFieldType = getOptionalConvertedFieldType(field);
 			return """
@@ -235,7 +244,7 @@ public final class TestGenerator implements Generator {
 			case STRING -> "STRING_TESTS_LIST";
 			case BYTES -> "BYTES_TESTS_LIST";
 			case ENUM -> "Arrays.asList(" + javaFieldType + ".values())";
-			case ONE_OF -> throw new RuntimeException("Should never happen, should have been caught in generateTestData()");
+			case ONE_OF, MAP -> throw new RuntimeException("Should never happen, should have been caught in generateTestData()");
 			case MESSAGE -> javaFieldType + FileAndPackageNamesConfig.TEST_JAVA_FILE_SUFFIX + ".ARGUMENTS";
 		};
 	}
@@ -282,6 +291,8 @@ public final class TestGenerator implements Generator {
 				    // check the read back object is equal to written original one
 				    //assertEquals(modelObj.toString(), modelObj2.toString());
 				    assertEquals(modelObj, modelObj2);
+				    // equal objects have the same content hash, whether built or parsed
+				    assertEquals(modelObj.contentHash64(), modelObj2.contentHash64());
 				    
 				    // model to bytes with ProtoC writer
 				    byteBuffer.clear();
@@ -309,6 +320,8 @@ public final class TestGenerator implements Generator {
 				    // check fast equals
 				    dataBuffer2.resetPosition();
 				    assertTrue($modelClassName.PROTOBUF.fastEquals(modelObj, dataBuffer2));
+				    dataBuffer2.resetPosition();
+				    assertEquals(modelObj.equals($modelClassName.DEFAULT), $modelClassName.PROTOBUF.fastEquals($modelClassName.DEFAULT, dataBuffer2));
 
 				    // Test toBytes()
 				    Bytes bytes = $modelClassName.PROTOBUF.toBytes(modelObj);
@@ -317,14 +330,19 @@ public final class TestGenerator implements Generator {
 				    byte[] readBytes = new byte[(int)dataBuffer3.length()];
 				    dataBuffer3.getBytes(0, readBytes);
 				    assertArrayEquals(bytes.toByteArray(), readBytes);
+				    assertEquals(dataBuffer2.getBytes(0, dataBuffer2.length()), bytes);
+				    // with a scratch buffer that is large enough, and one that is too small
+				    assertEquals(bytes, $modelClassName.PROTOBUF.toBytes(modelObj, BufferedData.allocate(protoBufByteCount)));
+				    assertEquals(bytes, $modelClassName.PROTOBUF.toBytes(modelObj, BufferedData.allocate(protoBufByteCount / 2)));
 
 				    // Test JSON Writing
-				    final CharBufferToWritableSequentialData charBufferToWritableSequentialData = new CharBufferToWritableSequentialData(charBuffer);
-				    $modelClassName.JSON.write(modelObj,charBufferToWritableSequentialData);
+				    charBuffer.put($modelClassName.JSON.toJSON(modelObj));
 				    charBuffer.flip();
 				    JsonFormat.printer().appendTo(protoCModelObj, charBuffer2);
 				    charBuffer2.flip();
 				    assertEquals(charBuffer2, charBuffer);
+				    // the streaming JSON writer must write the same UTF-8 bytes
+				    assertEquals(Bytes.wrap(charBuffer2.toString().getBytes(StandardCharsets.UTF_8)), $modelClassName.JSON.toBytes(modelObj));
 				    
 				    // Test JSON Reading
 				    final $modelClassName jsonReadPbj = $modelClassName.JSON.parse(JsonTools.parseJson(charBuffer), false);
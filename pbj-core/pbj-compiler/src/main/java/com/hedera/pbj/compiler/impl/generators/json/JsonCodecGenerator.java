@@ -42,7 +42,9 @@ public final class JsonCodecGenerator implements Generator {
 				fields.add(field);
 				field.addAllNeededImports(imports, true, true, false);
 			} else if (item.mapField() != null) { // process map fields
-				throw new IllegalStateException("Encountered a mapField that was not handled in "+ codecClassName);
+				final var field = new MapField(item.mapField(), lookupHelper);
+				fields.add(field);
+				field.addAllNeededImports(imports, true, true, false);
 			} else if (item.field() != null && item.field().fieldName() != null) {
 				final var field = new SingleField(item.field(), lookupHelper);
 				fields.add(field);
@@ -77,7 +79,9 @@ public final class JsonCodecGenerator implements Generator {
 					 */
 					public final class $codecClass implements JsonCodec<$modelClass> {
 					    $unsetOneOfConstants
+					    $fieldNameConstants
 					    $parseObject
+					    $parseTokenizer
 					    $writeMethod
 					}
 					"""
@@ -90,8 +94,10 @@ public final class JsonCodecGenerator implements Generator {
 					.replace("$qualifiedModelClass", lookupHelper.getFullyQualifiedMessageClassname(FileType.MODEL, msgDef))
 					.replace("$codecClass", codecClassName)
 					.replace("$unsetOneOfConstants", JsonCodecParseMethodGenerator.generateUnsetOneOfConstants(fields))
+					.replace("$fieldNameConstants", JsonCodecWriteMethodGenerator.generateFieldNameConstants(fields))
 					.replace("$writeMethod", writeMethod)
 					.replace("$parseObject", JsonCodecParseMethodGenerator.generateParseObjectMethod(modelClassName, fields))
+					.replace("$parseTokenizer", JsonCodecParseMethodGenerator.generateParseTokenizerMethod(modelClassName, fields))
 			);
 		}
 	}
@@ -2,6 +2,7 @@ package com.hedera.pbj.compiler.impl.generators.json;
 
 import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 
 import java.util.List;
@@ -82,6 +83,157 @@ class JsonCodecParseMethodGenerator {
         .indent(DEFAULT_INDENT);
     }
 
+    static String generateParseTokenizerMethod(final String modelClassName, final List<Field> fields) {
+        return """
+                /**
+                 * Parses a $modelClassName object from JSON read by a JsonTokenizer. Throws if in strict mode ONLY.
+                 *
+                 * @param json The tokenizer to read the JSON object from
+                 * @param strictMode when true, the parser errors out on unknown fields; otherwise they'll be simply skipped.
+                 * @return Parsed $modelClassName model object
+                 * @throws UnknownFieldException If an unknown field is encountered while parsing the object, and we are in strict mode
+                 * @throws IOException If the JSON is malformed or cannot be read
+                 */
+                public @NonNull $modelClassName parse(
+                        @NonNull final JsonTokenizer json,
+                        final boolean strictMode) throws IOException {
+                    // -- TEMP STATE FIELDS --------------------------------------
+                $fieldDefs
+
+                    // -- READ VALUES FROM JSON ---------------------------------------------
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        final String name = json.nextName();
+                        switch (name) {
+                            $caseStatements
+                            default -> {
+                                if (strictMode) {
+                                    // Since we are parsing is strict mode, this is an exceptional condition.
+                                    throw new UnknownFieldException(name);
+                                }
+                                json.skipValue();
+                            }
+                        }
+                    }
+                    json.endObject();
+
+                    return new $modelClassName($fieldsList);
+                }
+                """
+        .replace("$modelClassName",modelClassName)
+        .replace("$fieldDefs",fields.stream().map(field -> "    %s temp_%s = %s;".formatted(field.javaFieldType(),
+                field.name(), field.javaDefault())).collect(Collectors.joining("\n")))
+        .replace("$fieldsList",fields.stream().map(field -> "temp_"+field.name()).collect(Collectors.joining(", ")))
+        .replace("$caseStatements",generateTokenizerCaseStatements(fields))
+        .indent(DEFAULT_INDENT);
+    }
+
+    /**
+     * Generate switch case statements reading each field from a JsonTokenizer.
+     *
+     * @param fields list of all fields in record
+     * @return string of case statement code
+     */
+    private static String generateTokenizerCaseStatements(final List<Field> fields) {
+        StringBuilder sb = new StringBuilder();
+        for(Field field: fields) {
+            if (field instanceof final OneOfField oneOfField) {
+                for(final Field subField: oneOfField.fields()) {
+                    sb.append("case \"" + toJsonFieldName(subField.name()) +"\" /* [" + subField.fieldNumber() + "] */ " +
+                            "-> temp_" + oneOfField.name()+" = new OneOf<>(\n"+
+                            oneOfField.getEnumClassRef().indent(DEFAULT_INDENT) +"."+Common.camelToUpperSnake(subField.name())+
+                            ", \n".indent(DEFAULT_INDENT));
+                    generateTokenizerFieldCaseStatement(sb,subField);
+                    sb.append(");\n");
+                }
+            } else {
+                sb.append("case \"" + toJsonFieldName(field.name()) +"\" /* [" + field.fieldNumber() + "] */ " +
+                        "-> temp_" + field.name()+" = ");
+                generateTokenizerFieldCaseStatement(sb, field);
+                sb.append(";\n");
+            }
+        }
+        return sb.toString().indent(DEFAULT_INDENT * 3);
+    }
+
+    /**
+     * Generate switch case statement reading a field from a JsonTokenizer.
+     *
+     * @param field field to generate case statement for
+     * @param sb StringBuilder to append code to
+     */
+    private static void generateTokenizerFieldCaseStatement(final StringBuilder sb, final Field field) {
+        if (field instanceof final MapField mapField) {
+            sb.append("json.nextMap(" + mapKeyParser(mapField, true) + ", " +
+                    tokenizerValueReader(mapField.valueField()) + ")");
+        } else if(field.repeated()) {
+            sb.append("json.nextList(" + tokenizerValueReader(field) + ")");
+        } else if(field.optionalValueType()) {
+            sb.append("json.nextNull() ? null : ");
+            switch(field.messageType()) {
+                case "Int32Value", "UInt32Value" -> sb.append("json.nextInt()");
+                case "Int64Value", "UInt64Value" -> sb.append("json.nextLong()");
+                case "FloatValue" -> sb.append("json.nextFloat()");
+                case "DoubleValue" -> sb.append("json.nextDouble()");
+                case "StringValue" -> sb.append("json.nextString()");
+                case "BoolValue" -> sb.append("json.nextBoolean()");
+                case "BytesValue" -> sb.append("json.nextBytes()");
+                default -> throw new RuntimeException("Unknown message type ["+field.messageType()+"]");
+            }
+        } else {
+            switch (field.type()) {
+                case MESSAGE -> sb.append("json.nextNull() ? null : " + field.javaFieldType() + ".JSON.parse(json, false)");
+                case ENUM -> sb.append(field.javaFieldType() + ".fromString(json.nextString())");
+                case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> sb.append("json.nextInt()");
+                case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> sb.append("json.nextLong()");
+                case FLOAT -> sb.append("json.nextFloat()");
+                case DOUBLE -> sb.append("json.nextDouble()");
+                case STRING -> sb.append("json.nextString()");
+                case BOOL -> sb.append("json.nextBoolean()");
+                case BYTES -> sb.append("json.nextBytes()");
+                default -> throw new RuntimeException("Unknown field type ["+field.type()+"]");
+            }
+        }
+    }
+
+    /**
+     * Get the code for a JsonTokenizer.ValueReader that reads one element of a repeated field or one value of a map
+     *
+     * @param field the repeated field or map value field
+     * @return java code for the value reader
+     */
+    private static String tokenizerValueReader(final Field field) {
+        return switch (field.type()) {
+            case MESSAGE -> "j -> " + field.messageType() + ".JSON.parse(j, false)";
+            case ENUM -> "j -> " + field.messageType() + ".fromString(j.nextString())";
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> "JsonTokenizer::nextInt";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "JsonTokenizer::nextLong";
+            case FLOAT -> "JsonTokenizer::nextFloat";
+            case DOUBLE -> "JsonTokenizer::nextDouble";
+            case STRING -> "JsonTokenizer::nextString";
+            case BOOL -> "JsonTokenizer::nextBoolean";
+            case BYTES -> "JsonTokenizer::nextBytes";
+            default -> throw new RuntimeException("Unknown field type [" + field.type() + "]");
+        };
+    }
+
+    /**
+     * Get the code for a function converting a JSON object key to a map key. JSON object keys are always strings.
+     *
+     * @param mapField the map field
+     * @param tokenizer true if the key has already been unescaped by a JsonTokenizer, false for ANTLR parse tree text
+     * @return java code for the key parser
+     */
+    private static String mapKeyParser(final MapField mapField, final boolean tokenizer) {
+        return switch (mapField.keyField().type()) {
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> "Integer::valueOf";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "Long::valueOf";
+            case BOOL -> "Boolean::valueOf";
+            case STRING -> tokenizer ? "k -> k" : "JsonTools::unescape";
+            default -> throw new RuntimeException("Unknown map key type [" + mapField.keyField().type() + "]");
+        };
+    }
+
     /**
      * Generate switch case statements for each tag (field & wire type pair). For repeated numeric value types we
      * generate 2 case statements for packed and unpacked encoding.
@@ -118,23 +270,16 @@ class JsonCodecParseMethodGenerator {
      * @param sb StringBuilder to append code to
      */
     private static void generateFieldCaseStatement(final StringBuilder sb, final Field field) {
-        if(field.repeated()) {
+        if (field instanceof final MapField mapField) {
+            final Field valueField = mapField.valueField();
+            sb.append("parseMap(kvPair.value(), " + mapKeyParser(mapField, false) + ", " +
+                    (valueField.type() == Field.FieldType.MESSAGE ? valueField.messageType() + ".JSON" :
+                            "v -> " + valueParseCode(valueField)) + ")");
+        } else if(field.repeated()) {
             if (field.type() == Field.FieldType.MESSAGE) {
                 sb.append("parseObjArray(kvPair.value().arr(), "+field.messageType()+".JSON)");
             } else {
-                sb.append("kvPair.value().arr().value().stream().map(v -> ");
-                switch (field.type()) {
-                    case ENUM -> sb.append(field.messageType() + ".fromString(v.STRING().getText())");
-                    case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> sb.append("parseInteger(v)");
-                    case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> sb.append("parseLong(v)");
-                    case FLOAT -> sb.append("parseFloat(v)");
-                    case DOUBLE -> sb.append("parseDouble(v)");
-                    case STRING -> sb.append("unescape(v.STRING().getText())");
-                    case BOOL -> sb.append("parseBoolean(v)");
-                    case BYTES -> sb.append("Bytes.fromBase64(v.STRING().getText())");
-                    default -> throw new RuntimeException("Unknown field type [" + field.type() + "]");
-                }
-                sb.append(").toList()");
+                sb.append("kvPair.value().arr().value().stream().map(v -> " + valueParseCode(field) + ").toList()");
             }
         } else if(field.optionalValueType()) {
             switch(field.messageType()) {
@@ -162,4 +307,25 @@ class JsonCodecParseMethodGenerator {
             }
         }
     }
+
+    /**
+     * Get the code parsing one non-message element of a repeated field or value of a map from the parse tree value
+     * {@code v}
+     *
+     * @param field the repeated field or map value field
+     * @return java code for the value
+     */
+    private static String valueParseCode(final Field field) {
+        return switch (field.type()) {
+            case ENUM -> field.messageType() + ".fromString(v.STRING().getText())";
+            case INT32, UINT32, SINT32, FIXED32, SFIXED32 -> "parseInteger(v)";
+            case INT64, UINT64, SINT64, FIXED64, SFIXED64 -> "parseLong(v)";
+            case FLOAT -> "parseFloat(v)";
+            case DOUBLE -> "parseDouble(v)";
+            case STRING -> "unescape(v.STRING().getText())";
+            case BOOL -> "parseBoolean(v)";
+            case BYTES -> "Bytes.fromBase64(v.STRING().getText())";
+            default -> throw new RuntimeException("Unknown field type [" + field.type() + "]");
+        };
+    }
 }
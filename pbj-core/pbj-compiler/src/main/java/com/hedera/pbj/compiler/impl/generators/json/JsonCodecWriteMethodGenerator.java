@@ -2,6 +2,7 @@ package com.hedera.pbj.compiler.impl.generators.json;
 
 import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 import com.hedera.pbj.compiler.impl.SingleField;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -20,13 +21,25 @@ import static com.hedera.pbj.compiler.impl.generators.json.JsonCodecGenerator.to
 @SuppressWarnings("SwitchStatementWithTooFewBranches")
 final class JsonCodecWriteMethodGenerator {
 
+    static String generateFieldNameConstants(final List<Field> fields) {
+        return "\n" + flattenFields(fields).stream()
+            .map(field -> """
+                       /** UTF-8 bytes of the JSON name for $fieldName, to pass to JsonWriter */
+                       private static final byte[] $constantName = JsonWriter.fieldName("$jsonFieldName");
+                   """
+                    .replace("$fieldName", field.name())
+                    .replace("$constantName", jsonNameConstant(field))
+                    .replace("$jsonFieldName", toJsonFieldName(field.name())))
+            .collect(Collectors.joining("\n"));
+    }
+
     static String generateWriteMethod(final String modelClassName, final List<Field> fields) {
-        final List<Field> fieldsToWrite = fields.stream()
-                .flatMap(field -> field.type() == Field.FieldType.ONE_OF ? ((OneOfField)field).fields().stream() : Stream.of(field))
-                .sorted(Comparator.comparingInt(Field::fieldNumber))
-                .toList();
+        final List<Field> fieldsToWrite = flattenFields(fields);
         final String fieldWriteLines = fieldsToWrite.stream()
-                .map(field -> generateFieldWriteLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower())))
+                .map(field -> generateFieldWriteLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower()), false))
+                .collect(Collectors.joining("\n")).indent(DEFAULT_INDENT);
+        final String jsonWriterLines = fieldsToWrite.stream()
+                .map(field -> generateFieldWriteLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower()), true))
                 .collect(Collectors.joining("\n")).indent(DEFAULT_INDENT);
 
         return """     
@@ -57,12 +70,49 @@ final class JsonCodecWriteMethodGenerator {
                     sb.append(indent + "}");
                     return sb.toString();
                 }
+
+                /**
+                 * Writes an item as a JSON object to a JsonWriter, byte for byte the same as toJSON().
+                 *
+                 * @param data      The item to write. Must not be null.
+                 * @param json      The JsonWriter to write to
+                 */
+                @Override
+                public void write(@NonNull $modelClass data, @NonNull JsonWriter json) {
+                    json.beginObject();
+                    $jsonWriterLines
+                    json.endObject();
+                }
                 """
             .replace("$modelClass", modelClassName)
             .replace("$fieldWriteLines", fieldWriteLines)
+            .replace("$jsonWriterLines", jsonWriterLines)
             .indent(DEFAULT_INDENT);
     }
 
+    /**
+     * Flatten oneof fields into their sub fields and sort all fields by field number, the order they are written in
+     *
+     * @param fields The fields of the message
+     * @return all fields to write, in order
+     */
+    private static List<Field> flattenFields(final List<Field> fields) {
+        return fields.stream()
+                .flatMap(field -> field.type() == Field.FieldType.ONE_OF ? ((OneOfField)field).fields().stream() : Stream.of(field))
+                .sorted(Comparator.comparingInt(Field::fieldNumber))
+                .toList();
+    }
+
+    /**
+     * Get the name of the static constant holding the pre-encoded JSON name of a field
+     *
+     * @param field The field
+     * @return the constant name
+     */
+    private static String jsonNameConstant(final Field field) {
+        return Common.camelToUpperSnake(field.name()) + "_JSON_NAME";
+    }
+
 
     /**
      * Generate lines of code for writing field
@@ -70,12 +120,19 @@ final class JsonCodecWriteMethodGenerator {
      * @param field The field to generate writing line of code for
      * @param modelClassName The model class name for model class for message type we are generating writer for
      * @param getValueCode java code to get the value of field
+     * @param toJsonWriter true to write the field to a JsonWriter, false to add it to the toJSON() field lines
      * @return java code to write field to output
      */
-    private static String generateFieldWriteLines(final Field field, final String modelClassName, String getValueCode) {
+    private static String generateFieldWriteLines(final Field field, final String modelClassName, String getValueCode,
+            final boolean toJsonWriter) {
         final String fieldDef = Common.camelToUpperSnake(field.name());
-        final String fieldName = '\"' + toJsonFieldName(field.name()) + '\"';
-        final String basicFieldCode = generateBasicFieldLines(field, getValueCode, fieldDef, fieldName);
+        final String writeCode;
+        if (toJsonWriter) {
+            writeCode = "json." + generateBasicFieldLines(field, getValueCode, fieldDef, jsonNameConstant(field), "") + ";";
+        } else {
+            final String fieldName = '\"' + toJsonFieldName(field.name()) + '\"';
+            writeCode = "fieldLines.add(" + generateBasicFieldLines(field, getValueCode, fieldDef, fieldName, "childIndent, ") + ");";
+        }
         String prefix = "// ["+field.fieldNumber()+"] - "+field.name() + "\n";
 
         if (field.parent() != null) {
@@ -84,22 +141,23 @@ final class JsonCodecWriteMethodGenerator {
             prefix += "if(data."+oneOfField.nameCamelFirstLower()+"().kind() == "+ oneOfType +"."+
                     Common.camelToUpperSnake(field.name())+")";
             prefix += "\n";
-            return prefix + "fieldLines.add(" + basicFieldCode + ");";
+            return prefix + writeCode;
         } else {
-            if (field.repeated()) {
-                return prefix + "if(!data." + field.nameCamelFirstLower() + "().isEmpty()) fieldLines.add(" + basicFieldCode + ");";
+            if (field.repeated() || field.type() == Field.FieldType.MAP) {
+                return prefix + "if(!data." + field.nameCamelFirstLower() + "().isEmpty()) " + writeCode;
             } else if (field.type() == Field.FieldType.BYTES){
                 return prefix + "if(data." + field.nameCamelFirstLower() + "() != " + field.javaDefault() +
                         " && data." + field.nameCamelFirstLower() + "() != null" +
-                        " && data." + field.nameCamelFirstLower() + "().length() > 0) fieldLines.add(" + basicFieldCode + ");";
+                        " && data." + field.nameCamelFirstLower() + "().length() > 0) " + writeCode;
             } else {
-                return prefix + "if(data." + field.nameCamelFirstLower() + "() != " + field.javaDefault() + ") fieldLines.add(" + basicFieldCode + ");";
+                return prefix + "if(data." + field.nameCamelFirstLower() + "() != " + field.javaDefault() + ") " + writeCode;
             }
         }
     }
 
     @NonNull
-    private static String generateBasicFieldLines(Field field, String getValueCode, String fieldDef, String fieldName) {
+    private static String generateBasicFieldLines(Field field, String getValueCode, String fieldDef, String fieldName,
+            String indentArg) {
         if(field.optionalValueType()) {
             return switch (field.messageType()) {
                 case "StringValue", "BoolValue", "Int32Value",
@@ -110,12 +168,23 @@ final class JsonCodecWriteMethodGenerator {
                         .formatted(fieldName, getValueCode);
                 default -> throw new UnsupportedOperationException("Unhandled optional message type:" + field.messageType());
             };
+        } else if (field instanceof final MapField mapField) {
+            final SingleField valueField = mapField.valueField();
+            return "mapField($indentArg$fieldName, $values, $valueCode)"
+                    .replace("$fieldName", fieldName)
+                    .replace("$valueCode", getValueCode)
+                    .replace("$indentArg", indentArg)
+                    .replace("$values", valueField.type() == Field.FieldType.MESSAGE ?
+                            valueField.messageTypeModelPackage() + "." +
+                                    Common.capitalizeFirstLetter(valueField.messageType()) + ".JSON" :
+                            mapField.valueFieldDefName());
         } else if (field.repeated()) {
             return switch (field.type()) {
-                case MESSAGE -> "arrayField(childIndent, $fieldName, $codec, $valueCode)"
+                case MESSAGE -> "arrayField($indentArg$fieldName, $codec, $valueCode)"
                         .replace("$fieldName", fieldName)
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
+                        .replace("$indentArg", indentArg)
                         .replace("$codec", ((SingleField) field).messageTypeModelPackage() + "." +
                                 Common.capitalizeFirstLetter(field.messageType()) + ".JSON");
                 default -> "arrayField($fieldName, $fieldDef, $valueCode)"
@@ -129,10 +198,11 @@ final class JsonCodecWriteMethodGenerator {
                         .replace("$fieldName", fieldName)
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode);
-                case MESSAGE -> "field(childIndent, $fieldName, $codec, $valueCode)"
+                case MESSAGE -> "field($indentArg$fieldName, $codec, $valueCode)"
                         .replace("$fieldName", fieldName)
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
+                        .replace("$indentArg", indentArg)
                         .replace("$codec", ((SingleField) field).messageTypeModelPackage() + "." +
                                 Common.capitalizeFirstLetter(field.messageType()) + ".JSON");
                 default -> "field(%s, %s)"
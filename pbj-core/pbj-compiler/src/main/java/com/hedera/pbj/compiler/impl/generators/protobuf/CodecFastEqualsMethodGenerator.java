@@ -2,19 +2,61 @@ package com.hedera.pbj.compiler.impl.generators.protobuf;
 
 import static com.hedera.pbj.compiler.impl.Common.DEFAULT_INDENT;
 
+import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
+import com.hedera.pbj.compiler.impl.OneOfField;
+import com.hedera.pbj.compiler.impl.PbjCompilerException;
 
 import java.util.List;
 
 /**
  * Code to generate the fast equals method for Codec classes. The idea of fast equals is to parse and compare at same
- * time and fail fast as soon as parsed bytes do not match.
+ * time and fail fast as soon as parsed bytes do not match. Each field is compared with the item as it is read, without
+ * creating a model object, strings or bytes. Which fields have been seen is tracked in bit masks, so that once all the
+ * bytes are read any field that was not in the input can be checked to have its default value in the item.
  */
-@SuppressWarnings("unused")
+@SuppressWarnings("StringConcatenationInsideStringBufferAppend")
 class CodecFastEqualsMethodGenerator {
 
-    static String generateFastEqualsMethod(final String modelClassName, final List<Field> fields) {
-        // Placeholder implementation, replace faster implementation than full parse if there is one
+    static String generateFastEqualsMethod(final String modelClassName, final List<Field> fields,
+            final boolean lazySubMessages) {
+        final StringBuilder stateDefs = new StringBuilder();
+        final StringBuilder caseStatements = new StringBuilder();
+        final StringBuilder endChecks = new StringBuilder();
+        int seenBits = 0;
+        for (final Field field : fields) {
+            if (field instanceof final OneOfField oneOfField) {
+                final String seen = seenBit(seenBits++);
+                for (final Field subField : oneOfField.fields()) {
+                    generateFieldCaseStatement(caseStatements, subField, seen, false);
+                }
+                endChecks.append("if ((%s) == 0 && item.%s().kind() != %s.UNSET) {\n    return false;\n}\n"
+                        .formatted(seen, oneOfField.nameCamelFirstLower(), oneOfField.getEnumClassRef()));
+            } else if (field instanceof final MapField mapField) {
+                stateDefs.append("int entries_%s = 0;\n".formatted(field.name()));
+                generateMapFieldCaseStatement(caseStatements, mapField);
+                endChecks.append("if (entries_%s != item.%s().size()) {\n    return false;\n}\n"
+                        .formatted(field.name(), field.nameCamelFirstLower()));
+            } else if (field.repeated()) {
+                stateDefs.append("int index_%s = 0;\n".formatted(field.name()));
+                generateRepeatedFieldCaseStatement(caseStatements, field, false);
+                if (field.type().wireType() != Common.TYPE_LENGTH_DELIMITED) {
+                    generateRepeatedFieldCaseStatement(caseStatements, field, true);
+                }
+                endChecks.append("if (index_%s != item.%s().size()) {\n    return false;\n}\n"
+                        .formatted(field.name(), field.nameCamelFirstLower()));
+            } else {
+                final String seen = seenBit(seenBits++);
+                final boolean lazy = Common.isLazyField(field, lazySubMessages);
+                generateFieldCaseStatement(caseStatements, field, seen, lazy);
+                endChecks.append("if ((%s) == 0 && %s) {\n    return false;\n}\n"
+                        .formatted(seen, notDefaultCheck(field, lazy)));
+            }
+        }
+        for (int word = 0; word < (seenBits + 63) / 64; word++) {
+            stateDefs.insert(0, "long seen%d = 0;\n".formatted(word));
+        }
         return """
                 /**
                  * Compares the given item with the bytes in the input, and returns false if it determines that
@@ -23,16 +65,346 @@ class CodecFastEqualsMethodGenerator {
                  * entire object, when we could have determined the bytes do not represent the same object very
                  * cheaply and quickly.
                  *
+                 * <p>Each field is compared as it is read, and false is returned at the first field that differs,
+                 * in which case the position and limit of the input are undefined. A field or map key that is in the
+                 * input more than once is never equal, protobuf allows it but PBJ never writes it.
+                 *
                  * @param item The item to compare. Cannot be null.
                  * @param input The input with the bytes to compare
                  * @return true if the bytes represent the item, false otherwise.
                  * @throws IOException If it is impossible to read from the {@link ReadableSequentialData}
                  */
                 public boolean fastEquals(@NonNull $modelClass item, @NonNull final ReadableSequentialData input) throws IOException {
-                    return item.equals(parse(input));
+                $stateDefs
+                    try {
+                        while (input.hasRemaining()) {
+                            final int tag = input.readVarInt(false);
+                            final int field = tag >>> TAG_FIELD_OFFSET;
+                            switch (tag) {
+                $caseStatements
+                                default -> {
+                                    final int wireType = tag & TAG_WRITE_TYPE_MASK;
+                                    if (field == 0) {
+                                        throw new IOException("Bad protobuf encoding. We read a field value of " + field);
+                                    }
+                                    if (wireType > 5) {
+                                        throw new IOException("Cannot understand wire_type of " + wireType);
+                                    }
+                                    if (getField(field) != null) {
+                                        throw new IOException("Bad tag [" + tag + "], field [" + field + "] wireType [" + wireType + "]");
+                                    }
+                                    // unknown fields are skipped, as parse does
+                                    skipField(input, ProtoConstants.get(wireType));
+                                }
+                            }
+                        }
+                    } catch (EOFException e) {
+                        // Do nothing, same workaround as in parse for hasRemaining() returning true at the end
+                    }
+                    // every field that was not read has to have its default value
+                $endChecks
+                    return true;
                 }
                 """
                 .replace("$modelClass", modelClassName)
+                .replace("$stateDefs", stateDefs.toString().indent(DEFAULT_INDENT).stripTrailing())
+                .replace("$caseStatements", caseStatements.toString().indent(DEFAULT_INDENT * 4).stripTrailing())
+                .replace("$endChecks", endChecks.toString().indent(DEFAULT_INDENT).stripTrailing())
                 .indent(DEFAULT_INDENT);
     }
+
+    /**
+     * Get the expression for the bit in the seen bit masks for a field
+     *
+     * @param index the index of the field's bit
+     * @return java expression like "seen0 & (1L << 5)"
+     */
+    private static String seenBit(final int index) {
+        return "seen%d & (1L << %d)".formatted(index / 64, index % 64);
+    }
+
+    /**
+     * Get the statement setting the bit in the seen bit masks for a field
+     *
+     * @param seen the expression for the bit returned by {@link #seenBit(int)}
+     * @return java statement setting the bit
+     */
+    private static String setSeenBit(final String seen) {
+        return seen.replace(" & ", " |= ") + ";";
+    }
+
+    /**
+     * Generate the case statement header comment line for a tag
+     *
+     * @param sb StringBuilder to append code to
+     * @param field the field
+     * @param wireType the wire type in the tag
+     * @param kind extra description of the encoding, may be empty
+     */
+    private static void appendCase(final StringBuilder sb, final Field field, final int wireType, final String kind) {
+        final int fieldNum = field.fieldNumber();
+        sb.append("case " + Common.getTag(wireType, fieldNum) + " /* type=" + wireType + " [" + field.type() + "] "
+                + kind + "field=" + fieldNum + " [" + field.name() + "] */ -> {\n");
+    }
+
+    /**
+     * Generate switch case statement for a field that is not repeated, either a single field or one field of a oneof
+     *
+     * @param sb StringBuilder to append code to
+     * @param field the field
+     * @param seen the expression for the field's bit, or the oneof's bit for fields of a oneof
+     * @param lazy true if the field is a lazily parsed sub-message
+     */
+    private static void generateFieldCaseStatement(final StringBuilder sb, final Field field, final String seen,
+            final boolean lazy) {
+        final String getter = "item.%s()".formatted(field.nameCamelFirstLower());
+        // the field must not have been read before, and the item must have a value for it
+        final String present;
+        if (field.parent() != null) {
+            present = " || !item.has%s()".formatted(field.nameCamelFirstUpper());
+        } else if (lazy) {
+            present = " || item.%s() == null".formatted(Common.lazyComponentName(field));
+        } else if (field.type() == Field.FieldType.MESSAGE) {
+            present = " || %s == null".formatted(getter);
+        } else {
+            present = "";
+        }
+        final String body;
+        if (field.optionalValueType()) {
+            appendCase(sb, field, Common.TYPE_LENGTH_DELIMITED, "");
+            body = """
+                    if (($seen) != 0$present) {
+                        return false;
+                    }
+                    $setSeen
+                    final var valueTypeMessageSize = input.readVarInt(false);
+                    if (valueTypeMessageSize > 0) {
+                        final var beforeLimit = input.limit();
+                        input.limit(input.position() + valueTypeMessageSize);
+                        if (input.readVarInt(false) != $valueTag || $notEqual) {
+                            return false;
+                        }
+                        input.limit(beforeLimit);
+                    } else if ($notDefault) {
+                        return false;
+                    }"""
+                    .replace("$present", " || %s == null".formatted(getter))
+                    .replace("$valueTag", Integer.toString(Common.getTag(optionalValueWireType(field), 1)))
+                    .replace("$notEqual", readNotEqual(field, getter, true))
+                    .replace("$notDefault", switch (field.messageType()) {
+                        case "StringValue" -> "!%s.isEmpty()".formatted(getter);
+                        case "BytesValue" -> "%s.length() != 0".formatted(getter);
+                        case "BoolValue" -> getter;
+                        // -0.0 is not equal to the 0.0 of an empty wrapper, as the wrapper's equals compares bits
+                        case "FloatValue" -> "Float.floatToIntBits(%s) != 0".formatted(getter);
+                        case "DoubleValue" -> "Double.doubleToLongBits(%s) != 0".formatted(getter);
+                        default -> "%s != 0".formatted(getter);
+                    });
+        } else if (field.type() == Field.FieldType.MESSAGE) {
+            // lazy fields are compared by value too, the item's bytes may be a different encoding of an equal message
+            appendCase(sb, field, field.type().wireType(), lazy ? "lazy " : "");
+            body = """
+                    if (($seen) != 0$present) {
+                        return false;
+                    }
+                    $setSeen
+                    $compareMessage"""
+                    .replace("$compareMessage", compareMessage(field, getter));
+        } else {
+            appendCase(sb, field, field.type().wireType(), "");
+            body = """
+                    if (($seen) != 0$present || $notEqual) {
+                        return false;
+                    }
+                    $setSeen"""
+                    // a oneof's value is compared by its equals, a single field with != like the model's equals
+                    .replace("$notEqual", readNotEqual(field, getter, field.parent() != null));
+        }
+        sb.append(body
+                .replace("$seen", seen)
+                .replace("$present", present)
+                .replace("$setSeen", setSeenBit(seen))
+                .indent(DEFAULT_INDENT));
+        sb.append("}\n");
+    }
+
+    /**
+     * Generate switch case statement for a repeated field, each value read is compared with the next value of the
+     * item's list.
+     *
+     * @param sb StringBuilder to append code to
+     * @param field the repeated field
+     * @param packed true for the packed encoding of a repeated numeric field
+     */
+    private static void generateRepeatedFieldCaseStatement(final StringBuilder sb, final Field field,
+            final boolean packed) {
+        final String index = "index_" + field.name();
+        final String next = "item.%s().get(%s++)".formatted(field.nameCamelFirstLower(), index);
+        final String inRange = "%s < item.%s().size()".formatted(index, field.nameCamelFirstLower());
+        final String body;
+        if (packed) {
+            appendCase(sb, field, Common.TYPE_LENGTH_DELIMITED, "packed-repeated ");
+            body = """
+                    final var length = input.readVarInt(false);
+                    final var beforeLimit = input.limit();
+                    input.limit(input.position() + length);
+                    while (input.hasRemaining()) {
+                        if (!($inRange) || $notEqual) {
+                            return false;
+                        }
+                    }
+                    input.limit(beforeLimit);"""
+                    .replace("$notEqual", readNotEqual(field, next, true));
+        } else if (field.type() == Field.FieldType.MESSAGE) {
+            appendCase(sb, field, field.type().wireType(), "");
+            body = """
+                    if (!($inRange)) {
+                        return false;
+                    }
+                    $compareMessage"""
+                    .replace("$compareMessage", compareMessage(field, next));
+        } else {
+            appendCase(sb, field, field.type().wireType(), "");
+            body = """
+                    if (!($inRange) || $notEqual) {
+                        return false;
+                    }"""
+                    .replace("$notEqual", readNotEqual(field, next, true));
+        }
+        sb.append(body.replace("$inRange", inRange).indent(DEFAULT_INDENT));
+        sb.append("}\n");
+    }
+
+    /**
+     * Generate switch case statement for a map field. The entry is read the same way parse reads it, then compared
+     * with the item's value for the key. Counting the entries read checks no entry of the item is missing.
+     *
+     * @param sb StringBuilder to append code to
+     * @param field the map field
+     */
+    private static void generateMapFieldCaseStatement(final StringBuilder sb, final MapField field) {
+        appendCase(sb, field, field.type().wireType(), "");
+        final String notEqual = switch (field.valueField().type()) {
+            case STRING, BYTES, MESSAGE -> "!expected.equals(mapValue)";
+            // the map's equals compares boxed values, so floating point values by their bits
+            case FLOAT -> "Float.floatToIntBits(expected) != Float.floatToIntBits(mapValue)";
+            case DOUBLE -> "Double.doubleToLongBits(expected) != Double.doubleToLongBits(mapValue)";
+            default -> "expected != mapValue";
+        };
+        sb.append("""
+                $readEntry
+                final var expected = item.$fieldName().get(mapKey);
+                if (expected == null || $notEqual) {
+                    return false;
+                }
+                entries_$name++;"""
+                .replace("$readEntry", CodecParseMethodGenerator.generateMapEntryReadCode(field, false))
+                .replace("$notEqual", notEqual)
+                .replace("$fieldName", field.nameCamelFirstLower())
+                .replace("$name", field.name())
+                .indent(DEFAULT_INDENT));
+        sb.append("}\n");
+    }
+
+    /**
+     * Get an expression that reads a value of a field from the input and is true if it is not equal to the expected
+     * value. Strings and bytes are compared without creating an object.
+     *
+     * <p>Floating point values are compared the way the model's equals compares them. Lists, wrappers and oneofs
+     * compare them by their bits, so -0.0 is not equal to 0.0 and NaN is equal to NaN, while single fields are
+     * compared with {@code !=}.
+     *
+     * @param field the field
+     * @param expected java expression for the expected value, evaluated once
+     * @param compareBits true to compare floating point values by their bits rather than with {@code !=}
+     * @return java boolean expression
+     */
+    private static String readNotEqual(final Field field, final String expected, final boolean compareBits) {
+        final Field.FieldType type = field.optionalValueType()
+                ? switch (field.messageType()) {
+                    case "StringValue" -> Field.FieldType.STRING;
+                    case "BytesValue" -> Field.FieldType.BYTES;
+                    case "FloatValue" -> Field.FieldType.FLOAT;
+                    case "DoubleValue" -> Field.FieldType.DOUBLE;
+                    default -> Field.FieldType.INT64;
+                }
+                : field.type();
+        return switch (type) {
+            case STRING -> "!readStringEquals(input, %s)".formatted(expected);
+            case BYTES -> "!readBytesEquals(input, %s)".formatted(expected);
+            case FLOAT -> compareBits
+                    ? "Float.floatToIntBits(%s) != Float.floatToIntBits(%s)"
+                            .formatted(CodecParseMethodGenerator.readMethod(field), expected)
+                    : "%s != %s".formatted(CodecParseMethodGenerator.readMethod(field), expected);
+            case DOUBLE -> compareBits
+                    ? "Double.doubleToLongBits(%s) != Double.doubleToLongBits(%s)"
+                            .formatted(CodecParseMethodGenerator.readMethod(field), expected)
+                    : "%s != %s".formatted(CodecParseMethodGenerator.readMethod(field), expected);
+            case MESSAGE, ONE_OF, MAP -> throw new PbjCompilerException("Should never happen, handled elsewhere");
+            // numbers, bools and enums, boxed expected values are unboxed by the comparison
+            default -> "%s != %s".formatted(CodecParseMethodGenerator.readMethod(field), expected);
+        };
+    }
+
+    /**
+     * Get the code that compares a sub-message in the input with an expected message, using the sub-message codec's
+     * fast equals within the length of the sub-message.
+     *
+     * @param field the message field
+     * @param expected java expression for the expected message, evaluated once and not null
+     * @return java code
+     */
+    private static String compareMessage(final Field field, final String expected) {
+        return """
+                final var messageLength = input.readVarInt(false);
+                final var limitBefore = input.limit();
+                input.limit(input.position() + messageLength);
+                if (!$messageType.PROTOBUF.fastEquals($expected, input)) {
+                    return false;
+                }
+                input.limit(limitBefore);"""
+                .replace("$messageType", field.messageType())
+                .replace("$expected", expected);
+    }
+
+    /**
+     * Get an expression that is true if the item's value for a single field that was not in the input is not the
+     * default value, which is the value parse would give the field.
+     *
+     * @param field the field
+     * @param lazy true if the field is a lazily parsed sub-message
+     * @return java boolean expression
+     */
+    private static String notDefaultCheck(final Field field, final boolean lazy) {
+        final String getter = "item.%s()".formatted(field.nameCamelFirstLower());
+        if (lazy) {
+            return "item.%s() != null".formatted(Common.lazyComponentName(field));
+        } else if (field.optionalValueType()) {
+            return "%s != null".formatted(getter);
+        }
+        return switch (field.type()) {
+            case MESSAGE -> "%s != null".formatted(getter);
+            case ENUM -> "%s != %s.fromProtobufOrdinal(0)"
+                    .formatted(getter, Common.snakeToCamel(field.messageType(), true));
+            case STRING, BYTES -> "!%s.equals(%s)".formatted(field.javaDefault(), getter);
+            case ONE_OF, MAP -> throw new PbjCompilerException("Should never happen, handled elsewhere");
+            default -> "%s != %s".formatted(getter, field.javaDefault());
+        };
+    }
+
+    /**
+     * Get the wire type of the value inside an optional value type wrapper message
+     *
+     * @param field the optional value type field
+     * @return the wire type of field 1 of the wrapper
+     */
+    private static int optionalValueWireType(final Field field) {
+        return switch (field.messageType()) {
+            case "StringValue", "BytesValue" -> Common.TYPE_LENGTH_DELIMITED;
+            case "Int32Value", "UInt32Value", "Int64Value", "UInt64Value", "BoolValue" -> Common.TYPE_VARINT;
+            case "FloatValue" -> Common.TYPE_FIXED32;
+            case "DoubleValue" -> Common.TYPE_FIXED64;
+            default -> throw new PbjCompilerException("Unexpected and unknown field type " + field.type());
+        };
+    }
 }
@@ -39,7 +39,9 @@ public final class CodecGenerator implements Generator {
 				fields.add(field);
 				field.addAllNeededImports(imports, true, true, false);
 			} else if (item.mapField() != null) { // process map fields
-				throw new IllegalStateException("Encountered a mapField that was not handled in "+ codecClassName);
+				final var field = new MapField(item.mapField(), lookupHelper);
+				fields.add(field);
+				field.addAllNeededImports(imports, true, true, false);
 			} else if (item.field() != null && item.field().fieldName() != null) {
 				final var field = new SingleField(item.field(), lookupHelper);
 				fields.add(field);
@@ -50,7 +52,8 @@ public final class CodecGenerator implements Generator {
 				System.err.println("WriterGenerator Warning - Unknown element: "+item+" -- "+item.getText());
 			}
 		}
-		final String writeMethod = CodecWriteMethodGenerator.generateWriteMethod(modelClassName, fields);
+		final boolean lazySubMessages = lookupHelper.isLazySubMessages(msgDef);
+		final String writeMethod = CodecWriteMethodGenerator.generateWriteMethod(modelClassName, fields, lazySubMessages);
 
 		try (FileWriter javaWriter = new FileWriter(javaFile)) {
 			javaWriter.write("""
@@ -101,9 +104,11 @@ public final class CodecGenerator implements Generator {
 					.replace("$parseStrictMethod", CodecParseMethodGenerator.generateParseStrictMethod(modelClassName, fields))
 					.replace("$writeMethod", writeMethod)
 					.replace("$measureDataMethod", CodecMeasureDataMethodGenerator.generateMeasureMethod(modelClassName, fields))
-					.replace("$measureRecordMethod", CodecMeasureRecordMethodGenerator.generateMeasureMethod(modelClassName, fields))
-					.replace("$fastEqualsMethod", CodecFastEqualsMethodGenerator.generateFastEqualsMethod(modelClassName, fields))
-					.replace("$parseInternal", CodecParseMethodGenerator.generateParseInternalMethod(modelClassName, fields))
+					.replace("$measureRecordMethod", CodecMeasureRecordMethodGenerator.generateMeasureMethod(modelClassName, fields, lazySubMessages))
+					.replace("$fastEqualsMethod", CodecFastEqualsMethodGenerator.generateFastEqualsMethod(modelClassName, fields,
+							lazySubMessages))
+					.replace("$parseInternal", CodecParseMethodGenerator.generateParseInternalMethod(modelClassName, fields,
+							lazySubMessages, lookupHelper.isHashCodeCached(msgDef), lookupHelper.isContentHashCached(msgDef)))
 			);
 		}
 	}
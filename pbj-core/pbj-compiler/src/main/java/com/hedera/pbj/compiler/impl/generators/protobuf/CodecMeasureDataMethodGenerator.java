@@ -8,27 +8,23 @@ import java.util.List;
 
 /**
  * Code to generate the measure data method for Codec classes. This measures the size of bytes of data in the input to be parsed.
+ * Fields are skipped over by their wire type rather than parsed, so measuring does not create any objects.
  */
 @SuppressWarnings("unused")
 class CodecMeasureDataMethodGenerator {
 
     static String generateMeasureMethod(final String modelClassName, final List<Field> fields) {
-        // Placeholder implementation, replace faster implementation than full parse if there is one
         return """
                 /**
-                 * Reads from this data input the length of the data within the input. The implementation may
-                 * read all the data, or just some special serialized data, as needed to find out the length of
-                 * the data.
+                 * Reads from this data input the length of the data within the input. Each field is skipped over
+                 * without being parsed, see {@link ProtoParserTools#measureMessage(ReadableSequentialData)}.
                  *
                  * @param input The input to use
                  * @return The length of the data item in the input
                  * @throws IOException If it is impossible to read from the {@link ReadableSequentialData}
                  */
                 public int measure(@NonNull final ReadableSequentialData input) throws IOException {
-                    final var start = input.position();
-                    parse(input);
-                    final var end = input.position();
-                    return (int)(end - start);
+                    return measureMessage(input);
                 }
                 """
                 .indent(DEFAULT_INDENT);
@@ -4,6 +4,7 @@ import static com.hedera.pbj.compiler.impl.Common.DEFAULT_INDENT;
 
 import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 import com.hedera.pbj.compiler.impl.SingleField;
 
@@ -18,12 +19,32 @@ import java.util.stream.Stream;
  */
 class CodecMeasureRecordMethodGenerator {
 
-    static String generateMeasureMethod(final String modelClassName, final List<Field> fields) {
+    static String generateMeasureMethod(final String modelClassName, final List<Field> fields, final boolean lazySubMessages) {
         final String fieldSizeOfLines = fields.stream()
                 .flatMap(field -> field.type() == Field.FieldType.ONE_OF ? ((OneOfField)field).fields().stream() : Stream.of(field))
                 .sorted(Comparator.comparingInt(Field::fieldNumber))
-                .map(field -> generateFieldSizeOfLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower())))
+                .map(field -> field instanceof final MapField mapField ? generateMapFieldSizeOfLines(mapField)
+                        : Common.isLazyField(field, lazySubMessages) ? generateLazyFieldSizeOfLines(field)
+                        : generateFieldSizeOfLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower())))
                 .collect(Collectors.joining("\n")).indent(DEFAULT_INDENT);
+        if (!CodecWriteMethodGenerator.hasNestedMessages(fields)) {
+            return """
+                    /**
+                     * Compute number of bytes that would be written when calling {@code write()} method.
+                     *
+                     * @param data The input model data to measure write bytes for
+                     * @return The length in bytes that would be written
+                     */
+                    public int measureRecord($modelClass data) {
+                        int size = 0;
+                        $fieldSizeOfLines
+                        return size;
+                    }
+                    """
+                    .replace("$modelClass", modelClassName)
+                    .replace("$fieldSizeOfLines", fieldSizeOfLines)
+                    .indent(DEFAULT_INDENT);
+        }
         return """
                 /**
                  * Compute number of bytes that would be written when calling {@code write()} method.
@@ -32,6 +53,19 @@ class CodecMeasureRecordMethodGenerator {
                  * @return The length in bytes that would be written
                  */
                 public int measureRecord($modelClass data) {
+                    return measureRecord(data, null);
+                }
+                
+                /**
+                 * Compute number of bytes that would be written when calling {@code write()} method, recording the
+                 * size of each nested message in the order they will be written.
+                 *
+                 * @param data The input model data to measure write bytes for
+                 * @param sizes The cache to record nested message sizes in, or null if not needed
+                 * @return The length in bytes that would be written
+                 */
+                @Override
+                public int measureRecord($modelClass data, MessageSizeCache sizes) {
                     int size = 0;
                     $fieldSizeOfLines
                     return size;
@@ -42,6 +76,64 @@ class CodecMeasureRecordMethodGenerator {
                 .indent(DEFAULT_INDENT);
     }
 
+    /**
+     * Generate lines of code for measuring a map field, each entry is measured as a nested message with its key and
+     * value fields
+     *
+     * @param field The map field
+     * @return java code for adding fields size to "size" variable
+     */
+    private static String generateMapFieldSizeOfLines(final MapField field) {
+        return """
+                // [$fieldNumber] - $fieldName
+                size += sizeOfMap($fieldDef, data.$fieldNameCamel(), (k, v) ->
+                        $keySizeOf +
+                        $valueSizeOf, sizes);"""
+                .replace("$fieldNumber", Integer.toString(field.fieldNumber()))
+                .replace("$fieldNameCamel", field.nameCamelFirstLower())
+                .replace("$fieldName", field.name())
+                .replace("$fieldDef", Common.camelToUpperSnake(field.name()))
+                .replace("$keySizeOf", generateMapEntryFieldSizeOf(field.keyField(), field.keyFieldDefName(), "k"))
+                .replace("$valueSizeOf", generateMapEntryFieldSizeOf(field.valueField(), field.valueFieldDefName(), "v"));
+    }
+
+    /**
+     * Generate the code for measuring the key or value field of a map entry
+     *
+     * @param field The key or value field
+     * @param fieldDef The name of the field definition constant for the key or value
+     * @param valueCode java code for the key or value
+     * @return java code expression for the size of the key or value
+     */
+    private static String generateMapEntryFieldSizeOf(final SingleField field, final String fieldDef, final String valueCode) {
+        return switch(field.type()) {
+            case ENUM -> "sizeOfEnum(%s, %s)".formatted(fieldDef, valueCode);
+            case STRING -> "sizeOfString(%s, %s)".formatted(fieldDef, valueCode);
+            case MESSAGE -> "sizeOfMessage($fieldDef, $valueCode, $codec, sizes)"
+                    .replace("$fieldDef", fieldDef)
+                    .replace("$valueCode", valueCode)
+                    .replace("$codec", field.messageTypeModelPackage() + "." +
+                            Common.capitalizeFirstLetter(field.messageType())+ ".PROTOBUF");
+            case BOOL -> "sizeOfBoolean(%s, %s)".formatted(fieldDef, valueCode);
+            default -> "sizeOf%s(%s, %s)".formatted(field.methodNameType(), fieldDef, valueCode);
+        };
+    }
+
+    /**
+     * Generate lines of code for measuring a lazily parsed sub-message field, which does not parse it
+     *
+     * @param field The lazily parsed field
+     * @return java code for adding fields size to "size" variable
+     */
+    private static String generateLazyFieldSizeOfLines(final Field field) {
+        return "// [" + field.fieldNumber() + "] - " + field.name() + "\n" +
+                "size += sizeOfLazyMessage($fieldDef, data.$component(), $codec, sizes);"
+                        .replace("$fieldDef", Common.camelToUpperSnake(field.name()))
+                        .replace("$component", Common.lazyComponentName(field))
+                        .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
+                                Common.capitalizeFirstLetter(field.messageType())+ ".PROTOBUF");
+    }
+
     /**
      * Generate lines of code for measure method, that measure the size of each field and add to "size" variable.
      *
@@ -87,7 +179,7 @@ class CodecMeasureRecordMethodGenerator {
             return prefix + switch(field.type()) {
                 case ENUM -> "size += sizeOfEnumList(%s, %s);"
                         .formatted(fieldDef, getValueCode);
-                case MESSAGE -> "size += sizeOfMessageList($fieldDef, $valueCode, $codec::measureRecord);"
+                case MESSAGE -> "size += sizeOfMessageList($fieldDef, $valueCode, $codec, sizes);"
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
                         .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
@@ -101,7 +193,7 @@ class CodecMeasureRecordMethodGenerator {
                         .formatted(fieldDef, getValueCode);
                 case STRING -> "size += sizeOfString(%s, %s);"
                         .formatted(fieldDef,getValueCode);
-                case MESSAGE -> "size += sizeOfMessage($fieldDef, $valueCode, $codec::measureRecord);"
+                case MESSAGE -> "size += sizeOfMessage($fieldDef, $valueCode, $codec, sizes);"
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
                         .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
@@ -4,8 +4,10 @@ import static com.hedera.pbj.compiler.impl.Common.DEFAULT_INDENT;
 
 import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 import com.hedera.pbj.compiler.impl.PbjCompilerException;
+import com.hedera.pbj.compiler.impl.SingleField;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -60,7 +62,7 @@ class CodecParseMethodGenerator {
         .replace("$fieldDefs",fields.stream().map(field -> "    %s temp_%s = %s;".formatted(field.javaFieldType(),
                 field.name(), field.javaDefault())).collect(Collectors.joining("\n")))
         .replace("$fieldsList",fields.stream().map(field -> "temp_"+field.name()).collect(Collectors.joining(", ")))
-        .replace("$caseStatements",generateCaseStatements(fields))
+        .replace("$caseStatements",generateCaseStatements(fields, false))
         .replaceAll("\n", "\n" + Common.FIELD_INDENT);
     }
 
@@ -88,11 +90,12 @@ class CodecParseMethodGenerator {
         .replace("$fieldDefs",fields.stream().map(field -> "    %s temp_%s = %s;".formatted(field.javaFieldType(),
                 field.name(), field.javaDefault())).collect(Collectors.joining("\n")))
         .replace("$fieldsList",fields.stream().map(field -> "temp_"+field.name()).collect(Collectors.joining(", ")))
-        .replace("$caseStatements",generateCaseStatements(fields))
+        .replace("$caseStatements",generateCaseStatements(fields, false))
         .indent(DEFAULT_INDENT);
     }
 
-    static String generateParseInternalMethod(final String modelClassName, final List<Field> fields) {
+    static String generateParseInternalMethod(final String modelClassName, final List<Field> fields,
+            final boolean lazySubMessages, final boolean hashCodeCached, final boolean contentHashCached) {
         return """
                 /**
                  * Parses a $modelClassName object from ProtoBuf bytes in a {@link ReadableSequentialData}. Throws if in strict mode ONLY.
@@ -167,21 +170,66 @@ class CodecParseMethodGenerator {
                 }
                 """
         .replace("$modelClassName",modelClassName)
-        .replace("$fieldDefs",fields.stream().map(field -> "    %s temp_%s = %s;".formatted(field.javaFieldType(),
-                field.name(), field.javaDefault())).collect(Collectors.joining("\n")))
-        .replace("$fieldsList",fields.stream().map(field -> "temp_"+field.name()).collect(Collectors.joining(", ")))
-        .replace("$caseStatements",generateCaseStatements(fields))
+        .replace("$fieldDefs",fields.stream().map(field -> generateTempFieldDef(field, lazySubMessages))
+                .collect(Collectors.joining("\n")))
+        .replace("$fieldsList",fields.stream().map(CodecParseMethodGenerator::generateTempFieldValue)
+                .collect(Collectors.joining(", "))
+                // lazy fields are passed as LazyMessages, so the canonical constructor has to be called
+                + (fields.stream().anyMatch(field -> Common.isLazyField(field, lazySubMessages))
+                        ? (hashCodeCached ? ", 0" : "") + (contentHashCached ? ", 0" : "")
+                                + ", LazyMessage.Marker.LAZY_FIELDS" : ""))
+        .replace("$caseStatements",generateCaseStatements(fields, lazySubMessages))
         .indent(DEFAULT_INDENT);
     }
 
+    /**
+     * Generate the declaration of the temp variable a field is parsed into. Repeated scalar fields are collected in a
+     * primitive list builder and map fields in a map builder, which are only created when the first value is read.
+     *
+     * @param field the field
+     * @param lazySubMessages true if sub-message fields are kept as bytes until accessed
+     * @return java code declaring the temp variable
+     */
+    private static String generateTempFieldDef(final Field field, final boolean lazySubMessages) {
+        final String primitiveListType = Common.primitiveListType(field);
+        if (primitiveListType != null) {
+            return "    %s.Builder temp_%s = null;".formatted(primitiveListType, field.name());
+        } else if (field instanceof final MapField mapField) {
+            return "    PbjMap.Builder<%s, %s> temp_%s = null;".formatted(mapField.javaKeyType(), mapField.javaValueType(),
+                    field.name());
+        } else if (Common.isLazyField(field, lazySubMessages)) {
+            return "    LazyMessage<%s> temp_%s = null;".formatted(field.javaFieldType(), field.name());
+        } else {
+            return "    %s temp_%s = %s;".formatted(field.javaFieldType(), field.name(), field.javaDefault());
+        }
+    }
+
+    /**
+     * Generate the code for the value of a field's temp variable passed to the model constructor
+     *
+     * @param field the field
+     * @return java code for the parsed value
+     */
+    private static String generateTempFieldValue(final Field field) {
+        final String primitiveListType = Common.primitiveListType(field);
+        if (primitiveListType != null) {
+            return "%s.Builder.build(temp_%s)".formatted(primitiveListType, field.name());
+        } else if (field instanceof MapField) {
+            return "PbjMap.Builder.build(temp_%s)".formatted(field.name());
+        } else {
+            return "temp_" + field.name();
+        }
+    }
+
     /**
      * Generate switch case statements for each tag (field & wire type pair). For repeated numeric value types we
      * generate 2 case statements for packed and unpacked encoding.
      *
      * @param fields list of all fields in record
+     * @param lazySubMessages true if sub-message fields are kept as bytes until accessed
      * @return string of case statement code
      */
-    private static String generateCaseStatements(final List<Field> fields) {
+    private static String generateCaseStatements(final List<Field> fields, final boolean lazySubMessages) {
         StringBuilder sb = new StringBuilder();
         for(Field field: fields) {
             if (field instanceof final OneOfField oneOfField) {
@@ -193,6 +241,10 @@ class CodecParseMethodGenerator {
                 // "packed" and repeated primitive fields
                 generateFieldCaseStatement(sb, field);
                 generateFieldCaseStatementPacked(sb, field);
+            } else if (field instanceof final MapField mapField) {
+                generateMapFieldCaseStatement(sb, mapField);
+            } else if (Common.isLazyField(field, lazySubMessages)) {
+                generateLazyFieldCaseStatement(sb, field);
             } else {
                 generateFieldCaseStatement(sb, field);
             }
@@ -217,11 +269,11 @@ class CodecParseMethodGenerator {
 				// Read the length of packed repeated field data
 				final var length = input.readVarInt(false);
 				final var beforeLimit = input.limit();
-				input.limit(input.position() + length);
-				while (input.hasRemaining()) {
-				    $tempFieldName = addToList($tempFieldName,$readMethod);
-				}
+				input.limit(input.position() + length);$presize
+				$readValues
 				input.limit(beforeLimit);"""
+                .replace("$presize", generatePackedPresize(field))
+                .replace("$readValues", generatePackedReadValues(field))
                 .replace("$tempFieldName", "temp_" + field.name())
                 .replace("$readMethod", readMethod(field))
                 .indent(DEFAULT_INDENT)
@@ -229,6 +281,174 @@ class CodecParseMethodGenerator {
         sb.append("\n}\n");
     }
 
+    /**
+     * Generate code to read all the values of a packed field. Packed varint fields that are parsed into a primitive
+     * list are decoded in one batch straight into its builder, all other fields are read one value at a time.
+     *
+     * @param field the repeated field
+     * @return java code to read the values, up to the input limit
+     */
+    private static String generatePackedReadValues(final Field field) {
+        if (Common.primitiveListType(field) != null) {
+            switch (field.type()) {
+                case INT32, UINT32, SINT32 -> {
+                    return "$tempFieldName = addVarIntsToList($tempFieldName, input, %s);"
+                            .formatted(field.type() == Field.FieldType.SINT32);
+                }
+                case INT64, UINT64, SINT64 -> {
+                    return "$tempFieldName = addVarLongsToList($tempFieldName, input, %s);"
+                            .formatted(field.type() == Field.FieldType.SINT64);
+                }
+                default -> { }
+            }
+        }
+        return """
+                while (input.hasRemaining()) {
+                    $tempFieldName = addToList($tempFieldName,$readMethod);
+                }""";
+    }
+
+    /**
+     * Generate code to create the primitive list builder for a packed fixed width field with the exact number of
+     * values in the packed data, so it never has to grow. The length is untrusted, so the size is limited to the bytes
+     * actually remaining in the input and to MAX_PRESIZE_BYTES, bigger fields grow as they are read.
+     *
+     * @param field the repeated field
+     * @return java code to create the builder, empty if the field is not fixed width
+     */
+    private static String generatePackedPresize(final Field field) {
+        final int valueSize = switch (field.type()) {
+            case FIXED32, SFIXED32, FLOAT -> Integer.BYTES;
+            case FIXED64, SFIXED64, DOUBLE -> Long.BYTES;
+            default -> 0;
+        };
+        if (valueSize == 0 || Common.primitiveListType(field) == null) {
+            return "";
+        }
+        return """
+                
+                if ($tempFieldName == null) {
+                    $tempFieldName = new $listType.Builder((int) Math.min(input.remaining(), MAX_PRESIZE_BYTES) / $valueSize);
+                }"""
+                .replace("$tempFieldName", "temp_" + field.name())
+                .replace("$listType", Common.primitiveListType(field))
+                .replace("$valueSize", Integer.toString(valueSize));
+    }
+
+    /**
+     * Generate switch case statement for a lazily parsed sub-message field. The encoded sub-message is only read off as
+     * bytes, except in strict mode where it has to be parsed to check it for unknown fields.
+     *
+     * @param sb StringBuilder to append code to
+     * @param field field to generate case statement for
+     */
+    private static void generateLazyFieldCaseStatement(final StringBuilder sb, final Field field) {
+        final int wireType = field.type().wireType();
+        final int fieldNum = field.fieldNumber();
+        final int tag = Common.getTag(wireType, fieldNum);
+        sb.append("case " + tag +" /* type=" + wireType + " [" + field.type() + "] lazy " +
+                "field=" + fieldNum + " [" + field.name() + "] */ -> {\n");
+        sb.append("""
+					final var messageLength = input.readVarInt(false);
+					if (messageLength < 0 || messageLength > input.remaining()) {
+					    throw new MalformedProtobufException("Invalid length " + messageLength + " of field $fieldName with "
+					            + input.remaining() + " bytes remaining");
+					}
+					if (strictMode) {
+					    final var limitBefore = input.limit();
+					    final var end = input.position() + messageLength;
+					    input.limit(end);
+					    temp_$fieldName = LazyMessage.of($messageType.PROTOBUF.parseStrict(input), $messageType.PROTOBUF);
+					    if (input.position() != end) {
+					        throw new MalformedProtobufException("Field $fieldName did not end at its length " + messageLength);
+					    }
+					    input.limit(limitBefore);
+					} else {
+					    temp_$fieldName = LazyMessage.ofBytes(input.readBytes(messageLength), $messageType.PROTOBUF);
+					}"""
+                .replace("$fieldName", field.name())
+                .replace("$messageType", field.messageType())
+                .indent(DEFAULT_INDENT)
+        );
+        sb.append("}\n");
+    }
+
+    /**
+     * Generate switch case statement for a map field. Each entry is a nested message with the key as field 1 and the
+     * value as field 2, either may be missing in which case it is the default value for its type. If a key is repeated
+     * the last entry wins, that is handled by the map builder.
+     *
+     * @param sb StringBuilder to append code to
+     * @param field map field to generate case statement for
+     */
+    private static void generateMapFieldCaseStatement(final StringBuilder sb, final MapField field) {
+        final int wireType = field.type().wireType();
+        final int fieldNum = field.fieldNumber();
+        final int tag = Common.getTag(wireType, fieldNum);
+        sb.append("case " + tag +" /* type=" + wireType + " [" + field.type() + "] " +
+                "field=" + fieldNum + " [" + field.name() + "] */ -> {\n");
+        sb.append((generateMapEntryReadCode(field, true) + "\n"
+                + "temp_" + field.name() + " = addToMap(temp_" + field.name() + ", mapKey, mapValue);")
+                .indent(DEFAULT_INDENT));
+        sb.append("}\n");
+    }
+
+    /**
+     * Generate code to read one entry of a map field into the local variables {@code mapKey} and {@code mapValue}.
+     * Used by parse and by fast equals, which has no strict mode.
+     *
+     * @param field map field to generate code for
+     * @param strictModeAvailable true if the code is in a method with a {@code strictMode} variable, if false unknown
+     *                            entry fields are always skipped
+     * @return java code reading the entry
+     */
+    static String generateMapEntryReadCode(final MapField field, final boolean strictModeAvailable) {
+        final SingleField keyField = field.keyField();
+        final SingleField valueField = field.valueField();
+        return """
+				final var entryLength = input.readVarInt(false);
+				final var entryLimitBefore = input.limit();
+				input.limit(input.position() + entryLength);
+				$keyType mapKey = $keyDefault;
+				$valueType mapValue = $valueDefault;
+				while (input.hasRemaining()) {
+				    final int entryTag = input.readVarInt(false);
+				    switch (entryTag) {
+				        case $keyTag -> mapKey = $readKey;
+				        case $valueTag -> {
+				$readValue
+				        }
+				        default -> {$strictCheck
+				            skipField(input, ProtoConstants.get(entryTag & TAG_WRITE_TYPE_MASK));
+				        }
+				    }
+				}
+				input.limit(entryLimitBefore);"""
+                .replace("$keyType", keyField.javaFieldType())
+                .replace("$keyDefault", keyField.javaDefault())
+                .replace("$valueType", valueField.javaFieldType())
+                .replace("$valueDefault", valueField.type() == Field.FieldType.MESSAGE
+                        ? valueField.messageType() + ".DEFAULT" : valueField.javaDefault())
+                .replace("$keyTag", Integer.toString(Common.getTag(keyField.type().wireType(), 1)))
+                .replace("$valueTag", Integer.toString(Common.getTag(valueField.type().wireType(), 2)))
+                .replace("$readKey", readMethod(keyField))
+                .replace("$readValue", (valueField.type() == Field.FieldType.MESSAGE
+                        ? """
+                            final var messageLength = input.readVarInt(false);
+                            final var limitBefore = input.limit();
+                            input.limit(input.position() + messageLength);
+                            mapValue = $readMethod;
+                            input.limit(limitBefore);"""
+                        : "mapValue = $readMethod;")
+                        .replace("$readMethod", strictModeAvailable || valueField.type() != Field.FieldType.MESSAGE
+                                ? readMethod(valueField) : valueField.messageType() + ".PROTOBUF.parse(input)")
+                        .indent(DEFAULT_INDENT * 3).stripTrailing())
+                .replace("$strictCheck", !strictModeAvailable ? "" : "\n" + """
+                        if (strictMode) {
+                            throw new UnknownFieldException(entryTag >>> TAG_FIELD_OFFSET);
+                        }""".indent(DEFAULT_INDENT * 3).stripTrailing());
+    }
+
     /**
      * Generate switch case statement for a field.
      *
@@ -314,7 +534,13 @@ class CodecParseMethodGenerator {
         sb.append("}\n");
     }
 
-    private static String readMethod(Field field) {
+    /**
+     * Get the code to read a single value of a field from {@code input}
+     *
+     * @param field the field, or for optional value types the wrapped value
+     * @return java expression reading the value
+     */
+    static String readMethod(Field field) {
         if (field.optionalValueType()) {
             return switch (field.messageType()) {
                 case "StringValue" -> "readString(input)";
@@ -348,6 +574,7 @@ class CodecParseMethodGenerator {
             case BYTES -> "readBytes(input)";
             case MESSAGE -> field.parseCode();
             case ONE_OF -> throw new PbjCompilerException("Should never happen, oneOf handled elsewhere");
+            case MAP -> throw new PbjCompilerException("Should never happen, map handled elsewhere");
         };
     }
 }
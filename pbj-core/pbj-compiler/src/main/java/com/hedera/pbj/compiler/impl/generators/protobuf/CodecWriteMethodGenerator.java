@@ -4,6 +4,7 @@ import static com.hedera.pbj.compiler.impl.Common.DEFAULT_INDENT;
 
 import com.hedera.pbj.compiler.impl.Common;
 import com.hedera.pbj.compiler.impl.Field;
+import com.hedera.pbj.compiler.impl.MapField;
 import com.hedera.pbj.compiler.impl.OneOfField;
 import com.hedera.pbj.compiler.impl.SingleField;
 
@@ -17,23 +18,59 @@ import java.util.stream.Stream;
  */
 final class CodecWriteMethodGenerator {
 
-    static String generateWriteMethod(final String modelClassName, final List<Field> fields) {
+    static String generateWriteMethod(final String modelClassName, final List<Field> fields, final boolean lazySubMessages) {
         final String fieldWriteLines = fields.stream()
                 .flatMap(field -> field.type() == Field.FieldType.ONE_OF ? ((OneOfField)field).fields().stream() : Stream.of(field))
                 .sorted(Comparator.comparingInt(Field::fieldNumber))
-                .map(field -> generateFieldWriteLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower())))
+                .map(field -> field instanceof final MapField mapField ? generateMapFieldWriteLines(mapField)
+                        : Common.isLazyField(field, lazySubMessages) ? generateLazyFieldWriteLines(field)
+                        : generateFieldWriteLines(field, modelClassName, "data.%s()".formatted(field.nameCamelFirstLower())))
                 .collect(Collectors.joining("\n"))
                 .indent(DEFAULT_INDENT);
 
+        if (!hasNestedMessages(fields)) {
+            return """     
+                /**
+                 * Write out a $modelClass model to output stream in protobuf format.
+                 *
+                 * @param data The input model data to write
+                 * @param out The output stream to write to
+                 * @throws IOException If there is a problem writing
+                 */
+                public void write(@NonNull $modelClass data,@NonNull final WritableSequentialData out) throws IOException {
+                    $fieldWriteLines
+                }
+                """
+                .replace("$modelClass", modelClassName)
+                .replace("$fieldWriteLines", fieldWriteLines)
+                .indent(DEFAULT_INDENT);
+        }
         return """     
             /**
-             * Write out a $modelClass model to output stream in protobuf format.
+             * Write out a $modelClass model to output stream in protobuf format. All nested messages are measured once
+             * up front, so they do not get measured again at every level of nesting.
              *
              * @param data The input model data to write
              * @param out The output stream to write to
              * @throws IOException If there is a problem writing
              */
             public void write(@NonNull $modelClass data,@NonNull final WritableSequentialData out) throws IOException {
+                final MessageSizeCache sizes = new MessageSizeCache();
+                measureRecord(data, sizes);
+                write(data, out, sizes);
+            }
+            
+            /**
+             * Write out a $modelClass model to output stream in protobuf format, using the nested message sizes
+             * recorded by {@link #measureRecord($modelClass, MessageSizeCache)}.
+             *
+             * @param data The input model data to write
+             * @param out The output stream to write to
+             * @param sizes The nested message sizes recorded while measuring data
+             * @throws IOException If there is a problem writing
+             */
+            @Override
+            public void write(@NonNull $modelClass data,@NonNull final WritableSequentialData out, @NonNull final MessageSizeCache sizes) throws IOException {
                 $fieldWriteLines
             }
             """
@@ -42,6 +79,79 @@ final class CodecWriteMethodGenerator {
             .indent(DEFAULT_INDENT);
     }
 
+    /**
+     * Check if a message has any fields that are written with a nested message codec, these are the fields that
+     * need their sizes recorded in a {@code MessageSizeCache}.
+     *
+     * @param fields The fields of the message
+     * @return true if any field, including fields of oneofs, is a non-optional message field or a map field, as
+     *         each map entry is a nested message
+     */
+    static boolean hasNestedMessages(final List<Field> fields) {
+        return fields.stream()
+                .flatMap(field -> field.type() == Field.FieldType.ONE_OF ? ((OneOfField)field).fields().stream() : Stream.of(field))
+                .anyMatch(field -> field.type() == Field.FieldType.MAP ||
+                        (field.type() == Field.FieldType.MESSAGE && !field.optionalValueType()));
+    }
+
+    /**
+     * Generate lines of code for writing a map field, each entry is written as a nested message with its key and
+     * value fields
+     *
+     * @param field The map field
+     * @return java code to write field to output
+     */
+    private static String generateMapFieldWriteLines(final MapField field) {
+        return """
+                // [$fieldNumber] - $fieldName
+                writeMap(out, $fieldDef, data.$fieldNameCamel(), (k, v) -> {
+                    $keyWrite
+                    $valueWrite
+                }, sizes);"""
+                .replace("$fieldNumber", Integer.toString(field.fieldNumber()))
+                .replace("$fieldNameCamel", field.nameCamelFirstLower())
+                .replace("$fieldName", field.name())
+                .replace("$fieldDef", Common.camelToUpperSnake(field.name()))
+                .replace("$keyWrite", generateMapEntryFieldWrite(field.keyField(), field.keyFieldDefName(), "k"))
+                .replace("$valueWrite", generateMapEntryFieldWrite(field.valueField(), field.valueFieldDefName(), "v"));
+    }
+
+    /**
+     * Generate the code for writing the key or value field of a map entry
+     *
+     * @param field The key or value field
+     * @param fieldDef The name of the field definition constant for the key or value
+     * @param valueCode java code for the key or value
+     * @return java code to write the key or value to output
+     */
+    private static String generateMapEntryFieldWrite(final SingleField field, final String fieldDef, final String valueCode) {
+        return switch(field.type()) {
+            case ENUM -> "writeEnum(out, %s, %s);".formatted(fieldDef, valueCode);
+            case STRING -> "writeString(out, %s, %s);".formatted(fieldDef, valueCode);
+            case MESSAGE -> "writeMessage(out, $fieldDef, $valueCode, $codec, sizes);"
+                    .replace("$fieldDef", fieldDef)
+                    .replace("$valueCode", valueCode)
+                    .replace("$codec", field.messageTypeModelPackage() + "." +
+                            Common.capitalizeFirstLetter(field.messageType())+ ".PROTOBUF");
+            case BOOL -> "writeBoolean(out, %s, %s);".formatted(fieldDef, valueCode);
+            default -> "write%s(out, %s, %s);".formatted(field.methodNameType(), fieldDef, valueCode);
+        };
+    }
+
+    /**
+     * Generate lines of code for writing a lazily parsed sub-message field, which copies the bytes it was parsed from
+     *
+     * @param field The lazily parsed field
+     * @return java code to write field to output
+     */
+    private static String generateLazyFieldWriteLines(final Field field) {
+        return "// [" + field.fieldNumber() + "] - " + field.name() + "\n" +
+                "writeLazyMessage(out, $fieldDef, data.$component(), $codec, sizes);"
+                        .replace("$fieldDef", Common.camelToUpperSnake(field.name()))
+                        .replace("$component", Common.lazyComponentName(field))
+                        .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
+                                Common.capitalizeFirstLetter(field.messageType())+ ".PROTOBUF");
+    }
 
     /**
      * Generate lines of code for writing field
@@ -88,7 +198,7 @@ final class CodecWriteMethodGenerator {
             return prefix + switch(field.type()) {
                 case ENUM -> "writeEnumList(out, %s, %s);"
                         .formatted(fieldDef, getValueCode);
-                case MESSAGE -> "writeMessageList(out, $fieldDef, $valueCode, $codec::write, $codec::measureRecord);"
+                case MESSAGE -> "writeMessageList(out, $fieldDef, $valueCode, $codec, sizes);"
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
                         .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
@@ -103,7 +213,7 @@ final class CodecWriteMethodGenerator {
                         .formatted(fieldDef, getValueCode);
                 case STRING -> "writeString(out, %s, %s);"
                         .formatted(fieldDef,getValueCode);
-                case MESSAGE -> "writeMessage(out, $fieldDef, $valueCode, $codec::write, $codec::measureRecord);"
+                case MESSAGE -> "writeMessage(out, $fieldDef, $valueCode, $codec, sizes);"
                         .replace("$fieldDef", fieldDef)
                         .replace("$valueCode", getValueCode)
                         .replace("$codec", ((SingleField)field).messageTypeModelPackage() + "." +
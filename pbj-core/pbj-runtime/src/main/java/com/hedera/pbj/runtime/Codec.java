@@ -1,15 +1,19 @@
 package com.hedera.pbj.runtime;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.security.MessageDigest;
 import java.util.NoSuchElementException;
 
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.stream.WritableDigestData;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Encapsulates Serialization, Deserialization and other IO operations.
@@ -47,6 +51,39 @@ public interface Codec<T /*extends Record*/> {
      */
     @NonNull T parseStrict(@NonNull ReadableSequentialData input) throws IOException;
 
+    /**
+     * Parses one length delimited object from the {@link ReadableSequentialData}, a varint length followed by that
+     * many bytes of the encoded object, as written by {@link #writeDelimited(Object, WritableSequentialData)} or
+     * protobuf's {@code writeDelimitedTo}. The limit of the input is restored afterward, and it is left positioned
+     * just after the object, so this can be called repeatedly to read a sequence of objects.
+     *
+     * @param input The {@link ReadableSequentialData} from which to read the length and the object
+     * @return The parsed object. It must not return null.
+     * @throws IOException If it is impossible to read from the {@link ReadableSequentialData}
+     * @throws MalformedProtobufException If the object extends past the limit of the input, or is shorter than its
+     *     length
+     * @throws java.nio.BufferUnderflowException If there is no length left to read in the input
+     */
+    @NonNull
+    default T parseDelimited(@NonNull final ReadableSequentialData input) throws IOException {
+        final long limit = input.limit();
+        final int length = input.readVarInt(false);
+        final long end = input.position() + length;
+        if (length < 0 || end > limit) {
+            throw new MalformedProtobufException("Object of " + length + " bytes extends past the end of the input");
+        }
+        input.limit(end);
+        try {
+            final T item = parse(input);
+            if (input.position() != end) {
+                throw new MalformedProtobufException("Object is shorter than its length " + length);
+            }
+            return item;
+        } finally {
+            input.limit(limit);
+        }
+    }
+
     /**
      * Writes an item to the given {@link WritableSequentialData}.
      *
@@ -56,6 +93,37 @@ public interface Codec<T /*extends Record*/> {
      */
     void write(@NonNull T item, @NonNull WritableSequentialData output) throws IOException;
 
+    /**
+     * Writes an item to the given {@link WritableSequentialData}, using nested message sizes that were recorded in
+     * {@code sizes} by a previous call to {@link #measureRecord(Object, MessageSizeCache)} for the same item. The
+     * default implementation ignores the recorded sizes and calls {@link #write(Object, WritableSequentialData)}.
+     *
+     * @param item The item to write. Must not be null.
+     * @param output The {@link WritableSequentialData} to write to.
+     * @param sizes The nested message sizes recorded while measuring the item
+     * @throws IOException If the {@link WritableSequentialData} cannot be written to.
+     */
+    default void write(@NonNull T item, @NonNull WritableSequentialData output, @NonNull MessageSizeCache sizes)
+            throws IOException {
+        write(item, output);
+    }
+
+    /**
+     * Writes an item to the given {@link WritableSequentialData} preceded by its length as a varint, the format read
+     * by {@link #parseDelimited(ReadableSequentialData)} and protobuf's {@code parseDelimitedFrom}. The item is
+     * measured once, and the nested message sizes recorded while measuring it are reused to write it.
+     *
+     * @param item The item to write. Must not be null.
+     * @param output The {@link WritableSequentialData} to write to.
+     * @throws IOException If the {@link WritableSequentialData} cannot be written to.
+     */
+    default void writeDelimited(@NonNull final T item, @NonNull final WritableSequentialData output)
+            throws IOException {
+        final MessageSizeCache sizes = new MessageSizeCache();
+        output.writeVarInt(measureRecord(item, sizes), false);
+        write(item, output, sizes);
+    }
+
     /**
      * Reads from this data input the length of the data within the input. The implementation may
      * read all the data, or just some special serialized data, as needed to find out the length of
@@ -67,6 +135,47 @@ public interface Codec<T /*extends Record*/> {
      */
     int measure(@NonNull ReadableSequentialData input) throws IOException;
 
+    /**
+     * Finds the boundaries of consecutive length delimited items in the input, each a varint length followed by that
+     * many bytes of an encoded item, as written by protobuf's {@code writeDelimitedTo}. Each item is measured with
+     * {@link #measure(ReadableSequentialData)} within its length, which checks its encoding without parsing it.
+     *
+     * <p>{@code boundaries[0]} is set to the starting position of the input, and {@code boundaries[i + 1]} to the
+     * position just after item {@code i}, so item {@code i} including its length is from {@code boundaries[i]} up to
+     * {@code boundaries[i + 1]}. Reading stops at the end of the input or when {@code boundaries} is full, leaving the
+     * input positioned after the last item found.
+     *
+     * @param input The input to read items from
+     * @param boundaries The array to store boundary positions in, holds up to {@code boundaries.length - 1} items
+     * @return The number of items found
+     * @throws MalformedProtobufException If an item extends past the limit of the input or is not well encoded
+     * @throws IOException If it is impossible to read from the {@link ReadableSequentialData}
+     */
+    default int measureMany(@NonNull final ReadableSequentialData input, @NonNull final long[] boundaries)
+            throws IOException {
+        final long limit = input.limit();
+        int count = 0;
+        boundaries[0] = input.position();
+        while (count < boundaries.length - 1 && input.hasRemaining()) {
+            final int length = input.readVarInt(false);
+            final long end = input.position() + length;
+            if (length < 0 || end > limit) {
+                throw new MalformedProtobufException("Item " + count + " of " + length
+                        + " bytes extends past the end of the input");
+            }
+            input.limit(end);
+            try {
+                if (measure(input) != length) {
+                    throw new MalformedProtobufException("Item " + count + " is shorter than its length " + length);
+                }
+            } finally {
+                input.limit(limit);
+            }
+            boundaries[++count] = end;
+        }
+        return count;
+    }
+
     /**
      * Compute number of bytes that would be written when calling {@code write()} method.
      *
@@ -75,6 +184,20 @@ public interface Codec<T /*extends Record*/> {
      */
     int measureRecord(T item);
 
+    /**
+     * Compute number of bytes that would be written when calling {@code write()} method, recording the size of
+     * each nested message in {@code sizes} so that a following call to
+     * {@link #write(Object, WritableSequentialData, MessageSizeCache)} does not need to measure them again. The
+     * default implementation does not record any sizes and calls {@link #measureRecord(Object)}.
+     *
+     * @param item The input model data to measure write bytes for
+     * @param sizes The cache to record nested message sizes in, or null if they do not need recording
+     * @return The length in bytes that would be written
+     */
+    default int measureRecord(T item, @Nullable MessageSizeCache sizes) {
+        return measureRecord(item);
+    }
+
     /**
      * Compares the given item with the bytes in the input, and returns false if it determines that
      * the bytes in the input could not be equal to the given item. Sometimes we need to compare an
@@ -90,7 +213,8 @@ public interface Codec<T /*extends Record*/> {
     boolean fastEquals(@NonNull T item, @NonNull ReadableSequentialData input) throws IOException;
 
     /**
-     * Converts a Record into a Bytes object
+     * Converts a Record into a Bytes object. The item is measured first, so it can be written straight into a byte
+     * array of exactly the right size which is then wrapped, without copying, by the returned {@link Bytes}.
      *
      * @param item The input model data to convert into a Bytes object.
      * @return The new Bytes object.
@@ -98,14 +222,64 @@ public interface Codec<T /*extends Record*/> {
      * to write to the {@link WritableStreamingData}
      */
     default Bytes toBytes(@NonNull T item) {
-        byte[] bytes;
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             WritableStreamingData writableStreamingData = new WritableStreamingData(byteArrayOutputStream)) {
-            write(item, writableStreamingData);
-            bytes = byteArrayOutputStream.toByteArray();
+        final MessageSizeCache sizes = new MessageSizeCache();
+        final byte[] bytes = new byte[measureRecord(item, sizes)];
+        try {
+            write(item, BufferedData.wrap(bytes), sizes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Bytes.wrap(bytes);
+    }
+
+    /**
+     * Computes the digest of the serialized form of an item, such as its SHA-384 hash. The item is written straight
+     * into the digest through a small fixed size buffer, without serializing it into a byte array first, so nothing
+     * the size of the item is allocated.
+     *
+     * @param item The input model data to digest
+     * @param digest The digest to update with the serialized item and then complete, which resets it
+     * @return The completed digest, as returned by {@link MessageDigest#digest()}
+     * @throws RuntimeException wrapping an IOException If it is impossible
+     * to write to the {@link WritableDigestData}
+     */
+    @NonNull
+    default byte[] digest(@NonNull T item, @NonNull MessageDigest digest) {
+        final WritableDigestData out = new WritableDigestData(digest);
+        try {
+            write(item, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.digest();
+    }
+
+    /**
+     * Converts a Record into a Bytes object, using {@code scratch} as a reusable buffer to write it into. The item is
+     * not measured first, instead the written bytes are copied out of {@code scratch} into the returned
+     * {@link Bytes}, so this is faster than {@link #toBytes(Object)} when measuring the item costs more than copying
+     * it. If the item does not fit in {@code scratch} this falls back to {@link #toBytes(Object)}. The position and
+     * limit of {@code scratch} are reset, and its contents are overwritten. The returned {@link Bytes} never shares
+     * memory with {@code scratch}, so reusing it does not change bytes returned earlier.
+     *
+     * @param item The input model data to convert into a Bytes object.
+     * @param scratch The buffer to write the item into before copying it out
+     * @return The new Bytes object.
+     * @throws RuntimeException wrapping an IOException If it is impossible
+     * to write to the {@link BufferedData}
+     */
+    default Bytes toBytes(@NonNull T item, @NonNull BufferedData scratch) {
+        scratch.reset();
+        try {
+            write(item, scratch);
+        } catch (BufferOverflowException e) {
+            return toBytes(item);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        // copied here, as getBytes may return a view of scratch, which the next use of scratch would overwrite
+        final byte[] bytes = new byte[Math.toIntExact(scratch.position())];
+        scratch.getBytes(0, bytes);
         return Bytes.wrap(bytes);
     }
 }
@@ -0,0 +1,165 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.UnsafeUtils;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Static methods for computing 64-bit hashes of content, used by
+ * {@link com.hedera.pbj.runtime.io.buffer.Bytes#hashCode64()} and by the {@code contentHash64()} method of generated
+ * model objects. Values are mixed using the steps and constants of xxHash64. Unlike {@link Object#hashCode()} the
+ * results depend only on the content, never on object identity, so they are the same in every JVM and every run, and
+ * can be used to shard or deduplicate data across processes. They are not cryptographic hashes.
+ */
+public final class ContentHash {
+    /** The 64-bit primes used by xxHash */
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    /** The initial hash value, before anything has been mixed in */
+    public static final long SEED = PRIME64_5;
+
+    /** Instance should never be created */
+    private ContentHash() {}
+
+    /**
+     * Mix a value into a hash
+     *
+     * @param hash the hash so far
+     * @param value the value to mix in
+     * @return the new hash
+     */
+    public static long mix(final long hash, final long value) {
+        final long h = hash ^ Long.rotateLeft(value * PRIME64_2, 31) * PRIME64_1;
+        return Long.rotateLeft(h, 27) * PRIME64_1 + PRIME64_4;
+    }
+
+    /**
+     * Finish a hash, so that every bit of every value mixed in affects every bit of the result
+     *
+     * @param hash the hash so far
+     * @return the finished hash
+     */
+    public static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    /**
+     * Compute the finished hash of a range of bytes, eight bytes are mixed at a time
+     *
+     * @param bytes the array of bytes
+     * @param offset the offset of the first byte to hash
+     * @param length the number of bytes to hash
+     * @return the finished hash
+     */
+    public static long hash(@NonNull final byte[] bytes, final int offset, final int length) {
+        long h = PRIME64_5 + length;
+        final int end = offset + length;
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            h = mix(h, UnsafeUtils.getLongLittleEndian(bytes, i));
+        }
+        for (; i < end; i++) {
+            h = mixByte(h, bytes[i]);
+        }
+        return finish(h);
+    }
+
+    /**
+     * Compute the finished hash of the UTF-8 encoding of a string, without encoding it into an array. The result is
+     * the same as hashing the bytes of {@code value.getBytes(StandardCharsets.UTF_8)}, including for malformed
+     * strings where each unpaired surrogate is encoded as {@code '?'}.
+     *
+     * @param value the string
+     * @return the finished hash
+     */
+    public static long hash(@NonNull final String value) {
+        final int chars = value.length();
+        long h = PRIME64_5 + utf8Length(value);
+        // bytes are collected in a little endian word, and mixed eight at a time
+        long word = 0;
+        int count = 0;
+        for (int i = 0; i < chars; i++) {
+            final char c = value.charAt(i);
+            final int encoded;
+            final int size;
+            if (c < 0x80) {
+                encoded = c;
+                size = 1;
+            } else if (c < 0x800) {
+                encoded = (0xC0 | (c >>> 6)) | (0x80 | (c & 0x3F)) << 8;
+                size = 2;
+            } else if (!Character.isSurrogate(c)) {
+                encoded = (0xE0 | (c >>> 12)) | (0x80 | ((c >>> 6) & 0x3F)) << 8 | (0x80 | (c & 0x3F)) << 16;
+                size = 3;
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, value.charAt(++i));
+                encoded = (0xF0 | (cp >>> 18))
+                        | (0x80 | ((cp >>> 12) & 0x3F)) << 8
+                        | (0x80 | ((cp >>> 6) & 0x3F)) << 16
+                        | (0x80 | (cp & 0x3F)) << 24;
+                size = 4;
+            } else {
+                encoded = '?';
+                size = 1;
+            }
+            for (int b = 0; b < size; b++) {
+                word |= ((encoded >>> (b * 8)) & 0xFFL) << (count * 8);
+                if (++count == Long.BYTES) {
+                    h = mix(h, word);
+                    word = 0;
+                    count = 0;
+                }
+            }
+        }
+        for (int b = 0; b < count; b++) {
+            h = mixByte(h, (byte) (word >>> (b * 8)));
+        }
+        return finish(h);
+    }
+
+    /**
+     * Mix a single byte into a hash, for the bytes left over after mixing eight at a time
+     *
+     * @param hash the hash so far
+     * @param b the byte
+     * @return the new hash
+     */
+    private static long mixByte(final long hash, final byte b) {
+        return Long.rotateLeft(hash ^ (b & 0xFFL) * PRIME64_5, 11) * PRIME64_1;
+    }
+
+    /**
+     * Get the length of the UTF-8 encoding of a string, counting each unpaired surrogate as one byte
+     *
+     * @param value the string
+     * @return the number of bytes
+     */
+    private static int utf8Length(@NonNull final String value) {
+        final int chars = value.length();
+        int length = chars;
+        for (int i = 0; i < chars; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length += 1;
+                } else if (!Character.isSurrogate(c)) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < chars
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // two chars become four bytes
+                    length += 2;
+                    i++;
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,342 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import com.hedera.pbj.runtime.io.buffer.SegmentedBufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reader for a file of consecutive length delimited messages, each a varint length followed by that many bytes of an
+ * encoded message, as written by protobuf's {@code writeDelimitedTo}. The file is memory mapped, so reading it does
+ * not copy it through a stream, and it may be larger than 2GB.
+ *
+ * <p>Messages are parsed with the given {@link Codec} as they are iterated or streamed. Finding the Nth message needs
+ * an index of where each message starts, which is built by {@link #index()} reading only the length of each message,
+ * or can be passed in from an earlier call to {@link #offsets()} when the file is opened. With the index
+ * {@link #get(long)} is O(1), {@link #count()} is known, and {@link #spliterator()} can be split so that
+ * {@code stream().parallel()} parses messages on many threads. Without it messages can only be read in order.
+ *
+ * <p>The file must not be changed while it is open. Parsed messages do not share memory with the file, so they can
+ * be used after it is closed. Iterating and streaming is thread safe, but {@link #index()} is not. The mapping is not
+ * forcibly unmapped by {@link #close()}, it is unmapped by the garbage collector once this reader and everything
+ * created from it are unreachable. So iterators, spliterators, streams and {@link #data()} created before closing
+ * keep working safely, while the reader itself can no longer be used.
+ *
+ * @param <T> The type of the messages
+ */
+public final class DelimitedMessageFile<T> implements Iterable<T>, AutoCloseable {
+    /** The codec to parse messages with */
+    private final Codec<T> codec;
+    /** The mapped contents of the file */
+    private final SegmentedBufferedData data;
+    /**
+     * The start of each message, at its length, followed by the end of the file. Null until {@link #index()} is
+     * called, unless passed in when the file was opened.
+     */
+    @Nullable
+    private long[] offsets;
+    /** True once {@link #close()} has been called */
+    private volatile boolean closed;
+
+    private DelimitedMessageFile(
+            @NonNull final Codec<T> codec, @NonNull final SegmentedBufferedData data, @Nullable final long[] offsets) {
+        this.codec = codec;
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Open and map a file of length delimited messages
+     *
+     * @param file the file to read
+     * @param codec the codec to parse messages with
+     * @return a new reader for the file
+     * @param <T> The type of the messages
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    @NonNull
+    public static <T> DelimitedMessageFile<T> open(@NonNull final Path file, @NonNull final Codec<T> codec)
+            throws IOException {
+        return open(file, codec, null);
+    }
+
+    /**
+     * Open and map a file of length delimited messages, with an index from an earlier call to {@link #offsets()} for
+     * the same file. The index is trusted, it is only checked to start at zero and to end at the end of the file.
+     *
+     * @param file the file to read
+     * @param codec the codec to parse messages with
+     * @param offsets the start of each message followed by the end of the file, or null to build it when needed
+     * @return a new reader for the file
+     * @param <T> The type of the messages
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if {@code offsets} does not fit the file
+     */
+    @NonNull
+    public static <T> DelimitedMessageFile<T> open(
+            @NonNull final Path file, @NonNull final Codec<T> codec, @Nullable final long[] offsets)
+            throws IOException {
+        Objects.requireNonNull(codec);
+        final SegmentedBufferedData data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            data = SegmentedBufferedData.map(channel, FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (offsets != null
+                && (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != data.capacity())) {
+            throw new IllegalArgumentException("Offsets do not match the file, it has " + data.capacity() + " bytes");
+        }
+        return new DelimitedMessageFile<>(codec, data, offsets == null ? null : offsets.clone());
+    }
+
+    /**
+     * Get the whole contents of the file, including the lengths of the messages
+     *
+     * @return the contents of the file
+     */
+    @NonNull
+    public RandomAccessData data() {
+        checkOpen();
+        return data.slice(0, data.capacity());
+    }
+
+    /**
+     * Build the index of where each message starts, if it has not been built yet. Only the length of each message is
+     * read, the messages themselves are not parsed or checked.
+     *
+     * @throws IllegalStateException if this reader has been closed
+     * @throws MalformedProtobufException if the last message extends past the end of the file
+     */
+    public void index() throws MalformedProtobufException {
+        checkOpen();
+        if (offsets != null) {
+            return;
+        }
+        final SegmentedBufferedData in = data.slice(0, data.capacity());
+        long[] found = new long[1024];
+        int count = 0;
+        while (in.hasRemaining()) {
+            if (count == found.length - 1) {
+                found = Arrays.copyOf(found, found.length * 2);
+            }
+            found[count++] = in.position();
+            final int length = in.readVarInt(false);
+            if (length < 0 || length > in.remaining()) {
+                throw new MalformedProtobufException("Message " + (count - 1) + " at " + found[count - 1]
+                        + " of " + length + " bytes extends past the end of the file");
+            }
+            in.skip(length);
+        }
+        found[count] = in.position();
+        offsets = Arrays.copyOf(found, count + 1);
+    }
+
+    /**
+     * Get the index of where each message starts, to pass to {@link #open(Path, Codec, long[])} when the file is
+     * opened again. The index is built if it has not been yet.
+     *
+     * @return the start of each message, at its length, followed by the end of the file
+     * @throws MalformedProtobufException if the last message extends past the end of the file
+     */
+    @NonNull
+    public long[] offsets() throws MalformedProtobufException {
+        index();
+        return offsets.clone();
+    }
+
+    /**
+     * Get the number of messages in the file, building the index if it has not been built yet
+     *
+     * @return the number of messages
+     * @throws MalformedProtobufException if the last message extends past the end of the file
+     */
+    public long count() throws MalformedProtobufException {
+        index();
+        return offsets.length - 1L;
+    }
+
+    /**
+     * Parse the message at the given index in the file, building the index if it has not been built yet
+     *
+     * @param index the index of the message, the first is zero
+     * @return the parsed message
+     * @throws IllegalStateException if this reader has been closed
+     * @throws IndexOutOfBoundsException if there is no message at {@code index}
+     * @throws IOException if the message cannot be parsed
+     */
+    @NonNull
+    public T get(final long index) throws IOException {
+        index();
+        Objects.checkIndex(index, offsets.length - 1L);
+        return parseAt(offsets[(int) index], offsets[(int) index + 1]);
+    }
+
+    /**
+     * Parse the message whose length starts at {@code start}
+     *
+     * @param start the offset of the length of the message
+     * @param end the offset just after the message
+     * @return the parsed message
+     * @throws IOException if the message cannot be parsed
+     */
+    @NonNull
+    private T parseAt(final long start, final long end) throws IOException {
+        final SegmentedBufferedData in = data.slice(start, end - start);
+        final int length = in.readVarInt(false);
+        if (length != in.remaining()) {
+            throw new MalformedProtobufException("Message at " + start + " has length " + length + " but is "
+                    + in.remaining() + " bytes long");
+        }
+        return codec.parse(in);
+    }
+
+    /**
+     * Iterate over the messages in the file in order, parsing each one as it is reached. The index is not needed.
+     *
+     * @return a new iterator over the messages
+     * @throws UncheckedIOException wrapping an IOException, from {@code next()}, if a message cannot be parsed
+     */
+    @NonNull
+    @Override
+    public Iterator<T> iterator() {
+        checkOpen();
+        final SegmentedBufferedData in = data.slice(0, data.capacity());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return in.hasRemaining();
+            }
+
+            @Override
+            public T next() {
+                if (!in.hasRemaining()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    final long start = in.position();
+                    final int length = in.readVarInt(false);
+                    if (length < 0 || length > in.remaining()) {
+                        throw new MalformedProtobufException("Message at " + start + " of " + length
+                                + " bytes extends past the end of the file");
+                    }
+                    return codec.parse(in.view(length));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Create a spliterator over the messages in the file. If the index has been built the spliterator knows its size
+     * and can be split for parallel streams, otherwise it reads messages in order like {@link #iterator()}.
+     *
+     * @return a new spliterator over the messages
+     */
+    @NonNull
+    @Override
+    public Spliterator<T> spliterator() {
+        checkOpen();
+        if (offsets == null) {
+            return Iterable.super.spliterator();
+        }
+        return new IndexSpliterator(0, offsets.length - 1);
+    }
+
+    /**
+     * Create a sequential stream of the messages in the file. Call {@link #index()} first, and then
+     * {@code parallel()} on the stream, to parse the messages on many threads.
+     *
+     * @return a new stream of the messages
+     * @throws UncheckedIOException wrapping an IOException if a message cannot be parsed
+     */
+    @NonNull
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Closes this reader, so it can not be used to read the file any more. Iterators, spliterators, streams and
+     * {@link #data()} created before it was closed share the mapping and keep working, the file is unmapped once
+     * they are all unreachable.
+     */
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    /**
+     * Check this reader has not been closed
+     *
+     * @throws IllegalStateException if it has been closed
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("DelimitedMessageFile is closed");
+        }
+    }
+
+    /**
+     * Spliterator over a range of messages in the index, which splits the range in half
+     */
+    private final class IndexSpliterator implements Spliterator<T> {
+        /** The index of the next message */
+        private int next;
+        /** The index after the last message */
+        private final int end;
+
+        IndexSpliterator(final int next, final int end) {
+            this.next = next;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(@NonNull final Consumer<? super T> action) {
+            if (next >= end) {
+                return false;
+            }
+            try {
+                action.accept(parseAt(offsets[next], offsets[next + 1]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            next++;
+            return true;
+        }
+
+        @Nullable
+        @Override
+        public Spliterator<T> trySplit() {
+            final int mid = (next + end) >>> 1;
+            if (mid <= next) {
+                return null;
+            }
+            final Spliterator<T> prefix = new IndexSpliterator(next, mid);
+            next = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.hedera.pbj.runtime;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable {@code List<Double>} backed by a {@code double[]}, used for repeated double fields. Parsing fills
+ * it through a {@link Builder} without boxing any values, and the list write and size methods in
+ * {@link ProtoWriterTools} read the array directly. Holding primitives instead of references to boxed values makes
+ * large repeated fields a fraction of the size on the heap.
+ *
+ * <p>To all other code it is a normal unmodifiable {@link List}, equal to any other list holding the same values.
+ */
+public final class DoubleList extends AbstractList<Double> implements RandomAccess {
+    /** The empty list */
+    public static final DoubleList EMPTY = new DoubleList(new double[0]);
+
+    /** The values, exactly the length of the list and never modified */
+    final double[] values;
+
+    /**
+     * Create a list that takes ownership of an array
+     *
+     * @param values the values, must not be modified after this
+     */
+    private DoubleList(@NonNull final double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Create a list holding a copy of the given values
+     *
+     * @param values the values
+     * @return a new list
+     */
+    public static @NonNull DoubleList of(@NonNull final double... values) {
+        return values.length == 0 ? EMPTY : new DoubleList(values.clone());
+    }
+
+    /**
+     * Get a DoubleList with the values of a list, unboxing them if needed
+     *
+     * @param list the list, must not contain nulls
+     * @return the list itself if it is already a DoubleList, otherwise a new list with its values
+     */
+    public static @NonNull DoubleList copyOf(@NonNull final List<Double> list) {
+        if (list instanceof final DoubleList primitiveList) {
+            return primitiveList;
+        }
+        final int size = list.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        final double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = list.get(i);
+        }
+        return new DoubleList(values);
+    }
+
+    /**
+     * Get a value without boxing it
+     *
+     * @param index the index of the value
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public double getDouble(final int index) {
+        return values[index];
+    }
+
+    /**
+     * Get a copy of the values
+     *
+     * @return a new array with the values
+     */
+    public @NonNull double[] toDoubleArray() {
+        return values.clone();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double get(final int index) {
+        return values[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof final DoubleList other) {
+            return Arrays.equals(values, other.values);
+        }
+        return super.equals(o);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        // same as List.hashCode() of the boxed values
+        return Arrays.hashCode(values);
+    }
+
+    /**
+     * Builder used to collect values while parsing. It grows like an ArrayList but stores unboxed values.
+     */
+    public static final class Builder {
+        /** Initial capacity used when none is given */
+        private static final int DEFAULT_CAPACITY = 8;
+        /** The values, the first {@code size} are used */
+        private double[] values;
+        /** The number of values added */
+        private int size;
+
+        /**
+         * Create a new builder with the default initial capacity
+         */
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Create a new builder
+         *
+         * @param capacity the initial capacity, for example the number of values in a packed field
+         */
+        public Builder(final int capacity) {
+            values = new double[Math.max(0, capacity)];
+        }
+
+        /**
+         * Add a value
+         *
+         * @param value the value to add
+         * @return this builder
+         */
+        public @NonNull Builder add(final double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.max(DEFAULT_CAPACITY, size << 1));
+            }
+            values[size++] = value;
+            return this;
+        }
+
+        /**
+         * Build a list with the values added so far. The builder only writes to a full array after growing it, so
+         * the array can be shared with the list when it is exactly full.
+         *
+         * @return the list
+         */
+        public @NonNull DoubleList build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new DoubleList(size == values.length ? values : Arrays.copyOf(values, size));
+        }
+
+        /**
+         * Build a list from a builder that may not have been created yet, as generated parse code only creates the
+         * builder when the first value is read.
+         *
+         * @param builder the builder or null if no values were added
+         * @return the built list, or {@link #EMPTY} if the builder is null
+         */
+        public static @NonNull DoubleList build(@Nullable final Builder builder) {
+            return builder == null ? EMPTY : builder.build();
+        }
+    }
+}
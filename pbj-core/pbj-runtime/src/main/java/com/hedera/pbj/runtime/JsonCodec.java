@@ -2,6 +2,7 @@ package com.hedera.pbj.runtime;
 
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.hedera.pbj.runtime.jsonparser.JSONParser;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -9,6 +10,7 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 
@@ -34,7 +36,7 @@ public interface JsonCodec<T /*extends Record*/> extends Codec<T> {
     @NonNull
     @Override
     default T parse(@NonNull ReadableSequentialData input) throws IOException {
-        return parse(JsonTools.parseJson(input), false);
+        return parse(new JsonTokenizer(input), false);
     }
 
     /**
@@ -54,9 +56,23 @@ public interface JsonCodec<T /*extends Record*/> extends Codec<T> {
     @NonNull
     @Override
     default T parseStrict(@NonNull ReadableSequentialData input) throws IOException {
-        return parse(JsonTools.parseJson(input), true);
+        return parse(new JsonTokenizer(input), true);
     }
 
+    /**
+     * Parses an object from JSON read by a {@link JsonTokenizer}, starting with the object's opening '{'. Throws on
+     * unknown fields if in strict mode ONLY.
+     *
+     * @param json The tokenizer to read the JSON object from
+     * @param strictMode when true, the parser errors out on unknown fields; otherwise they'll be simply skipped.
+     * @return The parsed object. It must not return null.
+     * @throws UnknownFieldException If an unknown field is encountered while parsing the object, and we are in strict mode
+     * @throws IOException If the JSON is malformed or cannot be read
+     */
+    @NonNull T parse(
+            @NonNull final JsonTokenizer json,
+            final boolean strictMode) throws IOException;
+
     /**
      * Parses a HashObject object from JSON parse tree for object JSONParser.ObjContext. Throws if in strict mode ONLY.
      *
@@ -78,9 +94,20 @@ public interface JsonCodec<T /*extends Record*/> extends Codec<T> {
      * @throws IOException If the {@link WritableSequentialData} cannot be written to.
      */
     default void write(@NonNull T item, @NonNull WritableSequentialData output) throws IOException {
-        output.writeUTF8(toJSON(item));
+        final JsonWriter json = new JsonWriter(output);
+        write(item, json);
+        json.flush();
     }
 
+    /**
+     * Writes an item as a JSON object to the given {@link JsonWriter}. The bytes written are identical to
+     * {@link #toJSON(Object, String, boolean)} encoded as UTF-8, inline and indented for the writer's current depth.
+     *
+     * @param item The item to write. Must not be null.
+     * @param json The {@link JsonWriter} to write to.
+     */
+    void write(@NonNull T item, @NonNull JsonWriter json);
+
     /**
      * Returns JSON string representing an item.
      *
@@ -136,6 +163,30 @@ public interface JsonCodec<T /*extends Record*/> extends Codec<T> {
         return bout.size();
     }
 
+    /**
+     * Converts a Record into a Bytes object.
+     * <p>
+     * Measuring JSON means writing it, so rather than measuring first this writes into a growing buffer and copies
+     * the result.
+     *
+     * @param item The input model data to convert into a Bytes object.
+     * @return The new Bytes object.
+     * @throws RuntimeException wrapping an IOException If it is impossible
+     * to write to the {@link WritableStreamingData}
+     */
+    @Override
+    default Bytes toBytes(@NonNull T item) {
+        byte[] bytes;
+        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+             WritableStreamingData writableStreamingData = new WritableStreamingData(byteArrayOutputStream)) {
+            write(item, writableStreamingData);
+            bytes = byteArrayOutputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Bytes.wrap(bytes);
+    }
+
     /**
      * Compares the given item with the bytes in the input, and returns false if it determines that
      * the bytes in the input could not be equal to the given item. Sometimes we need to compare an
@@ -0,0 +1,591 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A pull style JSON tokenizer that reads UTF-8 JSON directly from a {@link ReadableSequentialData}, one value at a
+ * time, without building a parse tree. Generated JSON codecs drive it field by field, which is much faster than
+ * parsing the whole input with the ANTLR {@code JSONParser} first and then walking the tree.
+ *
+ * <p>Values are read with the {@code next*()} methods, objects and arrays are entered and left with
+ * {@link #beginObject()}, {@link #endObject()}, {@link #beginArray()} and {@link #endArray()} and
+ * {@link #hasNext()} tells if there is another field or element before the end of the current object or array.
+ * Reading stops straight after the last byte of the value read, nothing after it is consumed.
+ *
+ * <p>Numbers can be plain JSON numbers or quoted strings, as protobuf JSON quotes 64-bit integers and special
+ * floating point values like {@code "NaN"}. This class is not thread safe.
+ */
+public final class JsonTokenizer {
+    /**
+     * Reads one value from a tokenizer, like {@link java.util.function.Function} but can throw IOException.
+     *
+     * @param <T> the type of value read
+     */
+    @FunctionalInterface
+    public interface ValueReader<T> {
+        /**
+         * Read the next value from the tokenizer
+         *
+         * @param json the tokenizer to read from
+         * @return the value read
+         * @throws IOException if the JSON is malformed or cannot be read
+         */
+        T read(@NonNull JsonTokenizer json) throws IOException;
+    }
+
+    /** The types of token that can come next */
+    public enum Token {
+        /** Start of an object, '{' */
+        BEGIN_OBJECT,
+        /** End of an object, '}' */
+        END_OBJECT,
+        /** Start of an array, '[' */
+        BEGIN_ARRAY,
+        /** End of an array, ']' */
+        END_ARRAY,
+        /** A quoted string */
+        STRING,
+        /** A number */
+        NUMBER,
+        /** true or false */
+        BOOLEAN,
+        /** null */
+        NULL,
+        /** The end of the input */
+        END_DOCUMENT
+    }
+
+    /** Marker for no peeked byte */
+    private static final int NONE = -2;
+    /** Marker for the end of the input */
+    private static final int EOF = -1;
+    /** The most digits a long can have without any chance of overflowing */
+    private static final int SAFE_LONG_DIGITS = 18;
+
+    /** The input to read UTF-8 JSON from */
+    private final ReadableSequentialData input;
+    /** The next byte, read from input but not yet consumed, or NONE */
+    private int peeked = NONE;
+    /** True if the next field or element is the first in the current object or array, so has no leading comma */
+    private boolean first = false;
+    /** Buffer for the characters of the string or number being read */
+    private char[] chars = new char[64];
+    /** The number of characters in chars */
+    private int length = 0;
+
+    /**
+     * Create a new tokenizer reading from the current position of {@code input}
+     *
+     * @param input the input to read UTF-8 JSON from
+     */
+    public JsonTokenizer(@NonNull final ReadableSequentialData input) {
+        this.input = Objects.requireNonNull(input);
+    }
+
+    // ================================================================================================================
+    // Structure Methods
+
+    /**
+     * Get the type of the next token, without consuming it
+     *
+     * @return the type of the next token
+     * @throws MalformedProtobufException if the next character cannot start a token
+     */
+    public @NonNull Token peekToken() throws MalformedProtobufException {
+        final int c = peekNonWhitespace();
+        return switch (c) {
+            case '{' -> Token.BEGIN_OBJECT;
+            case '}' -> Token.END_OBJECT;
+            case '[' -> Token.BEGIN_ARRAY;
+            case ']' -> Token.END_ARRAY;
+            case '"' -> Token.STRING;
+            case 't', 'f' -> Token.BOOLEAN;
+            case 'n' -> Token.NULL;
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> Token.NUMBER;
+            case EOF -> Token.END_DOCUMENT;
+            default -> throw unexpected(c, "a JSON value");
+        };
+    }
+
+    /**
+     * Consume the '{' that starts an object
+     *
+     * @throws MalformedProtobufException if the next token is not the start of an object
+     */
+    public void beginObject() throws MalformedProtobufException {
+        expect('{');
+        first = true;
+    }
+
+    /**
+     * Consume the '}' that ends an object
+     *
+     * @throws MalformedProtobufException if the next token is not the end of an object
+     */
+    public void endObject() throws MalformedProtobufException {
+        expect('}');
+        first = false;
+    }
+
+    /**
+     * Consume the '[' that starts an array
+     *
+     * @throws MalformedProtobufException if the next token is not the start of an array
+     */
+    public void beginArray() throws MalformedProtobufException {
+        expect('[');
+        first = true;
+    }
+
+    /**
+     * Consume the ']' that ends an array
+     *
+     * @throws MalformedProtobufException if the next token is not the end of an array
+     */
+    public void endArray() throws MalformedProtobufException {
+        expect(']');
+        first = false;
+    }
+
+    /**
+     * Check if there is another field in the current object or element in the current array, consuming the comma
+     * before it if there is one.
+     *
+     * @return true if there is another field or element, false if the end of the object or array is next
+     * @throws MalformedProtobufException if neither a comma nor the end of the object or array is next
+     */
+    public boolean hasNext() throws MalformedProtobufException {
+        final int c = peekNonWhitespace();
+        if (c == '}' || c == ']') {
+            return false;
+        }
+        if (first) {
+            first = false;
+        } else {
+            expect(',');
+        }
+        return true;
+    }
+
+    /**
+     * Read the name of the next field in an object, and the ':' after it
+     *
+     * @return the field name
+     * @throws MalformedProtobufException if the next token is not a field name
+     */
+    public @NonNull String nextName() throws MalformedProtobufException {
+        final String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Skip over the next value, including any nested objects and arrays
+     *
+     * @throws MalformedProtobufException if the next value is malformed
+     */
+    public void skipValue() throws MalformedProtobufException {
+        switch (peekToken()) {
+            case BEGIN_OBJECT -> {
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+            }
+            case BEGIN_ARRAY -> {
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+            }
+            case STRING -> {
+                expect('"');
+                readStringChars();
+            }
+            case NUMBER -> readNumberChars();
+            case BOOLEAN -> nextBoolean();
+            case NULL -> nextNull();
+            default -> throw unexpected(peekNonWhitespace(), "a JSON value");
+        }
+    }
+
+    // ================================================================================================================
+    // Value Methods
+
+    /**
+     * Consume the next value if it is {@code null}
+     *
+     * @return true if the next value was null and has been consumed, false if it is not null
+     * @throws MalformedProtobufException if the next value starts like null but is not
+     */
+    public boolean nextNull() throws MalformedProtobufException {
+        if (peekNonWhitespace() != 'n') {
+            return false;
+        }
+        readLiteral("null");
+        return true;
+    }
+
+    /**
+     * Read the next value as a string
+     *
+     * @return the string with all escapes decoded
+     * @throws MalformedProtobufException if the next value is not a string
+     */
+    public @NonNull String nextString() throws MalformedProtobufException {
+        expect('"');
+        readStringChars();
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Read the next value as a boolean, either {@code true}, {@code false} or a quoted string
+     *
+     * @return the boolean value
+     * @throws MalformedProtobufException if the next value is not a boolean
+     */
+    public boolean nextBoolean() throws MalformedProtobufException {
+        final int c = peekNonWhitespace();
+        if (c == 't') {
+            readLiteral("true");
+            return true;
+        } else if (c == 'f') {
+            readLiteral("false");
+            return false;
+        } else if (c == '"') {
+            return Boolean.parseBoolean(nextString());
+        }
+        throw unexpected(c, "a boolean");
+    }
+
+    /**
+     * Read the next value as an int, either a number or a quoted number
+     *
+     * @return the int value
+     * @throws MalformedProtobufException if the next value is not a number
+     * @throws NumberFormatException if the number is not an int
+     */
+    public int nextInt() throws MalformedProtobufException {
+        final long value = readLongChars();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range for int: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Read the next value as a long, either a number or a quoted number
+     *
+     * @return the long value
+     * @throws MalformedProtobufException if the next value is not a number
+     * @throws NumberFormatException if the number is not a long
+     */
+    public long nextLong() throws MalformedProtobufException {
+        return readLongChars();
+    }
+
+    /**
+     * Read the next value as a float, either a number or a quoted number like {@code "NaN"} or {@code "Infinity"}
+     *
+     * @return the float value
+     * @throws MalformedProtobufException if the next value is not a number
+     * @throws NumberFormatException if the number is not a float
+     */
+    public float nextFloat() throws MalformedProtobufException {
+        readNumberChars();
+        return Float.parseFloat(new String(chars, 0, length));
+    }
+
+    /**
+     * Read the next value as a double, either a number or a quoted number like {@code "NaN"} or {@code "Infinity"}
+     *
+     * @return the double value
+     * @throws MalformedProtobufException if the next value is not a number
+     * @throws NumberFormatException if the number is not a double
+     */
+    public double nextDouble() throws MalformedProtobufException {
+        readNumberChars();
+        return Double.parseDouble(new String(chars, 0, length));
+    }
+
+    /**
+     * Read the next value as base64 encoded bytes
+     *
+     * @return the decoded bytes
+     * @throws MalformedProtobufException if the next value is not a string
+     * @throws IllegalArgumentException if the string is not valid base64
+     */
+    public @NonNull Bytes nextBytes() throws MalformedProtobufException {
+        return Bytes.fromBase64(nextString());
+    }
+
+    /**
+     * Read the next value as an array, reading each element with {@code reader}. A {@code null} value is read as an
+     * empty list.
+     *
+     * @param reader the reader for each element
+     * @return unmodifiable list of the elements read
+     * @param <T> the type of the elements
+     * @throws IOException if the array or one of its elements is malformed
+     */
+    public <T> @NonNull List<T> nextList(@NonNull final ValueReader<T> reader) throws IOException {
+        if (nextNull()) {
+            return Collections.emptyList();
+        }
+        beginArray();
+        final List<T> list = new ArrayList<>();
+        while (hasNext()) {
+            list.add(reader.read(this));
+        }
+        endArray();
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Read the next value as an object holding a protobuf map field. JSON object keys are always strings, so each
+     * key is converted to the map key type with {@code keyParser}, each value is read with {@code reader}. A
+     * {@code null} value is read as an empty map.
+     *
+     * @param keyParser converts a JSON object key to a map key
+     * @param reader the reader for each value
+     * @return map of the entries read, sorted by key
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @throws IOException if the object or one of its values is malformed
+     */
+    public <K, V> @NonNull PbjMap<K, V> nextMap(@NonNull final Function<String, K> keyParser,
+            @NonNull final ValueReader<V> reader) throws IOException {
+        if (nextNull()) {
+            return PbjMap.empty();
+        }
+        beginObject();
+        final PbjMap.Builder<K, V> map = new PbjMap.Builder<>();
+        while (hasNext()) {
+            final K key = keyParser.apply(nextName());
+            map.put(key, reader.read(this));
+        }
+        endObject();
+        return map.build();
+    }
+
+    // ================================================================================================================
+    // Private Methods
+
+    /**
+     * Read the characters of a number, or of a quoted string for quoted numbers, into chars.
+     */
+    private void readNumberChars() throws MalformedProtobufException {
+        final int c = peekNonWhitespace();
+        if (c == '"') {
+            peeked = NONE;
+            readStringChars();
+            return;
+        }
+        length = 0;
+        int n;
+        while (((n = peek()) >= '0' && n <= '9') || n == '-' || n == '+' || n == '.' || n == 'e' || n == 'E') {
+            peeked = NONE;
+            appendChar((char) n);
+        }
+        if (length == 0) {
+            throw unexpected(n, "a number");
+        }
+    }
+
+    /**
+     * Read a number and convert it to a long, without creating a string for the common case of a short integer.
+     */
+    private long readLongChars() throws MalformedProtobufException {
+        readNumberChars();
+        final char[] cs = chars;
+        final boolean negative = cs[0] == '-';
+        final int start = negative ? 1 : 0;
+        if (length > start && length - start <= SAFE_LONG_DIGITS) {
+            long value = 0;
+            int i = start;
+            for (; i < length; i++) {
+                final int digit = cs[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+            }
+            if (i == length) {
+                return negative ? -value : value;
+            }
+        }
+        // Too long to be sure it fits, or not a plain integer, let the JDK deal with it
+        return Long.parseLong(new String(cs, 0, length));
+    }
+
+    /**
+     * Read the rest of a string, after the opening quote, decoding UTF-8 and escapes into chars.
+     */
+    private void readStringChars() throws MalformedProtobufException {
+        length = 0;
+        while (true) {
+            final int b = read();
+            if (b == '"') {
+                return;
+            } else if (b == '\\') {
+                appendChar(readEscape());
+            } else if (b >= 0x80) {
+                readUtf8(b);
+            } else if (b >= 0x20) {
+                appendChar((char) b);
+            } else if (b == EOF) {
+                throw new MalformedProtobufException("Unterminated string at position " + input.position());
+            } else {
+                throw unexpected(b, "a string character");
+            }
+        }
+    }
+
+    /**
+     * Read the rest of an escape sequence, after the backslash
+     */
+    private char readEscape() throws MalformedProtobufException {
+        final int c = read();
+        return switch (c) {
+            case '"' -> '"';
+            case '\\' -> '\\';
+            case '/' -> '/';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw new MalformedProtobufException("Bad unicode escape at position " + input.position());
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            default -> throw unexpected(c, "an escape character");
+        };
+    }
+
+    /**
+     * Decode a multibyte UTF-8 character starting with {@code b} into chars
+     */
+    private void readUtf8(final int b) throws MalformedProtobufException {
+        if ((b & 0xE0) == 0xC0) {
+            appendChar((char) (((b & 0x1F) << 6) | readContinuation()));
+        } else if ((b & 0xF0) == 0xE0) {
+            appendChar((char) (((b & 0x0F) << 12) | (readContinuation() << 6) | readContinuation()));
+        } else if ((b & 0xF8) == 0xF0) {
+            final int codePoint = ((b & 0x07) << 18) | (readContinuation() << 12)
+                    | (readContinuation() << 6) | readContinuation();
+            appendChar(Character.highSurrogate(codePoint));
+            appendChar(Character.lowSurrogate(codePoint));
+        } else {
+            throw new MalformedProtobufException("Malformed UTF-8 at position " + input.position());
+        }
+    }
+
+    /**
+     * Read a UTF-8 continuation byte and return its 6 bits of payload
+     */
+    private int readContinuation() throws MalformedProtobufException {
+        final int b = read();
+        if ((b & 0xC0) != 0x80) {
+            throw new MalformedProtobufException("Malformed UTF-8 at position " + input.position());
+        }
+        return b & 0x3F;
+    }
+
+    /**
+     * Consume the given literal, like "true", checking each character
+     */
+    private void readLiteral(@NonNull final String literal) throws MalformedProtobufException {
+        peekNonWhitespace();
+        for (int i = 0; i < literal.length(); i++) {
+            final int c = read();
+            if (c != literal.charAt(i)) {
+                throw unexpected(c, literal);
+            }
+        }
+    }
+
+    /**
+     * Consume the next non whitespace character, which must be {@code expected}
+     */
+    private void expect(final char expected) throws MalformedProtobufException {
+        final int c = peekNonWhitespace();
+        if (c != expected) {
+            throw unexpected(c, "'" + expected + "'");
+        }
+        peeked = NONE;
+    }
+
+    private void appendChar(final char c) {
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+        chars[length++] = c;
+    }
+
+    /**
+     * Skip whitespace and return the next character without consuming it
+     */
+    private int peekNonWhitespace() {
+        int c;
+        while ((c = peek()) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            peeked = NONE;
+        }
+        return c;
+    }
+
+    private int peek() {
+        if (peeked == NONE) {
+            peeked = readFromInput();
+        }
+        return peeked;
+    }
+
+    private int read() {
+        if (peeked != NONE) {
+            final int c = peeked;
+            peeked = NONE;
+            return c;
+        }
+        return readFromInput();
+    }
+
+    private int readFromInput() {
+        if (!input.hasRemaining()) {
+            return EOF;
+        }
+        try {
+            return input.readByte() & 0xFF;
+        } catch (BufferUnderflowException e) {
+            // streams only find out they have ended when a read fails
+            return EOF;
+        }
+    }
+
+    private MalformedProtobufException unexpected(final int c, @NonNull final String expected) {
+        final String found = c == EOF ? "end of input" : "'" + (char) c + "'";
+        return new MalformedProtobufException(
+                "Expected " + expected + " but found " + found + " at position " + input.position());
+    }
+}
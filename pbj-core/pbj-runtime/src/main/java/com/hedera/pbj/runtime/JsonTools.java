@@ -16,6 +16,8 @@ import java.io.UncheckedIOException;
 import java.nio.CharBuffer;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -136,6 +138,52 @@ public final class JsonTools {
                 }).toList();
     }
 
+    /**
+     * Parse a JSON object holding a protobuf map field into a map. JSON object keys are always strings, so each key is
+     * converted to the map key type with {@code keyParser}.
+     *
+     * @param valueContext the JSONParser.ValueContext of the field, either an object or null
+     * @param keyParser converts the text of a JSON object key to a map key
+     * @param valueParser parses each value
+     * @return the map, sorted by key
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static <K, V> PbjMap<K, V> parseMap(JSONParser.ValueContext valueContext,
+                                               Function<String, K> keyParser,
+                                               Function<JSONParser.ValueContext, V> valueParser) {
+        final JSONParser.ObjContext objContext = valueContext.obj();
+        if (objContext == null) {
+            return PbjMap.empty();
+        }
+        final PbjMap.Builder<K, V> map = new PbjMap.Builder<>(objContext.pair().size());
+        for (JSONParser.PairContext pair : objContext.pair()) {
+            map.put(keyParser.apply(pair.STRING().getText()), valueParser.apply(pair.value()));
+        }
+        return map.build();
+    }
+
+    /**
+     * Parse a JSON object holding a protobuf map field with object values into a map.
+     *
+     * @param valueContext the JSONParser.ValueContext of the field, either an object or null
+     * @param keyParser converts the text of a JSON object key to a map key
+     * @param codec the JsonCodec to use to parse the values
+     * @return the map, sorted by key
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static <K, V> PbjMap<K, V> parseMap(JSONParser.ValueContext valueContext,
+                                               Function<String, K> keyParser, JsonCodec<V> codec) {
+        return parseMap(valueContext, keyParser, v -> {
+            try {
+                return codec.parse(v.obj(), false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Parse an integer from a JSONParser.ValueContext
      *
@@ -413,17 +461,7 @@ public final class JsonTools {
                             if (fieldDefinition.optional() && item == null) {
                                 return "\"null\"";
                             } else {
-                                return switch (fieldDefinition.type()) {
-                                    case STRING -> '"' + escape((String) item) + '"';
-                                    case BYTES -> '"' + ((Bytes) item).toBase64() + '"';
-                                    case INT32, SINT32, UINT32, FIXED32, SFIXED32 -> Integer.toString((Integer) item);
-                                    case INT64, SINT64, UINT64, FIXED64, SFIXED64 -> '"' + Long.toString((Long) item) + '"';
-                                    case FLOAT -> Float.toString((Float) item);
-                                    case DOUBLE -> Double.toString((Double) item);
-                                    case BOOL -> Boolean.toString((Boolean) item);
-                                    case ENUM -> '"' + ((EnumWithProtoMetadata)item).protoName() + '"';
-                                    case MESSAGE -> throw new UnsupportedOperationException("No expected here should have called other arrayField() method");
-                                };
+                                return rawValueCode(fieldDefinition, item);
                             }
                         })
                         .collect(Collectors.joining(", "));
@@ -464,4 +502,77 @@ public final class JsonTools {
         return null;
     }
 
+    /**
+     * Map field of primitives, strings, bytes or enums to JSON string. Like protobuf, the map is written as an object
+     * with the keys as strings, in the map's iteration order.
+     *
+     * @param indent the indent of the field, the entries are indented one more level
+     * @param fieldName the name of the field
+     * @param valueDefinition the definition of the map values, used for their type
+     * @param map the map
+     * @return the JSON string
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static <K, V> String mapField(String indent, String fieldName,
+                                         FieldDefinition valueDefinition, Map<K, V> map) {
+        final String entryIndent = indent + INDENT;
+        return rawFieldCode(fieldName, map.entrySet().stream()
+                .map(entry -> entryIndent + mapKeyCode(entry.getKey()) + ": " +
+                        rawValueCode(valueDefinition, entry.getValue()))
+                .collect(Collectors.joining(",\n", "{\n", "\n" + indent + "}")));
+    }
+
+    /**
+     * Map field of objects to JSON string. Like protobuf, the map is written as an object with the keys as strings,
+     * in the map's iteration order.
+     *
+     * @param indent the indent of the field, the entries are indented one more level
+     * @param fieldName the name of the field
+     * @param codec the codec to use for encoding the values
+     * @param map the map
+     * @return the JSON string
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public static <K, V> String mapField(String indent, String fieldName,
+                                         JsonCodec<V> codec, Map<K, V> map) {
+        final String entryIndent = indent + INDENT;
+        return rawFieldCode(fieldName, map.entrySet().stream()
+                .map(entry -> entryIndent + mapKeyCode(entry.getKey()) + ": " +
+                        codec.toJSON(entry.getValue(), entryIndent, true))
+                .collect(Collectors.joining(",\n", "{\n", "\n" + indent + "}")));
+    }
+
+    /**
+     * JSON string for a map key, JSON object keys are always quoted strings whatever the key type
+     *
+     * @param key the map key
+     * @return the quoted key
+     */
+    private static String mapKeyCode(Object key) {
+        return '"' + escape(key.toString()) + '"';
+    }
+
+    /**
+     * JSON string for a single value of a primitive, string, bytes or enum type
+     *
+     * @param fieldDefinition the definition of the field, used for the type of the value
+     * @param value the value
+     * @return the JSON string
+     */
+    private static String rawValueCode(FieldDefinition fieldDefinition, Object value) {
+        return switch (fieldDefinition.type()) {
+            case STRING -> '"' + escape((String) value) + '"';
+            case BYTES -> '"' + ((Bytes) value).toBase64() + '"';
+            case INT32, SINT32, UINT32, FIXED32, SFIXED32 -> Integer.toString((Integer) value);
+            case INT64, SINT64, UINT64, FIXED64, SFIXED64 -> '"' + Long.toString((Long) value) + '"';
+            case FLOAT -> Float.toString((Float) value);
+            case DOUBLE -> Double.toString((Double) value);
+            case BOOL -> Boolean.toString((Boolean) value);
+            case ENUM -> '"' + ((EnumWithProtoMetadata)value).protoName() + '"';
+            case MESSAGE -> throw new UnsupportedOperationException("No expected here should have called other arrayField() method");
+        };
+    }
+
 }
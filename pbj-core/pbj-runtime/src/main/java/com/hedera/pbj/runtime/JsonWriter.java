@@ -0,0 +1,566 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming JSON writer that encodes UTF-8 straight into a {@link WritableSequentialData}. Generated JSON codecs
+ * write each field with one of the {@code field()} or {@code arrayField()} methods, passing the field name
+ * pre-encoded with {@link #fieldName(String)} into a static constant, so field names are never rebuilt or
+ * re-encoded. The output is byte for byte identical to {@link JsonCodec#toJSON(Object)} encoded as UTF-8, which is
+ * designed to match the Google Protobuf library.
+ *
+ * <p>Bytes are collected in a small buffer and written to the output in chunks, so {@link #flush()} must be called
+ * once the last object has been written. This class is not thread safe.
+ */
+public final class JsonWriter {
+    /** The size of the buffer used to collect bytes before writing them to the output */
+    private static final int BUFFER_SIZE = 256;
+    /** The largest number of bytes written for a number, "-9223372036854775808" with quotes is 22 */
+    private static final int MAX_NUMBER_SIZE = 24;
+    /** UTF-8 bytes for {@link JsonTools#INDENT} */
+    private static final byte[] INDENT = JsonTools.INDENT.getBytes(StandardCharsets.UTF_8);
+    /** UTF-8 bytes for null */
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    /** UTF-8 bytes for true */
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    /** UTF-8 bytes for false */
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+
+    /** The output to write to */
+    private final WritableSequentialData output;
+    /** Bytes not yet written to the output */
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    /** The number of bytes in buffer */
+    private int count = 0;
+    /** The number of objects we are inside, used for indenting */
+    private int depth = 0;
+    /** True if no field has been written yet in the current object */
+    private boolean first = true;
+
+    /**
+     * Create a new JsonWriter writing to the given output
+     *
+     * @param output the output to write UTF-8 JSON to
+     */
+    public JsonWriter(@NonNull final WritableSequentialData output) {
+        this.output = Objects.requireNonNull(output);
+    }
+
+    /**
+     * Encode a JSON field name, with its quotes and the following colon and space, as UTF-8. Generated codecs keep
+     * the result in a static constant to pass to the {@code field()} methods.
+     *
+     * @param jsonFieldName the JSON name of the field, as returned by {@link JsonTools#toJsonFieldName(String)}
+     * @return UTF-8 bytes of {@code "jsonFieldName": }
+     */
+    public static byte[] fieldName(@NonNull final String jsonFieldName) {
+        return ('"' + jsonFieldName + "\": ").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Start an object, writing its opening '{'
+     */
+    public void beginObject() {
+        writeByte((byte) '{');
+        depth++;
+        first = true;
+    }
+
+    /**
+     * End the current object, writing a new line, indent and its closing '}'
+     */
+    public void endObject() {
+        depth--;
+        newLine();
+        writeByte((byte) '}');
+        first = false;
+    }
+
+    /**
+     * Write any buffered bytes to the output. This does not flush the output itself.
+     */
+    public void flush() {
+        if (count > 0) {
+            output.writeBytes(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    // ====================================================================================================
+    // Field Methods, each one matches a field method in JsonTools
+
+    /**
+     * Write an object field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param codec the codec to write the value with
+     * @param value the value of the field
+     * @param <T> the type of the value
+     */
+    public <T> void field(@NonNull final byte[] name, @NonNull final JsonCodec<T> codec, @Nullable final T value) {
+        startField(name);
+        if (value != null) {
+            codec.write(value, this);
+        } else {
+            writeBytes(NULL);
+        }
+    }
+
+    /**
+     * Write a string field
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @Nullable final String value) {
+        startField(name);
+        writeString(value);
+    }
+
+    /**
+     * Write a bytes field as base64
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @NonNull final Bytes value) {
+        startField(name);
+        writeQuotedAscii(value.toBase64());
+    }
+
+    /**
+     * Write a primitive boolean field
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, final boolean value) {
+        startField(name);
+        writeBytes(value ? TRUE : FALSE);
+    }
+
+    /**
+     * Write a primitive int field
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, final int value) {
+        startField(name);
+        writeLong(value, false);
+    }
+
+    /**
+     * Write a primitive long field, quoted as protobuf does for 64-bit integers
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, final long value) {
+        startField(name);
+        writeLong(value, true);
+    }
+
+    /**
+     * Write a primitive float field, NaN and infinities are written as quoted strings
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, final float value) {
+        startField(name);
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            writeSpecial(value);
+        } else {
+            writeAscii(Float.toString(value));
+        }
+    }
+
+    /**
+     * Write a primitive double field, NaN and infinities are written as quoted strings
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, final double value) {
+        startField(name);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeSpecial(value);
+        } else {
+            writeAscii(Double.toString(value));
+        }
+    }
+
+    /**
+     * Write a boxed Boolean field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @Nullable final Boolean value) {
+        if (value == null) {
+            nullField(name);
+        } else {
+            field(name, value.booleanValue());
+        }
+    }
+
+    /**
+     * Write a boxed Integer field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @Nullable final Integer value) {
+        if (value == null) {
+            nullField(name);
+        } else {
+            field(name, value.intValue());
+        }
+    }
+
+    /**
+     * Write a boxed Long field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     * @param quote true to write the value as a quoted string
+     */
+    public void field(@NonNull final byte[] name, @Nullable final Long value, final boolean quote) {
+        if (value == null) {
+            nullField(name);
+        } else {
+            startField(name);
+            writeLong(value, quote);
+        }
+    }
+
+    /**
+     * Write a boxed Float field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @Nullable final Float value) {
+        if (value == null) {
+            nullField(name);
+        } else {
+            field(name, value.floatValue());
+        }
+    }
+
+    /**
+     * Write a boxed Double field, or null if the value is null
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param value the value of the field
+     */
+    public void field(@NonNull final byte[] name, @Nullable final Double value) {
+        if (value == null) {
+            nullField(name);
+        } else {
+            field(name, value.doubleValue());
+        }
+    }
+
+    /**
+     * Write an array field of primitives, strings, bytes or enums. Nothing is written if items is null.
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param fieldDefinition the definition of the field, used for the type of the items
+     * @param items the items in the array
+     * @param <T> the type of the items in the array
+     */
+    public <T> void arrayField(@NonNull final byte[] name, @NonNull final FieldDefinition fieldDefinition,
+            @Nullable final List<T> items) {
+        if (items == null) {
+            return;
+        }
+        startField(name);
+        writeByte((byte) '[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                writeComma();
+            }
+            final T item = items.get(i);
+            if (fieldDefinition.optional() && item == null) {
+                writeQuotedAscii("null");
+                continue;
+            }
+            writeValue(fieldDefinition, item);
+        }
+        writeByte((byte) ']');
+    }
+
+    /**
+     * Write an array field of objects. Nothing is written if items is null.
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param codec the codec to write the items with
+     * @param items the items in the array
+     * @param <T> the type of the items in the array
+     */
+    public <T> void arrayField(@NonNull final byte[] name, @NonNull final JsonCodec<T> codec,
+            @Nullable final List<T> items) {
+        if (items == null) {
+            return;
+        }
+        startField(name);
+        writeByte((byte) '[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                writeComma();
+            }
+            codec.write(items.get(i), this);
+        }
+        writeByte((byte) ']');
+    }
+
+    /**
+     * Write a map field of primitives, strings, bytes or enums as an object keyed by the map keys as strings
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param valueDefinition the definition of the map values, used for their type
+     * @param map the map, written in its iteration order
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public <K, V> void mapField(@NonNull final byte[] name, @NonNull final FieldDefinition valueDefinition,
+            @NonNull final Map<K, V> map) {
+        startField(name);
+        beginObject();
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            startKey(entry.getKey());
+            writeValue(valueDefinition, entry.getValue());
+        }
+        endObject();
+    }
+
+    /**
+     * Write a map field of objects as an object keyed by the map keys as strings
+     *
+     * @param name the pre-encoded field name from {@link #fieldName(String)}
+     * @param codec the codec to write the values with
+     * @param map the map, written in its iteration order
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public <K, V> void mapField(@NonNull final byte[] name, @NonNull final JsonCodec<V> codec,
+            @NonNull final Map<K, V> map) {
+        startField(name);
+        beginObject();
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            startKey(entry.getKey());
+            codec.write(entry.getValue(), this);
+        }
+        endObject();
+    }
+
+    // ====================================================================================================
+    // Private Methods
+
+    /**
+     * Write the separator from the previous field, if any, the new line and indent and then the field name
+     */
+    private void startField(final byte[] name) {
+        if (!first) {
+            writeByte((byte) ',');
+        }
+        first = false;
+        newLine();
+        writeBytes(name);
+    }
+
+    /**
+     * Like {@link #startField(byte[])} but for a map key, which is always written as a quoted string
+     */
+    private void startKey(final Object key) {
+        if (!first) {
+            writeByte((byte) ',');
+        }
+        first = false;
+        newLine();
+        if (key instanceof final String string) {
+            writeString(string);
+        } else {
+            writeQuotedAscii(key.toString());
+        }
+        writeByte((byte) ':');
+        writeByte((byte) ' ');
+    }
+
+    /** Write a single value of a primitive, string, bytes or enum type */
+    private void writeValue(final FieldDefinition fieldDefinition, final Object value) {
+        switch (fieldDefinition.type()) {
+            case STRING -> writeString((String) value);
+            case BYTES -> writeQuotedAscii(((Bytes) value).toBase64());
+            case INT32, SINT32, UINT32, FIXED32, SFIXED32 -> writeLong((Integer) value, false);
+            case INT64, SINT64, UINT64, FIXED64, SFIXED64 -> writeLong((Long) value, true);
+            case FLOAT -> writeAscii(Float.toString((Float) value));
+            case DOUBLE -> writeAscii(Double.toString((Double) value));
+            case BOOL -> writeBytes((Boolean) value ? TRUE : FALSE);
+            case ENUM -> writeString(((EnumWithProtoMetadata) value).protoName());
+            case MESSAGE -> throw new UnsupportedOperationException(
+                    "No expected here should have called other arrayField() method");
+        }
+    }
+
+    /** Write a field with the value null */
+    private void nullField(final byte[] name) {
+        startField(name);
+        writeBytes(NULL);
+    }
+
+    /** Write a new line followed by the indent for the current depth */
+    private void newLine() {
+        writeByte((byte) '\n');
+        for (int i = 0; i < depth; i++) {
+            writeBytes(INDENT);
+        }
+    }
+
+    /** Write the ", " between array items */
+    private void writeComma() {
+        ensure(2);
+        buffer[count++] = ',';
+        buffer[count++] = ' ';
+    }
+
+    /** Write NaN, Infinity or -Infinity as a quoted string */
+    private void writeSpecial(final double value) {
+        writeQuotedAscii(Double.isNaN(value) ? "NaN" : (value < 0 ? "-Infinity" : "Infinity"));
+    }
+
+    /**
+     * Write a long in decimal, without allocating a string
+     *
+     * @param value the value to write
+     * @param quote true to write the value in quotes
+     */
+    private void writeLong(final long value, final boolean quote) {
+        ensure(MAX_NUMBER_SIZE);
+        if (quote) {
+            buffer[count++] = '"';
+        }
+        if (value == Long.MIN_VALUE) {
+            for (final char c : "-9223372036854775808".toCharArray()) {
+                buffer[count++] = (byte) c;
+            }
+        } else {
+            long v = value;
+            if (v < 0) {
+                buffer[count++] = '-';
+                v = -v;
+            }
+            // write digits backwards from the end then move the position past them
+            final int digits = digits(v);
+            int pos = count + digits;
+            do {
+                buffer[--pos] = (byte) ('0' + (v % 10));
+                v /= 10;
+            } while (v != 0);
+            count += digits;
+        }
+        if (quote) {
+            buffer[count++] = '"';
+        }
+    }
+
+    /** Count the decimal digits in a non-negative long */
+    private static int digits(final long value) {
+        long limit = 10;
+        for (int digits = 1; digits < 19; digits++) {
+            if (value < limit) {
+                return digits;
+            }
+            limit *= 10;
+        }
+        return 19;
+    }
+
+    /**
+     * Write a string escaped and quoted. ASCII is copied straight into the buffer, the rest of the string from the
+     * first non-ASCII char is escaped and encoded with {@link JsonTools#escape} and {@link String#getBytes}, exactly
+     * as writing the whole JSON string as UTF-8 would. A null string is written as "null" in quotes, like
+     * {@link JsonTools#field(String, String)} does.
+     */
+    private void writeString(@Nullable final String value) {
+        if (value == null) {
+            writeQuotedAscii("null");
+            return;
+        }
+        writeByte((byte) '"');
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                writeBytes(JsonTools.escape(value.substring(i)).getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+            if (c == '\n' || c == '\r') {
+                ensure(2);
+                buffer[count++] = '\\';
+                buffer[count++] = (byte) (c == '\n' ? 'n' : 'r');
+            } else {
+                writeByte((byte) c);
+            }
+        }
+        writeByte((byte) '"');
+    }
+
+    /** Write a string that is known to be ASCII in quotes */
+    private void writeQuotedAscii(@NonNull final String value) {
+        writeByte((byte) '"');
+        writeAscii(value);
+        writeByte((byte) '"');
+    }
+
+    /** Write a string that is known to be ASCII, with no escaping */
+    private void writeAscii(@NonNull final String value) {
+        final int length = value.length();
+        int i = 0;
+        while (i < length) {
+            if (count == BUFFER_SIZE) {
+                flush();
+            }
+            final int end = Math.min(length, i + BUFFER_SIZE - count);
+            while (i < end) {
+                buffer[count++] = (byte) value.charAt(i++);
+            }
+        }
+    }
+
+    private void writeByte(final byte b) {
+        if (count == BUFFER_SIZE) {
+            flush();
+        }
+        buffer[count++] = b;
+    }
+
+    private void writeBytes(final byte[] bytes) {
+        if (bytes.length > BUFFER_SIZE - count) {
+            flush();
+            if (bytes.length > BUFFER_SIZE) {
+                output.writeBytes(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /** Make sure there is room in the buffer for the given number of bytes, no more than BUFFER_SIZE */
+    private void ensure(final int size) {
+        if (count + size > BUFFER_SIZE) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * Holder for a sub-message field of a model object generated with the {@code pbj.lazy_sub_messages} option. When
+ * parsed from protobuf the sub-message is kept as its encoded bytes and only parsed the first time {@link #get()} is
+ * called, so consumers that only read top level fields never pay for parsing the sub-messages.
+ *
+ * <p>Equality and hash code are those of the message, so two holders are equal whenever their messages are, whatever
+ * bytes they were parsed from. Holders created from identical bytes are equal without parsing, otherwise comparing and
+ * hashing parse the message. A holder created from bytes always writes those bytes back verbatim, including any fields
+ * unknown to this version of the model.
+ *
+ * <p>This class is thread safe, though two threads may both parse the same bytes if they race on {@link #get()}.
+ *
+ * @param <T> The type of the message
+ */
+public final class LazyMessage<T> {
+    /**
+     * Marker passed as the last argument of the canonical constructor of model objects with lazily parsed fields. It
+     * makes that constructor, which takes LazyMessage holders, distinct from the one taking the field values, even when
+     * null is passed for a field. For generated code only.
+     */
+    public enum Marker {
+        /** The only value, ignored by the constructor */
+        LAZY_FIELDS
+    }
+
+    /** The codec for the message type, used to parse and encode */
+    private final Codec<T> codec;
+    /** True if created from encoded bytes, which are written back verbatim */
+    private final boolean fromBytes;
+    /** The message, null until parsed if created from bytes */
+    private volatile T value;
+    /** The encoded message, null until encoded if created from a value */
+    private volatile Bytes bytes;
+
+    private LazyMessage(@NonNull final Codec<T> codec, @Nullable final T value, @Nullable final Bytes bytes) {
+        this.codec = Objects.requireNonNull(codec);
+        this.fromBytes = bytes != null;
+        this.value = value;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Create a holder for a message that has already been parsed or built
+     *
+     * @param value the message, may be null
+     * @param codec the codec for the message type
+     * @return a new holder or null if value is null, as model objects use null for an unset sub-message
+     * @param <T> The type of the message
+     */
+    public static <T> @Nullable LazyMessage<T> of(@Nullable final T value, @NonNull final Codec<T> codec) {
+        return value == null ? null : new LazyMessage<>(codec, value, null);
+    }
+
+    /**
+     * Create a holder for a message that has not been parsed yet
+     *
+     * @param bytes the protobuf encoded message, not including its tag or length
+     * @param codec the codec to parse the message with
+     * @return a new holder
+     * @param <T> The type of the message
+     */
+    public static <T> @NonNull LazyMessage<T> ofBytes(@NonNull final Bytes bytes, @NonNull final Codec<T> codec) {
+        return new LazyMessage<>(codec, null, Objects.requireNonNull(bytes));
+    }
+
+    /**
+     * Get the message, parsing it the first time if the holder was created from bytes
+     *
+     * @return the message
+     * @throws UncheckedIOException if the bytes are not a valid encoding of the message
+     */
+    public @NonNull T get() {
+        T result = value;
+        if (result == null) {
+            try {
+                result = codec.parse(bytes.toReadableSequentialData());
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to parse lazy sub-message", e);
+            }
+            value = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the protobuf encoding of the message, encoding it the first time if the holder was created from a value
+     *
+     * @return the encoded message, not including its tag or length
+     */
+    public @NonNull Bytes bytes() {
+        Bytes result = bytes;
+        if (result == null) {
+            result = codec.toBytes(value);
+            bytes = result;
+        }
+        return result;
+    }
+
+    /**
+     * Check if this holder was created from encoded bytes. Such a holder is always written by copying those bytes,
+     * whether it has been parsed or not.
+     *
+     * @return true if created with {@link #ofBytes(Bytes, Codec)}
+     */
+    public boolean isFromBytes() {
+        return fromBytes;
+    }
+
+    /**
+     * Check if the message is available without parsing
+     *
+     * @return true if {@link #get()} will not parse
+     */
+    public boolean isParsed() {
+        return value != null;
+    }
+
+    /**
+     * Equal if the other object is a LazyMessage holding an equal message. Only parses if either holder was not created
+     * from bytes, or the bytes differ.
+     *
+     * @param o the object to compare with
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof final LazyMessage<?> that)) {
+            return false;
+        }
+        final Bytes thisBytes = bytes;
+        final Bytes thatBytes = that.bytes;
+        if (thisBytes != null && thisBytes.equals(thatBytes)) {
+            return true;
+        }
+        return get().equals(that.get());
+    }
+
+    /**
+     * Hash code of the message, parsing it if needed
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return get().hashCode();
+    }
+
+    /**
+     * String of the message, parsing it if needed
+     *
+     * @return the message's toString()
+     */
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+}
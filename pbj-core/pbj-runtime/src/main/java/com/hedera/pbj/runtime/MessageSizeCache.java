@@ -0,0 +1,102 @@
+package com.hedera.pbj.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Table of the encoded sizes of the nested messages of a single model object, recorded in the order they are
+ * visited. Generated codecs fill it in while measuring a model object and then read it back, in the same order,
+ * while writing it. That way each nested message is measured exactly once per write, rather than once for every
+ * message that encloses it, which makes writing deeply nested messages linear in the size of the message.
+ *
+ * <p>Model objects are records, so they cannot hold a lazily computed size themselves. Keeping the sizes in a
+ * side table owned by the write call gives the same result without changing the model objects.
+ *
+ * <p>This class is not thread safe, an instance should only be used for a single write at a time.
+ */
+public final class MessageSizeCache {
+    /** The default number of slots to allocate for a new cache */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Array of recorded sizes, in visiting order */
+    private int[] sizes;
+    /** The number of slots that have been reserved */
+    private int count = 0;
+    /** The index of the next slot to read */
+    private int readIndex = 0;
+
+    /**
+     * Create a new empty cache with default capacity
+     */
+    public MessageSizeCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new empty cache
+     *
+     * @param initialCapacity the number of slots to allocate up front, must be &gt;= 0
+     */
+    public MessageSizeCache(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be >= 0 but was " + initialCapacity);
+        }
+        this.sizes = new int[initialCapacity];
+    }
+
+    /**
+     * Reserve the next slot for a nested message size. The slot is reserved before the nested message is measured so
+     * that the slot order matches the order the write pass visits the messages in.
+     *
+     * @return the index of the reserved slot
+     */
+    public int reserve() {
+        if (count == sizes.length) {
+            sizes = Arrays.copyOf(sizes, Math.max(DEFAULT_CAPACITY, sizes.length * 2));
+        }
+        return count++;
+    }
+
+    /**
+     * Set the size for a previously reserved slot
+     *
+     * @param slot the slot index returned from {@link #reserve()}
+     * @param size the encoded size of the nested message, not including tag and length
+     */
+    public void set(final int slot, final int size) {
+        if (slot < 0 || slot >= count) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " has not been reserved, reserved = " + count);
+        }
+        sizes[slot] = size;
+    }
+
+    /**
+     * Read the next recorded size
+     *
+     * @return the size recorded in the next slot
+     * @throws IllegalStateException if all recorded sizes have already been read, this means the model object
+     *                               being written does not match the one that was measured
+     */
+    public int next() {
+        if (readIndex >= count) {
+            throw new IllegalStateException("No more recorded message sizes, recorded = " + count);
+        }
+        return sizes[readIndex++];
+    }
+
+    /**
+     * Get the number of slots that have been reserved
+     *
+     * @return number of recorded sizes
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Clear all recorded sizes so this cache can be reused for measuring and writing another model object
+     */
+    public void clear() {
+        count = 0;
+        readIndex = 0;
+    }
+}
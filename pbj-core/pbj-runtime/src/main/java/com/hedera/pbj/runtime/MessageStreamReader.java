@@ -0,0 +1,338 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a sequence of length delimited messages, each a varint length followed by that many bytes of an encoded
+ * message, from any {@link ReadableSequentialData}, as written by {@link Codec#writeDelimited} or protobuf's
+ * {@code writeDelimitedTo}. Reading stops cleanly at the limit or the end of the input, when there is no length left
+ * to read.
+ *
+ * <p>By default each message is parsed on the calling thread as it is asked for. Given a {@link ForkJoinPool}, the
+ * calling thread only reads the length of each message and copies its bytes out of the input, in batches of
+ * {@code batchSize} messages, and the batches are parsed on the pool. Several batches are read ahead while earlier
+ * ones are being parsed, so parsing overlaps with reading the input, and messages are still returned in the order
+ * they were read. Batching keeps the cost of a task small compared to the parsing it does, so batches of small
+ * messages should be large.
+ *
+ * <p>Messages longer than the maximum message size, 64MB unless given, are rejected when their length is read,
+ * before anything is allocated for them, so a corrupt or hostile length cannot exhaust memory.
+ *
+ * <p>Parse failures are thrown from {@link #hasNext()} or {@link #next()} as an {@link UncheckedIOException} when
+ * the message they happened in is reached. A length that is negative, too large, truncated or past the end of the
+ * input stops reading, as nothing after it can be found. It is thrown the same way once every message before it
+ * has been returned, in both modes, and again by every later call. This class is not thread safe, and the input
+ * must not be used by anything else until reading is finished.
+ *
+ * @param <T> The type of the messages
+ */
+public final class MessageStreamReader<T> implements Iterator<T> {
+    /** The default largest message length accepted, the same as protobuf's historic default size limit */
+    public static final int DEFAULT_MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+    /** The input to read messages from */
+    private final ReadableSequentialData input;
+    /** The codec to parse messages with */
+    private final Codec<T> codec;
+    /** The largest message length accepted */
+    private final int maxMessageSize;
+    /** The pool to parse batches of messages on, or null to parse them on the calling thread */
+    @Nullable
+    private final ForkJoinPool pool;
+    /** The number of messages in each batch parsed on the pool */
+    private final int batchSize;
+    /** The largest number of batches parsed on the pool at once */
+    private final int maxBatchesInFlight;
+    /** Batches that have been read and are parsed, or being parsed, on the pool, oldest first */
+    private final ArrayDeque<ForkJoinTask<Object[]>> pending = new ArrayDeque<>();
+    /** The parsed messages of the batch being returned, when parsing on a pool */
+    @Nullable
+    private Object[] batch;
+    /** The index of the next message to return in {@link #batch} */
+    private int batchIndex;
+    /** The next message to return, when parsing on the calling thread, if it has already been parsed */
+    @Nullable
+    private T next;
+    /** Set to true when there are no more lengths to read from the input */
+    private boolean inputEnd;
+    /** The bad length that stopped reading, thrown once the messages before it have been returned */
+    @Nullable
+    private MalformedProtobufException lengthError;
+
+    /**
+     * Create a reader that parses messages on the calling thread
+     *
+     * @param input the input to read messages from
+     * @param codec the codec to parse messages with
+     */
+    public MessageStreamReader(@NonNull final ReadableSequentialData input, @NonNull final Codec<T> codec) {
+        this(input, codec, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * Create a reader that parses messages on the calling thread, rejecting messages longer than
+     * {@code maxMessageSize}
+     *
+     * @param input the input to read messages from
+     * @param codec the codec to parse messages with
+     * @param maxMessageSize the largest message length accepted, must not be negative
+     */
+    public MessageStreamReader(
+            @NonNull final ReadableSequentialData input, @NonNull final Codec<T> codec, final int maxMessageSize) {
+        if (maxMessageSize < 0) {
+            throw new IllegalArgumentException("Max message size must not be negative but was " + maxMessageSize);
+        }
+        this.input = Objects.requireNonNull(input);
+        this.codec = Objects.requireNonNull(codec);
+        this.maxMessageSize = maxMessageSize;
+        this.pool = null;
+        this.batchSize = 1;
+        this.maxBatchesInFlight = 0;
+    }
+
+    /**
+     * Create a reader that parses batches of messages on the given pool, returning them in order
+     *
+     * @param input the input to read messages from
+     * @param codec the codec to parse messages with
+     * @param pool the pool to parse messages on
+     * @param batchSize the number of messages parsed by each task on the pool, must be positive
+     */
+    public MessageStreamReader(
+            @NonNull final ReadableSequentialData input,
+            @NonNull final Codec<T> codec,
+            @NonNull final ForkJoinPool pool,
+            final int batchSize) {
+        this(input, codec, pool, batchSize, DEFAULT_MAX_MESSAGE_SIZE);
+    }
+
+    /**
+     * Create a reader that parses batches of messages on the given pool, returning them in order, and rejects
+     * messages longer than {@code maxMessageSize}
+     *
+     * @param input the input to read messages from
+     * @param codec the codec to parse messages with
+     * @param pool the pool to parse messages on
+     * @param batchSize the number of messages parsed by each task on the pool, must be positive
+     * @param maxMessageSize the largest message length accepted, must not be negative
+     */
+    public MessageStreamReader(
+            @NonNull final ReadableSequentialData input,
+            @NonNull final Codec<T> codec,
+            @NonNull final ForkJoinPool pool,
+            final int batchSize,
+            final int maxMessageSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        if (maxMessageSize < 0) {
+            throw new IllegalArgumentException("Max message size must not be negative but was " + maxMessageSize);
+        }
+        this.input = Objects.requireNonNull(input);
+        this.codec = Objects.requireNonNull(codec);
+        this.maxMessageSize = maxMessageSize;
+        this.pool = Objects.requireNonNull(pool);
+        this.batchSize = batchSize;
+        // enough to keep every thread of the pool busy while the calling thread reads more
+        this.maxBatchesInFlight = 2 * pool.getParallelism();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        try {
+            if (pool == null) {
+                if (next == null && !inputEnd) {
+                    final int length = readLength();
+                    if (length >= 0) {
+                        next = parseMessage(length);
+                    }
+                }
+                if (next == null && lengthError != null) {
+                    throw lengthError;
+                }
+                return next != null;
+            }
+            while (batch == null || batchIndex == batch.length) {
+                readBatches();
+                final ForkJoinTask<Object[]> task = pending.poll();
+                if (task == null) {
+                    batch = null;
+                    if (lengthError != null) {
+                        throw lengthError;
+                    }
+                    return false;
+                }
+                batch = task.join();
+                batchIndex = 0;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (pool == null) {
+            final T item = next;
+            next = null;
+            return item;
+        }
+        final Object item = batch[batchIndex];
+        // do not hold on to messages that have been returned
+        batch[batchIndex++] = null;
+        return (T) item;
+    }
+
+    /**
+     * Get a sequential, ordered stream of the remaining messages. Reading from the stream reads from this reader.
+     *
+     * @return a stream of the remaining messages
+     */
+    @NonNull
+    public Stream<T> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Read the length of the next message, or find that there are no more
+     *
+     * @return the length of the next message, or -1 at the end of the input
+     * @throws MalformedProtobufException if the length is negative, longer than {@link #maxMessageSize} or truncated
+     */
+    private int readLength() throws MalformedProtobufException {
+        if (!input.hasRemaining()) {
+            inputEnd = true;
+            return -1;
+        }
+        final long start = input.position();
+        final int length;
+        try {
+            length = input.readVarInt(false);
+        } catch (BufferUnderflowException e) {
+            // a stream may only find its end when reading from it
+            if (input.position() == start) {
+                inputEnd = true;
+                return -1;
+            }
+            throw lengthError("Message length is truncated");
+        }
+        if (length < 0) {
+            throw lengthError("Message length " + length + " is negative");
+        }
+        if (length > maxMessageSize) {
+            throw lengthError("Message length " + length + " is larger than the max message size " + maxMessageSize);
+        }
+        return length;
+    }
+
+    /**
+     * Record a bad length, which stops reading from the input
+     *
+     * @param message the message of the error
+     * @return the error, to be thrown
+     */
+    @NonNull
+    private MalformedProtobufException lengthError(@NonNull final String message) {
+        lengthError = new MalformedProtobufException(message);
+        inputEnd = true;
+        return lengthError;
+    }
+
+    /**
+     * Parse the next message from the input, within its length
+     *
+     * @param length the length of the message, already read
+     * @return the parsed message
+     * @throws IOException if the message cannot be read or parsed
+     */
+    @NonNull
+    private T parseMessage(final int length) throws IOException {
+        final long limit = input.limit();
+        final long end = input.position() + length;
+        if (end > limit) {
+            throw lengthError("Message of " + length + " bytes extends past the end of the input");
+        }
+        input.limit(end);
+        try {
+            final T item = codec.parse(input);
+            if (input.position() != end) {
+                throw new MalformedProtobufException("Message is shorter than its length " + length);
+            }
+            return item;
+        } finally {
+            input.limit(limit);
+        }
+    }
+
+    /**
+     * Read batches of message bytes from the input and submit them to the pool to be parsed, until there are
+     * {@link #maxBatchesInFlight} batches pending or the end of the input. A bad length ends the input, the messages
+     * read before it are still parsed.
+     */
+    private void readBatches() {
+        while (!inputEnd && pending.size() < maxBatchesInFlight) {
+            final Bytes[] frames = new Bytes[batchSize];
+            int count = 0;
+            try {
+                int length;
+                while (count < batchSize && (length = readLength()) >= 0) {
+                    if (length > input.remaining()) {
+                        throw lengthError("Message of " + length + " bytes extends past the end of the input");
+                    }
+                    frames[count++] = input.readBytes(length);
+                }
+            } catch (MalformedProtobufException e) {
+                // recorded in lengthError, and thrown by hasNext() once the batches before it have been returned
+            }
+            if (count == 0) {
+                return;
+            }
+            final int batchCount = count;
+            pending.add(pool.submit(() -> parseBatch(frames, batchCount)));
+        }
+    }
+
+    /**
+     * Parse a batch of messages, on the pool
+     *
+     * @param frames the bytes of each message
+     * @param count the number of messages in {@code frames}
+     * @return the parsed messages, in the same order
+     */
+    @NonNull
+    private Object[] parseBatch(@NonNull final Bytes[] frames, final int count) {
+        final Object[] items = new Object[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                items[i] = codec.parse(frames[i].toReadableSequentialData());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,338 @@
+package com.hedera.pbj.runtime;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable {@code Map} used for protobuf map fields. The entries are held in two parallel arrays sorted by the
+ * natural order of the keys, so the map takes two references per entry rather than the node per entry of a
+ * {@link java.util.HashMap}, lookups are a binary search, and iteration is always in key order. Iterating in key order
+ * is what makes the protobuf encoding of a model with a map field deterministic, equal models always produce the same
+ * bytes.
+ *
+ * <p>Protobuf map keys are integers, booleans or strings, which are all {@link Comparable}. Neither keys nor values
+ * may be null. To all other code it is a normal unmodifiable {@link Map}, equal to any other map holding the same
+ * entries.
+ *
+ * @param <K> The type of the keys, must be {@link Comparable} with itself
+ * @param <V> The type of the values
+ */
+public final class PbjMap<K, V> extends AbstractMap<K, V> {
+    /** The empty map */
+    @SuppressWarnings("rawtypes")
+    private static final PbjMap EMPTY = new PbjMap<>(new Object[0], new Object[0]);
+
+    /** The keys, in ascending order with no duplicates, never modified */
+    private final Object[] keys;
+    /** The values, values[i] is the value for keys[i], never modified */
+    private final Object[] values;
+    /** The entry set view, created when first needed */
+    private Set<Entry<K, V>> entrySet;
+
+    /**
+     * Create a map that takes ownership of the arrays
+     *
+     * @param keys the sorted keys, must not be modified after this
+     * @param values the values, must not be modified after this
+     */
+    private PbjMap(@NonNull final Object[] keys, @NonNull final Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Get the empty map
+     *
+     * @return the empty map
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull PbjMap<K, V> empty() {
+        return (PbjMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Get a PbjMap with the entries of a map
+     *
+     * @param map the map, must not contain null keys or values
+     * @return the map itself if it is already a PbjMap, otherwise a new map with its entries
+     * @param <K> The type of the keys
+     * @param <V> The type of the values
+     * @throws NullPointerException if the map contains a null key or value
+     */
+    public static <K, V> @NonNull PbjMap<K, V> copyOf(@NonNull final Map<K, V> map) {
+        if (map instanceof final PbjMap<K, V> pbjMap) {
+            return pbjMap;
+        }
+        if (map.isEmpty()) {
+            return empty();
+        }
+        final Builder<K, V> builder = new Builder<>(map.size());
+        for (final Entry<K, V> entry : map.entrySet()) {
+            builder.put(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the key at an index, in key order
+     *
+     * @param index the index of the entry, between 0 and size() - 1
+     * @return the key
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull K keyAt(final int index) {
+        return (K) keys[index];
+    }
+
+    /**
+     * Get the value at an index, in key order
+     *
+     * @param index the index of the entry, between 0 and size() - 1
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept((K) keys[i], (V) values[i]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @NonNull Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new EntrySet();
+            entrySet = result;
+        }
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof final PbjMap<?, ?> other) {
+            // both are sorted with no duplicates, so equal maps have equal arrays
+            return Arrays.equals(keys, other.keys) && Arrays.equals(values, other.values);
+        }
+        return super.equals(o);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        // same as Map.hashCode(), without creating any entries
+        int hashCode = 0;
+        for (int i = 0; i < keys.length; i++) {
+            hashCode += keys[i].hashCode() ^ values[i].hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * Binary search for a key
+     *
+     * @param key the key to look for
+     * @return the index of the key, or a negative number if not found
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int indexOf(final Object key) {
+        // a key of another type can never be in the map, and comparing with it would throw
+        if (key == null || keys.length == 0 || key.getClass() != keys[0].getClass()) {
+            return -1;
+        }
+        return Arrays.binarySearch(keys, key, (a, b) -> ((Comparable) a).compareTo(b));
+    }
+
+    /**
+     * Entry set view over the arrays, iterating in key order
+     */
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public @NonNull Iterator<Entry<K, V>> iterator() {
+            return new Iterator<>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < keys.length;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (next >= keys.length) {
+                        throw new NoSuchElementException();
+                    }
+                    final int index = next++;
+                    return new SimpleImmutableEntry<>(keyAt(index), valueAt(index));
+                }
+            };
+        }
+    }
+
+    /**
+     * Builder used to collect entries while parsing. Entries can be added in any order, if a key is added more than
+     * once the last value added wins, as protobuf requires when parsing a map field.
+     *
+     * @param <K> The type of the keys, must be {@link Comparable} with itself
+     * @param <V> The type of the values
+     */
+    public static final class Builder<K, V> {
+        /** Initial capacity used when none is given */
+        private static final int DEFAULT_CAPACITY = 8;
+        /** The keys, the first {@code size} are used */
+        private Object[] keys;
+        /** The values, the first {@code size} are used */
+        private Object[] values;
+        /** The number of entries added */
+        private int size;
+
+        /**
+         * Create a new builder with the default initial capacity
+         */
+        public Builder() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Create a new builder
+         *
+         * @param capacity the initial capacity
+         */
+        public Builder(final int capacity) {
+            keys = new Object[Math.max(0, capacity)];
+            values = new Object[keys.length];
+        }
+
+        /**
+         * Add an entry, replacing any earlier entry with an equal key when the map is built
+         *
+         * @param key the key
+         * @param value the value
+         * @return this builder
+         * @throws NullPointerException if the key or value is null
+         */
+        public @NonNull Builder<K, V> put(@NonNull final K key, @NonNull final V value) {
+            if (size == keys.length) {
+                final int capacity = Math.max(DEFAULT_CAPACITY, size << 1);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = Objects.requireNonNull(key, "Map keys can not be null");
+            values[size] = Objects.requireNonNull(value, "Map values can not be null");
+            size++;
+            return this;
+        }
+
+        /**
+         * Build a map with the entries added so far. Entries written by PBJ are already in key order, in which case
+         * the arrays are used as they are without sorting.
+         *
+         * @return the map
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public @NonNull PbjMap<K, V> build() {
+            if (size == 0) {
+                return empty();
+            }
+            boolean sorted = true;
+            for (int i = 1; i < size; i++) {
+                if (((Comparable) keys[i - 1]).compareTo(keys[i]) >= 0) {
+                    sorted = false;
+                    break;
+                }
+            }
+            if (sorted) {
+                return new PbjMap<>(
+                        size == keys.length ? keys : Arrays.copyOf(keys, size),
+                        size == values.length ? values : Arrays.copyOf(values, size));
+            }
+            // stable sort of the indexes, so for equal keys the last one added comes last
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> ((Comparable) keys[a]).compareTo(keys[b]));
+            final Object[] sortedKeys = new Object[size];
+            final Object[] sortedValues = new Object[size];
+            int count = 0;
+            for (final int index : order) {
+                if (count > 0 && ((Comparable) sortedKeys[count - 1]).compareTo(keys[index]) == 0) {
+                    // duplicate key, the later value replaces the earlier one
+                    sortedValues[count - 1] = values[index];
+                } else {
+                    sortedKeys[count] = keys[index];
+                    sortedValues[count] = values[index];
+                    count++;
+                }
+            }
+            return new PbjMap<>(
+                    count == size ? sortedKeys : Arrays.copyOf(sortedKeys, count),
+                    count == size ? sortedValues : Arrays.copyOf(sortedValues, count));
+        }
+
+        /**
+         * Build a map from a builder that may not have been created yet, as generated parse code only creates the
+         * builder when the first entry is read.
+         *
+         * @param builder the builder or null if no entries were added
+         * @return the built map, or the empty map if the builder is null
+         * @param <K> The type of the keys
+         * @param <V> The type of the values
+         */
+        public static <K, V> @NonNull PbjMap<K, V> build(@Nullable final Builder<K, V> builder) {
+            return builder == null ? empty() : builder.build();
+        }
+    }
+}
@@ -3,10 +3,10 @@ package com.hedera.pbj.runtime;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.stream.EOFException;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +28,11 @@ public final class ProtoParserTools {
      * Mask used to extract the wire type from the "tag" byte
      */
     public static final int TAG_WRITE_TYPE_MASK = 0b0000_0111;
+    /**
+     * Most bytes of packed fixed width values a list builder is sized for up front. Lengths read from the input can not
+     * be trusted, so bigger fields start at this size and grow as values are actually read.
+     */
+    public static final int MAX_PRESIZE_BYTES = 64 * 1024;
 
     /** Instance should never be created */
     private ProtoParserTools() {}
@@ -49,6 +54,105 @@ public final class ProtoParserTools {
         return list;
     }
 
+    /**
+     * Add a int to a IntList builder without boxing it, creating the builder if it is null
+     *
+     * @param list The builder to add item to or null
+     * @param newItem The item to add
+     * @return The builder passed in or a new builder
+     */
+    public static IntList.Builder addToList(final IntList.Builder list, final int newItem) {
+        return (list == null ? new IntList.Builder() : list).add(newItem);
+    }
+
+    /**
+     * Add a long to a LongList builder without boxing it, creating the builder if it is null
+     *
+     * @param list The builder to add item to or null
+     * @param newItem The item to add
+     * @return The builder passed in or a new builder
+     */
+    public static LongList.Builder addToList(final LongList.Builder list, final long newItem) {
+        return (list == null ? new LongList.Builder() : list).add(newItem);
+    }
+
+    /**
+     * Add the values of all the 32bit varints remaining in the input to an IntList builder, creating the builder if
+     * it is null. Used for packed int32, uint32 and sint32 fields, with the input limit set to the end of the packed
+     * data.
+     *
+     * @param list The builder to add the values to or null
+     * @param input The input to read varints from until it has no bytes remaining
+     * @param zigZag use protobuf zigZag varint encoding, for sint32 fields
+     * @return The builder passed in or a new builder
+     */
+    public static IntList.Builder addVarIntsToList(final IntList.Builder list, final ReadableSequentialData input,
+            final boolean zigZag) {
+        return (list == null ? new IntList.Builder() : list).addVarInts(input, zigZag);
+    }
+
+    /**
+     * Add the values of all the 64bit varints remaining in the input to a LongList builder, creating the builder if
+     * it is null. Used for packed int64, uint64 and sint64 fields, with the input limit set to the end of the packed
+     * data.
+     *
+     * @param list The builder to add the values to or null
+     * @param input The input to read varints from until it has no bytes remaining
+     * @param zigZag use protobuf zigZag varint encoding, for sint64 fields
+     * @return The builder passed in or a new builder
+     */
+    public static LongList.Builder addVarLongsToList(final LongList.Builder list, final ReadableSequentialData input,
+            final boolean zigZag) {
+        return (list == null ? new LongList.Builder() : list).addVarLongs(input, zigZag);
+    }
+
+    /**
+     * Add a float to a FloatList builder without boxing it, creating the builder if it is null
+     *
+     * @param list The builder to add item to or null
+     * @param newItem The item to add
+     * @return The builder passed in or a new builder
+     */
+    public static FloatList.Builder addToList(final FloatList.Builder list, final float newItem) {
+        return (list == null ? new FloatList.Builder() : list).add(newItem);
+    }
+
+    /**
+     * Add a double to a DoubleList builder without boxing it, creating the builder if it is null
+     *
+     * @param list The builder to add item to or null
+     * @param newItem The item to add
+     * @return The builder passed in or a new builder
+     */
+    public static DoubleList.Builder addToList(final DoubleList.Builder list, final double newItem) {
+        return (list == null ? new DoubleList.Builder() : list).add(newItem);
+    }
+
+    /**
+     * Add a boolean to a BooleanList builder without boxing it, creating the builder if it is null
+     *
+     * @param list The builder to add item to or null
+     * @param newItem The item to add
+     * @return The builder passed in or a new builder
+     */
+    public static BooleanList.Builder addToList(final BooleanList.Builder list, final boolean newItem) {
+        return (list == null ? new BooleanList.Builder() : list).add(newItem);
+    }
+
+    /**
+     * Add an entry to a PbjMap builder, creating the builder if it is null
+     *
+     * @param map The builder to add the entry to or null
+     * @param key The entry key
+     * @param value The entry value
+     * @return The builder passed in or a new builder
+     * @param <K> The type of the map keys
+     * @param <V> The type of the map values
+     */
+    public static <K, V> PbjMap.Builder<K, V> addToMap(final PbjMap.Builder<K, V> map, final K key, final V value) {
+        return (map == null ? new PbjMap.Builder<K, V>() : map).put(key, value);
+    }
+
     /**
      * Read a protobuf int32 from input
      *
@@ -216,9 +320,7 @@ public final class ProtoParserTools {
      */
     public static String readString(final ReadableSequentialData input) throws IOException {
         final int length = input.readVarInt(false);
-        byte[] bytes = new byte[length];
-        input.readBytes(bytes);
-        return new String(bytes,StandardCharsets.UTF_8);
+        return input.readUtf8String(length);
     }
 
     /**
@@ -234,6 +336,87 @@ public final class ProtoParserTools {
         return input.readBytes(length);
     }
 
+    /**
+     * Read a String field from data input and compare it with a string, without decoding it. The encoded bytes are
+     * compared with the UTF-8 encoding of the string, which is what protobuf requires strings to be encoded as.
+     *
+     * @param input the input to read from
+     * @param value the string to compare with, may be null in which case it is never equal
+     * @return true if the field is the UTF-8 encoding of value, if false the position of input is undefined
+     * @throws IOException If there was a problem reading
+     */
+    public static boolean readStringEquals(final ReadableSequentialData input, final String value) throws IOException {
+        final int length = input.readVarInt(false);
+        // each char is at most 3 bytes, so a much longer field can not be equal
+        if (value == null || length < value.length() || length > value.length() * 3) {
+            return false;
+        }
+        return Utf8Tools.equalsUtf8(value, input, length);
+    }
+
+    /**
+     * Read a Bytes field from data input and compare it with a Bytes value, without copying it.
+     *
+     * @param input the input to read from
+     * @param value the bytes to compare with, may be null in which case it is never equal
+     * @return true if the field holds the same bytes as value, if false the position of input is undefined
+     * @throws IOException If there was a problem reading
+     */
+    public static boolean readBytesEquals(final ReadableSequentialData input, final Bytes value) throws IOException {
+        final int length = input.readVarInt(false);
+        if (value == null || length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.readByte() != value.getByte(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Measure the length of an encoded message, by reading each tag and skipping over its value without parsing it.
+     * As with parse, the message extends to the limit of the input. Only the encoding is checked, field numbers and
+     * wire types are not checked against a schema, so a message parse would reject may still be measured.
+     *
+     * @param input The input to read the message from, its position is moved to the end of the message
+     * @return the number of bytes read
+     * @throws MalformedProtobufException if a tag is invalid or a field extends past the end of the input
+     * @throws IOException If there was a problem reading
+     */
+    public static int measureMessage(final ReadableSequentialData input) throws IOException {
+        final long start = input.position();
+        try {
+            while (input.hasRemaining()) {
+                final int tag = input.readVarInt(false);
+                final int field = tag >>> TAG_FIELD_OFFSET;
+                final int wireType = tag & TAG_WRITE_TYPE_MASK;
+                if (field == 0) {
+                    throw new MalformedProtobufException("Bad protobuf encoding. We read a field value of " + field);
+                }
+                final long length = switch (wireType) {
+                    case 0 -> {
+                        input.readVarLong(false);
+                        yield 0;
+                    }
+                    case 1 -> Long.BYTES;
+                    case 2 -> input.readVarInt(false);
+                    case 5 -> Integer.BYTES;
+                    default -> throw new MalformedProtobufException("Cannot understand wire_type of " + wireType);
+                };
+                // skip() stops at the limit, so a field that runs past the end skips less than its length
+                if (length < 0 || input.skip(length) != length) {
+                    throw new MalformedProtobufException("Field " + field + " of " + length
+                            + " bytes extends past the end of the input");
+                }
+            }
+        } catch (EOFException e) {
+            // Same as parse, hasRemaining() can return true for a stream at its end
+        }
+        return (int) (input.position() - start);
+    }
+
     /**
      * Skip over the bytes in a stream for a given wire type. Assumes you have already read tag.
      * 
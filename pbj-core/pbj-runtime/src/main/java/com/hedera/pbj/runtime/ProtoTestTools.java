@@ -8,6 +8,7 @@ import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Static tools and test cases used by generated test classes.
@@ -138,6 +139,35 @@ public final class ProtoTestTools {
         return outputList;
     }
 
+    /**
+     * Util method to create a list of maps for testing map fields. Like {@link #generateListArguments(List)} it starts
+     * with an empty map and then adds maps of up to 5 entries, pairing keys and values by index until the longer of
+     * the two lists has been used up. Keys are reused from the start when there are more values than keys, entries
+     * with a reused key in the same map replace the earlier one.
+     *
+     * @param keys test cases for the keys
+     * @param values test cases for the values
+     * @return list of maps derived from input lists
+     * @param <K> the type for keys
+     * @param <V> the type for values
+     */
+    public static <K, V> List<Map<K, V>> generateMapArguments(final List<K> keys, final List<V> values) {
+        final int count = Math.max(keys.size(), values.size());
+        ArrayList<Map<K, V>> outputList = new ArrayList<>((count/5)+1);
+        outputList.add(PbjMap.empty());
+        int i = 0;
+        while (i < count) {
+            final int itemsToUse = Math.min(5, count-i);
+            final PbjMap.Builder<K, V> map = new PbjMap.Builder<>(itemsToUse);
+            for (int j = i; j < i+itemsToUse; j++) {
+                map.put(keys.get(j % keys.size()), values.get(j % values.size()));
+            }
+            outputList.add(map.build());
+            i += itemsToUse;
+        }
+        return outputList;
+    }
+
     // =================================================================================================================
     // Standard lists of values to test with
 
@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
 import java.util.function.ToIntFunction;
 
 /**
@@ -23,6 +25,25 @@ public final class ProtoWriterTools {
     /** Instance should never be created */
     private ProtoWriterTools() {}
 
+    /**
+     * Writes the key and value of one map entry, like {@link java.util.function.BiConsumer} but can throw IOException.
+     * Used by generated code to write the fields of each entry of a map field.
+     *
+     * @param <K> The type of the map keys
+     * @param <V> The type of the map values
+     */
+    @FunctionalInterface
+    public interface MapEntryWriter<K, V> {
+        /**
+         * Write the key and value fields of a map entry
+         *
+         * @param key the entry key
+         * @param value the entry value
+         * @throws IOException If a I/O error occurs
+         */
+        void write(K key, V value) throws IOException;
+    }
+
     // ================================================================================================================
     // COMMON METHODS
 
@@ -71,6 +92,66 @@ public final class ProtoWriterTools {
         return new RuntimeException("Unsupported field type. Bug in ProtoOutputStream, shouldn't happen.");
     }
 
+    /**
+     * Get a value of a Integer list, from the array of a primitive list or unboxed from any other list
+     *
+     * @param list the list
+     * @param values the array of the list if it is a primitive list, otherwise null
+     * @param index the index of the value
+     * @return the value
+     */
+    private static int intAt(final List<Integer> list, final int[] values, final int index) {
+        return values != null ? values[index] : list.get(index);
+    }
+
+    /**
+     * Get a value of a Long list, from the array of a primitive list or unboxed from any other list
+     *
+     * @param list the list
+     * @param values the array of the list if it is a primitive list, otherwise null
+     * @param index the index of the value
+     * @return the value
+     */
+    private static long longAt(final List<Long> list, final long[] values, final int index) {
+        return values != null ? values[index] : list.get(index);
+    }
+
+    /**
+     * Get a value of a Float list, from the array of a primitive list or unboxed from any other list
+     *
+     * @param list the list
+     * @param values the array of the list if it is a primitive list, otherwise null
+     * @param index the index of the value
+     * @return the value
+     */
+    private static float floatAt(final List<Float> list, final float[] values, final int index) {
+        return values != null ? values[index] : list.get(index);
+    }
+
+    /**
+     * Get a value of a Double list, from the array of a primitive list or unboxed from any other list
+     *
+     * @param list the list
+     * @param values the array of the list if it is a primitive list, otherwise null
+     * @param index the index of the value
+     * @return the value
+     */
+    private static double doubleAt(final List<Double> list, final double[] values, final int index) {
+        return values != null ? values[index] : list.get(index);
+    }
+
+    /**
+     * Get a value of a Boolean list, from the array of a primitive list or unboxed from any other list
+     *
+     * @param list the list
+     * @param values the array of the list if it is a primitive list, otherwise null
+     * @param index the index of the value
+     * @return the value
+     */
+    private static boolean booleanAt(final List<Boolean> list, final boolean[] values, final int index) {
+        return values != null ? values[index] : list.get(index);
+    }
+
 
     // ================================================================================================================
     // STANDARD WRITE METHODS
@@ -255,8 +336,23 @@ public final class ProtoWriterTools {
             return;
         }
         writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
-        out.writeVarInt(sizeOfStringNoTag(field,value), false);
-        Utf8Tools.encodeUtf8(value,out);
+        writeStringValue(out, value);
+    }
+
+    /**
+     * Write the length and UTF-8 bytes of a string value. The encoded length is computed here, it is not carried over
+     * from measuring, and is used both for the length prefix and to size the bulk encode.
+     *
+     * @param out The data output to write to
+     * @param value the string value to write
+     * @throws IOException If a I/O error occurs, or the value contains an unpaired surrogate
+     */
+    private static void writeStringValue(WritableSequentialData out, String value) throws IOException {
+        // Unlike sizeOfStringNoTag this does not fall back to the JDK for unpaired surrogates, so the
+        // length can be trusted by writeUtf8String
+        final int size = Utf8Tools.encodedLength(value);
+        out.writeVarInt(size, false);
+        out.writeUtf8String(value, size);
     }
 
     /**
@@ -340,6 +436,76 @@ public final class ProtoWriterTools {
         }
     }
 
+    /**
+     * Write a message to data output, using the message size recorded in {@code sizes} while measuring rather than
+     * measuring the message again.
+     *
+     * @param out The data output to write to
+     * @param field the descriptor for the field we are writing
+     * @param message the message to write
+     * @param codec the codec for the given message type
+     * @param sizes the nested message sizes recorded by {@link #sizeOfMessage(FieldDefinition, Object, Codec, MessageSizeCache)}
+     * @throws IOException If a I/O error occurs
+     * @param <T> type of message
+     */
+    public static <T> void writeMessage(WritableSequentialData out, FieldDefinition field, T message, Codec<T> codec, MessageSizeCache sizes) throws IOException {
+        assert field.type() == FieldType.MESSAGE : "Not a message type " + field;
+        assert !field.repeated() : "Use writeMessageList with repeated types";
+        writeMessageNoChecks(out, field, message, codec, sizes);
+    }
+
+    /**
+     * Write a message to data output using recorded message sizes - No checks
+     *
+     * @param out The data output to write to
+     * @param field the descriptor for the field we are writing
+     * @param message the message to write
+     * @param codec the codec for the given message type
+     * @param sizes the nested message sizes recorded while measuring
+     * @throws IOException If a I/O error occurs
+     * @param <T> type of message
+     */
+    private static <T> void writeMessageNoChecks(WritableSequentialData out, FieldDefinition field, T message, Codec<T> codec, MessageSizeCache sizes) throws IOException {
+        // When not a oneOf don't write default value
+        if (field.oneOf() && message == null) {
+            writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
+            out.writeVarInt(0, false);
+        } else if (message != null) {
+            writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
+            final int size = sizes.next();
+            out.writeVarInt(size, false);
+            if (size > 0) {
+                codec.write(message, out, sizes);
+            }
+        }
+    }
+
+    /**
+     * Write a lazily parsed message to data output. If the message was parsed from bytes they are written verbatim,
+     * without parsing, otherwise the message is written as by {@link #writeMessage(WritableSequentialData,
+     * FieldDefinition, Object, Codec, MessageSizeCache)}.
+     *
+     * @param out The data output to write to
+     * @param field the descriptor for the field we are writing
+     * @param message the message to write, may be null
+     * @param codec the codec for the given message type
+     * @param sizes the nested message sizes recorded by {@link #sizeOfLazyMessage(FieldDefinition, LazyMessage, Codec, MessageSizeCache)}
+     * @throws IOException If a I/O error occurs
+     * @param <T> type of message
+     */
+    public static <T> void writeLazyMessage(WritableSequentialData out, FieldDefinition field, @Nullable LazyMessage<T> message, Codec<T> codec, MessageSizeCache sizes) throws IOException {
+        assert field.type() == FieldType.MESSAGE : "Not a message type " + field;
+        assert !field.repeated() : "Use writeMessageList with repeated types";
+        if (message != null && message.isFromBytes()) {
+            final Bytes bytes = message.bytes();
+            writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
+            out.writeVarInt(Math.toIntExact(bytes.length()), false);
+            bytes.writeTo(out);
+        } else {
+            writeMessageNoChecks(out, field, message == null ? null : message.get(), codec, sizes);
+        }
+    }
+
     // ================================================================================================================
     // OPTIONAL VERSIONS OF WRITE METHODS
 
@@ -488,44 +654,46 @@ public final class ProtoWriterTools {
             return;
         }
 
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final int[] values = list instanceof final IntList primitiveList ? primitiveList.values : null;
         final int listSize = list.size();
         switch (field.type()) {
             case INT32 -> {
                 int size = 0;
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     size += sizeOfVarInt32(val);
                 }
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
                 out.writeVarInt(size, false);
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     out.writeVarInt(val, false);
                 }
             }
             case UINT32 -> {
                 int size = 0;
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     size += sizeOfUnsignedVarInt64(Integer.toUnsignedLong(val));
                 }
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
                 out.writeVarInt(size, false);
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     out.writeVarLong(Integer.toUnsignedLong(val), false);
                 }
             }
             case SINT32 -> {
                 int size = 0;
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     size += sizeOfUnsignedVarInt64(((long)val << 1) ^ ((long)val >> 63));
                 }
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
                 out.writeVarInt(size, false);
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     out.writeVarInt(val, true);
                 }
             }
@@ -533,9 +701,9 @@ public final class ProtoWriterTools {
                 // The bytes in protobuf are in little-endian order -- backwards for Java.
                 // Smallest byte first.
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
-                out.writeVarLong((long)list.size() * FIXED32_SIZE, false);
+                out.writeVarLong((long)listSize * FIXED32_SIZE, false);
                 for (int i = 0; i < listSize; i++) {
-                    final int val = list.get(i);
+                    final int val = intAt(list, values, i);
                     out.writeInt(val, ByteOrder.LITTLE_ENDIAN);
                 }
             }
@@ -562,31 +730,33 @@ public final class ProtoWriterTools {
             return;
         }
 
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final long[] values = list instanceof final LongList primitiveList ? primitiveList.values : null;
         final int listSize = list.size();
         switch (field.type()) {
             case INT64, UINT64 -> {
                 int size = 0;
                 for (int i = 0; i < listSize; i++) {
-                    final long val = list.get(i);
+                    final long val = longAt(list, values, i);
                     size += sizeOfUnsignedVarInt64(val);
                 }
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
                 out.writeVarInt(size, false);
                 for (int i = 0; i < listSize; i++) {
-                    final long val = list.get(i);
+                    final long val = longAt(list, values, i);
                     out.writeVarLong(val, false);
                 }
             }
             case SINT64 -> {
                 int size = 0;
                 for (int i = 0; i < listSize; i++) {
-                    final long val = list.get(i);
+                    final long val = longAt(list, values, i);
                     size += sizeOfUnsignedVarInt64((val << 1) ^ (val >> 63));
                 }
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
                 out.writeVarInt(size, false);
                 for (int i = 0; i < listSize; i++) {
-                    final long val = list.get(i);
+                    final long val = longAt(list, values, i);
                     out.writeVarLong(val, true);
                 }
             }
@@ -594,9 +764,9 @@ public final class ProtoWriterTools {
                 // The bytes in protobuf are in little-endian order -- backwards for Java.
                 // Smallest byte first.
                 writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
-                out.writeVarLong((long)list.size() * FIXED64_SIZE, false);
+                out.writeVarLong((long)listSize * FIXED64_SIZE, false);
                 for (int i = 0; i < listSize; i++) {
-                    final long val = list.get(i);
+                    final long val = longAt(list, values, i);
                     out.writeLong(val, ByteOrder.LITTLE_ENDIAN);
                 }
             }
@@ -618,12 +788,14 @@ public final class ProtoWriterTools {
         if (!field.oneOf() && list.isEmpty()) {
             return;
         }
-        final int size = list.size() * FIXED32_SIZE;
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final float[] values = list instanceof final FloatList primitiveList ? primitiveList.values : null;
+        final int listSize = list.size();
+        final int size = listSize * FIXED32_SIZE;
         writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
         out.writeVarInt(size, false);
-        final int listSize = list.size();
         for (int i = 0; i < listSize; i++) {
-            out.writeFloat(list.get(i), ByteOrder.LITTLE_ENDIAN);
+            out.writeFloat(floatAt(list, values, i), ByteOrder.LITTLE_ENDIAN);
         }
     }
 
@@ -641,12 +813,14 @@ public final class ProtoWriterTools {
         if (!field.oneOf() && list.isEmpty()) {
             return;
         }
-        final int size = list.size() * FIXED64_SIZE;
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final double[] values = list instanceof final DoubleList primitiveList ? primitiveList.values : null;
+        final int listSize = list.size();
+        final int size = listSize * FIXED64_SIZE;
         writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
         out.writeVarInt(size, false);
-        final int listSize = list.size();
         for (int i = 0; i < listSize; i++) {
-            out.writeDouble(list.get(i), ByteOrder.LITTLE_ENDIAN);
+            out.writeDouble(doubleAt(list, values, i), ByteOrder.LITTLE_ENDIAN);
         }
     }
 
@@ -664,12 +838,14 @@ public final class ProtoWriterTools {
         if (!field.oneOf() && list.isEmpty()) {
             return;
         }
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final boolean[] values = list instanceof final BooleanList primitiveList ? primitiveList.values : null;
+        final int listSize = list.size();
         // write
         writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
-        out.writeVarInt(list.size(), false);
-        final int listSize = list.size();
+        out.writeVarInt(listSize, false);
         for (int i = 0; i < listSize; i++) {
-            final boolean b = list.get(i);
+            final boolean b = booleanAt(list, values, i);
             out.writeVarInt(b ? 1 : 0, false);
         }
     }
@@ -719,8 +895,7 @@ public final class ProtoWriterTools {
         for (int i = 0; i < listSize; i++) {
             final String value = list.get(i);
             writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
-            out.writeVarInt(sizeOfStringNoTag(field,value), false);
-            Utf8Tools.encodeUtf8(value,out);
+            writeStringValue(out, value);
         }
     }
 
@@ -748,6 +923,31 @@ public final class ProtoWriterTools {
         }
     }
 
+    /**
+     * Write a list of messages to data output, using the message sizes recorded in {@code sizes} while measuring
+     * rather than measuring each message again.
+     *
+     * @param out The data output to write to
+     * @param field the descriptor for the field we are writing
+     * @param list the list of messages value to write
+     * @param codec the codec for the message type
+     * @param sizes the nested message sizes recorded by {@link #sizeOfMessageList(FieldDefinition, List, Codec, MessageSizeCache)}
+     * @throws IOException If a I/O error occurs
+     * @param <T> type of message
+     */
+    public static <T> void writeMessageList(WritableSequentialData out, FieldDefinition field, List<T> list, Codec<T> codec, MessageSizeCache sizes) throws IOException {
+        assert field.type() == FieldType.MESSAGE : "Not a message type " + field;
+        assert field.repeated() : "Use writeMessage with non-repeated types";
+        // When not a oneOf don't write default value
+        if (!field.oneOf() && list.isEmpty()) {
+            return;
+        }
+        final int listSize = list.size();
+        for (int i = 0; i < listSize; i++) {
+            writeMessageNoChecks(out, field, list.get(i), codec, sizes);
+        }
+    }
+
     /**
      * Write a list of bytes objects to data output
      *
@@ -769,6 +969,34 @@ public final class ProtoWriterTools {
         }
     }
 
+    /**
+     * Write a map field to data output. Each entry is written as a nested message, with the key as field 1 and the
+     * value as field 2, in the key order of a {@link PbjMap} so the same map is always written the same way.
+     *
+     * @param out The data output to write to
+     * @param field the descriptor for the map field we are writing
+     * @param map the map to write
+     * @param entryWriter writes the key and value fields of each entry
+     * @param sizes the entry and nested message sizes recorded by {@link #sizeOfMap(FieldDefinition, Map, ToIntBiFunction, MessageSizeCache)}
+     * @throws IOException If a I/O error occurs
+     * @param <K> The type of the map keys
+     * @param <V> The type of the map values
+     */
+    public static <K, V> void writeMap(WritableSequentialData out, FieldDefinition field, Map<K, V> map, MapEntryWriter<K, V> entryWriter, MessageSizeCache sizes) throws IOException {
+        assert field.type() == FieldType.MESSAGE : "Not a map type " + field;
+        assert field.repeated() : "Map fields are repeated entry messages";
+        if (map.isEmpty()) {
+            return;
+        }
+        final PbjMap<K, V> pbjMap = PbjMap.copyOf(map);
+        final int mapSize = pbjMap.size();
+        for (int i = 0; i < mapSize; i++) {
+            writeTag(out, field, ProtoConstants.WIRE_TYPE_DELIMITED);
+            out.writeVarInt(sizes.next(), false);
+            entryWriter.write(pbjMap.keyAt(i), pbjMap.valueAt(i));
+        }
+    }
+
     // ================================================================================================================
     // SIZE OF METHODS
 
@@ -1121,6 +1349,55 @@ public final class ProtoWriterTools {
         }
     }
 
+    /**
+     * Get number of bytes that would be needed to encode a message field, recording the size of the message and of
+     * all its nested messages in {@code sizes} so they can be reused when writing.
+     *
+     * @param field descriptor of field
+     * @param message message value to get encoded size for
+     * @param codec the codec for the message type
+     * @param sizes cache to record message sizes in, or null if they do not need to be recorded
+     * @return the number of bytes for encoded value
+     * @param <T> The type of the message
+     */
+    public static <T> int sizeOfMessage(FieldDefinition field, T message, Codec<T> codec, @Nullable MessageSizeCache sizes) {
+        // When not a oneOf don't write default value
+        if (field.oneOf() && message == null) {
+            return sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED) + 1;
+        } else if (message != null) {
+            // reserve the slot before measuring, so it comes before the slots of this message's nested messages
+            final int slot = sizes == null ? -1 : sizes.reserve();
+            final int size = codec.measureRecord(message, sizes);
+            if (sizes != null) {
+                sizes.set(slot, size);
+            }
+            return sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED) + sizeOfVarInt32(size) + size;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Get number of bytes that would be needed to encode a lazily parsed message field. If the message was parsed from
+     * bytes that is their length, nothing is parsed and nothing is recorded in {@code sizes}. Otherwise this is the
+     * same as {@link #sizeOfMessage(FieldDefinition, Object, Codec, MessageSizeCache)}.
+     *
+     * @param field descriptor of field
+     * @param message message value to get encoded size for, may be null
+     * @param codec the codec for the message type
+     * @param sizes cache to record message sizes in, or null if they do not need to be recorded
+     * @return the number of bytes for encoded value
+     * @param <T> The type of the message
+     */
+    public static <T> int sizeOfLazyMessage(FieldDefinition field, @Nullable LazyMessage<T> message, Codec<T> codec, @Nullable MessageSizeCache sizes) {
+        if (message != null && message.isFromBytes()) {
+            final int size = Math.toIntExact(message.bytes().length());
+            return sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED) + sizeOfVarInt32(size) + size;
+        } else {
+            return sizeOfMessage(field, message == null ? null : message.get(), codec, sizes);
+        }
+    }
+
     /**
      * Get number of bytes that would be needed to encode an integer list field
      *
@@ -1134,23 +1411,29 @@ public final class ProtoWriterTools {
             return 0;
         }
         int size = 0;
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final int[] values = list instanceof final IntList primitiveList ? primitiveList.values : null;
+        final int listSize = list.size();
         switch (field.type()) {
             case INT32 -> {
-                for (final int i : list) {
+                for (int j = 0; j < listSize; j++) {
+                    final int i = intAt(list, values, j);
                     size += sizeOfVarInt32(i);
                 }
             }
             case UINT32 -> {
-                for (final int i : list) {
+                for (int j = 0; j < listSize; j++) {
+                    final int i = intAt(list, values, j);
                     size += sizeOfUnsignedVarInt32(i);
                 }
             }
             case SINT32 -> {
-                for (final int i : list) {
+                for (int j = 0; j < listSize; j++) {
+                    final int i = intAt(list, values, j);
                     size += sizeOfUnsignedVarInt64(((long)i << 1) ^ ((long)i >> 63));
                 }
             }
-            case SFIXED32, FIXED32 -> size += FIXED32_SIZE * list.size();
+            case SFIXED32, FIXED32 -> size += FIXED32_SIZE * listSize;
             default -> throw unsupported();
         }
         return sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED) + sizeOfVarInt32(size) + size;
@@ -1169,18 +1452,23 @@ public final class ProtoWriterTools {
             return 0;
         }
         int size = 0;
+        // reads the array of a primitive list directly, any other list is unboxed a value at a time without copying
+        final long[] values = list instanceof final LongList primitiveList ? primitiveList.values : null;
+        final int listSize = list.size();
         switch (field.type()) {
             case INT64, UINT64 -> {
-                for (final long i : list) {
+                for (int j = 0; j < listSize; j++) {
+                    final long i = longAt(list, values, j);
                     size += sizeOfUnsignedVarInt64(i);
                 }
             }
             case SINT64 -> {
-                for (final long i : list) {
+                for (int j = 0; j < listSize; j++) {
+                    final long i = longAt(list, values, j);
                     size += sizeOfUnsignedVarInt64((i << 1) ^ (i >> 63));
                 }
             }
-            case SFIXED64, FIXED64 -> size += FIXED64_SIZE * list.size();
+            case SFIXED64, FIXED64 -> size += FIXED64_SIZE * listSize;
             default -> throw unsupported();
         }
         return sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED) + sizeOfVarInt32(size) + size;
@@ -1296,6 +1584,29 @@ public final class ProtoWriterTools {
         return size;
     }
 
+    /**
+     * Get number of bytes that would be needed to encode a message list field, recording the size of each message
+     * and of all their nested messages in {@code sizes} so they can be reused when writing.
+     *
+     * @param field descriptor of field
+     * @param list message list value to get encoded size for
+     * @param codec the codec for the message type
+     * @param sizes cache to record message sizes in, or null if they do not need to be recorded
+     * @return the number of bytes for encoded value
+     * @param <T> type for message
+     */
+    public static <T> int sizeOfMessageList(FieldDefinition field, List<T> list, Codec<T> codec, @Nullable MessageSizeCache sizes) {
+        // When not a oneOf don't write default value
+        if (!field.oneOf() && list.isEmpty()) {
+            return 0;
+        }
+        int size = 0;
+        for (final T value : list) {
+            size += sizeOfMessage(field, value, codec, sizes);
+        }
+        return size;
+    }
+
     /**
      * Get number of bytes that would be needed to encode a bytes list field
      *
@@ -1314,4 +1625,36 @@ public final class ProtoWriterTools {
         }
         return size;
     }
+
+    /**
+     * Get number of bytes that would be needed to encode a map field, recording the size of each entry and of all
+     * nested messages in its values in {@code sizes} so they can be reused when writing.
+     *
+     * @param field descriptor of the map field
+     * @param map map value to get encoded size for
+     * @param entrySize computes the size of the key and value fields of an entry, recording any nested message sizes
+     * @param sizes cache to record message sizes in, or null if they do not need to be recorded
+     * @return the number of bytes for encoded value
+     * @param <K> The type of the map keys
+     * @param <V> The type of the map values
+     */
+    public static <K, V> int sizeOfMap(FieldDefinition field, Map<K, V> map, ToIntBiFunction<K, V> entrySize, @Nullable MessageSizeCache sizes) {
+        if (map.isEmpty()) {
+            return 0;
+        }
+        final PbjMap<K, V> pbjMap = PbjMap.copyOf(map);
+        final int mapSize = pbjMap.size();
+        final int tagSize = sizeOfTag(field, ProtoConstants.WIRE_TYPE_DELIMITED);
+        int size = 0;
+        for (int i = 0; i < mapSize; i++) {
+            // reserve the slot before measuring, so it comes before the slots of messages in the value
+            final int slot = sizes == null ? -1 : sizes.reserve();
+            final int entrySizeBytes = entrySize.applyAsInt(pbjMap.keyAt(i), pbjMap.valueAt(i));
+            if (sizes != null) {
+                sizes.set(slot, entrySizeBytes);
+            }
+            size += tagSize + sizeOfVarInt32(entrySizeBytes) + entrySizeBytes;
+        }
+        return size;
+    }
 }
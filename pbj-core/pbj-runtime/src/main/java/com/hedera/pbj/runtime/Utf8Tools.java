@@ -1,8 +1,11 @@
 package com.hedera.pbj.runtime;
 
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
 
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.nio.BufferOverflowException;
 
 import static java.lang.Character.*;
 
@@ -113,4 +116,123 @@ public class Utf8Tools {
             }
         }
     }
+
+    /**
+     * Encodes the input character sequence into a byte array using the same algorithm as protoc, so we are byte for
+     * byte the same. Unlike {@link #encodeUtf8(CharSequence, WritableSequentialData)} the bytes are stored straight
+     * into the array, and runs of ASCII characters, the most common case, are copied by a tight loop that does no
+     * other checks.
+     *
+     * @param in the character sequence to encode
+     * @param out the array to encode into
+     * @param offset the index in {@code out} to store the first byte at
+     * @param limit the index in {@code out} that no byte may be stored at or after
+     * @return the index in {@code out} just after the last byte stored
+     * @throws BufferOverflowException if the encoded bytes do not fit between {@code offset} and {@code limit}
+     * @throws IllegalArgumentException if {@code in} contains an unpaired surrogate
+     */
+    public static int encodeUtf8(@NonNull final CharSequence in, @NonNull final byte[] out, final int offset,
+            final int limit) {
+        final int inLength = in.length();
+        int outIx = offset;
+        int inIx = 0;
+
+        // This loop optimizes for pure ASCII.
+        for (char c; inIx < inLength && outIx < limit && (c = in.charAt(inIx)) < 0x80; ++inIx) {
+            out[outIx++] = (byte) c;
+        }
+
+        for (; inIx < inLength; ++inIx) {
+            final char c = in.charAt(inIx);
+            if (c < 0x80 && outIx < limit) {
+                // One byte (0xxx xxxx)
+                out[outIx++] = (byte) c;
+            } else if (c < 0x800 && outIx <= limit - 2) {
+                // Two bytes (110x xxxx 10xx xxxx)
+                out[outIx++] = (byte) (0xC0 | (c >>> 6));
+                out[outIx++] = (byte) (0x80 | (0x3F & c));
+            } else if ((c < MIN_SURROGATE || MAX_SURROGATE < c) && outIx <= limit - 3) {
+                // Three bytes (1110 xxxx 10xx xxxx 10xx xxxx)
+                out[outIx++] = (byte) (0xE0 | (c >>> 12));
+                out[outIx++] = (byte) (0x80 | (0x3F & (c >>> 6)));
+                out[outIx++] = (byte) (0x80 | (0x3F & c));
+            } else if (MIN_SURROGATE <= c && c <= MAX_SURROGATE) {
+                // Four bytes (1111 xxxx 10xx xxxx 10xx xxxx 10xx xxxx)
+                final char low;
+                if (inIx + 1 == inLength || !isSurrogatePair(c, (low = in.charAt(++inIx)))) {
+                    throw new IllegalArgumentException("Unpaired surrogate at index " + inIx + " of " + inLength);
+                }
+                if (outIx > limit - 4) {
+                    throw new BufferOverflowException();
+                }
+                final int codePoint = toCodePoint(c, low);
+                out[outIx++] = (byte) ((0xF << 4) | (codePoint >>> 18));
+                out[outIx++] = (byte) (0x80 | (0x3F & (codePoint >>> 12)));
+                out[outIx++] = (byte) (0x80 | (0x3F & (codePoint >>> 6)));
+                out[outIx++] = (byte) (0x80 | (0x3F & codePoint));
+            } else {
+                throw new BufferOverflowException();
+            }
+        }
+        return outIx;
+    }
+
+    /**
+     * Compares the next {@code length} bytes of the input with the UTF-8 encoding of a character sequence, encoding
+     * one character at a time with the same algorithm as {@link #encodeUtf8}, so no String or byte array is created.
+     * Stops reading at the first byte that differs, so the position of the input is undefined if false is returned.
+     *
+     * @param expected the character sequence to compare with
+     * @param in the input to read the encoded bytes from
+     * @param length the number of encoded bytes in the input
+     * @return true if the bytes are exactly the UTF-8 encoding of expected
+     */
+    static boolean equalsUtf8(CharSequence expected, ReadableSequentialData in, int length) {
+        final int expectedLength = expected.length();
+        int remaining = length;
+        for (int i = 0; i < expectedLength; ++i) {
+            final char c = expected.charAt(i);
+            if (c < 0x80) {
+                // One byte (0xxx xxxx)
+                if (remaining < 1 || in.readByte() != (byte) c) {
+                    return false;
+                }
+                remaining -= 1;
+            } else if (c < 0x800) {
+                // Two bytes (110x xxxx 10xx xxxx)
+                if (remaining < 2
+                        || in.readByte() != (byte) (0xC0 | (c >>> 6))
+                        || in.readByte() != (byte) (0x80 | (0x3F & c))) {
+                    return false;
+                }
+                remaining -= 2;
+            } else if (c < MIN_SURROGATE || MAX_SURROGATE < c) {
+                // Three bytes (1110 xxxx 10xx xxxx 10xx xxxx)
+                if (remaining < 3
+                        || in.readByte() != (byte) (0xE0 | (c >>> 12))
+                        || in.readByte() != (byte) (0x80 | (0x3F & (c >>> 6)))
+                        || in.readByte() != (byte) (0x80 | (0x3F & c))) {
+                    return false;
+                }
+                remaining -= 3;
+            } else {
+                // Four bytes (1111 xxxx 10xx xxxx 10xx xxxx 10xx xxxx)
+                final char low;
+                if (i + 1 == expectedLength || !isSurrogatePair(c, (low = expected.charAt(++i)))) {
+                    // an unpaired surrogate can not be encoded, so no bytes can be equal to it
+                    return false;
+                }
+                final int codePoint = toCodePoint(c, low);
+                if (remaining < 4
+                        || in.readByte() != (byte) ((0xF << 4) | (codePoint >>> 18))
+                        || in.readByte() != (byte) (0x80 | (0x3F & (codePoint >>> 12)))
+                        || in.readByte() != (byte) (0x80 | (0x3F & (codePoint >>> 6)))
+                        || in.readByte() != (byte) (0x80 | (0x3F & codePoint))) {
+                    return false;
+                }
+                remaining -= 4;
+            }
+        }
+        return remaining == 0;
+    }
 }
@@ -10,6 +10,8 @@ import java.io.InputStream;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 /**
  * A {@link SequentialData} which may be read. This interface is suitable for reading data from a stream or buffer.
@@ -204,6 +206,39 @@ public interface ReadableSequentialData extends SequentialData {
         return Bytes.wrap(bytes);
     }
 
+    /**
+     * Read {@code length} bytes from this sequence and decode them as a UTF-8 string. The {@link #position()} of this
+     * sequence will be incremented by {@code length} bytes. Invalid UTF-8 is decoded to replacement characters, the
+     * same as {@link String#String(byte[], java.nio.charset.Charset)}.
+     *
+     * <p>The default implementation reads the bytes into a new array and decodes that. Buffers with a backing array
+     * decode straight from it, which avoids the copy and lets the {@link String} constructor use its fast path for
+     * ASCII, where no decoding is needed.
+     *
+     * @param length The non-negative length in bytes to read
+     * @return the decoded string
+     * @throws IllegalArgumentException If {@code length} is negative
+     * @throws BufferUnderflowException If there are not {@code length} bytes remaining in this sequence
+     * @throws DataAccessException If an I/O error occurs
+     */
+    default @NonNull String readUtf8String(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        if (length == 0) {
+            return "";
+        }
+        final var bytes = new byte[length];
+        if (readBytes(bytes, 0, length) != length) {
+            // a stream can end before its limit
+            throw new BufferUnderflowException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
     /**
      * Return a "view" on the underlying sequence of bytes, starting at the current {@link #position()} and extending
      * {@code length} bytes. The returned bytes may change over time if the underlying data is updated! The
@@ -538,6 +573,56 @@ public interface ReadableSequentialData extends SequentialData {
         return zigZag ? (x >>> 1) ^ -(x & 1) : x;
     }
 
+    /**
+     * Read consecutive 32bit protobuf varints, such as the values of a packed repeated field, into an array.
+     * Reading stops after {@code maxCount} varints or when there are no bytes remaining, whichever comes first.
+     *
+     * <p>The default implementation calls {@link #readVarInt(boolean)} for each varint. Implementations backed by an
+     * array can decode them in one loop.
+     *
+     * @param dst The array to store the values in
+     * @param offset The index in {@code dst} to store the first value at
+     * @param maxCount The maximum number of varints to read
+     * @param zigZag use protobuf zigZag varint encoding, optimized for negative numbers
+     * @return The number of varints read
+     * @throws IndexOutOfBoundsException If {@code offset} and {@code maxCount} are not within {@code dst}
+     * @throws BufferUnderflowException If the end of the sequence is reached within a varint
+     * @throws DataAccessException if an I/O error occurs
+     */
+    default int readVarInts(@NonNull final int[] dst, final int offset, final int maxCount, final boolean zigZag) {
+        Objects.checkFromIndexSize(offset, maxCount, dst.length);
+        int count = 0;
+        while (count < maxCount && hasRemaining()) {
+            dst[offset + count++] = readVarInt(zigZag);
+        }
+        return count;
+    }
+
+    /**
+     * Read consecutive 64bit protobuf varints, such as the values of a packed repeated field, into an array.
+     * Reading stops after {@code maxCount} varints or when there are no bytes remaining, whichever comes first.
+     *
+     * <p>The default implementation calls {@link #readVarLong(boolean)} for each varint. Implementations backed by an
+     * array can decode them in one loop.
+     *
+     * @param dst The array to store the values in
+     * @param offset The index in {@code dst} to store the first value at
+     * @param maxCount The maximum number of varints to read
+     * @param zigZag use protobuf zigZag varint encoding, optimized for negative numbers
+     * @return The number of varints read
+     * @throws IndexOutOfBoundsException If {@code offset} and {@code maxCount} are not within {@code dst}
+     * @throws BufferUnderflowException If the end of the sequence is reached within a varint
+     * @throws DataAccessException if an I/O error occurs
+     */
+    default int readVarLongs(@NonNull final long[] dst, final int offset, final int maxCount, final boolean zigZag) {
+        Objects.checkFromIndexSize(offset, maxCount, dst.length);
+        int count = 0;
+        while (count < maxCount && hasRemaining()) {
+            dst[offset + count++] = readVarLong(zigZag);
+        }
+        return count;
+    }
+
     /**
      * Read a 64bit protobuf varint at current {@link #position()}. A long var int can be 1 to 10 bytes.
      * This is the slow path function.
@@ -105,6 +105,24 @@ public class UnsafeUtils {
         return NEED_CHANGE_BYTE_ORDER ? Long.reverseBytes(value) : value;
     }
 
+    /**
+     * Reads a long from the given array starting at the given offset. Array bytes are interpreted in LITTLE_ENDIAN
+     * order, so the byte at {@code offset} is the lowest byte of the long. This is the order the 7 bit groups of a
+     * varint are stored in.
+     *
+     * @param arr The byte array
+     * @param offset The offset to read a long at
+     * @return The long number
+     * @throws java.nio.BufferUnderflowException If array length is less than offset + long bytes
+     */
+    public static long getLongLittleEndian(final byte[] arr, final int offset) {
+        if (arr.length < offset + Long.BYTES) {
+            throw new BufferUnderflowException();
+        }
+        final long value = UNSAFE.getLong(arr, BYTE_ARRAY_BASE_OFFSET + offset);
+        return NEED_CHANGE_BYTE_ORDER ? value : Long.reverseBytes(value);
+    }
+
     /**
      * Copies heap byte buffer bytes to a given byte array. May only be called for heap
      * byte buffers
@@ -1,5 +1,6 @@
 package com.hedera.pbj.runtime.io;
 
+import com.hedera.pbj.runtime.Utf8Tools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -195,6 +196,34 @@ public interface WritableSequentialData extends SequentialData {
         writeBytes(value.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Write a string as UTF-8 bytes to this {@link WritableSequentialData}, encoded the same way as protoc, when the
+     * number of encoded bytes is already known, for example because it has just been written as the length of a
+     * protobuf string field. Unlike {@link #writeUTF8(String)}, an unpaired surrogate is an error rather than
+     * being replaced by {@code '?'}.
+     *
+     * <p>The known length lets the string be encoded with bulk copies. It is only trusted to size the output, every
+     * char is still checked while encoding, so a wrong length is an error and never produces wrong bytes.
+     *
+     * <p>The default implementation encodes into a temporary array and then writes it with
+     * {@link #writeBytes(byte[])}. Implementations backed by an array should encode straight into it.
+     *
+     * @param value The string to write, can not be null
+     * @param encodedLength The number of bytes of the UTF-8 encoding of {@code value}
+     * @throws BufferOverflowException If there are fewer than {@code encodedLength} bytes remaining, or
+     *      {@code value} encodes to more than {@code encodedLength} bytes
+     * @throws IllegalArgumentException If {@code value} contains an unpaired surrogate, or encodes to fewer than
+     *      {@code encodedLength} bytes
+     * @throws DataAccessException if an I/O error occurs
+     */
+    default void writeUtf8String(@NonNull final String value, final int encodedLength) {
+        final byte[] bytes = new byte[encodedLength];
+        if (Utf8Tools.encodeUtf8(value, bytes, 0, encodedLength) != encodedLength) {
+            throw new IllegalArgumentException("String encodes to fewer than " + encodedLength + " bytes");
+        }
+        writeBytes(bytes);
+    }
+
     /**
      * Writes four bytes containing the given int value, in the standard Java big-endian byte order, at the current
      * {@link #position()}, and then increments the {@link #position()} by four.
@@ -0,0 +1,351 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of reusable {@link BufferedData} scratch buffers, for serializing messages without allocating a new buffer the
+ * size of each message. Buffers are handed out in power of two size classes from 256 bytes up to a maximum size, so a
+ * buffer may have more capacity than was asked for. Larger buffers are allocated as they are needed and are not
+ * pooled.
+ *
+ * <p>Each thread keeps a few buffers of each size in a thread local cache, so a thread that acquires and releases
+ * buffers does not contend with other threads. When a thread's cache is full, released buffers go to a small shared
+ * lock free stack for each size, where other threads can find them before allocating new ones.
+ *
+ * <p>A buffer is acquired as a {@link Lease}, which is closed to give the buffer back, normally with
+ * try-with-resources:
+ * <pre>{@code
+ * try (BufferPool.Lease lease = pool.acquire(size)) {
+ *     final BufferedData buffer = lease.buffer();
+ *     ...
+ * }
+ * }</pre>
+ * The buffer must not be used after the lease is closed, as it may already have been handed out again.
+ *
+ * <p>This class is thread safe. A lease should only be used by one thread at a time, but it may be closed on a
+ * different thread to the one that acquired it.
+ */
+public final class BufferPool {
+    /** The size of the smallest size class, as a power of two */
+    private static final int MIN_SIZE_SHIFT = 8;
+    /** The default size of the largest pooled buffers, 1MB */
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 1024 * 1024;
+    /** The default number of buffers of each size kept by each thread */
+    public static final int DEFAULT_BUFFERS_PER_THREAD = 2;
+    /** The default number of buffers of each size kept in the shared stacks */
+    public static final int DEFAULT_SHARED_BUFFERS = 16;
+
+    /** Whether new buffers are allocated off the Java heap */
+    private final boolean offHeap;
+    /** The number of size classes, the largest is {@code 1 << (MIN_SIZE_SHIFT + sizeClasses - 1)} bytes */
+    private final int sizeClasses;
+    /** The number of buffers of each size kept in the shared stacks */
+    private final int sharedBuffers;
+    /** Each thread's cache of buffers, a stack for each size class */
+    private final ThreadLocal<LocalCache> localCaches;
+    /** The top of the shared stack for each size class */
+    private final AtomicReferenceArray<Node> sharedStacks;
+    /** The number of buffers in the shared stack for each size class */
+    private final AtomicIntegerArray sharedCounts;
+    /** The number of acquired buffers that were reused */
+    private final LongAdder hits = new LongAdder();
+    /** The number of acquired buffers that had to be allocated */
+    private final LongAdder misses = new LongAdder();
+    /** The total capacity of the buffers held by the pool */
+    private final LongAdder bytesRetained = new LongAdder();
+
+    /**
+     * Create a pool of buffers on the Java heap with the default sizes
+     */
+    public BufferPool() {
+        this(false, DEFAULT_MAX_BUFFER_SIZE, DEFAULT_BUFFERS_PER_THREAD, DEFAULT_SHARED_BUFFERS);
+    }
+
+    /**
+     * Create a pool of buffers
+     *
+     * @param offHeap true to allocate buffers off the Java heap, like {@link BufferedData#allocateOffHeap(int)}
+     * @param maxBufferSize the size of the largest buffers to pool, rounded up to a power of two
+     * @param buffersPerThread the number of buffers of each size kept by each thread, must be &gt;= 0
+     * @param sharedBuffers the number of buffers of each size kept in the shared stacks, must be &gt;= 0
+     */
+    public BufferPool(
+            final boolean offHeap, final int maxBufferSize, final int buffersPerThread, final int sharedBuffers) {
+        if (maxBufferSize <= 0 || maxBufferSize > (1 << 30)) {
+            throw new IllegalArgumentException("Max buffer size must be > 0 and <= 1GB but was " + maxBufferSize);
+        }
+        if (buffersPerThread < 0 || sharedBuffers < 0) {
+            throw new IllegalArgumentException("Buffer counts must be >= 0 but were " + buffersPerThread
+                    + " per thread and " + sharedBuffers + " shared");
+        }
+        this.offHeap = offHeap;
+        this.sizeClasses = sizeClass(maxBufferSize) + 1;
+        this.sharedBuffers = sharedBuffers;
+        this.localCaches = ThreadLocal.withInitial(() -> new LocalCache(sizeClasses, buffersPerThread));
+        this.sharedStacks = new AtomicReferenceArray<>(sizeClasses);
+        this.sharedCounts = new AtomicIntegerArray(sizeClasses);
+    }
+
+    /**
+     * Get the size class for a buffer with at least the given capacity
+     *
+     * @param capacity the capacity needed
+     * @return the size class, which may be past the largest one the pool has
+     */
+    private static int sizeClass(final int capacity) {
+        final int shift = 32 - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+        return Math.max(shift - MIN_SIZE_SHIFT, 0);
+    }
+
+    /**
+     * Acquire a buffer with at least the given capacity. The buffer is reset, its position is zero and its limit is
+     * its capacity, but its contents are whatever was last written to it.
+     *
+     * @param minCapacity the capacity needed, must be &gt;= 0
+     * @return a lease on the buffer, to be closed when the buffer is no longer used
+     */
+    @NonNull
+    public Lease acquire(final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must be >= 0 but was " + minCapacity);
+        }
+        final int sizeClass = sizeClass(minCapacity);
+        if (sizeClass >= sizeClasses) {
+            misses.increment();
+            return new Lease(this, -1, allocate(minCapacity));
+        }
+        BufferedData buffer = localCaches.get().pop(sizeClass);
+        if (buffer == null) {
+            buffer = popShared(sizeClass);
+        }
+        if (buffer == null) {
+            misses.increment();
+            buffer = allocate(1 << (MIN_SIZE_SHIFT + sizeClass));
+        } else {
+            hits.increment();
+            bytesRetained.add(-buffer.capacity());
+            buffer.reset();
+        }
+        return new Lease(this, sizeClass, buffer);
+    }
+
+    /**
+     * Allocate a new buffer of the given size
+     *
+     * @param size the capacity of the buffer
+     * @return the new buffer
+     */
+    @NonNull
+    private BufferedData allocate(final int size) {
+        return offHeap ? BufferedData.allocateOffHeap(size) : BufferedData.allocate(size);
+    }
+
+    /**
+     * Give a buffer back to the pool, first to the calling thread's cache then to the shared stack. If both are full
+     * the buffer is dropped.
+     *
+     * @param sizeClass the size class of the buffer, or -1 if it is not pooled
+     * @param buffer the buffer
+     */
+    private void release(final int sizeClass, @NonNull final BufferedData buffer) {
+        if (sizeClass < 0) {
+            return;
+        }
+        if (localCaches.get().push(sizeClass, buffer) || pushShared(sizeClass, buffer)) {
+            bytesRetained.add(buffer.capacity());
+        }
+    }
+
+    /**
+     * Push a buffer onto the shared stack for its size class, unless the stack is full. A new node is pushed each
+     * time, as reusing nodes would allow another thread's pop to succeed with a stale next node.
+     *
+     * @param sizeClass the size class of the buffer
+     * @param buffer the buffer
+     * @return true if the buffer was pushed
+     */
+    private boolean pushShared(final int sizeClass, @NonNull final BufferedData buffer) {
+        if (sharedCounts.incrementAndGet(sizeClass) > sharedBuffers) {
+            sharedCounts.decrementAndGet(sizeClass);
+            return false;
+        }
+        final Node node = new Node(buffer);
+        do {
+            node.next = sharedStacks.get(sizeClass);
+        } while (!sharedStacks.compareAndSet(sizeClass, node.next, node));
+        return true;
+    }
+
+    /**
+     * Pop a buffer from the shared stack for a size class
+     *
+     * @param sizeClass the size class
+     * @return the buffer, or null if the stack is empty
+     */
+    private BufferedData popShared(final int sizeClass) {
+        Node head;
+        do {
+            head = sharedStacks.get(sizeClass);
+            if (head == null) {
+                return null;
+            }
+        } while (!sharedStacks.compareAndSet(sizeClass, head, head.next));
+        sharedCounts.decrementAndGet(sizeClass);
+        return head.buffer;
+    }
+
+    /**
+     * Get the number of acquired buffers that were reused from the pool
+     *
+     * @return the number of hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of acquired buffers that had to be allocated, including buffers too large to pool
+     *
+     * @return the number of misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the fraction of acquired buffers that were reused from the pool
+     *
+     * @return the hit rate from 0 to 1, or 0 if no buffers have been acquired
+     */
+    public double hitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Get the total capacity of the buffers held by the pool and not leased. Buffers in the caches of threads that
+     * have ended are still counted, they are freed by the garbage collector along with the thread.
+     *
+     * @return the number of bytes retained
+     */
+    public long bytesRetained() {
+        return bytesRetained.sum();
+    }
+
+    /**
+     * A buffer acquired from a pool, which is given back to the pool when the lease is closed
+     */
+    public static final class Lease implements AutoCloseable {
+        /** Updater to clear the buffer atomically, so it is given back to the pool only once */
+        private static final AtomicReferenceFieldUpdater<Lease, BufferedData> BUFFER =
+                AtomicReferenceFieldUpdater.newUpdater(Lease.class, BufferedData.class, "buffer");
+
+        /** The pool the buffer came from */
+        private final BufferPool pool;
+        /** The size class of the buffer, or -1 if it is not pooled */
+        private final int sizeClass;
+        /** The buffer, null once the lease is closed */
+        private volatile BufferedData buffer;
+
+        private Lease(@NonNull final BufferPool pool, final int sizeClass, @NonNull final BufferedData buffer) {
+            this.pool = pool;
+            this.sizeClass = sizeClass;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Get the leased buffer
+         *
+         * @return the buffer
+         * @throws IllegalStateException if the lease has been closed
+         */
+        @NonNull
+        public BufferedData buffer() {
+            final BufferedData leased = buffer;
+            if (leased == null) {
+                throw new IllegalStateException("Buffer has been released");
+            }
+            return leased;
+        }
+
+        /**
+         * Get the {@link ByteBuffer} that backs the leased buffer, for reading and writing it with NIO channels. It
+         * shares its contents, position and limit with {@link #buffer()}.
+         *
+         * @return the backing ByteBuffer
+         * @throws IllegalStateException if the lease has been closed
+         */
+        @NonNull
+        public ByteBuffer byteBuffer() {
+            return buffer().buffer;
+        }
+
+        /**
+         * Give the buffer back to the pool. Closing a lease more than once has no effect, even when it is closed by
+         * several threads at the same time.
+         */
+        @Override
+        public void close() {
+            final BufferedData released = BUFFER.getAndSet(this, null);
+            if (released != null) {
+                pool.release(sizeClass, released);
+            }
+        }
+    }
+
+    /**
+     * A thread's cache of buffers, a stack of up to {@code buffersPerThread} buffers for each size class
+     */
+    private static final class LocalCache {
+        /** The buffers of each size class */
+        private final BufferedData[][] buffers;
+        /** The number of buffers of each size class */
+        private final int[] counts;
+
+        LocalCache(final int sizeClasses, final int buffersPerThread) {
+            buffers = new BufferedData[sizeClasses][buffersPerThread];
+            counts = new int[sizeClasses];
+        }
+
+        BufferedData pop(final int sizeClass) {
+            final int count = counts[sizeClass];
+            if (count == 0) {
+                return null;
+            }
+            final BufferedData buffer = buffers[sizeClass][count - 1];
+            buffers[sizeClass][count - 1] = null;
+            counts[sizeClass] = count - 1;
+            return buffer;
+        }
+
+        boolean push(final int sizeClass, @NonNull final BufferedData buffer) {
+            final int count = counts[sizeClass];
+            if (count == buffers[sizeClass].length) {
+                return false;
+            }
+            buffers[sizeClass][count] = buffer;
+            counts[sizeClass] = count + 1;
+            return true;
+        }
+    }
+
+    /**
+     * Node in a shared stack
+     */
+    private static final class Node {
+        /** The pooled buffer */
+        private final BufferedData buffer;
+        /** The node below this one */
+        private Node next;
+
+        Node(@NonNull final BufferedData buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -104,6 +104,41 @@ public sealed class BufferedData
         return new ByteArrayBufferedData(ByteBuffer.wrap(array, offset, len));
     }
 
+    /**
+     * Wrap an existing allocated byte[] for parsing without copying {@code bytes} fields. No copy is made of the
+     * array, and {@link Bytes} read from the returned buffer with {@link #readBytes(int)} or
+     * {@link #getBytes(long, long)} are slices of the array rather than copies, so parsing a message with large
+     * {@code bytes} fields costs the same however large they are. The default {@link #wrap(byte[])} copies them.
+     *
+     * <p>{@link Bytes} are immutable only as long as the array they share is not modified. The array must not be
+     * modified, and the returned buffer must not be written to, for as long as anything read from it is in use,
+     * including every object parsed from it. Slices and views of the returned buffer alias the array too.
+     *
+     * @param array the byte[] to wrap
+     * @return new BufferedData using {@code array} as its data buffer, that reads {@link Bytes} without copying
+     */
+    @NonNull
+    public static BufferedData wrapAliasing(@NonNull final byte[] array) {
+        return new ByteArrayBufferedData(ByteBuffer.wrap(array), true);
+    }
+
+    /**
+     * Wrap part of an existing allocated byte[] for parsing without copying {@code bytes} fields. See
+     * {@link #wrapAliasing(byte[])} for the rules on modifying the array.
+     *
+     * <p>The current position of the created {@link BufferedData} will be {@code offset}, the length will be
+     * set to {@code offset} + {@code len}, and capacity will be the length of the wrapped byte array.
+     *
+     * @param array the byte[] to wrap
+     * @param offset the offset into the byte array which will form the origin of this {@link BufferedData}.
+     * @param len the length of the {@link BufferedData} in bytes.
+     * @return new BufferedData using {@code array} as its data buffer, that reads {@link Bytes} without copying
+     */
+    @NonNull
+    public static BufferedData wrapAliasing(@NonNull final byte[] array, final int offset, final int len) {
+        return new ByteArrayBufferedData(ByteBuffer.wrap(array, offset, len), true);
+    }
+
     /**
      * Allocate a new buffered data object with new memory, on the Java heap.
      *
@@ -133,6 +168,18 @@ public sealed class BufferedData
     // ================================================================================================================
     // BufferedData Methods
 
+    /**
+     * Create a read only {@link ByteBuffer} over the bytes between {@link #position()} and {@link #limit()}, without
+     * copying them. This is for handing the bytes to APIs that take buffers, such as gathering writes to a channel.
+     * The position of this buffer is not changed.
+     *
+     * @return a new read only ByteBuffer with the bytes between its position and limit
+     */
+    @NonNull
+    public ByteBuffer toReadOnlyByteBuffer() {
+        return buffer.slice().asReadOnlyBuffer();
+    }
+
     /**
      * Exposes this {@link BufferedData} as an {@link InputStream}. This is a zero-copy operation.
      * The {@link #position()} and {@link #limit()} are **IGNORED**.
@@ -222,22 +269,19 @@ public sealed class BufferedData
         if (this.limit() != that.limit()) {
             return false;
         }
-        for (int i = 0; i < this.limit(); i++) {
-            if (buffer.get(i) != that.buffer.get(i)) {
-                return false;
-            }
-        }
-        return true;
+        // ByteBuffer.equals() compares many bytes at a time, over the bytes between each buffer's position and limit
+        final int lim = buffer.limit();
+        return buffer.slice(0, lim).equals(that.buffer.slice(0, lim));
     }
 
     /**
-     * Get hash based on contents of this buffer
+     * Get hash based on contents of this buffer, from the start of the buffer up to its limit like {@link #equals}
      *
      * @return hash code
      */
     @Override
     public int hashCode() {
-        return buffer.hashCode();
+        return buffer.slice(0, buffer.limit()).hashCode();
     }
 
     // ================================================================================================================
@@ -410,7 +454,18 @@ public sealed class BufferedData
     @Override
     @NonNull
     public BufferedData slice(final long offset, final long length) {
-        return BufferedData.wrap(buffer.slice(Math.toIntExact(offset), Math.toIntExact(length)));
+        return wrapSlice(buffer.slice(Math.toIntExact(offset), Math.toIntExact(length)));
+    }
+
+    /**
+     * Wrap a slice of this buffer's {@link ByteBuffer}, used for {@link #slice(long, long)} and {@link #view(int)}
+     *
+     * @param slice the slice of {@link #buffer}
+     * @return new BufferedData over the slice
+     */
+    @NonNull
+    protected BufferedData wrapSlice(@NonNull final ByteBuffer slice) {
+        return BufferedData.wrap(slice);
     }
 
     /** {@inheritDoc} */
@@ -586,7 +641,7 @@ public sealed class BufferedData
         }
 
         final var pos = Math.toIntExact(position());
-        final var buf = BufferedData.wrap(buffer.slice(pos, length));
+        final var buf = wrapSlice(buffer.slice(pos, length));
         position((long) pos + length);
         return buf;
     }
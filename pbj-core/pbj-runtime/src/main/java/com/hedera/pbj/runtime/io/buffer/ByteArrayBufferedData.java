@@ -1,9 +1,12 @@
 package com.hedera.pbj.runtime.io.buffer;
 
+import com.hedera.pbj.runtime.Utf8Tools;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * BufferedData subclass for instances backed by a byte array. Provides slightly more optimized
@@ -18,13 +21,21 @@ final class ByteArrayBufferedData extends BufferedData {
     // This data buffer's offset into the backing array. See ByteBuffer.arrayOffset() for details
     private final int arrayOffset;
 
+    // If true, Bytes read or got from this buffer share the backing array, see BufferedData.wrapAliasing()
+    private final boolean aliasing;
+
     ByteArrayBufferedData(final ByteBuffer buffer) {
+        this(buffer, false);
+    }
+
+    ByteArrayBufferedData(final ByteBuffer buffer, final boolean aliasing) {
         super(buffer);
         if (!buffer.hasArray()) {
             throw new IllegalArgumentException("Cannot create a ByteArrayBufferedData over a buffer with no array");
         }
         this.array = buffer.array();
         this.arrayOffset = buffer.arrayOffset();
+        this.aliasing = aliasing;
     }
 
     @Override
@@ -64,12 +75,21 @@ final class ByteArrayBufferedData extends BufferedData {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts}, except within 8 bytes of the end of the array.
      */
     @Override
     public int readVarInt(final boolean zigZag) {
         int tempPos = buffer.position() + arrayOffset;
         int lastPos = buffer.limit() + arrayOffset;
 
+        final int length = VarInts.length(array, tempPos, lastPos);
+        if (length != 0) {
+            final int x = (int) VarInts.value(array, tempPos, length);
+            buffer.position(tempPos + length - arrayOffset);
+            return zigZag ? (x >>> 1) ^ -(x & 1) : x;
+        }
+
         if (lastPos == tempPos) {
             throw new BufferUnderflowException();
         }
@@ -105,12 +125,21 @@ final class ByteArrayBufferedData extends BufferedData {
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts}, except within 8 bytes of the end of the array.
      */
     @Override
     public long readVarLong(final boolean zigZag) {
         int tempPos = buffer.position() + arrayOffset;
         int lastPos = buffer.limit() + arrayOffset;
 
+        final int length = VarInts.length(array, tempPos, lastPos);
+        if (length != 0) {
+            final long x = VarInts.value(array, tempPos, length);
+            buffer.position(tempPos + length - arrayOffset);
+            return zigZag ? (x >>> 1) ^ -(x & 1) : x;
+        }
+
         if (lastPos == tempPos) {
             throw new BufferUnderflowException();
         }
@@ -164,6 +193,62 @@ final class ByteArrayBufferedData extends BufferedData {
         return zigZag ? (x >>> 1) ^ -(x & 1) : x;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts} in a single loop over the array, updating the position once.
+     */
+    @Override
+    public int readVarInts(@NonNull final int[] dst, final int offset, final int maxCount, final boolean zigZag) {
+        Objects.checkFromIndexSize(offset, maxCount, dst.length);
+        final int end = buffer.limit() + arrayOffset;
+        int index = buffer.position() + arrayOffset;
+        int count = 0;
+        while (count < maxCount && index < end) {
+            final int length = VarInts.length(array, index, end);
+            if (length == 0) {
+                // near the end of the array, decode byte by byte
+                buffer.position(index - arrayOffset);
+                dst[offset + count++] = readVarInt(zigZag);
+                index = buffer.position() + arrayOffset;
+            } else {
+                final int x = (int) VarInts.value(array, index, length);
+                dst[offset + count++] = zigZag ? (x >>> 1) ^ -(x & 1) : x;
+                index += length;
+            }
+        }
+        buffer.position(index - arrayOffset);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts} in a single loop over the array, updating the position once.
+     */
+    @Override
+    public int readVarLongs(@NonNull final long[] dst, final int offset, final int maxCount, final boolean zigZag) {
+        Objects.checkFromIndexSize(offset, maxCount, dst.length);
+        final int end = buffer.limit() + arrayOffset;
+        int index = buffer.position() + arrayOffset;
+        int count = 0;
+        while (count < maxCount && index < end) {
+            final int length = VarInts.length(array, index, end);
+            if (length == 0) {
+                // near the end of the array, decode byte by byte
+                buffer.position(index - arrayOffset);
+                dst[offset + count++] = readVarLong(zigZag);
+                index = buffer.position() + arrayOffset;
+            } else {
+                final long x = VarInts.value(array, index, length);
+                dst[offset + count++] = zigZag ? (x >>> 1) ^ -(x & 1) : x;
+                index += length;
+            }
+        }
+        buffer.position(index - arrayOffset);
+        return count;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -218,6 +303,9 @@ final class ByteArrayBufferedData extends BufferedData {
         if (length() - offset < len) {
             throw new BufferUnderflowException();
         }
+        if (aliasing) {
+            return Bytes.wrap(array, Math.toIntExact(arrayOffset + offset), Math.toIntExact(len));
+        }
         final byte[] res = new byte[Math.toIntExact(len)];
         System.arraycopy(array, Math.toIntExact(arrayOffset + offset), res, 0, res.length);
         return Bytes.wrap(res);
@@ -284,10 +372,46 @@ final class ByteArrayBufferedData extends BufferedData {
         if (len == 0) {
             return Bytes.EMPTY;
         }
-        final byte[] res = new byte[len];
-        System.arraycopy(array, arrayOffset + pos, res, 0, len);
+        final Bytes res;
+        if (aliasing) {
+            res = Bytes.wrap(array, arrayOffset + pos, len);
+        } else {
+            final byte[] copy = new byte[len];
+            System.arraycopy(array, arrayOffset + pos, copy, 0, len);
+            res = Bytes.wrap(copy);
+        }
         buffer.position(pos + len);
-        return Bytes.wrap(res);
+        return res;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Slices of an aliasing buffer are aliasing too.
+     */
+    @NonNull
+    @Override
+    protected BufferedData wrapSlice(@NonNull final ByteBuffer slice) {
+        return aliasing ? new ByteArrayBufferedData(slice, true) : super.wrapSlice(slice);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decodes straight from the backing array, without copying the bytes first.
+     */
+    @NonNull
+    @Override
+    public String readUtf8String(final int len) {
+        validateLen(len);
+        final int pos = buffer.position();
+        validateCanRead(pos, len);
+        if (len == 0) {
+            return "";
+        }
+        final String res = new String(array, arrayOffset + pos, len, StandardCharsets.UTF_8);
+        buffer.position(pos + len);
+        return res;
     }
 
     /**
@@ -313,6 +437,23 @@ final class ByteArrayBufferedData extends BufferedData {
         buffer.position(pos + len);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Encodes straight into the backing array.
+     */
+    @Override
+    public void writeUtf8String(@NonNull final String value, final int encodedLength) {
+        validateLen(encodedLength);
+        validateCanWrite(encodedLength);
+        final int pos = buffer.position();
+        final int start = arrayOffset + pos;
+        if (Utf8Tools.encodeUtf8(value, array, start, start + encodedLength) != start + encodedLength) {
+            throw new IllegalArgumentException("String encodes to fewer than " + encodedLength + " bytes");
+        }
+        buffer.position(pos + encodedLength);
+    }
+
     /**
      * {@inheritDoc}
      */
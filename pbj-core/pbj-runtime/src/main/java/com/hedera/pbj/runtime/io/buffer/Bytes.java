@@ -1,5 +1,6 @@
 package com.hedera.pbj.runtime.io.buffer;
 
+import com.hedera.pbj.runtime.ContentHash;
 import com.hedera.pbj.runtime.io.DataAccessException;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
 import com.hedera.pbj.runtime.io.UnsafeUtils;
@@ -39,12 +40,12 @@ public final class Bytes implements RandomAccessData {
     /** Sorts {@link Bytes} according to their byte values, lower valued bytes first.
       * Bytes are compared on a signed basis.
       */
-    public static final Comparator<Bytes> SORT_BY_SIGNED_VALUE = valueSorter(Byte::compare);
+    public static final Comparator<Bytes> SORT_BY_SIGNED_VALUE = (Bytes o1, Bytes o2) -> compareValues(o1, o2, false);
 
     /** Sorts {@link Bytes} according to their byte values, lower valued bytes first.
       * Bytes are compared on an unsigned basis
       */
-    public static final Comparator<Bytes> SORT_BY_UNSIGNED_VALUE = valueSorter(Byte::compareUnsigned);
+    public static final Comparator<Bytes> SORT_BY_UNSIGNED_VALUE = (Bytes o1, Bytes o2) -> compareValues(o1, o2, true);
 
     /** byte[] used as backing buffer */
     private final byte[] buffer;
@@ -61,6 +62,12 @@ public final class Bytes implements RandomAccessData {
      */
     private final int length;
 
+    /**
+     * Cached result of {@link #hashCode()}, computed the first time it is called. Zero means it has not been computed
+     * yet, so a {@link Bytes} whose hash code really is zero recomputes it each time, as {@link String} does.
+     */
+    private int hash;
+
     /**
      * Create a new ByteOverByteBuffer over given byte array. This does not copy data it just wraps so
      * any changes to arrays contents will be effected here.
@@ -311,6 +318,17 @@ public final class Bytes implements RandomAccessData {
         digest.update(buffer, offset, length);
     }
 
+    /**
+     * Create a read only {@link ByteBuffer} over the contents of this {@link Bytes}, without copying them. This is
+     * for handing the contents to APIs that take buffers, such as gathering writes to a channel.
+     *
+     * @return a new read only ByteBuffer with the contents between its position and limit
+     */
+    @NonNull
+    public ByteBuffer toReadOnlyByteBuffer() {
+        return ByteBuffer.wrap(buffer, start, length).slice().asReadOnlyBuffer();
+    }
+
     /**
      * Create and return a new {@link ReadableSequentialData} that is backed by this {@link Bytes}.
      *
@@ -393,32 +411,46 @@ public final class Bytes implements RandomAccessData {
     public boolean equals(@Nullable final Object o) {
         if (this == o) return true;
         if (!(o instanceof Bytes that)) return false;
-        if (length != that.length()) {
+        if (length != that.length) {
             return false;
         }
-        if (length == 0) return true;
-        for (int i = 0; i < length; i++) {
-            if (getByte(i) != that.getByte(i)) {
-                return false;
-            }
+        if (hash != 0 && that.hash != 0 && hash != that.hash) {
+            return false;
         }
-        return true;
+        return Arrays.equals(buffer, start, start + length, that.buffer, that.start, that.start + length);
     }
 
     /**
-     * Compute hash code for Bytes based on all bytes of content
+     * Compute hash code for Bytes based on all bytes of content. The hash code is computed once and then cached, so
+     * the contents of a wrapped byte array must not be changed after this has been called.
      *
      * @return unique for any given content
      */
     @Override
     public int hashCode() {
-        int h = 1;
-        for (long i = length() - 1; i >= 0; i--) {
-            h = 31 * h + getByte(i);
+        int h = hash;
+        if (h == 0) {
+            h = 1;
+            for (int i = start + length - 1; i >= start; i--) {
+                h = 31 * h + buffer[i];
+            }
+            hash = h;
         }
         return h;
     }
 
+    /**
+     * Compute a 64-bit hash of all bytes of content, with far fewer collisions than {@link #hashCode()} which makes it
+     * better suited to large hash tables and to fingerprinting. Eight bytes are mixed at a time, using the steps and
+     * constants of xxHash64, and the result is the same on every platform and in every run. It is not a
+     * cryptographic hash, use {@link #writeTo(MessageDigest)} for that.
+     *
+     * @return 64-bit hash of the contents
+     */
+    public long hashCode64() {
+        return ContentHash.hash(buffer, start, length);
+    }
+
     // ================================================================================================================
     // RandomAccessData Methods
 
@@ -520,7 +552,7 @@ public final class Bytes implements RandomAccessData {
             return "";
         }
         validateOffset(offset);
-        return new String(buffer, Math.toIntExact(start + offset), length, StandardCharsets.UTF_8);
+        return new String(buffer, Math.toIntExact(start + offset), Math.toIntExact(len), StandardCharsets.UTF_8);
     }
 
     /** {@inheritDoc} */
@@ -534,6 +566,23 @@ public final class Bytes implements RandomAccessData {
         return Arrays.equals(buffer, Math.toIntExact(start + offset), Math.toIntExact(start + offset + len), bytes, 0, len);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(final long offset, @NonNull final RandomAccessData data) {
+        if (!(data instanceof Bytes that)) {
+            return RandomAccessData.super.contains(offset, data);
+        }
+        if (length == 0) {
+            return that.length == 0;
+        }
+        validateOffset(offset);
+        if (length - offset < that.length) {
+            return false;
+        }
+        final int from = Math.toIntExact(start + offset);
+        return Arrays.equals(buffer, from, from + that.length, that.buffer, that.start, that.start + that.length);
+    }
+
     /** {@inheritDoc} */
     @NonNull
     @Override
@@ -572,27 +621,31 @@ public final class Bytes implements RandomAccessData {
         }
     }
 
-    /** Sorts {@link Bytes} according to their byte values, lower valued bytes first.
-      * Bytes are compared using the passed in Byte Comparator
-      */
-    private static Comparator<Bytes> valueSorter(@NonNull final Comparator<Byte> byteComparator) {
-        return (Bytes o1, Bytes o2) -> {
-            final var val = Math.min(o1.length(), o2.length());
-            for (long i = 0; i < val; i++) {
-                final var byteComparison = byteComparator.compare(o1.getByte(i), o2.getByte(i));
-                if (byteComparison != 0) {
-                    return byteComparison;
-                }
-            }
-
-            // In case one of the buffers is longer than the other and the first n bytes (where n in the length of the
-            // shorter buffer) are equal, the buffer with the shorter length is first in the sort order.
-            long len = o1.length() - o2.length();
-            if (len == 0) {
-                return 0;
-            }
-            return ((len > 0) ? 1 : -1);
-        };
+    /**
+     * Compares {@link Bytes} according to their byte values, lower valued bytes first. The first differing byte is
+     * found with {@link Arrays#mismatch}, which compares many bytes at a time, and the result is the difference
+     * between the two differing bytes. If one is a prefix of the other the shorter one is first, with a result of -1
+     * or 1.
+     *
+     * @param o1 the first bytes to compare
+     * @param o2 the second bytes to compare
+     * @param unsigned true to compare bytes as unsigned values, false to compare them as signed values
+     * @return negative, zero or positive when o1 is less than, equal to or greater than o2
+     */
+    private static int compareValues(@NonNull final Bytes o1, @NonNull final Bytes o2, final boolean unsigned) {
+        final int i = Arrays.mismatch(
+                o1.buffer, o1.start, o1.start + o1.length, o2.buffer, o2.start, o2.start + o2.length);
+        if (i < 0) {
+            return 0;
+        }
+        if (i < o1.length && i < o2.length) {
+            final byte b1 = o1.buffer[o1.start + i];
+            final byte b2 = o2.buffer[o2.start + i];
+            return unsigned ? Byte.compareUnsigned(b1, b2) : Byte.compare(b1, b2);
+        }
+        // In case one of the buffers is longer than the other and the first n bytes (where n in the length of the
+        // shorter buffer) are equal, the buffer with the shorter length is first in the sort order.
+        return o1.length < o2.length ? -1 : 1;
     }
 
     /**
@@ -631,17 +684,27 @@ public final class Bytes implements RandomAccessData {
         return Bytes.wrap(newBytes);
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts}, except within 8 bytes of the end of the array.
+     */
     @Override
     public int getVarInt(final long offset, final boolean zigZag) {
-        int tempPos = (int)offset;
-        if (length == tempPos) {
-            return (int) RandomAccessData.super.getVarInt(offset, zigZag);
+        if (offset < 0 || offset >= length) {
+            return RandomAccessData.super.getVarInt(offset, zigZag);
+        }
+        final int end = start + length;
+        int tempPos = start + (int) offset;
+        final int varIntLength = VarInts.length(buffer, tempPos, end);
+        if (varIntLength != 0) {
+            final int x = (int) VarInts.value(buffer, tempPos, varIntLength);
+            return zigZag ? (x >>> 1) ^ -(x & 1) : x;
         }
         int x;
         if ((x = buffer[tempPos++]) >= 0) {
             return zigZag ? (x >>> 1) ^ -(x & 1) : x;
-        } else if (length - tempPos < 9) {
+        } else if (end - tempPos < 9) {
             return (int) RandomAccessData.super.getVarInt(offset, zigZag);
         } else if ((x ^= (buffer[tempPos++] << 7)) < 0) {
             x ^= (~0 << 7);
@@ -665,18 +728,28 @@ public final class Bytes implements RandomAccessData {
         return zigZag ? (x >>> 1) ^ -(x & 1) : x;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Decodes a word at a time with {@link VarInts}, except within 8 bytes of the end of the array.
+     */
     @Override
     public long getVarLong(final long offset, final boolean zigZag) {
-        int tempPos = (int)offset;
-        if (tempPos == length) {
+        if (offset < 0 || offset >= length) {
             return RandomAccessData.super.getVarLong(offset, zigZag);
         }
+        final int end = start + length;
+        int tempPos = start + (int) offset;
+        final int varIntLength = VarInts.length(buffer, tempPos, end);
+        if (varIntLength != 0) {
+            final long x = VarInts.value(buffer, tempPos, varIntLength);
+            return zigZag ? (x >>> 1) ^ -(x & 1) : x;
+        }
         long x;
         int y;
         if ((y = buffer[tempPos++]) >= 0) {
             return zigZag ? (y >>> 1) ^ -(y & 1) : y;
-        } else if (length - tempPos < 9) {
+        } else if (end - tempPos < 9) {
             return RandomAccessData.super.getVarLong(offset, zigZag);
         } else if ((y ^= (buffer[tempPos++] << 7)) < 0) {
             x = y ^ (~0 << 7);
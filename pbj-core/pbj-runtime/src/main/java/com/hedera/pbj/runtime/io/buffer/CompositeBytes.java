@@ -0,0 +1,585 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable concatenation of {@link Bytes}, which references the parts rather than copying them into one array.
+ * Building a payload from many fragments with {@link Bytes#append(Bytes)} copies every byte for every fragment
+ * appended, while {@link #of(List)} only makes an array of references to the fragments. The bytes of the parts are
+ * read in place by every method, including {@link #slice(long, long)} and the {@code writeTo} methods, so for example
+ * hashing the concatenation with {@link #writeTo(MessageDigest)} never copies it. Only {@link #toBytes()} copies the
+ * parts into one contiguous array, once, when that is needed.
+ *
+ * <p>Finding the part holding a byte is a binary search over the parts, so reading one byte at a time is slower than
+ * from {@link Bytes}. Ints, longs and varints within a single part are read directly from it.
+ *
+ * <p>Like {@link Bytes}, this class is usable across threads, and the arrays wrapped by the parts must not be changed.
+ */
+public final class CompositeBytes implements RandomAccessData {
+    /** An empty concatenation */
+    public static final CompositeBytes EMPTY = new CompositeBytes(new Bytes[0]);
+
+    /** The most bytes a varint can take, if there are this many left in a part a varint cannot cross to the next */
+    private static final int MAX_VARINT_SIZE = 10;
+
+    /** The parts, none of them empty */
+    private final Bytes[] parts;
+    /** The offset of the start of each part, followed by the length of the whole concatenation */
+    private final long[] offsets;
+    /** The parts copied into one {@link Bytes}, null until {@link #toBytes()} is first called */
+    @Nullable
+    private Bytes flattened;
+    /** The cached hash code, or zero if it has not been computed yet */
+    private int hash;
+
+    /**
+     * Create a concatenation of parts
+     *
+     * @param parts the parts, none of them empty
+     */
+    private CompositeBytes(@NonNull final Bytes[] parts) {
+        this.parts = parts;
+        this.offsets = new long[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            offsets[i + 1] = offsets[i] + parts[i].length();
+        }
+    }
+
+    /**
+     * Create a concatenation of the given parts, in order. The parts are not copied.
+     *
+     * @param parts the parts to concatenate
+     * @return a new concatenation of the parts
+     * @throws NullPointerException if any part is null
+     */
+    @NonNull
+    public static CompositeBytes of(@NonNull final Bytes... parts) {
+        return of(Arrays.asList(parts));
+    }
+
+    /**
+     * Create a concatenation of the given parts, in order. The parts are not copied.
+     *
+     * @param parts the parts to concatenate
+     * @return a new concatenation of the parts
+     * @throws NullPointerException if any part is null
+     */
+    @NonNull
+    public static CompositeBytes of(@NonNull final List<Bytes> parts) {
+        final List<Bytes> nonEmpty = new ArrayList<>(parts.size());
+        for (final Bytes part : parts) {
+            if (part.length() > 0) {
+                nonEmpty.add(part);
+            }
+        }
+        return nonEmpty.isEmpty() ? EMPTY : new CompositeBytes(nonEmpty.toArray(new Bytes[0]));
+    }
+
+    /**
+     * Create a new concatenation of this one followed by the given bytes. Neither is copied.
+     *
+     * @param bytes the bytes to append
+     * @return a new concatenation
+     */
+    @NonNull
+    public CompositeBytes append(@NonNull final Bytes bytes) {
+        if (bytes.length() == 0) {
+            return this;
+        }
+        final Bytes[] newParts = Arrays.copyOf(parts, parts.length + 1);
+        newParts[parts.length] = bytes;
+        return new CompositeBytes(newParts);
+    }
+
+    /**
+     * Create a new concatenation of this one followed by the given data. If the data is {@link Bytes} or
+     * {@link CompositeBytes} it is not copied, otherwise, as it may be mutable, a copy of it is appended.
+     *
+     * @param data the data to append
+     * @return a new concatenation
+     */
+    @NonNull
+    public CompositeBytes append(@NonNull final RandomAccessData data) {
+        if (data instanceof Bytes bytes) {
+            return append(bytes);
+        }
+        if (data.length() == 0) {
+            return this;
+        }
+        if (data instanceof CompositeBytes composite) {
+            final Bytes[] newParts = Arrays.copyOf(parts, parts.length + composite.parts.length);
+            System.arraycopy(composite.parts, 0, newParts, parts.length, composite.parts.length);
+            return new CompositeBytes(newParts);
+        }
+        return append(data.getBytes(0, data.length()));
+    }
+
+    /**
+     * Get the parts of this concatenation. Empty parts passed in when it was created are not included.
+     *
+     * @return an unmodifiable list of the parts
+     */
+    @NonNull
+    public List<Bytes> parts() {
+        return List.of(parts);
+    }
+
+    /**
+     * Get the contents as a single contiguous {@link Bytes}. The parts are copied the first time this is called, and
+     * the same {@link Bytes} is returned after that. If there is only one part it is returned without copying.
+     *
+     * @return the contents as one {@link Bytes}
+     * @throws ArithmeticException if the contents are longer than the largest possible array
+     */
+    @NonNull
+    public Bytes toBytes() {
+        Bytes result = flattened;
+        if (result == null) {
+            if (parts.length == 0) {
+                result = Bytes.EMPTY;
+            } else if (parts.length == 1) {
+                result = parts[0];
+            } else {
+                final byte[] array = new byte[Math.toIntExact(length())];
+                getBytes(0, array);
+                result = Bytes.wrap(array);
+            }
+            // the contents of Bytes are in final fields, so it is safe to publish it without synchronization
+            flattened = result;
+        }
+        return result;
+    }
+
+    /**
+     * Get the index of the part holding the byte at the given offset
+     *
+     * @param offset the offset, which must be &gt;= 0 and &lt; {@link #length()}
+     * @return the index of the part
+     */
+    private int partIndex(final long offset) {
+        final int i = Arrays.binarySearch(offsets, 0, parts.length, offset);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Check that an offset is within this concatenation
+     *
+     * @param offset the offset to check
+     * @throws BufferUnderflowException if this concatenation is empty
+     * @throws IndexOutOfBoundsException if the offset is negative or not less than {@link #length()}
+     */
+    private void validateOffset(final long offset) {
+        if (parts.length == 0) {
+            throw new BufferUnderflowException();
+        }
+        if (offset < 0 || offset >= length()) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length());
+        }
+    }
+
+    /**
+     * Pass each part, or the slice of it, that overlaps a range of this concatenation to an action, in order
+     *
+     * @param offset the offset of the start of the range
+     * @param length the length of the range
+     * @param action the action to pass the parts to
+     * @throws IndexOutOfBoundsException if the range is not within this concatenation
+     */
+    private void forEachPart(final long offset, final long length, @NonNull final Consumer<Bytes> action) {
+        if (offset < 0 || length < 0 || offset > length() - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + length());
+        }
+        long remaining = length;
+        if (remaining == 0) {
+            return;
+        }
+        int i = partIndex(offset);
+        long partOffset = offset - offsets[i];
+        while (remaining > 0) {
+            final Bytes part = parts[i++];
+            final long n = Math.min(remaining, part.length() - partOffset);
+            action.accept(n == part.length() ? part : part.slice(partOffset, n));
+            remaining -= n;
+            partOffset = 0;
+        }
+    }
+
+    // ================================================================================================================
+    // Writing the contents
+
+    /**
+     * Write the contents to an {@link OutputStream}, one part at a time
+     *
+     * @param outStream the OutputStream to write to
+     * @throws java.io.UncheckedIOException if the OutputStream cannot be written to
+     */
+    public void writeTo(@NonNull final OutputStream outStream) {
+        for (final Bytes part : parts) {
+            part.writeTo(outStream);
+        }
+    }
+
+    /**
+     * Write a range of the contents to an {@link OutputStream}, one part at a time
+     *
+     * @param outStream the OutputStream to write to
+     * @param offset the offset from the start of this concatenation of the first byte to write
+     * @param length the number of bytes to write
+     * @throws java.io.UncheckedIOException if the OutputStream cannot be written to
+     * @throws IndexOutOfBoundsException if the range is not within this concatenation
+     */
+    public void writeTo(@NonNull final OutputStream outStream, final long offset, final long length) {
+        forEachPart(offset, length, part -> part.writeTo(outStream));
+    }
+
+    /**
+     * Write the contents to a {@link WritableSequentialData}, one part at a time
+     *
+     * @param wsd the WritableSequentialData to write to
+     */
+    public void writeTo(@NonNull final WritableSequentialData wsd) {
+        for (final Bytes part : parts) {
+            part.writeTo(wsd);
+        }
+    }
+
+    /**
+     * Write a range of the contents to a {@link WritableSequentialData}, one part at a time
+     *
+     * @param wsd the WritableSequentialData to write to
+     * @param offset the offset from the start of this concatenation of the first byte to write
+     * @param length the number of bytes to write
+     * @throws IndexOutOfBoundsException if the range is not within this concatenation
+     */
+    public void writeTo(@NonNull final WritableSequentialData wsd, final long offset, final long length) {
+        forEachPart(offset, length, part -> part.writeTo(wsd));
+    }
+
+    /**
+     * Update a {@link MessageDigest} with the contents, one part at a time, without copying them
+     *
+     * @param digest the MessageDigest to update
+     */
+    public void writeTo(@NonNull final MessageDigest digest) {
+        for (final Bytes part : parts) {
+            part.writeTo(digest);
+        }
+    }
+
+    /**
+     * Update a {@link MessageDigest} with a range of the contents, one part at a time, without copying them
+     *
+     * @param digest the MessageDigest to update
+     * @param offset the offset from the start of this concatenation of the first byte to digest
+     * @param length the number of bytes to digest
+     * @throws IndexOutOfBoundsException if the range is not within this concatenation
+     */
+    public void writeTo(@NonNull final MessageDigest digest, final long offset, final long length) {
+        forEachPart(offset, length, part -> part.writeTo(digest));
+    }
+
+    /**
+     * Write the contents to a {@link ByteBuffer}, one part at a time. The position of the buffer is moved past the
+     * written bytes.
+     *
+     * @param dstBuffer the buffer to write to
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining
+     */
+    public void writeTo(@NonNull final ByteBuffer dstBuffer) {
+        for (final Bytes part : parts) {
+            part.writeTo(dstBuffer);
+        }
+    }
+
+    /**
+     * Create a new {@link ReadableSequentialData} that reads the contents
+     *
+     * @return a new {@link ReadableSequentialData} backed by this concatenation
+     */
+    @NonNull
+    public ReadableSequentialData toReadableSequentialData() {
+        return new RandomAccessSequenceAdapter(this);
+    }
+
+    /**
+     * Create a new {@link InputStream} that reads the contents, one part at a time, without copying them
+     *
+     * @return a new {@link InputStream} over the contents
+     */
+    @NonNull
+    public InputStream toInputStream() {
+        final List<InputStream> streams = new ArrayList<>(parts.length);
+        for (final Bytes part : parts) {
+            streams.add(part.toInputStream());
+        }
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    // ================================================================================================================
+    // Object Methods
+
+    /**
+     * Two concatenations are equal if their contents are equal, however they are split into parts. A concatenation is
+     * never equal to a {@link Bytes}, compare {@link #toBytes()} with it instead.
+     *
+     * @param o the object to compare with
+     * @return true if o is a CompositeBytes with the same contents
+     */
+    @Override
+    public boolean equals(@Nullable final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompositeBytes that)) return false;
+        if (length() != that.length()) {
+            return false;
+        }
+        if (hash != 0 && that.hash != 0 && hash != that.hash) {
+            return false;
+        }
+        int i = 0;
+        int j = 0;
+        long offsetI = 0;
+        long offsetJ = 0;
+        while (i < parts.length) {
+            final Bytes a = parts[i];
+            final Bytes b = that.parts[j];
+            final long n = Math.min(a.length() - offsetI, b.length() - offsetJ);
+            if (!a.slice(offsetI, n).equals(b.slice(offsetJ, n))) {
+                return false;
+            }
+            offsetI += n;
+            offsetJ += n;
+            if (offsetI == a.length()) {
+                i++;
+                offsetI = 0;
+            }
+            if (offsetJ == b.length()) {
+                j++;
+                offsetJ = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compute the hash code of the contents. It is the same as the hash code of a {@link Bytes} with the same
+     * contents, such as {@link #toBytes()}, and it is cached.
+     *
+     * @return the hash code of the contents
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 1;
+            for (int i = parts.length - 1; i >= 0; i--) {
+                final Bytes part = parts[i];
+                for (long j = part.length() - 1; j >= 0; j--) {
+                    h = 31 * h + part.getByte(j);
+                }
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * Get the contents as a hex string, like {@link Bytes#toString()}
+     *
+     * @return the contents as a hex string
+     */
+    @NonNull
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(Math.toIntExact(Math.min(length() * 2, Integer.MAX_VALUE)));
+        for (final Bytes part : parts) {
+            sb.append(part.toHex());
+        }
+        return sb.toString();
+    }
+
+    // ================================================================================================================
+    // RandomAccessData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long length() {
+        return offsets[parts.length];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte getByte(final long offset) {
+        validateOffset(offset);
+        final int i = partIndex(offset);
+        return parts[i].getByte(offset - offsets[i]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final byte[] dst, final int dstOffset, final int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maxLength not allowed");
+        }
+        final long len = Math.min(maxLength, length() - offset);
+        if (len == 0) {
+            return 0;
+        }
+        validateOffset(offset);
+        int i = partIndex(offset);
+        long partOffset = offset - offsets[i];
+        int dstPos = dstOffset;
+        long remaining = len;
+        while (remaining > 0) {
+            final Bytes part = parts[i++];
+            final int n = (int) Math.min(remaining, part.length() - partOffset);
+            part.getBytes(partOffset, dst, dstPos, n);
+            dstPos += n;
+            remaining -= n;
+            partOffset = 0;
+        }
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final ByteBuffer dst) {
+        if (!dst.hasRemaining() || offset == length()) {
+            return 0;
+        }
+        validateOffset(offset);
+        int i = partIndex(offset);
+        long partOffset = offset - offsets[i];
+        long len = 0;
+        while (dst.hasRemaining() && i < parts.length) {
+            len += parts[i++].getBytes(partOffset, dst);
+            partOffset = 0;
+        }
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final BufferedData dst) {
+        if (!dst.hasRemaining() || offset == length()) {
+            return 0;
+        }
+        validateOffset(offset);
+        int i = partIndex(offset);
+        long partOffset = offset - offsets[i];
+        long len = 0;
+        while (dst.hasRemaining() && i < parts.length) {
+            len += parts[i++].getBytes(partOffset, dst);
+            partOffset = 0;
+        }
+        return len;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If the bytes are all in one part they are not copied, otherwise they are copied into a new array.
+     */
+    @NonNull
+    @Override
+    public Bytes getBytes(final long offset, final long length) {
+        if (length > 0 && offset >= 0 && offset < length()) {
+            final int i = partIndex(offset);
+            final long partOffset = offset - offsets[i];
+            if (partOffset + length <= parts[i].length()) {
+                return parts[i].getBytes(partOffset, length);
+            }
+        }
+        return RandomAccessData.super.getBytes(offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The slice references the parts of this concatenation, it does not copy them.
+     */
+    @NonNull
+    @Override
+    public RandomAccessData slice(final long offset, final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        if (offset < 0 || offset > length()) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length());
+        }
+        if (length > length() - offset) {
+            throw new BufferUnderflowException();
+        }
+        if (offset == 0 && length == length()) {
+            return this;
+        }
+        final List<Bytes> sliced = new ArrayList<>();
+        forEachPart(offset, length, sliced::add);
+        return sliced.size() == 1 ? sliced.get(0) : of(sliced);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getInt(final long offset) {
+        if (offset >= 0 && length() - offset >= Integer.BYTES) {
+            final int i = partIndex(offset);
+            final long partOffset = offset - offsets[i];
+            if (partOffset + Integer.BYTES <= parts[i].length()) {
+                return parts[i].getInt(partOffset);
+            }
+        }
+        return RandomAccessData.super.getInt(offset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getLong(final long offset) {
+        if (offset >= 0 && length() - offset >= Long.BYTES) {
+            final int i = partIndex(offset);
+            final long partOffset = offset - offsets[i];
+            if (partOffset + Long.BYTES <= parts[i].length()) {
+                return parts[i].getLong(partOffset);
+            }
+        }
+        return RandomAccessData.super.getLong(offset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getVarInt(final long offset, final boolean zigZag) {
+        if (offset >= 0 && offset < length()) {
+            final int i = partIndex(offset);
+            final long partOffset = offset - offsets[i];
+            if (partOffset + MAX_VARINT_SIZE <= parts[i].length()) {
+                return parts[i].getVarInt(partOffset, zigZag);
+            }
+        }
+        return RandomAccessData.super.getVarInt(offset, zigZag);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getVarLong(final long offset, final boolean zigZag) {
+        if (offset >= 0 && offset < length()) {
+            final int i = partIndex(offset);
+            final long partOffset = offset - offsets[i];
+            if (partOffset + MAX_VARINT_SIZE <= parts[i].length()) {
+                return parts[i].getVarLong(partOffset, zigZag);
+            }
+        }
+        return RandomAccessData.super.getVarLong(offset, zigZag);
+    }
+}
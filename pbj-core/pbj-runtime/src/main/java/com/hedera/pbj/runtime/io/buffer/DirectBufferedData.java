@@ -3,6 +3,7 @@ package com.hedera.pbj.runtime.io.buffer;
 import com.hedera.pbj.runtime.io.UnsafeUtils;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -125,6 +126,27 @@ final class DirectBufferedData extends BufferedData {
         return Bytes.wrap(res);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Copies the bytes out of the direct buffer with a single bulk copy, rather than through the
+     * {@link ByteBuffer} API, then decodes them.
+     */
+    @NonNull
+    @Override
+    public String readUtf8String(final int len) {
+        validateLen(len);
+        final int pos = buffer.position();
+        validateCanRead(pos, len);
+        if (len == 0) {
+            return "";
+        }
+        final byte[] bytes = new byte[len];
+        UnsafeUtils.getDirectBufferToArray(buffer, pos, bytes, 0, len);
+        buffer.position(pos + len);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -548,8 +548,8 @@ public interface RandomAccessData {
             return false;
         }
 
-        for (long i = offset; i < data.length(); i++) {
-            if (data.getByte(i) != getByte(i)) {
+        for (long i = 0; i < data.length(); i++) {
+            if (data.getByte(i) != getByte(offset + i)) {
                 return false;
             }
         }
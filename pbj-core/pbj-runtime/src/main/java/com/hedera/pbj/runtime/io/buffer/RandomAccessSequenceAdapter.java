@@ -167,6 +167,20 @@ final class RandomAccessSequenceAdapter implements ReadableSequentialData {
         return bytes;
     }
 
+    /** {@inheritDoc} */
+    @NonNull
+    @Override
+    public String readUtf8String(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        checkUnderflow(length);
+        // Bytes decodes straight from its backing array
+        final var result = delegate.asUtf8String(start + position, length);
+        position += length;
+        return result;
+    }
+
     /** {@inheritDoc} */
     @NonNull
     @Override
@@ -0,0 +1,756 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import com.hedera.pbj.runtime.io.DataEncodingException;
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A buffer of up to {@link Long#MAX_VALUE} bytes, made of a sequence of equally sized {@link ByteBuffer} segments, that
+ * is a {@link BufferedSequentialData}, a {@link ReadableSequentialData}, a {@link WritableSequentialData} and a
+ * {@link RandomAccessData}. All offsets, positions and limits are longs, so unlike {@link BufferedData} it can hold
+ * data larger than 2GB, such as a state snapshot mapped from a file with {@link #map(FileChannel, FileChannel.MapMode,
+ * long, long)}.
+ *
+ * <p>Reads and writes of values that fit in one segment are done on that segment's {@link ByteBuffer}, in the Java
+ * standard big-endian byte order that new and mapped {@link ByteBuffer}s start in. Values that cross from one segment
+ * to the next are read and written a byte at a time. Data is only read and written with {@link ByteBuffer} methods,
+ * this class does not use {@code sun.misc.Unsafe}.
+ *
+ * <p>Memory allocated off-heap or mapped by this class is never freed explicitly, so this class is not
+ * {@link AutoCloseable}. It is freed or unmapped by the garbage collector once neither the buffer nor any of its slices
+ * or views are reachable. That way a slice or view can never read or write memory that has been freed.
+ */
+public final class SegmentedBufferedData
+        implements BufferedSequentialData, ReadableSequentialData, WritableSequentialData, RandomAccessData {
+
+    /** The number of bits in the offset within a segment, segments of this class are 1GB */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /** The segments, each is {@code 1 << shift} bytes except the last which may be smaller */
+    private final ByteBuffer[] segments;
+
+    /** The number of bits in the offset within a segment */
+    private final int shift;
+
+    /** Mask for the offset within a segment */
+    private final long mask;
+
+    /** The offset in the segments of this buffer's origin, not zero for slices and views */
+    private final long base;
+
+    /** The capacity of this buffer */
+    private final long capacity;
+
+    /** The position of this buffer */
+    private long position;
+
+    /** The limit of this buffer */
+    private long limit;
+
+    /**
+     * Create a buffer over some or all of the given segments.
+     *
+     * @param segments the segments, each is {@code 1 << shift} bytes except the last which may be smaller
+     * @param shift the number of bits in the offset within a segment
+     * @param base the offset in the segments of the origin of the new buffer
+     * @param capacity the capacity of the new buffer
+     */
+    private SegmentedBufferedData(
+            @NonNull final ByteBuffer[] segments,
+            final int shift,
+            final long base,
+            final long capacity) {
+        this.segments = segments;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.base = base;
+        this.capacity = capacity;
+        this.limit = capacity;
+    }
+
+    // ================================================================================================================
+    // Static Builder Methods
+
+    /**
+     * Allocate a new buffer on the Java heap, in segments of 1GB.
+     *
+     * @param capacity size of new buffer in bytes
+     * @return a new allocated SegmentedBufferedData
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    @NonNull
+    public static SegmentedBufferedData allocate(final long capacity) {
+        return allocate(capacity, 1 << SEGMENT_SHIFT, false);
+    }
+
+    /**
+     * Allocate a new buffer off the Java heap, in segments of 1GB. The memory is freed when the buffer and all its
+     * slices and views are garbage collected.
+     *
+     * @param capacity size of new buffer in bytes
+     * @return a new allocated SegmentedBufferedData
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    @NonNull
+    public static SegmentedBufferedData allocateOffHeap(final long capacity) {
+        return allocate(capacity, 1 << SEGMENT_SHIFT, true);
+    }
+
+    /**
+     * Allocate a new buffer, in segments of the given size. Smaller segments are used in tests, to cover values that
+     * cross from one segment to the next without allocating gigabytes.
+     *
+     * @param capacity size of new buffer in bytes
+     * @param segmentSize the size of each segment, a power of two
+     * @param offHeap true to allocate the segments off the Java heap
+     * @return a new allocated SegmentedBufferedData
+     * @throws IllegalArgumentException if {@code capacity} is negative or {@code segmentSize} is not a power of two
+     */
+    @NonNull
+    static SegmentedBufferedData allocate(final long capacity, final int segmentSize, final boolean offHeap) {
+        final int shift = shift(capacity, segmentSize);
+        final ByteBuffer[] segments = new ByteBuffer[segmentCount(capacity, shift)];
+        for (int i = 0; i < segments.length; i++) {
+            final int size = (int) Math.min(segmentSize, capacity - ((long) i << shift));
+            segments[i] = offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        }
+        return new SegmentedBufferedData(segments, shift, 0, capacity);
+    }
+
+    /**
+     * Map a region of a file into memory, in segments of 1GB. The region is unmapped when the buffer and all its
+     * slices and views are garbage collected. See {@link FileChannel#map} for how the file and the
+     * mapped region interact. A region mapped {@link FileChannel.MapMode#READ_ONLY} cannot be written to.
+     *
+     * @param channel the file to map
+     * @param mode the mode to map the file with
+     * @param position the position in the file where the region starts
+     * @param size the size of the region in bytes
+     * @return a new SegmentedBufferedData over the mapped region
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if {@code position} or {@code size} is negative
+     */
+    @NonNull
+    public static SegmentedBufferedData map(
+            @NonNull final FileChannel channel,
+            @NonNull final FileChannel.MapMode mode,
+            final long position,
+            final long size)
+            throws IOException {
+        return map(channel, mode, position, size, 1 << SEGMENT_SHIFT);
+    }
+
+    /**
+     * Map a region of a file into memory, in segments of the given size.
+     *
+     * @param channel the file to map
+     * @param mode the mode to map the file with
+     * @param position the position in the file where the region starts
+     * @param size the size of the region in bytes
+     * @param segmentSize the size of each segment, a power of two
+     * @return a new SegmentedBufferedData over the mapped region
+     * @throws IOException if the file cannot be mapped
+     * @throws IllegalArgumentException if {@code position} or {@code size} is negative, or {@code segmentSize} is
+     *                                  not a power of two
+     */
+    @NonNull
+    static SegmentedBufferedData map(
+            @NonNull final FileChannel channel,
+            @NonNull final FileChannel.MapMode mode,
+            final long position,
+            final long size,
+            final int segmentSize)
+            throws IOException {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position " + position + " is negative");
+        }
+        final int shift = shift(size, segmentSize);
+        final ByteBuffer[] segments = new ByteBuffer[segmentCount(size, shift)];
+        for (int i = 0; i < segments.length; i++) {
+            final long offset = (long) i << shift;
+            segments[i] = channel.map(mode, position + offset, Math.min(segmentSize, size - offset));
+        }
+        return new SegmentedBufferedData(segments, shift, 0, size);
+    }
+
+    /**
+     * Check the arguments for a new buffer and compute its segment shift
+     *
+     * @param capacity size of new buffer in bytes
+     * @param segmentSize the size of each segment, a power of two
+     * @return the number of bits in the offset within a segment
+     */
+    private static int shift(final long capacity, final int segmentSize) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity " + capacity + " is negative");
+        }
+        if (segmentSize <= 0 || Integer.bitCount(segmentSize) != 1) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " is not a power of two");
+        }
+        return Integer.numberOfTrailingZeros(segmentSize);
+    }
+
+    /**
+     * Compute the number of segments needed for a buffer
+     *
+     * @param capacity size of the buffer in bytes
+     * @param shift the number of bits in the offset within a segment
+     * @return the number of segments
+     */
+    private static int segmentCount(final long capacity, final int shift) {
+        return Math.toIntExact((capacity + (1L << shift) - 1) >>> shift);
+    }
+
+    // ================================================================================================================
+    // SegmentedBufferedData Methods
+
+    /**
+     * toString that outputs the size of the buffer, it may be too large to output its contents
+     *
+     * @return nice debug output of the buffer
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName()
+                + "[position=" + position + ", limit=" + limit + ", capacity=" + capacity + "]";
+    }
+
+    /**
+     * Get the segment holding the byte at the given offset
+     *
+     * @param offset the offset in this buffer
+     * @return the segment
+     */
+    private ByteBuffer segment(final long offset) {
+        return segments[(int) ((base + offset) >>> shift)];
+    }
+
+    /**
+     * Get the index within its segment of the byte at the given offset
+     *
+     * @param offset the offset in this buffer
+     * @return the index in the segment
+     */
+    private int index(final long offset) {
+        return (int) ((base + offset) & mask);
+    }
+
+    /**
+     * Check whether the bytes from {@code offset} up to {@code offset + length} are all in one segment
+     *
+     * @param offset the offset in this buffer
+     * @param length the number of bytes
+     * @return true if the bytes are in one segment
+     */
+    private boolean inOneSegment(final long offset, final int length) {
+        return index(offset) <= mask + 1 - length;
+    }
+
+    /** Utility method for checking if there is enough data to read */
+    private void checkUnderflow(final long offset, final long length) {
+        if (offset < 0) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + limit);
+        }
+        if (limit - offset < length) {
+            throw new BufferUnderflowException();
+        }
+    }
+
+    /**
+     * Copy bytes out of the segments into an array. The caller must check the offset and length.
+     *
+     * @param offset the offset in this buffer of the first byte to copy
+     * @param dst the array to copy to
+     * @param dstOffset the index in the array to copy the first byte to
+     * @param length the number of bytes to copy
+     */
+    private void copyTo(long offset, @NonNull final byte[] dst, int dstOffset, int length) {
+        while (length > 0) {
+            final ByteBuffer segment = segment(offset);
+            final int index = index(offset);
+            final int n = Math.min(length, segment.capacity() - index);
+            segment.get(index, dst, dstOffset, n);
+            offset += n;
+            dstOffset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Copy bytes out of the segments into a buffer, from its position. The position of {@code dst} is left alone. The
+     * caller must check the offset and length.
+     *
+     * @param offset the offset in this buffer of the first byte to copy
+     * @param dst the buffer to copy to
+     * @param length the number of bytes to copy
+     */
+    private void copyTo(long offset, @NonNull final ByteBuffer dst, int length) {
+        int dstIndex = dst.position();
+        while (length > 0) {
+            final ByteBuffer segment = segment(offset);
+            final int index = index(offset);
+            final int n = Math.min(length, segment.capacity() - index);
+            dst.put(dstIndex, segment, index, n);
+            offset += n;
+            dstIndex += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Copy bytes from an array into the segments. The caller must check the offset and length.
+     *
+     * @param offset the offset in this buffer to copy the first byte to
+     * @param src the array to copy from
+     * @param srcOffset the index in the array of the first byte to copy
+     * @param length the number of bytes to copy
+     */
+    private void copyFrom(long offset, @NonNull final byte[] src, int srcOffset, int length) {
+        while (length > 0) {
+            final ByteBuffer segment = segment(offset);
+            final int index = index(offset);
+            final int n = Math.min(length, segment.capacity() - index);
+            segment.put(index, src, srcOffset, n);
+            offset += n;
+            srcOffset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Copy bytes from a buffer, from its position, into the segments. The position of {@code src} is left alone. The
+     * caller must check the offset and length.
+     *
+     * @param offset the offset in this buffer to copy the first byte to
+     * @param src the buffer to copy from
+     * @param length the number of bytes to copy
+     */
+    private void copyFrom(long offset, @NonNull final ByteBuffer src, int length) {
+        int srcIndex = src.position();
+        while (length > 0) {
+            final ByteBuffer segment = segment(offset);
+            final int index = index(offset);
+            final int n = Math.min(length, segment.capacity() - index);
+            segment.put(index, src, srcIndex, n);
+            offset += n;
+            srcIndex += n;
+            length -= n;
+        }
+    }
+
+    // ================================================================================================================
+    // SequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long limit() {
+        return limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void limit(final long limit) {
+        this.limit = Math.min(capacity, Math.max(limit, position));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long remaining() {
+        return limit - position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(long count) {
+        count = Math.min(count, limit - position);
+        if (count <= 0) {
+            return 0;
+        }
+        position += count;
+        return count;
+    }
+
+    // ================================================================================================================
+    // BufferedSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public void position(final long position) {
+        if (position < 0 || position > limit) {
+            throw new IllegalArgumentException("position=" + position + ", limit=" + limit);
+        }
+        this.position = position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flip() {
+        limit = position;
+        position = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void reset() {
+        position = 0;
+        limit = capacity;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void resetPosition() {
+        position = 0;
+    }
+
+    // ================================================================================================================
+    // RandomAccessData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long length() {
+        return limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte getByte(final long offset) {
+        checkUnderflow(offset, 1);
+        return segment(offset).get(index(offset));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final byte[] dst, final int dstOffset, final int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maxLength not allowed");
+        }
+        checkUnderflow(offset, 0);
+        final int len = (int) Math.min(maxLength, limit - offset);
+        copyTo(offset, dst, dstOffset, len);
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final ByteBuffer dst) {
+        checkUnderflow(offset, 0);
+        final int len = (int) Math.min(dst.remaining(), limit - offset);
+        copyTo(offset, dst, len);
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getBytes(final long offset, @NonNull final BufferedData dst) {
+        return getBytes(offset, dst.buffer);
+    }
+
+    /** {@inheritDoc} */
+    @NonNull
+    @Override
+    public Bytes getBytes(final long offset, final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        checkUnderflow(offset, length);
+        if (length == 0) {
+            return Bytes.EMPTY;
+        }
+        final byte[] copy = new byte[Math.toIntExact(length)];
+        copyTo(offset, copy, 0, copy.length);
+        return Bytes.wrap(copy);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned buffer shares this buffer's memory, so changes to either are visible in both.
+     */
+    @NonNull
+    @Override
+    public SegmentedBufferedData slice(final long offset, final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (offset < 0 || offset > capacity - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", capacity=" + capacity);
+        }
+        return new SegmentedBufferedData(segments, shift, base + offset, length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getInt(final long offset) {
+        checkUnderflow(offset, Integer.BYTES);
+        if (inOneSegment(offset, Integer.BYTES)) {
+            return segment(offset).getInt(index(offset));
+        }
+        return BufferedSequentialData.super.getInt(offset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getLong(final long offset) {
+        checkUnderflow(offset, Long.BYTES);
+        if (inOneSegment(offset, Long.BYTES)) {
+            return segment(offset).getLong(index(offset));
+        }
+        return BufferedSequentialData.super.getLong(offset);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public float getFloat(final long offset) {
+        return Float.intBitsToFloat(getInt(offset));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double getDouble(final long offset) {
+        return Double.longBitsToDouble(getLong(offset));
+    }
+
+    // ================================================================================================================
+    // ReadableSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public byte readByte() {
+        if (position >= limit) {
+            throw new BufferUnderflowException();
+        }
+        final byte b = segment(position).get(index(position));
+        position++;
+        return b;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final byte[] dst, final int offset, final int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maxLength not allowed");
+        }
+        final int len = (int) Math.min(maxLength, limit - position);
+        copyTo(position, dst, offset, len);
+        position += len;
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final ByteBuffer dst) {
+        final int len = (int) Math.min(dst.remaining(), limit - position);
+        copyTo(position, dst, len);
+        dst.position(dst.position() + len);
+        position += len;
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final BufferedData dst) {
+        return readBytes(dst.buffer);
+    }
+
+    /** {@inheritDoc} */
+    @NonNull
+    @Override
+    public Bytes readBytes(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (limit - position < length) {
+            throw new BufferUnderflowException();
+        }
+        final Bytes bytes = getBytes(position, length);
+        position += length;
+        return bytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The returned view shares this buffer's memory, so changes to either are visible in both.
+     */
+    @NonNull
+    @Override
+    public SegmentedBufferedData view(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative");
+        }
+        if (length > limit - position) {
+            throw new BufferUnderflowException();
+        }
+        final SegmentedBufferedData view = slice(position, length);
+        position += length;
+        return view;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readInt() {
+        if (limit - position >= Integer.BYTES && inOneSegment(position, Integer.BYTES)) {
+            final int value = segment(position).getInt(index(position));
+            position += Integer.BYTES;
+            return value;
+        }
+        return ReadableSequentialData.super.readInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readLong() {
+        if (limit - position >= Long.BYTES && inOneSegment(position, Long.BYTES)) {
+            final long value = segment(position).getLong(index(position));
+            position += Long.BYTES;
+            return value;
+        }
+        return ReadableSequentialData.super.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readVarInt(final boolean zigZag) {
+        return (int) readVarLong(zigZag);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>When the varint is within one segment it is read straight from the segment, otherwise it is read a byte at
+     * a time.
+     */
+    @Override
+    public long readVarLong(final boolean zigZag) {
+        if (limit - position < 10 || !inOneSegment(position, 10)) {
+            return readVarIntLongSlow(zigZag);
+        }
+        final ByteBuffer segment = segment(position);
+        final int start = index(position);
+        int index = start;
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = segment.get(index++);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                position += index - start;
+                return zigZag ? (result >>> 1) ^ -(result & 1) : result;
+            }
+        }
+        throw new DataEncodingException("Malformed Varlong");
+    }
+
+    // ================================================================================================================
+    // WritableSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeByte(final byte b) {
+        if (position >= limit) {
+            throw new BufferOverflowException();
+        }
+        segment(position).put(index(position), b);
+        position++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final byte[] src, final int offset, final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be >= 0");
+        }
+        if (limit - position < length) {
+            throw new BufferOverflowException();
+        }
+        copyFrom(position, src, offset, length);
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final ByteBuffer src) {
+        final int len = src.remaining();
+        if (limit - position < len) {
+            throw new BufferOverflowException();
+        }
+        copyFrom(position, src, len);
+        src.position(src.position() + len);
+        position += len;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final BufferedData src) {
+        writeBytes(src.buffer);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeInt(final int value) {
+        if (limit - position >= Integer.BYTES && inOneSegment(position, Integer.BYTES)) {
+            segment(position).putInt(index(position), value);
+            position += Integer.BYTES;
+        } else {
+            WritableSequentialData.super.writeInt(value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeLong(final long value) {
+        if (limit - position >= Long.BYTES && inOneSegment(position, Long.BYTES)) {
+            segment(position).putLong(index(position), value);
+            position += Long.BYTES;
+        } else {
+            WritableSequentialData.super.writeLong(value);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeFloat(final float value) {
+        writeInt(Float.floatToIntBits(value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeDouble(final double value) {
+        writeLong(Double.doubleToLongBits(value));
+    }
+}
@@ -0,0 +1,76 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import com.hedera.pbj.runtime.io.UnsafeUtils;
+
+/**
+ * Decodes varints from a byte array a word at a time. The first 8 bytes of a varint are loaded as one little endian
+ * long, the byte that ends the varint is found from the continuation bits of all 8 bytes at once, and the 7 bit
+ * groups are packed together with a few shifts and masks rather than a branch per byte.
+ *
+ * <p>Only used where at least 8 bytes of the array can be read, callers fall back to decoding byte by byte near the
+ * end of the array.
+ */
+final class VarInts {
+    /** The continuation bit of each byte in a long */
+    private static final long CONTINUATION_BITS = 0x8080808080808080L;
+    /** The 7 data bits of each byte in a long */
+    private static final long DATA_BITS = 0x7F7F7F7F7F7F7F7FL;
+
+    private VarInts() {
+    }
+
+    /**
+     * Get the number of bytes of the varint starting at {@code index} in the array.
+     *
+     * @param array the array holding the varint
+     * @param index the index of the first byte of the varint, must be &gt;= 0
+     * @param end the index just after the last byte that may be part of the varint, must be &lt;= array length
+     * @return 1 to 10, or 0 if there are fewer than 8 bytes in the array from {@code index}, or the varint does not
+     *         end within 10 bytes before {@code end}, which callers handle by decoding byte by byte
+     */
+    static int length(final byte[] array, final int index, final int end) {
+        if (array.length - index < Long.BYTES) {
+            return 0;
+        }
+        // The continuation bit is clear only in the last byte, so the lowest bit of stops marks the last byte
+        final long stops = ~UnsafeUtils.getLongLittleEndian(array, index) & CONTINUATION_BITS;
+        final int length;
+        if (stops != 0) {
+            length = (Long.numberOfTrailingZeros(stops) + 1) >>> 3;
+        } else if (end - index >= 9 && array[index + 8] >= 0) {
+            length = 9;
+        } else if (end - index >= 10 && array[index + 9] >= 0) {
+            length = 10;
+        } else {
+            return 0;
+        }
+        return length <= end - index ? length : 0;
+    }
+
+    /**
+     * Get the value of the varint starting at {@code index} in the array. Bits past 64 in the tenth byte are
+     * ignored, the same as when decoding byte by byte.
+     *
+     * @param array the array holding the varint
+     * @param index the index of the first byte of the varint
+     * @param length the number of bytes of the varint, as returned by {@link #length(byte[], int, int)}
+     * @return the value of the varint, not zigzag decoded
+     */
+    static long value(final byte[] array, final int index, final int length) {
+        final long word = UnsafeUtils.getLongLittleEndian(array, index);
+        final long stops = ~word & CONTINUATION_BITS;
+        // keep the bytes up to and including the last byte, all 8 when the varint is longer
+        long x = word & (stops ^ (stops - 1)) & DATA_BITS;
+        // pack the 7 bit groups together, first in pairs, then fours, then all eight
+        x = (x & 0x007F007F007F007FL) | ((x & 0x7F007F007F007F00L) >>> 1);
+        x = (x & 0x00003FFF00003FFFL) | ((x & 0x3FFF00003FFF0000L) >>> 2);
+        x = (x & 0x000000000FFFFFFFL) | ((x & 0x0FFFFFFF00000000L) >>> 4);
+        if (length > 8) {
+            x |= (long) (array[index + 8] & 0x7F) << 56;
+            if (length > 9) {
+                x |= (long) array[index + 9] << 63;
+            }
+        }
+        return x;
+    }
+}
@@ -0,0 +1,16 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.buffer.BufferPool;
+
+/**
+ * The pool of off heap buffers shared by {@link ReadableChannelData} and {@link WritableChannelData}, so that opening
+ * a channel does not allocate a new direct buffer. Channels read and write direct buffers without copying them
+ * through a temporary one.
+ */
+final class DirectBuffers {
+    /** The pool, of buffers up to 1MB, which covers the default buffer size of both classes */
+    static final BufferPool POOL = new BufferPool(true, 1024 * 1024, 2, 16);
+
+    /** Instance should never be created */
+    private DirectBuffers() {}
+}
@@ -0,0 +1,533 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.DataAccessException;
+import com.hedera.pbj.runtime.io.DataEncodingException;
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferPool;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <p>A {@code ReadableSequentialData} backed by a blocking {@link ReadableByteChannel}, such as a {@link FileChannel}
+ * or a socket channel. If the instance is closed, the underlying channel is closed too.
+ *
+ * <p>Bytes are read ahead from the channel into an off heap buffer taken from a pool, up to the current
+ * {@link #limit()}, and fixed size values and var ints are decoded straight from that buffer. Reads of byte arrays and
+ * buffers at least as large as the buffer go straight from the channel into the destination. Skipping over bytes of a
+ * {@link SeekableByteChannel} moves its position rather than reading them, and
+ * {@link #transferTo(WritableByteChannel, long)} copies bytes to another channel without decoding them, which for
+ * files lets the operating system copy them without passing them through Java at all.
+ *
+ * <p>As bytes past the last value read may have been taken from the channel, it should not be read from by anything
+ * else.
+ */
+public class ReadableChannelData implements ReadableSequentialData, AutoCloseable {
+
+    /** The default size of the read ahead buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** The underlying channel */
+    private final ReadableByteChannel channel;
+    /** The lease on the buffer, given back on {@link #close()} */
+    private final BufferPool.Lease lease;
+    /** Buffer of bytes read from the channel but not yet consumed, between its position and limit */
+    private final BufferedData buffer;
+    /** The same buffer as {@link #buffer}, for reading into it from the channel */
+    private final ByteBuffer byteBuffer;
+    /** The current position, aka the number of bytes read */
+    private long position = 0;
+    /** The current limit for reading, defaults to Long.MAX_VALUE basically unlimited */
+    private long limit = Long.MAX_VALUE;
+    /** Set to true when this instance is closed, after which the buffer belongs to the pool again */
+    private boolean closed = false;
+    /** Set to true when we reach the end of the underlying channel */
+    private boolean channelEof = false;
+
+    /**
+     * Creates a {@code ReadableChannelData} on top of the given channel, with a read ahead buffer of
+     * {@link #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param channel the underlying channel, can not be null
+     */
+    public ReadableChannelData(@NonNull final ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a {@code ReadableChannelData} on top of the given channel.
+     *
+     * @param channel the underlying channel, can not be null
+     * @param bufferSize the size of the read ahead buffer, must be at least 16 bytes
+     */
+    public ReadableChannelData(@NonNull final ReadableByteChannel channel, final int bufferSize) {
+        if (bufferSize < 2 * Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes but was " + bufferSize);
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.lease = DirectBuffers.POOL.acquire(bufferSize);
+        this.buffer = lease.buffer();
+        this.byteBuffer = lease.byteBuffer();
+        // nothing has been read yet
+        byteBuffer.limit(0);
+    }
+
+    /**
+     * Opens the given file for reading, with a read ahead buffer of {@link #DEFAULT_BUFFER_SIZE} bytes. The file is
+     * closed when this instance is closed.
+     *
+     * @param file the file to read, can not be null
+     * @throws IOException if the file cannot be opened
+     */
+    public ReadableChannelData(@NonNull final Path file) throws IOException {
+        this(FileChannel.open(Objects.requireNonNull(file), StandardOpenOption.READ));
+    }
+
+    // ================================================================================================================
+    // AutoCloseable Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        lease.close();
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // We can ignore this.
+        }
+    }
+
+    // ================================================================================================================
+    // SequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long capacity() {
+        return Long.MAX_VALUE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long limit() {
+        return limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void limit(long limit) {
+        // Any attempt to set the limit must be clamped between position on the low end and capacity on the high end.
+        this.limit = Math.min(capacity(), Math.max(position, limit));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long remaining() {
+        return isEof() ? 0 : limit - position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasRemaining() {
+        return !isEof() && position < limit;
+    }
+
+    // ================================================================================================================
+    // ReadableSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public byte readByte() {
+        if (closed || position >= limit) {
+            throw new BufferUnderflowException();
+        }
+        if (!byteBuffer.hasRemaining() && !fill(1)) {
+            throw new EOFException();
+        }
+        position++;
+        return byteBuffer.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final byte[] dst, final int offset, final int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maxLength not allowed");
+        }
+        final int length = (int) Math.min(maxLength, remaining());
+        if (length == 0) {
+            return 0;
+        }
+        // Check the bounds up front so dst is not partially written when they are wrong
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        return readBytes(ByteBuffer.wrap(dst, offset, length));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final ByteBuffer dst) {
+        final int length = (int) Math.min(dst.remaining(), remaining());
+        if (length == 0) {
+            return 0;
+        }
+        final int dstLimit = dst.limit();
+        dst.limit(dst.position() + length);
+        int read = 0;
+        try {
+            // First take what we already have buffered, then read the rest, large reads go straight into dst
+            while (read < length) {
+                final int wanted = length - read;
+                final int n;
+                if (!byteBuffer.hasRemaining() && wanted >= byteBuffer.capacity()) {
+                    n = readFromChannel(dst);
+                } else if (fill(1)) {
+                    n = copyBuffered(dst, wanted);
+                } else {
+                    break;
+                }
+                read += n;
+                // position is kept up to date as it limits how far fill() reads ahead
+                position += n;
+                if (n == 0) {
+                    break;
+                }
+            }
+        } finally {
+            dst.limit(dstLimit);
+        }
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final BufferedData dst) {
+        final long length = Math.min(dst.remaining(), remaining());
+        long read = 0;
+        while (read < length && fill(1)) {
+            final int n = (int) Math.min(length - read, byteBuffer.remaining());
+            final int bufferLimit = byteBuffer.limit();
+            byteBuffer.limit(byteBuffer.position() + n);
+            dst.writeBytes(buffer);
+            byteBuffer.limit(bufferLimit);
+            read += n;
+            position += n;
+        }
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @NonNull Bytes readBytes(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        final var bytes = new byte[length];
+        if (readBytes(bytes, 0, length) != length) {
+            throw new EOFException();
+        }
+        return Bytes.wrap(bytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readInt() {
+        ensureBuffered(Integer.BYTES);
+        position += Integer.BYTES;
+        return buffer.readInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readInt(@NonNull final ByteOrder byteOrder) {
+        final int value = readInt();
+        return byteOrder == ByteOrder.LITTLE_ENDIAN ? Integer.reverseBytes(value) : value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readLong() {
+        ensureBuffered(Long.BYTES);
+        position += Long.BYTES;
+        return buffer.readLong();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readLong(@NonNull final ByteOrder byteOrder) {
+        final long value = readLong();
+        return byteOrder == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(value) : value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readVarInt(final boolean zigZag) {
+        // Decoding as a long gives the same low 32 bits, including for zigzag encoded ints
+        return (int) readVarLong(zigZag);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readVarLong(final boolean zigZag) {
+        if (closed || position >= limit) {
+            throw new BufferUnderflowException();
+        }
+        long result = 0;
+        int count = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (count == limit - position) {
+                throw new BufferUnderflowException();
+            }
+            // Only wait for the next byte of the var int, more may never come on a socket or pipe until this var int
+            // has been answered
+            if (count == byteBuffer.remaining() && !fill(count + 1)) {
+                throw new EOFException();
+            }
+            final byte b = byteBuffer.get(byteBuffer.position() + count++);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                byteBuffer.position(byteBuffer.position() + count);
+                position += count;
+                return zigZag ? (result >>> 1) ^ -(result & 1) : result;
+            }
+        }
+        throw new DataEncodingException("Malformed Varlong");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip(final long n) {
+        final long clamped = Math.min(n, remaining());
+        if (clamped <= 0) {
+            return 0;
+        }
+        // Skip what we have buffered first, then move the channel's position or read and discard the rest
+        final long start = position;
+        final int buffered = (int) Math.min(clamped, byteBuffer.remaining());
+        byteBuffer.position(byteBuffer.position() + buffered);
+        position += buffered;
+        try {
+            if (position - start < clamped && channel instanceof SeekableByteChannel seekable) {
+                final long channelPosition = seekable.position();
+                final long newPosition = Math.min(seekable.size(), channelPosition + (clamped - (position - start)));
+                seekable.position(newPosition);
+                position += newPosition - channelPosition;
+                channelEof = position - start < clamped;
+            }
+            while (position - start < clamped && fill(1)) {
+                final int count = (int) Math.min(clamped - (position - start), byteBuffer.remaining());
+                byteBuffer.position(byteBuffer.position() + count);
+                position += count;
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        }
+        return position - start;
+    }
+
+    /**
+     * Copy the next {@code length} bytes to {@code target} without decoding them, as if they had been read. Bytes
+     * already buffered are written first. Then if the underlying channel is a file channel the rest are copied with
+     * {@link FileChannel#transferTo}, or if the target is a file channel with {@link FileChannel#transferFrom}, which
+     * the operating system can do without copying them into Java memory. Otherwise they are copied through the
+     * buffer. This is for piping large {@code bytes} fields from one file to another.
+     *
+     * @param target the channel to copy the bytes to
+     * @param length the number of bytes to copy
+     * @return the number of bytes copied, which is {@code length}
+     * @throws BufferUnderflowException if there are fewer than {@code length} bytes remaining
+     * @throws EOFException if the end of the channel is reached first
+     * @throws DataAccessException if an I/O error occurs
+     */
+    public long transferTo(@NonNull final WritableByteChannel target, final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        if (length > remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final long end = position + length;
+        try {
+            if (byteBuffer.hasRemaining()) {
+                position += writeBuffered(target, (int) Math.min(length, byteBuffer.remaining()));
+            }
+            if (position < end && channel instanceof FileChannel file) {
+                while (position < end) {
+                    final long n = file.transferTo(file.position(), end - position, target);
+                    if (n <= 0 && file.position() >= file.size()) {
+                        channelEof = true;
+                        throw new EOFException();
+                    }
+                    file.position(file.position() + n);
+                    position += n;
+                }
+            } else if (position < end && target instanceof FileChannel file) {
+                while (position < end) {
+                    final long n = file.transferFrom(channel, file.position(), end - position);
+                    if (n <= 0) {
+                        // a blocking channel only gives nothing at its end
+                        channelEof = true;
+                        throw new EOFException();
+                    }
+                    file.position(file.position() + n);
+                    position += n;
+                }
+            }
+            while (position < end) {
+                if (!fill(1)) {
+                    throw new EOFException();
+                }
+                position += writeBuffered(target, (int) Math.min(end - position, byteBuffer.remaining()));
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        }
+        return length;
+    }
+
+    // ================================================================================================================
+    // Buffer Methods
+
+    /**
+     * Get if there is nothing more to read, either because this instance is closed or because the end of the
+     * channel has been reached and all buffered bytes have been consumed.
+     *
+     * @return true if nothing more can be read
+     */
+    private boolean isEof() {
+        return closed || (channelEof && !byteBuffer.hasRemaining());
+    }
+
+    /**
+     * Make sure there are at least {@code needed} unconsumed bytes in the buffer, reading from the channel if needed.
+     *
+     * @param needed the number of bytes needed, no more than the buffer size
+     * @throws BufferUnderflowException if there are fewer than {@code needed} bytes before the limit
+     * @throws EOFException if the end of the channel is reached first
+     */
+    private void ensureBuffered(final int needed) {
+        if (remaining() < needed) {
+            throw new BufferUnderflowException();
+        }
+        if (byteBuffer.remaining() < needed && !fill(needed)) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Read from the channel into the buffer until there are at least {@code needed} unconsumed bytes in it. As many
+     * bytes as the channel gives are read, up to the size of the buffer and the limit.
+     *
+     * @param needed the number of bytes needed, no more than the buffer size
+     * @return true if there are at least {@code needed} bytes buffered, false if the end of the channel was reached
+     */
+    private boolean fill(final int needed) {
+        int buffered = byteBuffer.remaining();
+        if (buffered >= needed) {
+            return true;
+        }
+        // Move the unconsumed bytes to the front of the buffer and switch it to writing after them
+        byteBuffer.compact();
+        try {
+            while (buffered < needed && !channelEof) {
+                // Never read past the limit, whatever comes after it may be meant for someone else
+                final long toLimit = limit - position - buffered;
+                final int room = byteBuffer.capacity() - buffered;
+                byteBuffer.limit(buffered + (int) Math.max(needed - buffered, Math.min(room, toLimit)));
+                final int n = channel.read(byteBuffer);
+                if (n < 0) {
+                    channelEof = true;
+                } else {
+                    buffered += n;
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        } finally {
+            byteBuffer.flip();
+        }
+        return buffered >= needed;
+    }
+
+    /**
+     * Copy up to {@code maxLength} buffered bytes into {@code dst}.
+     *
+     * @param dst the buffer to copy into
+     * @param maxLength the most bytes to copy
+     * @return the number of bytes copied
+     */
+    private int copyBuffered(@NonNull final ByteBuffer dst, final int maxLength) {
+        final int n = Math.min(maxLength, byteBuffer.remaining());
+        final int bufferLimit = byteBuffer.limit();
+        byteBuffer.limit(byteBuffer.position() + n);
+        dst.put(byteBuffer);
+        byteBuffer.limit(bufferLimit);
+        return n;
+    }
+
+    /**
+     * Write {@code length} buffered bytes to {@code target}.
+     *
+     * @param target the channel to write to
+     * @param length the number of bytes to write, no more than are buffered
+     * @return the number of bytes written, which is {@code length}
+     * @throws IOException if the bytes cannot be written
+     */
+    private int writeBuffered(@NonNull final WritableByteChannel target, final int length) throws IOException {
+        final int bufferLimit = byteBuffer.limit();
+        byteBuffer.limit(byteBuffer.position() + length);
+        try {
+            while (byteBuffer.hasRemaining()) {
+                target.write(byteBuffer);
+            }
+        } finally {
+            byteBuffer.limit(bufferLimit);
+        }
+        return length;
+    }
+
+    /**
+     * Read from the channel straight into {@code dst} until it is full or the end of the channel is reached.
+     *
+     * @param dst the buffer to read into
+     * @return the number of bytes read
+     */
+    private int readFromChannel(@NonNull final ByteBuffer dst) {
+        int read = 0;
+        try {
+            while (dst.hasRemaining() && !channelEof) {
+                final int n = channel.read(dst);
+                if (n < 0) {
+                    channelEof = true;
+                } else {
+                    read += n;
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        }
+        return read;
+    }
+}
@@ -1,35 +1,92 @@
 package com.hedera.pbj.runtime.io.stream;
 
 import com.hedera.pbj.runtime.io.DataAccessException;
+import com.hedera.pbj.runtime.io.DataEncodingException;
 import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import static java.util.Objects.requireNonNull;
 
 /**
  * <p>A {@code ReadableSequentialData} backed by an input stream. If the instance is closed,
  * the underlying {@link InputStream} is closed too.
+ *
+ * <p>Bytes are read from the stream into an internal buffer and fixed size values, var ints and byte arrays are
+ * decoded straight from that buffer. By default only the bytes needed for the value being read are taken from the
+ * stream, so a stream can be shared with other readers and nothing after the last value read is consumed. When
+ * created with {@link #ReadableStreamingData(InputStream, int)} the buffer is instead filled with as many bytes as
+ * the stream provides, up to the current {@link #limit()}, which is much faster for streams that are costly to read
+ * from in small pieces, like a {@link java.io.FileInputStream}. In that mode bytes past the last value read may have
+ * been taken from the underlying stream, so the stream should not be read from by anything else.
  */
 public class ReadableStreamingData implements ReadableSequentialData, AutoCloseable {
 
+    /** The default size of the read ahead buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
     /** The underlying input stream */
     private final InputStream in;
     /** The current position, aka the number of bytes read */
     private long position = 0;
     /** The current limit for reading, defaults to Long.MAX_VALUE basically unlimited */
     private long limit = Long.MAX_VALUE;
-    /** Set to true when we encounter -1 from the underlying stream, or this instance is closed */
-    private boolean eof = false;
+    /** Set to true when this instance is closed */
+    private boolean closed = false;
+    /** Set to true when we encounter -1 from the underlying stream */
+    private boolean streamEof = false;
+    /** True if the buffer is filled with as many bytes as are available, rather than just the bytes needed */
+    private final boolean readAhead;
+    /** Buffer of bytes read from the stream but not yet consumed, between bufferPos and bufferEnd */
+    private final byte[] buffer;
+    /** The index in buffer of the next byte to consume */
+    private int bufferPos = 0;
+    /** The index in buffer after the last byte read from the stream */
+    private int bufferEnd = 0;
 
     /**
-     * Creates a {@code FilterInputStream} that implements {@code DataInput} API.
+     * Creates a {@code FilterInputStream} that implements {@code DataInput} API. No bytes past the ones needed for
+     * each read are taken from the stream.
      *
      * @param in the underlying input stream, can not be null
      */
     public ReadableStreamingData(@NonNull final InputStream in) {
         this.in = requireNonNull(in);
+        this.readAhead = false;
+        this.buffer = new byte[Long.BYTES];
+    }
+
+    /**
+     * Creates a {@code FilterInputStream} that implements {@code DataInput} API, reading ahead from the stream into
+     * a buffer of {@code bufferSize} bytes. Bytes are never read from the stream past the current {@link #limit()}.
+     *
+     * @param in the underlying input stream, can not be null
+     * @param bufferSize the size of the read ahead buffer, must be at least 16 bytes
+     */
+    public ReadableStreamingData(@NonNull final InputStream in, final int bufferSize) {
+        if (bufferSize < 2 * Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes but was " + bufferSize);
+        }
+        this.in = requireNonNull(in);
+        this.readAhead = true;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Opens the given file for reading, reading ahead into a buffer of {@link #DEFAULT_BUFFER_SIZE} bytes. The
+     * file is closed when this instance is closed.
+     *
+     * @param file the file to read, can not be null
+     * @throws IOException if the file cannot be opened
+     */
+    public ReadableStreamingData(@NonNull final Path file) throws IOException {
+        this(Files.newInputStream(requireNonNull(file)), DEFAULT_BUFFER_SIZE);
     }
 
     // ================================================================================================================
@@ -39,7 +96,8 @@ public class ReadableStreamingData implements ReadableSequentialData, AutoClosea
     @Override
     public void close() {
         try {
-            eof = true;
+            closed = true;
+            bufferPos = bufferEnd = 0;
             in.close();
         } catch (IOException ignored) {
             // We can ignore this.
@@ -81,13 +139,13 @@ public class ReadableStreamingData implements ReadableSequentialData, AutoClosea
     /** {@inheritDoc} */
     @Override
     public long remaining() {
-        return eof ? 0 : limit - position;
+        return isEof() ? 0 : limit - position;
     }
 
     /** {@inheritDoc} */
     @Override
     public boolean hasRemaining() {
-        return !eof && position < limit;
+        return !isEof() && position < limit;
     }
 
     // ================================================================================================================
@@ -98,38 +156,301 @@ public class ReadableStreamingData implements ReadableSequentialData, AutoClosea
     public byte readByte() {
         // It should NEVER be possible for position to exceed limit, but being extra safe here
         // using >= instead of just ==
-        if (eof || position >= limit) {
+        if (closed || position >= limit) {
             throw new BufferUnderflowException();
         }
+        if (bufferPos == bufferEnd) {
+            if (readAhead) {
+                if (!fill(1)) {
+                    throw new EOFException();
+                }
+            } else {
+                // Take just this one byte from the stream, so we never read past what has been asked for
+                return readByteFromStream();
+            }
+        }
+        position++;
+        return buffer[bufferPos++];
+    }
 
-        // We know result is a byte, because we've already checked for EOF, and we know that
-        // it will only ever be a byte, unless it is EOF, in which case it is a -1 int.
-        try {
-            final var result = in.read();
-            if (result == -1) {
-                eof = true;
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final byte[] dst, final int offset, final int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maxLength not allowed");
+        }
+        final int length = (int) Math.min(maxLength, remaining());
+        if (length == 0) {
+            return 0;
+        }
+        // Check the bounds up front so dst is not partially written when they are wrong
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " and length " + length
+                    + " out of bounds for array of length " + dst.length);
+        }
+        // First take what we already have buffered
+        int read = Math.min(length, bufferEnd - bufferPos);
+        System.arraycopy(buffer, bufferPos, dst, offset, read);
+        bufferPos += read;
+        position += read;
+        // Then read the rest, large reads go straight into dst, small ones through the buffer
+        while (read < length && !streamEof) {
+            final int wanted = length - read;
+            final int n;
+            if (readAhead && wanted < buffer.length) {
+                fill(wanted);
+                n = Math.min(wanted, bufferEnd - bufferPos);
+                System.arraycopy(buffer, bufferPos, dst, offset + read, n);
+                bufferPos += n;
+            } else {
+                n = readFromStream(dst, offset + read, wanted);
+            }
+            read += n;
+            position += n;
+        }
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readBytes(@NonNull final ByteBuffer dst) {
+        if (!dst.hasArray()) {
+            return ReadableSequentialData.super.readBytes(dst);
+        }
+        final int read = (int) readBytes(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+        dst.position(dst.position() + read);
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public @NonNull Bytes readBytes(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length not allowed");
+        }
+        if (remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        final var bytes = new byte[length];
+        if (readBytes(bytes, 0, length) != length) {
+            throw new EOFException();
+        }
+        return Bytes.wrap(bytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readInt() {
+        ensureBuffered(Integer.BYTES);
+        final byte[] buf = buffer;
+        final int p = bufferPos;
+        bufferPos += Integer.BYTES;
+        position += Integer.BYTES;
+        return ((buf[p] & 0xFF) << 24) | ((buf[p + 1] & 0xFF) << 16) | ((buf[p + 2] & 0xFF) << 8) | (buf[p + 3] & 0xFF);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readInt(@NonNull final ByteOrder byteOrder) {
+        final int value = readInt();
+        return byteOrder == ByteOrder.LITTLE_ENDIAN ? Integer.reverseBytes(value) : value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readLong() {
+        ensureBuffered(Long.BYTES);
+        final byte[] buf = buffer;
+        final int p = bufferPos;
+        bufferPos += Long.BYTES;
+        position += Long.BYTES;
+        return ((long) buf[p] << 56)
+                | ((long) (buf[p + 1] & 0xFF) << 48)
+                | ((long) (buf[p + 2] & 0xFF) << 40)
+                | ((long) (buf[p + 3] & 0xFF) << 32)
+                | ((long) (buf[p + 4] & 0xFF) << 24)
+                | ((buf[p + 5] & 0xFF) << 16)
+                | ((buf[p + 6] & 0xFF) << 8)
+                | (buf[p + 7] & 0xFF);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readLong(@NonNull final ByteOrder byteOrder) {
+        final long value = readLong();
+        return byteOrder == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(value) : value;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int readVarInt(final boolean zigZag) {
+        // Decoding as a long gives the same low 32 bits, including for zigzag encoded ints
+        return (int) readVarLong(zigZag);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long readVarLong(final boolean zigZag) {
+        if (!readAhead) {
+            // Without read ahead we cannot know how long the var int is without reading it one byte at a time
+            return readVarIntLongSlow(zigZag);
+        }
+        if (closed || position >= limit) {
+            throw new BufferUnderflowException();
+        }
+        long result = 0;
+        int count = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (count == limit - position) {
+                throw new BufferUnderflowException();
+            }
+            // Only wait for the next byte of the var int, more may never come on a socket or pipe until this var int
+            // has been answered
+            if (bufferPos + count == bufferEnd && !fill(count + 1)) {
                 throw new EOFException();
             }
-            position++;
-            return (byte) result;
-        } catch (IOException e) {
-            throw new DataAccessException(e);
+            final byte b = buffer[bufferPos + count++];
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                bufferPos += count;
+                position += count;
+                return zigZag ? (result >>> 1) ^ -(result & 1) : result;
+            }
         }
+        throw new DataEncodingException("Malformed Varlong");
     }
 
     /** {@inheritDoc} */
     @Override
     public long skip(final long n) {
-        final long clamped = Math.min(n, limit);
-
+        final long clamped = Math.min(n, remaining());
         if (clamped <= 0) {
             return 0;
         }
+        // Skip what we have buffered first, then skip over the rest in the underlying stream
+        long skipped = Math.min(clamped, bufferEnd - bufferPos);
+        bufferPos += (int) skipped;
+        try {
+            while (skipped < clamped && !streamEof) {
+                final long numSkipped = in.skip(clamped - skipped);
+                if (numSkipped > 0) {
+                    skipped += numSkipped;
+                } else if (in.read() == -1) {
+                    // The stream may skip nothing before its end, read a byte to find out if that is where we are
+                    streamEof = true;
+                } else {
+                    skipped++;
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        } finally {
+            position += skipped;
+        }
+        return skipped;
+    }
+
+    // ================================================================================================================
+    // Buffer Methods
 
+    /**
+     * Get if there is nothing more to read, either because this instance is closed or because the end of the
+     * stream has been reached and all buffered bytes have been consumed.
+     *
+     * @return true if nothing more can be read
+     */
+    private boolean isEof() {
+        return closed || (streamEof && bufferPos == bufferEnd);
+    }
+
+    /**
+     * Make sure there are at least {@code needed} unconsumed bytes in the buffer, reading from the stream if needed.
+     *
+     * @param needed the number of bytes needed, no more than the buffer size
+     * @throws BufferUnderflowException if there are fewer than {@code needed} bytes before the limit
+     * @throws EOFException if the end of the stream is reached first
+     */
+    private void ensureBuffered(final int needed) {
+        if (remaining() < needed) {
+            throw new BufferUnderflowException();
+        }
+        if (bufferEnd - bufferPos < needed && !fill(needed)) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Read from the stream into the buffer until there are at least {@code needed} unconsumed bytes in it. When
+     * reading ahead, as many bytes as the stream gives up to the buffer size and the limit are read, otherwise just
+     * the missing bytes are read.
+     *
+     * @param needed the number of bytes needed, no more than the buffer size
+     * @return true if there are at least {@code needed} bytes buffered, false if the end of the stream was reached
+     */
+    private boolean fill(final int needed) {
+        int buffered = bufferEnd - bufferPos;
+        if (buffered >= needed) {
+            return true;
+        }
+        if (bufferPos > 0 && buffer.length - bufferPos < needed) {
+            // Move the unconsumed bytes to the front of the buffer to make room
+            System.arraycopy(buffer, bufferPos, buffer, 0, buffered);
+            bufferPos = 0;
+            bufferEnd = buffered;
+        } else if (buffered == 0) {
+            bufferPos = bufferEnd = 0;
+        }
+        while (buffered < needed && !streamEof) {
+            int toRead = needed - buffered;
+            if (readAhead) {
+                // Never read past the limit, whatever comes after it may be meant for someone else
+                final long toLimit = limit - position - buffered;
+                toRead = (int) Math.max(toRead, Math.min(buffer.length - bufferEnd, toLimit));
+            }
+            final int n = readFromStream(buffer, bufferEnd, toRead);
+            bufferEnd += n;
+            buffered += n;
+        }
+        return buffered >= needed;
+    }
+
+    /**
+     * Read a single byte directly from the stream, bypassing the buffer.
+     *
+     * @return the byte read
+     * @throws EOFException if the end of the stream has been reached
+     */
+    private byte readByteFromStream() {
+        if (streamEof) {
+            throw new EOFException();
+        }
         try {
-            long numSkipped = in.skip(clamped);
-            position += numSkipped;
-            return numSkipped;
+            final int result = in.read();
+            if (result == -1) {
+                streamEof = true;
+                throw new EOFException();
+            }
+            position++;
+            return (byte) result;
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        }
+    }
+
+    /**
+     * Read up to {@code length} bytes from the stream into {@code dst}, setting {@link #streamEof} if the end of
+     * the stream is reached.
+     *
+     * @return the number of bytes read, 0 if the end of the stream was reached
+     */
+    private int readFromStream(@NonNull final byte[] dst, final int offset, final int length) {
+        try {
+            final int n = in.read(dst, offset, length);
+            if (n < 0) {
+                streamEof = true;
+                return 0;
+            }
+            return n;
         } catch (IOException e) {
             throw new DataAccessException(e);
         }
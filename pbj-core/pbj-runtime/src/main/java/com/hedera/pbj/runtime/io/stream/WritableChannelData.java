@@ -0,0 +1,486 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.DataAccessException;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferPool;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.buffer.CompositeBytes;
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <p>A {@code WritableSequentialData} backed by a {@link WritableByteChannel}, such as a {@link FileChannel} or a
+ * socket channel. If the instance is closed, the underlying channel is closed too.
+ *
+ * <p>Writes are combined in an off heap buffer taken from a pool, which is written to the channel when full, on
+ * {@link #flush()} and on {@link #close()}. Byte arrays, buffers and {@link Bytes} too large to fit in what is left of
+ * the buffer are not copied into it. Instead they are written to the channel together with the buffered bytes, in
+ * one gathering write if the channel is a {@link GatheringByteChannel}. {@link #transferFrom(FileChannel, long, long)}
+ * and {@link #transferFrom(ReadableChannelData, long)} copy bytes straight from another channel, which for files lets
+ * the operating system copy them without passing them through Java at all.
+ *
+ * <p>{@link #flush()} must be called before the written bytes are read back from the channel.
+ */
+public class WritableChannelData implements WritableSequentialData, AutoCloseable, Flushable {
+
+    /** The default size of the write combining buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** The underlying channel */
+    private final WritableByteChannel channel;
+    /** The lease on the buffer, given back on {@link #close()} */
+    private final BufferPool.Lease lease;
+    /** Buffer of bytes written but not yet passed on to the channel, between zero and its position */
+    private final BufferedData buffer;
+    /** The same buffer as {@link #buffer}, for writing it to the channel */
+    private final ByteBuffer byteBuffer;
+    /** The current position, aka the number of bytes written */
+    private long position = 0;
+    /** The current limit for writing, defaults to Long.MAX_VALUE, which is basically unlimited */
+    private long limit;
+    /** The maximum capacity. Normally this is unbounded ({@link Long#MAX_VALUE}), it is the position once closed */
+    private long capacity;
+    /** Set to true when this instance is closed, after which the buffer belongs to the pool again */
+    private boolean closed = false;
+
+    /**
+     * Creates a {@code WritableChannelData} on top of the given channel, with a buffer of
+     * {@link #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param channel the underlying channel to write to, can not be null
+     */
+    public WritableChannelData(@NonNull final WritableByteChannel channel) {
+        this(channel, Long.MAX_VALUE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a {@code WritableChannelData} on top of the given channel.
+     *
+     * @param channel the underlying channel to write to, can not be null
+     * @param capacity the maximum capacity of the channel, {@link Long#MAX_VALUE} for unbounded
+     * @param bufferSize the size of the write combining buffer, must be at least 16 bytes
+     */
+    public WritableChannelData(
+            @NonNull final WritableByteChannel channel, final long capacity, final int bufferSize) {
+        if (bufferSize < 2 * Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes but was " + bufferSize);
+        }
+        this.channel = Objects.requireNonNull(channel);
+        this.capacity = capacity;
+        this.limit = capacity;
+        this.lease = DirectBuffers.POOL.acquire(bufferSize);
+        this.buffer = lease.buffer();
+        this.byteBuffer = lease.byteBuffer();
+    }
+
+    /**
+     * Creates or truncates the given file and opens it for writing, with a buffer of {@link #DEFAULT_BUFFER_SIZE}
+     * bytes. The file is closed when this instance is closed.
+     *
+     * @param file the file to write, can not be null
+     * @throws IOException if the file cannot be opened
+     */
+    public WritableChannelData(@NonNull final Path file) throws IOException {
+        this(FileChannel.open(Objects.requireNonNull(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    // ================================================================================================================
+    // AutoCloseable Methods
+
+    /**
+     * Writes any buffered bytes to the underlying channel and closes it. A failure to write the buffered bytes is
+     * thrown, as they would otherwise be silently lost.
+     *
+     * @throws IOException if the buffered bytes could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flushBuffer();
+        } catch (DataAccessException e) {
+            throw e.getCause();
+        } finally {
+            // nothing more can be written once the capacity is the position
+            closed = true;
+            capacity = limit = position;
+            lease.close();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // We don't need to handle this. It is OK to silently ignore
+                // (There is nothing we could have done anyway, except maybe log it)
+            }
+        }
+    }
+
+    // ================================================================================================================
+    // Flushable Methods
+
+    /**
+     * Writes any buffered bytes to the underlying channel. This must be called before the written bytes are expected
+     * to be in the channel. It does not force a file channel's contents to storage.
+     *
+     * @throws DataAccessException if an I/O error occurs
+     */
+    @Override
+    public void flush() {
+        flushBuffer();
+    }
+
+    // ================================================================================================================
+    // SequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long limit() {
+        return limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void limit(long limit) {
+        // Any attempt to set the limit must be clamped between position on the low end and capacity on the high end.
+        this.limit = Math.min(capacity(), Math.max(position, limit));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Move position forward by {@code count} bytes byte writing zeros to the channel.
+     *
+     * @param count number of bytes to skip
+     * @return the actual number of bytes skipped.
+     */
+    @Override
+    public long skip(long count) {
+        count = Math.min(count, remaining());
+        if (count <= 0) {
+            return 0;
+        }
+        for (long i = 0; i < count; ) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            final long n = Math.min(buffer.remaining(), count - i);
+            for (long j = 0; j < n; j++) {
+                buffer.writeByte((byte) 0);
+            }
+            i += n;
+        }
+        position += count;
+        return count;
+    }
+
+    // ================================================================================================================
+    // WritableSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeByte(final byte b) {
+        reserve(1);
+        buffer.writeByte(b);
+        position++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final byte[] src, final int offset, final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be >= 0");
+        }
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src, offset, length);
+        } else {
+            writeWithBuffered(ByteBuffer.wrap(src, offset, length));
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final byte[] src) {
+        writeBytes(src, 0, src.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final ByteBuffer src) {
+        final int length = src.remaining();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src);
+        } else {
+            writeWithBuffered(src);
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final BufferedData src) {
+        final long length = src.remaining();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src);
+        } else {
+            writeWithBuffered(src.toReadOnlyByteBuffer());
+            src.position(src.limit());
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final RandomAccessData src) {
+        final long length = src.length();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (src instanceof Bytes bytes) {
+            if (length <= buffer.remaining()) {
+                bytes.writeTo(buffer);
+            } else {
+                writeWithBuffered(bytes.toReadOnlyByteBuffer());
+            }
+            position += length;
+        } else if (src instanceof CompositeBytes composite) {
+            for (final Bytes part : composite.parts()) {
+                writeBytes(part);
+            }
+        } else {
+            for (long offset = 0; offset < length; ) {
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+                // Not every source moves the position of the buffer it copies into, so move it here
+                final long start = buffer.position();
+                final long copied = src.getBytes(offset, buffer);
+                buffer.position(start + copied);
+                offset += copied;
+            }
+            position += length;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeInt(final int value) {
+        reserve(Integer.BYTES);
+        buffer.writeInt(value);
+        position += Integer.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeInt(final int value, @NonNull final ByteOrder byteOrder) {
+        writeInt(byteOrder == ByteOrder.LITTLE_ENDIAN ? Integer.reverseBytes(value) : value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeUnsignedInt(final long value) {
+        writeInt((int) value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeUnsignedInt(final long value, @NonNull final ByteOrder byteOrder) {
+        writeInt((int) value, byteOrder);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeLong(final long value) {
+        reserve(Long.BYTES);
+        buffer.writeLong(value);
+        position += Long.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeLong(final long value, @NonNull final ByteOrder byteOrder) {
+        writeLong(byteOrder == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(value) : value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeVarInt(final int value, final boolean zigZag) {
+        writeVarLong(value, zigZag);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeVarLong(long value, final boolean zigZag) {
+        if (zigZag) {
+            value = (value << 1) ^ (value >> 63);
+        }
+        final int length = value == 0 ? 1 : (70 - Long.numberOfLeadingZeros(value)) / 7;
+        reserve(length);
+        buffer.writeVarLong(value, false);
+        position += length;
+    }
+
+    /**
+     * Copy {@code length} bytes from a file channel, starting at {@code srcPosition}, to this channel. The buffered
+     * bytes are written first, then the bytes are copied with {@link FileChannel#transferTo}, which the operating
+     * system can do without copying them into Java memory. The position of {@code src} is not changed.
+     *
+     * @param src the file channel to copy from
+     * @param srcPosition the position in {@code src} of the first byte to copy
+     * @param length the number of bytes to copy
+     * @throws BufferOverflowException if there are fewer than {@code length} bytes remaining
+     * @throws EOFException if {@code src} ends before {@code length} bytes have been copied
+     * @throws DataAccessException if an I/O error occurs
+     */
+    public void transferFrom(@NonNull final FileChannel src, final long srcPosition, final long length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be >= 0");
+        }
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        flushBuffer();
+        long copied = 0;
+        try {
+            while (copied < length) {
+                final long n = src.transferTo(srcPosition + copied, length - copied, channel);
+                if (n <= 0 && srcPosition + copied >= src.size()) {
+                    throw new EOFException();
+                }
+                copied += n;
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        } finally {
+            position += copied;
+        }
+    }
+
+    /**
+     * Copy the next {@code length} bytes read from {@code src} to this channel, without decoding them. The buffered
+     * bytes are written first. If either channel is a file channel the bytes are copied by the operating system,
+     * with {@link FileChannel#transferTo} or {@link FileChannel#transferFrom}, without copying them into Java memory.
+     * This is for piping large {@code bytes} fields from one file to another.
+     *
+     * @param src the data to copy from
+     * @param length the number of bytes to copy
+     * @throws BufferOverflowException if there are fewer than {@code length} bytes remaining
+     * @throws java.nio.BufferUnderflowException if {@code src} has fewer than {@code length} bytes remaining
+     * @throws DataAccessException if an I/O error occurs
+     */
+    public void transferFrom(@NonNull final ReadableChannelData src, final long length) {
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        flushBuffer();
+        position += src.transferTo(channel, length);
+    }
+
+    // ================================================================================================================
+    // Buffer Methods
+
+    /**
+     * Check there are {@code length} bytes remaining and make room for them in the buffer.
+     *
+     * @param length the number of bytes about to be written, no more than 16
+     * @throws BufferOverflowException if there are fewer than {@code length} bytes remaining
+     */
+    private void reserve(final int length) {
+        if (remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.remaining() < length) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Write the buffered bytes followed by {@code src} to the channel, in one gathering write if the channel
+     * supports it. The position of {@code src} is moved to its limit.
+     *
+     * @param src the bytes to write after the buffered bytes
+     * @throws DataAccessException if an I/O error occurs
+     */
+    private void writeWithBuffered(@NonNull final ByteBuffer src) {
+        byteBuffer.flip();
+        try {
+            if (channel instanceof GatheringByteChannel gathering) {
+                final ByteBuffer[] buffers = {byteBuffer, src};
+                while (src.hasRemaining()) {
+                    gathering.write(buffers);
+                }
+            } else {
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+                while (src.hasRemaining()) {
+                    channel.write(src);
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException(e);
+        } finally {
+            byteBuffer.clear();
+        }
+    }
+
+    /**
+     * Write all buffered bytes to the underlying channel.
+     *
+     * @throws DataAccessException if an I/O error occurs
+     */
+    private void flushBuffer() {
+        if (!closed && byteBuffer.position() > 0) {
+            byteBuffer.flip();
+            try {
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer);
+                }
+            } catch (IOException e) {
+                throw new DataAccessException(e);
+            } finally {
+                byteBuffer.clear();
+            }
+        }
+    }
+}
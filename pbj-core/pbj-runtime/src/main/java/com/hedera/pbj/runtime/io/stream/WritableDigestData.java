@@ -0,0 +1,344 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.buffer.CompositeBytes;
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.Flushable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * <p>A {@code WritableSequentialData} that passes everything written to it to a {@link MessageDigest}, so that an
+ * object can be hashed by writing it, without first serializing it into a byte array the size of the object.
+ *
+ * <p>Small writes, such as field tags and varints, are combined in a small fixed size buffer which is passed to the
+ * digest when full, on {@link #flush()} and on {@link #digest()}. Byte arrays, buffers and {@link Bytes} too large to
+ * fit in what is left of the buffer are passed to the digest directly, without being copied.
+ *
+ * <p>{@link #flush()} must be called before the digest is completed other than by {@link #digest()}.
+ */
+public class WritableDigestData implements WritableSequentialData, Flushable {
+
+    /** The default size of the write combining buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    /** The digest to update */
+    private final MessageDigest digest;
+    /** The array of {@link #buffer}, for passing it to the digest */
+    private final byte[] array;
+    /** Buffer of bytes written but not yet passed on to the digest, between zero and its position */
+    private final BufferedData buffer;
+    /** The current position, aka the number of bytes written */
+    private long position = 0;
+    /** The current limit for writing, defaults to Long.MAX_VALUE, which is basically unlimited */
+    private long limit;
+    /** The maximum capacity. Normally this is unbounded ({@link Long#MAX_VALUE}) */
+    private final long capacity;
+
+    /**
+     * Creates a {@code WritableDigestData} that updates the given digest, with a buffer of
+     * {@link #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param digest the digest to update, can not be null
+     */
+    public WritableDigestData(@NonNull final MessageDigest digest) {
+        this(digest, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a {@code WritableDigestData} that updates the given digest, with a buffer of
+     * {@link #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param digest the digest to update, can not be null
+     * @param capacity the maximum number of bytes that can be written, {@link Long#MAX_VALUE} for unbounded
+     */
+    public WritableDigestData(@NonNull final MessageDigest digest, final long capacity) {
+        this.digest = Objects.requireNonNull(digest);
+        this.capacity = capacity;
+        this.limit = capacity;
+        this.array = new byte[DEFAULT_BUFFER_SIZE];
+        this.buffer = BufferedData.wrap(array);
+    }
+
+    /**
+     * Passes any buffered bytes to the digest. This must be called before the digest is completed, unless that is
+     * done with {@link #digest()}.
+     */
+    @Override
+    public void flush() {
+        final int buffered = (int) buffer.position();
+        if (buffered > 0) {
+            digest.update(array, 0, buffered);
+            buffer.reset();
+        }
+    }
+
+    /**
+     * Passes any buffered bytes to the digest and completes it, with {@link MessageDigest#digest()}. The digest is
+     * reset, so more can be written to this instance to compute another digest. The position and limit are not
+     * changed.
+     *
+     * @return the digest of everything written since the digest was last completed or reset
+     */
+    @NonNull
+    public byte[] digest() {
+        flush();
+        return digest.digest();
+    }
+
+    // ================================================================================================================
+    // SequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public long capacity() {
+        return capacity;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long position() {
+        return position;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long limit() {
+        return limit;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void limit(long limit) {
+        // Any attempt to set the limit must be clamped between position on the low end and capacity on the high end.
+        this.limit = Math.min(capacity(), Math.max(position, limit));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasRemaining() {
+        return position < limit;
+    }
+
+    /**
+     * Move position forward by {@code count} bytes by passing zeros to the digest.
+     *
+     * @param count number of bytes to skip
+     * @return the actual number of bytes skipped.
+     */
+    @Override
+    public long skip(long count) {
+        count = Math.min(count, remaining());
+        if (count <= 0) {
+            return 0;
+        }
+        for (long i = 0; i < count; ) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            final long n = Math.min(buffer.remaining(), count - i);
+            for (long j = 0; j < n; j++) {
+                buffer.writeByte((byte) 0);
+            }
+            i += n;
+        }
+        position += count;
+        return count;
+    }
+
+    // ================================================================================================================
+    // WritableSequentialData Methods
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeByte(final byte b) {
+        reserve(1);
+        buffer.writeByte(b);
+        position++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final byte[] src, final int offset, final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be >= 0");
+        }
+        Objects.checkFromIndexSize(offset, length, src.length);
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src, offset, length);
+        } else {
+            flush();
+            digest.update(src, offset, length);
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final byte[] src) {
+        writeBytes(src, 0, src.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final ByteBuffer src) {
+        final int length = src.remaining();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src);
+        } else {
+            flush();
+            digest.update(src);
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final BufferedData src) {
+        final long length = src.remaining();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            buffer.writeBytes(src);
+        } else {
+            flush();
+            digest.update(src.toReadOnlyByteBuffer());
+            src.position(src.limit());
+        }
+        position += length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeBytes(@NonNull final RandomAccessData src) {
+        final long length = src.length();
+        if (length > remaining()) {
+            throw new BufferOverflowException();
+        }
+        if (length <= buffer.remaining()) {
+            copyToBuffer(src, 0);
+        } else if (src instanceof Bytes bytes) {
+            flush();
+            bytes.writeTo(digest);
+        } else if (src instanceof CompositeBytes composite) {
+            flush();
+            composite.writeTo(digest);
+        } else {
+            for (long offset = 0; offset < length; ) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                offset += copyToBuffer(src, offset);
+            }
+        }
+        position += length;
+    }
+
+    /**
+     * Copy as many bytes of {@code src} from {@code offset} as fit into the buffer, moving its position past them.
+     * Not every source moves the position of the buffer it copies into, so it is always moved here.
+     *
+     * @param src the data to copy from
+     * @param offset the offset into {@code src} to copy from
+     * @return the number of bytes copied
+     */
+    private long copyToBuffer(@NonNull final RandomAccessData src, final long offset) {
+        final long start = buffer.position();
+        final long copied = src.getBytes(offset, buffer);
+        buffer.position(start + copied);
+        return copied;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeInt(final int value) {
+        reserve(Integer.BYTES);
+        buffer.writeInt(value);
+        position += Integer.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeInt(final int value, @NonNull final ByteOrder byteOrder) {
+        reserve(Integer.BYTES);
+        buffer.writeInt(value, byteOrder);
+        position += Integer.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeUnsignedInt(final long value) {
+        writeInt((int) value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeUnsignedInt(final long value, @NonNull final ByteOrder byteOrder) {
+        writeInt((int) value, byteOrder);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeLong(final long value) {
+        reserve(Long.BYTES);
+        buffer.writeLong(value);
+        position += Long.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeLong(final long value, @NonNull final ByteOrder byteOrder) {
+        reserve(Long.BYTES);
+        buffer.writeLong(value, byteOrder);
+        position += Long.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeVarInt(final int value, final boolean zigZag) {
+        writeVarLong(value, zigZag);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void writeVarLong(long value, final boolean zigZag) {
+        if (zigZag) {
+            value = (value << 1) ^ (value >> 63);
+        }
+        final int length = value == 0 ? 1 : (70 - Long.numberOfLeadingZeros(value)) / 7;
+        reserve(length);
+        buffer.writeVarLong(value, false);
+        position += length;
+    }
+
+    // ================================================================================================================
+    // Buffer Methods
+
+    /**
+     * Check there are {@code length} bytes remaining and make room for them in the buffer.
+     *
+     * @param length the number of bytes about to be written, no more than 16
+     * @throws BufferOverflowException if there are fewer than {@code length} bytes remaining
+     */
+    private void reserve(final int length) {
+        if (remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+}
@@ -4,18 +4,33 @@ import com.hedera.pbj.runtime.io.DataAccessException;
 import com.hedera.pbj.runtime.io.WritableSequentialData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.FilterOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Objects;
 
 /**
  * <p>A {@code WritableSequentialData} backed by an output stream. If the instance is closed,
  * the underlying {@link OutputStream} is closed too.
+ *
+ * <p>Fixed size values and var ints are encoded into a small internal buffer and handed to the stream with a single
+ * {@code write} call, rather than one call per byte. By default that buffer is passed on to the stream at the end
+ * of every write, so everything written is in the stream as soon as the write method returns. When created with
+ * {@link #WritableStreamingData(OutputStream, long, int)} writes are instead combined in a larger buffer that is
+ * only passed on when full, on {@link #flush()} and on {@link #close()}. In that mode {@link #flush()} must be
+ * called before the written bytes are read back from the underlying stream.
  */
-public class WritableStreamingData implements WritableSequentialData, AutoCloseable {
+public class WritableStreamingData implements WritableSequentialData, AutoCloseable, Flushable {
+
+    /** The default size of the write combining buffer */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    /** The largest number of bytes a var int or var long can be encoded in */
+    private static final int MAX_VAR_INT_SIZE = 10;
 
     /** The underlying output stream */
     private final OutputStream out;
@@ -25,6 +40,12 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
     private long limit = Long.MAX_VALUE;
     /** The maximum capacity. Normally this is unbounded ({@link Long#MAX_VALUE})*/
     private long capacity = Long.MAX_VALUE;
+    /** True if writes are combined in the buffer until it is full, false if it is passed on after every write */
+    private final boolean combineWrites;
+    /** Buffer of bytes written but not yet passed on to the underlying stream */
+    private final byte[] buffer;
+    /** The number of bytes in buffer */
+    private int count = 0;
 
     /**
      * Creates a {@code WritableStreamingData} built on top of the specified underlying output stream.
@@ -33,6 +54,8 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
      */
     public WritableStreamingData(@NonNull final OutputStream out) {
         this.out = Objects.requireNonNull(out);
+        this.combineWrites = false;
+        this.buffer = new byte[MAX_VAR_INT_SIZE];
     }
 
     /**
@@ -45,18 +68,71 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
         this.out = Objects.requireNonNull(out);
         this.capacity = capacity;
         this.limit = capacity;
+        this.combineWrites = false;
+        this.buffer = new byte[MAX_VAR_INT_SIZE];
+    }
+
+    /**
+     * Creates a {@code WritableStreamingData} built on top of the specified underlying output stream, that combines
+     * writes in a buffer of {@code bufferSize} bytes. The buffered bytes are written to the stream when the buffer
+     * is full, on {@link #flush()} and on {@link #close()}.
+     *
+     * @param out the underlying output stream to be written to, can not be null
+     * @param capacity the maximum capacity of the stream, {@link Long#MAX_VALUE} for unbounded
+     * @param bufferSize the size of the write combining buffer, must be at least 16 bytes
+     */
+    public WritableStreamingData(@NonNull final OutputStream out, final long capacity, final int bufferSize) {
+        if (bufferSize < 2 * Long.BYTES) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes but was " + bufferSize);
+        }
+        this.out = Objects.requireNonNull(out);
+        this.capacity = capacity;
+        this.limit = capacity;
+        this.combineWrites = true;
+        this.buffer = new byte[bufferSize];
     }
 
     // ================================================================================================================
     // AutoCloseable Methods
 
+    /**
+     * Writes any buffered bytes to the underlying stream and closes it. A failure to write the buffered bytes is
+     * thrown, as they would otherwise be silently lost.
+     *
+     * @throws IOException if the buffered bytes could not be written
+     */
     @Override
     public void close() throws IOException {
         try {
-            out.close();
-        } catch (IOException ignored) {
-            // We don't need to handle this. It is OK to silently ignore
-            // (There is nothing we could have done anyway, except maybe log it)
+            flushBuffer();
+        } catch (DataAccessException e) {
+            throw e.getCause();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // We don't need to handle this. It is OK to silently ignore
+                // (There is nothing we could have done anyway, except maybe log it)
+            }
+        }
+    }
+
+    // ================================================================================================================
+    // Flushable Methods
+
+    /**
+     * Writes any buffered bytes to the underlying stream and then flushes it. When writes are combined, this must be
+     * called before the written bytes are expected to be in the underlying stream.
+     *
+     * @throws DataAccessException if an I/O error occurs
+     */
+    @Override
+    public void flush() {
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new DataAccessException(e);
         }
     }
 
@@ -112,6 +188,7 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
 
             // Each byte skipped is a "zero" byte written to the output stream. To make this faster, we will support
             // writing in chunks instead of a single byte at a time. We will keep writing chunks until we're done.
+            flushBuffer();
             final byte[] zeros = new byte[1024];
             for (int i = 0; i < count;) {
                 final var toWrite = (int) Math.min(zeros.length, count - i);
@@ -141,6 +218,15 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
             throw new BufferOverflowException();
         }
 
+        if (combineWrites) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = b;
+            position++;
+            return;
+        }
+
         try {
             out.write(b);
             position++;
@@ -158,6 +244,7 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
             throw new IllegalArgumentException("length must be >= 0");
         }
 
+        Objects.checkFromIndexSize(offset, length, src.length);
         if (length == 0) {
             return;
         }
@@ -166,6 +253,15 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
             throw new BufferOverflowException();
         }
 
+        if (combineWrites && length <= buffer.length - count) {
+            System.arraycopy(src, offset, buffer, count, length);
+            count += length;
+            position += length;
+            return;
+        }
+
+        // Too large for the buffer, so pass on what is buffered so far and then write directly from src
+        flushBuffer();
         try {
             out.write(src, offset, length);
             position += length;
@@ -179,15 +275,172 @@ public class WritableStreamingData implements WritableSequentialData, AutoClosea
      */
     @Override
     public void writeBytes(@NonNull byte[] src) {
-        if (src.length > remaining()) {
+        writeBytes(src, 0, src.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeBytes(@NonNull final ByteBuffer src) {
+        if (!src.hasArray()) {
+            WritableSequentialData.super.writeBytes(src);
+            return;
+        }
+        final int length = src.remaining();
+        writeBytes(src.array(), src.arrayOffset() + src.position(), length);
+        src.position(src.position() + length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeInt(final int value) {
+        final int p = reserve(Integer.BYTES);
+        final byte[] buf = buffer;
+        buf[p] = (byte) (value >>> 24);
+        buf[p + 1] = (byte) (value >>> 16);
+        buf[p + 2] = (byte) (value >>> 8);
+        buf[p + 3] = (byte) value;
+        commit(Integer.BYTES);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeInt(final int value, @NonNull final ByteOrder byteOrder) {
+        writeInt(byteOrder == ByteOrder.LITTLE_ENDIAN ? Integer.reverseBytes(value) : value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeUnsignedInt(final long value) {
+        writeInt((int) value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeUnsignedInt(final long value, @NonNull final ByteOrder byteOrder) {
+        writeInt((int) value, byteOrder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeLong(final long value) {
+        final int p = reserve(Long.BYTES);
+        final byte[] buf = buffer;
+        buf[p] = (byte) (value >>> 56);
+        buf[p + 1] = (byte) (value >>> 48);
+        buf[p + 2] = (byte) (value >>> 40);
+        buf[p + 3] = (byte) (value >>> 32);
+        buf[p + 4] = (byte) (value >>> 24);
+        buf[p + 5] = (byte) (value >>> 16);
+        buf[p + 6] = (byte) (value >>> 8);
+        buf[p + 7] = (byte) value;
+        commit(Long.BYTES);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeLong(final long value, @NonNull final ByteOrder byteOrder) {
+        writeLong(byteOrder == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(value) : value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeVarInt(final int value, final boolean zigZag) {
+        writeVarLong(value, zigZag);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeVarLong(long value, final boolean zigZag) {
+        if (zigZag) {
+            value = (value << 1) ^ (value >> 63);
+        }
+        if (position >= limit) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.length - count < MAX_VAR_INT_SIZE) {
+            flushBuffer();
+        }
+        final byte[] buf = buffer;
+        int p = count;
+        while ((value & ~0x7FL) != 0) {
+            buf[p++] = (byte) (((int) value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[p++] = (byte) value;
+        final int length = p - count;
+        // The bytes are only counted as written once we know they fit before the limit
+        if (length > limit - position) {
             throw new BufferOverflowException();
         }
+        commit(length);
+    }
 
-        try {
-            out.write(src);
-            position += src.length;
-        } catch (IOException e) {
-            throw new DataAccessException(e);
+    // ================================================================================================================
+    // Buffer Methods
+
+    /**
+     * Check there are {@code length} bytes remaining and make room for them in the buffer.
+     *
+     * @param length the number of bytes about to be written, no more than 10
+     * @return the index in the buffer to write the bytes at
+     * @throws BufferOverflowException if there are fewer than {@code length} bytes remaining
+     */
+    private int reserve(final int length) {
+        if (remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.length - count < length) {
+            flushBuffer();
+        }
+        return count;
+    }
+
+    /**
+     * Count {@code length} bytes placed in the buffer at {@link #count} as written, and pass them on to the stream
+     * straight away unless writes are being combined.
+     *
+     * @param length the number of bytes placed in the buffer
+     */
+    private void commit(final int length) {
+        count += length;
+        position += length;
+        if (!combineWrites) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Write all buffered bytes to the underlying stream, without flushing it.
+     *
+     * @throws DataAccessException if an I/O error occurs
+     */
+    private void flushBuffer() {
+        if (count > 0) {
+            final int length = count;
+            count = 0;
+            try {
+                out.write(buffer, 0, length);
+            } catch (IOException e) {
+                throw new DataAccessException(e);
+            }
         }
     }
 }
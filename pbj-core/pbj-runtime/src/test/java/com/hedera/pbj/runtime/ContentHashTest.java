@@ -0,0 +1,48 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+final class ContentHashTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "\u00E9", "\u20AC", "\uD83D\uDE00", "\uD800", "\uDC00", "\uD800a", "a\uDBFF", "\uDC00\uD800"})
+    @DisplayName("Hashing a string is the same as hashing its UTF-8 bytes, for every length and character size")
+    void stringHashIsOfUtf8Bytes(String characters) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            final String value = builder.toString();
+            final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            assertEquals(Bytes.wrap(utf8).hashCode64(), ContentHash.hash(value), value);
+            assertEquals(ContentHash.hash(utf8, 0, utf8.length), ContentHash.hash(value), value);
+            builder.append(i % 3 == 0 ? "x" : characters);
+        }
+    }
+
+    @Test
+    @DisplayName("Hashes only depend on the content, so they never change")
+    void hashesAreStable() {
+        assertEquals(0xEF46DB3751D8E999L, ContentHash.hash(""));
+        assertEquals(0x5CDEF7DD46774565L, ContentHash.hash("The quick brown fox jumps over the lazy dog"));
+        final long mixed = ContentHash.mix(ContentHash.mix(ContentHash.SEED, 1), 42);
+        assertEquals(0x7A07934BAE166191L, ContentHash.finish(mixed));
+    }
+
+    @Test
+    @DisplayName("Mixing depends on the order of the values")
+    void mixDependsOnOrder() {
+        final long ab = ContentHash.mix(ContentHash.mix(ContentHash.SEED, 1), 2);
+        final long ba = ContentHash.mix(ContentHash.mix(ContentHash.SEED, 2), 1);
+        assertEquals(ab, ContentHash.mix(ContentHash.mix(ContentHash.SEED, 1), 2));
+        assertNotEquals(ab, ba);
+        assertNotEquals(ContentHash.finish(ab), ContentHash.finish(ba));
+    }
+}
@@ -0,0 +1,130 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonTokenizerTest {
+
+    private static JsonTokenizer tokenizer(String json) {
+        return new JsonTokenizer(BufferedData.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsFieldsOfAllTypes() throws IOException {
+        final JsonTokenizer json = tokenizer("""
+                {
+                  "int": 42,
+                  "long": "-9223372036854775808",
+                  "double": -1.5e3,
+                  "float": "NaN",
+                  "bool": true,
+                  "string": "a\\"b\\\\c\\n\\u00e9é",
+                  "bytes": "AQID",
+                  "missing": null
+                }""");
+        json.beginObject();
+        assertTrue(json.hasNext());
+        assertEquals("int", json.nextName());
+        assertEquals(42, json.nextInt());
+        assertTrue(json.hasNext());
+        assertEquals("long", json.nextName());
+        assertEquals(Long.MIN_VALUE, json.nextLong());
+        assertTrue(json.hasNext());
+        assertEquals("double", json.nextName());
+        assertEquals(-1500d, json.nextDouble());
+        assertTrue(json.hasNext());
+        assertEquals("float", json.nextName());
+        assertTrue(Float.isNaN(json.nextFloat()));
+        assertTrue(json.hasNext());
+        assertEquals("bool", json.nextName());
+        assertTrue(json.nextBoolean());
+        assertTrue(json.hasNext());
+        assertEquals("string", json.nextName());
+        assertEquals("a\"b\\c\néé", json.nextString());
+        assertTrue(json.hasNext());
+        assertEquals("bytes", json.nextName());
+        assertEquals(Bytes.wrap(new byte[] {1, 2, 3}), json.nextBytes());
+        assertTrue(json.hasNext());
+        assertEquals("missing", json.nextName());
+        assertTrue(json.nextNull());
+        assertFalse(json.hasNext());
+        json.endObject();
+        assertEquals(JsonTokenizer.Token.END_DOCUMENT, json.peekToken());
+    }
+
+    @Test
+    void readsLists() throws IOException {
+        final JsonTokenizer json = tokenizer("[[1, 2 ,3], [], null, [{\"a\": \"x\"}]]");
+        json.beginArray();
+        assertTrue(json.hasNext());
+        assertEquals(List.of(1L, 2L, 3L), json.nextList(JsonTokenizer::nextLong));
+        assertTrue(json.hasNext());
+        assertEquals(List.of(), json.nextList(JsonTokenizer::nextString));
+        assertTrue(json.hasNext());
+        assertEquals(List.of(), json.nextList(JsonTokenizer::nextString));
+        assertTrue(json.hasNext());
+        assertEquals(List.of("x"), json.nextList(j -> {
+            j.beginObject();
+            assertTrue(j.hasNext());
+            assertEquals("a", j.nextName());
+            final String value = j.nextString();
+            assertFalse(j.hasNext());
+            j.endObject();
+            return value;
+        }));
+        assertFalse(json.hasNext());
+        json.endArray();
+    }
+
+    @Test
+    void skipsNestedValues() throws IOException {
+        final JsonTokenizer json = tokenizer("{\"skip\": {\"a\": [true, null, {\"b\": \"}]\"}]}, \"keep\": 7}");
+        json.beginObject();
+        assertTrue(json.hasNext());
+        assertEquals("skip", json.nextName());
+        json.skipValue();
+        assertTrue(json.hasNext());
+        assertEquals("keep", json.nextName());
+        assertEquals(7, json.nextInt());
+        assertFalse(json.hasNext());
+        json.endObject();
+    }
+
+    @Test
+    void stopsAfterTheObject() throws IOException {
+        final BufferedData data = BufferedData.wrap("{} trailing".getBytes(StandardCharsets.UTF_8));
+        final JsonTokenizer json = new JsonTokenizer(data);
+        json.beginObject();
+        assertFalse(json.hasNext());
+        json.endObject();
+        assertEquals(2, data.position());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"a\" 1}", "{\"a\":1,}", "{\"a\":1", "{\"a\":tru}", "{\"a\":\"x}", "[1}"})
+    void malformedJsonThrows(String malformed) {
+        final JsonTokenizer json = tokenizer(malformed);
+        assertThrows(MalformedProtobufException.class, () -> {
+            json.peekToken();
+            json.skipValue();
+        });
+    }
+
+    @Test
+    void intOutOfRangeThrows() throws IOException {
+        final JsonTokenizer json = tokenizer("12345678901");
+        assertThrows(NumberFormatException.class, json::nextInt);
+    }
+}
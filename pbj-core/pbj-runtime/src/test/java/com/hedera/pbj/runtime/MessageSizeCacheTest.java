@@ -0,0 +1,47 @@
+package com.hedera.pbj.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MessageSizeCacheTest {
+
+    @Test
+    void sizesAreReadInReservedOrder() {
+        final MessageSizeCache sizes = new MessageSizeCache(1);
+        // reserve parent then children before the parent size is known, like a pre-order measure does
+        final int parent = sizes.reserve();
+        final int child1 = sizes.reserve();
+        sizes.set(child1, 5);
+        final int child2 = sizes.reserve();
+        sizes.set(child2, 7);
+        sizes.set(parent, 16);
+        assertEquals(3, sizes.size());
+        assertEquals(16, sizes.next());
+        assertEquals(5, sizes.next());
+        assertEquals(7, sizes.next());
+        assertThrows(IllegalStateException.class, sizes::next);
+    }
+
+    @Test
+    void clearAllowsReuse() {
+        final MessageSizeCache sizes = new MessageSizeCache();
+        for (int i = 0; i < 100; i++) {
+            sizes.set(sizes.reserve(), i);
+        }
+        assertEquals(0, sizes.next());
+        sizes.clear();
+        assertEquals(0, sizes.size());
+        assertThrows(IllegalStateException.class, sizes::next);
+        sizes.set(sizes.reserve(), 42);
+        assertEquals(42, sizes.next());
+    }
+
+    @Test
+    void unreservedSlotThrows() {
+        final MessageSizeCache sizes = new MessageSizeCache(0);
+        assertThrows(IndexOutOfBoundsException.class, () -> sizes.set(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MessageSizeCache(-1));
+    }
+}
@@ -0,0 +1,112 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PbjMapTest {
+
+    @Test
+    void sortedByKeyAndEqualToOtherMaps() {
+        final PbjMap<String, Long> map = new PbjMap.Builder<String, Long>()
+                .put("c", 3L)
+                .put("a", 1L)
+                .put("b", 2L)
+                .build();
+        assertEquals(List.of("a", "b", "c"), List.copyOf(map.keySet()));
+        assertEquals("b", map.keyAt(1));
+        assertEquals(2L, map.valueAt(1));
+        assertEquals(Map.of("a", 1L, "b", 2L, "c", 3L), map);
+        assertEquals(map, Map.of("a", 1L, "b", 2L, "c", 3L));
+        assertEquals(Map.of("a", 1L, "b", 2L, "c", 3L).hashCode(), map.hashCode());
+        assertEquals(new TreeMap<>(map).toString(), map.toString());
+        assertNotEquals(Map.of("a", 1L, "b", 2L), map);
+    }
+
+    @Test
+    void lookups() {
+        final PbjMap<Integer, String> map = PbjMap.copyOf(Map.of(5, "five", -1, "minus one", 42, "forty two"));
+        assertEquals("five", map.get(5));
+        assertEquals("minus one", map.get(-1));
+        assertTrue(map.containsKey(42));
+        assertFalse(map.containsKey(0));
+        assertNull(map.get(0));
+        // keys of another type or null are never found
+        assertNull(map.get(5L));
+        assertNull(map.get(null));
+        assertFalse(PbjMap.empty().containsKey("a"));
+    }
+
+    @Test
+    void lastValueWinsForDuplicateKeys() {
+        final PbjMap<Integer, String> map = new PbjMap.Builder<Integer, String>()
+                .put(2, "first")
+                .put(1, "one")
+                .put(2, "second")
+                .put(2, "third")
+                .build();
+        assertEquals(Map.of(1, "one", 2, "third"), map);
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void immutable() {
+        final Map<String, Integer> source = new HashMap<>(Map.of("a", 1));
+        final PbjMap<String, Integer> map = PbjMap.copyOf(source);
+        source.put("b", 2);
+        assertEquals(1, map.size());
+        assertThrows(UnsupportedOperationException.class, () -> map.put("c", 3));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue(7));
+        assertThrows(NullPointerException.class, () -> new PbjMap.Builder<String, Integer>().put("a", null));
+        assertSame(map, PbjMap.copyOf(map));
+        assertSame(PbjMap.empty(), PbjMap.Builder.build(null));
+    }
+
+    @Test
+    void writtenSortedWithDefaultValues() throws IOException {
+        final FieldDefinition field = new FieldDefinition("map", FieldType.MESSAGE, true, false, false, 3);
+        final FieldDefinition key = new FieldDefinition("key", FieldType.STRING, false, false, true, 1);
+        final FieldDefinition value = new FieldDefinition("value", FieldType.INT64, false, false, true, 2);
+        // insertion order of a HashMap is not the written order, entries are always written by key
+        final Map<String, Long> map = new HashMap<>(Map.of("b", 0L, "a", 1L));
+        final MessageSizeCache sizes = new MessageSizeCache();
+        final int size = ProtoWriterTools.sizeOfMap(field, map, (k, v) ->
+                ProtoWriterTools.sizeOfString(key, k) + ProtoWriterTools.sizeOfLong(value, v), sizes);
+        final BufferedData out = BufferedData.allocate(size);
+        ProtoWriterTools.writeMap(out, field, map, (k, v) -> {
+            ProtoWriterTools.writeString(out, key, k);
+            ProtoWriterTools.writeLong(out, value, v);
+        }, sizes);
+        assertEquals(size, out.position());
+        out.flip();
+        assertEquals(Bytes.wrap(new byte[] {
+                0x1A, 5, 0x0A, 1, 'a', 0x10, 1,
+                0x1A, 5, 0x0A, 1, 'b', 0x10, 0}), out.getBytes(0, out.length()));
+    }
+
+    @Test
+    void readFromJson() throws IOException {
+        final JsonTokenizer json = new JsonTokenizer(BufferedData.wrap("""
+                {"3": "three", "-1": "minus one", "3": "again"}"""
+                .getBytes(StandardCharsets.UTF_8)));
+        final PbjMap<Integer, String> map = json.nextMap(Integer::valueOf, JsonTokenizer::nextString);
+        assertEquals(List.of(-1, 3), List.copyOf(map.keySet()));
+        assertEquals("again", map.get(3));
+    }
+}
@@ -0,0 +1,96 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PrimitiveListTest {
+
+    @Test
+    void equalToBoxedLists() {
+        final IntList ints = IntList.of(1, -2, 3);
+        assertEquals(List.of(1, -2, 3), ints);
+        assertEquals(ints, List.of(1, -2, 3));
+        assertEquals(List.of(1, -2, 3).hashCode(), ints.hashCode());
+        assertNotEquals(List.of(1, -2), ints);
+        assertEquals(List.of(Double.NaN, -0.0d).hashCode(), DoubleList.of(Double.NaN, -0.0d).hashCode());
+        assertEquals(List.of(Double.NaN, -0.0d), DoubleList.of(Double.NaN, -0.0d));
+        assertNotEquals(DoubleList.of(0.0d), DoubleList.of(-0.0d));
+        assertEquals(List.of(true, false).hashCode(), BooleanList.of(true, false).hashCode());
+        assertEquals(List.of(), LongList.EMPTY);
+    }
+
+    @Test
+    void immutable() {
+        final int[] values = {1, 2, 3};
+        final IntList ints = IntList.of(values);
+        values[0] = 7;
+        assertEquals(1, ints.getInt(0));
+        ints.toIntArray()[1] = 7;
+        assertEquals(2, ints.getInt(1));
+        assertThrows(UnsupportedOperationException.class, () -> ints.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> ints.set(0, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.getInt(3));
+    }
+
+    @Test
+    void builderGrowsAndDoesNotShareWrittenArrays() {
+        final LongList.Builder builder = new LongList.Builder(0);
+        for (long i = 0; i < 16; i++) {
+            builder.add(i);
+        }
+        final LongList first = builder.build();
+        builder.add(16);
+        final LongList second = builder.build();
+        assertEquals(16, first.size());
+        assertEquals(17, second.size());
+        assertEquals(16L, second.getLong(16));
+        assertSame(FloatList.EMPTY, FloatList.Builder.build(null));
+    }
+
+    @Test
+    void copyOf() {
+        final IntList ints = IntList.of(1, 2);
+        assertSame(ints, IntList.copyOf(ints));
+        assertArrayEquals(new int[] {1, 2}, IntList.copyOf(new ArrayList<>(List.of(1, 2))).toIntArray());
+    }
+
+    @Test
+    void writtenLikeBoxedLists() {
+        final FieldDefinition field = new FieldDefinition("f", FieldType.SINT64, true, 1);
+        final List<Long> boxed = List.of(0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE);
+        final BufferedData expected = BufferedData.allocate(64);
+        final BufferedData actual = BufferedData.allocate(64);
+        ProtoWriterTools.writeLongList(expected, field, boxed);
+        ProtoWriterTools.writeLongList(actual, field, LongList.copyOf(boxed));
+        assertEquals(ProtoWriterTools.sizeOfLongList(field, boxed), actual.position());
+        expected.flip();
+        actual.flip();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void intsWrittenLikeBoxedLists() {
+        final List<Integer> boxed = List.of(0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE);
+        for (final FieldType type : List.of(FieldType.INT32, FieldType.UINT32, FieldType.SINT32, FieldType.FIXED32)) {
+            final FieldDefinition field = new FieldDefinition("f", type, true, 1);
+            final BufferedData expected = BufferedData.allocate(64);
+            final BufferedData actual = BufferedData.allocate(64);
+            ProtoWriterTools.writeIntegerList(expected, field, boxed);
+            ProtoWriterTools.writeIntegerList(actual, field, IntList.copyOf(boxed));
+            assertEquals(ProtoWriterTools.sizeOfIntegerList(field, boxed), expected.position());
+            assertEquals(ProtoWriterTools.sizeOfIntegerList(field, IntList.copyOf(boxed)), actual.position());
+            expected.flip();
+            actual.flip();
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.hedera.pbj.runtime;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProtoParserToolsTest {
+
+    /**
+     * Encode a length delimited field value, without the tag
+     *
+     * @param bytes the value bytes
+     * @return the length followed by the bytes, ready to read
+     */
+    private static BufferedData lengthDelimited(final byte[] bytes) throws IOException {
+        final BufferedData data = BufferedData.allocate(bytes.length + 5);
+        data.writeVarInt(bytes.length, false);
+        data.writeBytes(bytes);
+        data.flip();
+        return data;
+    }
+
+    private static BufferedData utf8(final String value) throws IOException {
+        return lengthDelimited(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void readStringEqualsSameString() throws IOException {
+        for (final String value : new String[] {"", "a", "not blank", "été", "€100", "😀 smile"}) {
+            final BufferedData data = utf8(value);
+            assertTrue(ProtoParserTools.readStringEquals(data, value), value);
+            assertFalse(data.hasRemaining());
+        }
+    }
+
+    @Test
+    void readStringEqualsDifferentString() throws IOException {
+        assertFalse(ProtoParserTools.readStringEquals(utf8("abc"), "abd"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8("abc"), "ab"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8("ab"), "abc"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8("é"), "e"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8("€"), "₭"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8("😀"), "😁"));
+        assertFalse(ProtoParserTools.readStringEquals(utf8(""), null));
+        // an unpaired surrogate is encoded as '?' by String.getBytes, which must not be equal to it
+        assertFalse(ProtoParserTools.readStringEquals(utf8("?"), "\ud83d"));
+    }
+
+    @Test
+    void readBytesEquals() throws IOException {
+        final byte[] bytes = {1, 2, 3, -1};
+        final BufferedData data = lengthDelimited(bytes);
+        assertTrue(ProtoParserTools.readBytesEquals(data, Bytes.wrap(bytes)));
+        assertFalse(data.hasRemaining());
+        assertTrue(ProtoParserTools.readBytesEquals(lengthDelimited(new byte[0]), Bytes.EMPTY));
+        assertFalse(ProtoParserTools.readBytesEquals(lengthDelimited(bytes), Bytes.wrap(new byte[] {1, 2, 3, 4})));
+        assertFalse(ProtoParserTools.readBytesEquals(lengthDelimited(bytes), Bytes.wrap(new byte[] {1, 2, 3})));
+        assertFalse(ProtoParserTools.readBytesEquals(lengthDelimited(bytes), null));
+    }
+
+    @Test
+    void measureMessageSkipsEveryWireType() throws IOException {
+        final BufferedData data = BufferedData.wrap(new byte[] {
+                0x08, (byte) 0x96, 0x01,            // field 1 varint 150
+                0x11, 1, 2, 3, 4, 5, 6, 7, 8,       // field 2 fixed64
+                0x1A, 3, 'a', 'b', 'c',             // field 3 length delimited
+                0x25, 1, 2, 3, 4,                   // field 4 fixed32
+                0x08, 0});                          // field 1 again
+        assertEquals(24, ProtoParserTools.measureMessage(data));
+        assertEquals(24, data.position());
+        assertEquals(0, ProtoParserTools.measureMessage(BufferedData.allocate(0)));
+    }
+
+    @Test
+    void measureMessageRejectsBadEncoding() {
+        // field number 0
+        assertThrows(MalformedProtobufException.class,
+                () -> ProtoParserTools.measureMessage(BufferedData.wrap(new byte[] {0x00, 1})));
+        // wire type 7
+        assertThrows(MalformedProtobufException.class,
+                () -> ProtoParserTools.measureMessage(BufferedData.wrap(new byte[] {0x0F, 1})));
+        // length past the end
+        assertThrows(MalformedProtobufException.class,
+                () -> ProtoParserTools.measureMessage(BufferedData.wrap(new byte[] {0x1A, 5, 'a'})));
+        // fixed32 past the end
+        assertThrows(MalformedProtobufException.class,
+                () -> ProtoParserTools.measureMessage(BufferedData.wrap(new byte[] {0x25, 1, 2})));
+    }
+}
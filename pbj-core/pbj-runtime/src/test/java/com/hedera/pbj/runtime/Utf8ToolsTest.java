@@ -1,17 +1,22 @@
 package com.hedera.pbj.runtime;
 
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HexFormat;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class Utf8ToolsTest {
     private static Stream<Arguments> provideStringsAndLengths() {
@@ -45,4 +50,30 @@ public class Utf8ToolsTest {
         assertEquals(HexFormat.of().formatHex(testStr.getBytes(StandardCharsets.UTF_8)), HexFormat.of().formatHex(bytes));
         assertEquals(expectedLength, bytes.length);
     }
+
+    @Test
+    void encodeUtf8ToArray() {
+        for (final String value : new String[] {"", "not blank", "été", "你好", "😀 smile", "a€😀é"}) {
+            final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            final byte[] bytes = new byte[expected.length + 2];
+            assertEquals(expected.length + 1, Utf8Tools.encodeUtf8(value, bytes, 1, bytes.length));
+            assertArrayEquals(expected, Arrays.copyOfRange(bytes, 1, expected.length + 1), value);
+        }
+    }
+
+    @Test
+    void encodeUtf8ToArrayThatIsTooSmall() {
+        for (final String value : new String[] {"not blank", "été", "你好", "😀"}) {
+            final int length = value.getBytes(StandardCharsets.UTF_8).length;
+            assertThrows(BufferOverflowException.class,
+                    () -> Utf8Tools.encodeUtf8(value, new byte[length], 0, length - 1), value);
+        }
+    }
+
+    @Test
+    void encodeUtf8ToArrayUnpairedSurrogate() {
+        assertThrows(IllegalArgumentException.class, () -> Utf8Tools.encodeUtf8("a\ud83d", new byte[8], 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> Utf8Tools.encodeUtf8("\ud83da", new byte[8], 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> Utf8Tools.encodeUtf8("\ude00", new byte[8], 0, 8));
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import java.io.ByteArrayOutputStream;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -620,6 +621,58 @@ public abstract class ReadableTestBase extends SequentialTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("readUtf8String()")
+    final class ReadUtf8StringTest {
+        @Test
+        @DisplayName("Negative length throws IllegalArgumentException")
+        void negativeLength() {
+            final var seq = sequence(TEST_BYTES);
+            assertThatThrownBy(() -> seq.readUtf8String(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Reading a string past the limit throws BufferUnderflowException")
+        void readPastLimit() {
+            // Given a sequence of bytes with a limit of 5
+            final var seq = sequence(TEST_BYTES);
+            seq.limit(5);
+            seq.skip(2);
+            // When we try to read a string longer than the remaining bytes, then we get a BufferUnderflowException
+            assertThatThrownBy(() -> seq.readUtf8String(4)).isInstanceOf(BufferUnderflowException.class);
+        }
+
+        @Test
+        @DisplayName("Length is zero (OK, empty string)")
+        void lengthIsZero() {
+            final var seq = sequence(TEST_BYTES);
+            assertThat(seq.readUtf8String(0)).isEmpty();
+            assertThat(seq.position()).isZero();
+        }
+
+        @Test
+        @DisplayName("Reading an ASCII string from the middle of the sequence")
+        void readAscii() {
+            final var seq = sequence(TEST_BYTES);
+            seq.skip(5);
+            assertThat(seq.readUtf8String(10)).isEqualTo("FGHIJKLMNO");
+            assertThat(seq.position()).isEqualTo(15);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "a", "été", "€100", "✅ done", "😀 smile", "صِف خَلقَ خَودِ" })
+        @DisplayName("Reading multibyte UTF-8 strings")
+        void readMultibyte(final String value) {
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            final byte[] arr = new byte[encoded.length + 2];
+            System.arraycopy(encoded, 0, arr, 1, encoded.length);
+            final var seq = sequence(arr);
+            seq.skip(1);
+            assertThat(seq.readUtf8String(encoded.length)).isEqualTo(value);
+            assertThat(seq.position()).isEqualTo(encoded.length + 1);
+        }
+    }
+
     @Nested
     @DisplayName("view()")
     final class ViewTest {
@@ -1234,6 +1287,54 @@ public abstract class ReadableTestBase extends SequentialTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("readVarInts() and readVarLongs()")
+    final class ReadVarIntsTest {
+        @Test
+        @DisplayName("Read all the varints in a sequence")
+        void readAll() {
+            final long[] values = {0, 1, 300, -1, Integer.MAX_VALUE, Long.MAX_VALUE, 1L << 35, 127, 128, -151};
+            final var out = new ByteArrayOutputStream();
+            for (final long value : values) {
+                out.writeBytes(encodeVarLong(value));
+            }
+            final long[] longs = new long[values.length + 2];
+            final var longSeq = sequence(out.toByteArray());
+            assertThat(longSeq.readVarLongs(longs, 1, values.length + 1, false)).isEqualTo(values.length);
+            assertThat(Arrays.copyOfRange(longs, 1, values.length + 1)).isEqualTo(values);
+            assertThat(longSeq.hasRemaining()).isFalse();
+
+            final int[] ints = new int[values.length];
+            final var intSeq = sequence(out.toByteArray());
+            assertThat(intSeq.readVarInts(ints, 0, values.length, false)).isEqualTo(values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertThat(ints[i]).isEqualTo((int) values[i]);
+            }
+        }
+
+        @Test
+        @DisplayName("Reading stops after maxCount varints")
+        void readMaxCount() {
+            final var seq = sequence(new byte[] { 1, (byte) 0b10101101, 0b00000010, 3 });
+            final int[] ints = new int[3];
+            assertThat(seq.readVarInts(ints, 0, 2, true)).isEqualTo(2);
+            assertThat(ints).isEqualTo(new int[] { -1, -151, 0 });
+            final long[] longs = new long[3];
+            assertThat(seq.readVarLongs(longs, 0, 3, false)).isEqualTo(1);
+            assertThat(longs).isEqualTo(new long[] { 3, 0, 0 });
+        }
+
+        @Test
+        @DisplayName("Reading into a range outside of the array throws IndexOutOfBoundsException")
+        void readOutOfBoundsThrows() {
+            final var seq = sequence(new byte[] { 1, 2, 3 });
+            assertThatThrownBy(() -> seq.readVarInts(new int[2], 1, 2, false))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+            assertThatThrownBy(() -> seq.readVarLongs(new long[2], -1, 1, false))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
     @Nested
     @DisplayName("readVarLong()")
     final class ReadVarLongTest {
@@ -1293,6 +1394,23 @@ public abstract class ReadableTestBase extends SequentialTestBase {
             assertThat(seq.position()).isEqualTo(pos + 2);
         }
 
+        @Test
+        @DisplayName("Read varlongs of every length, with and without bytes after them")
+        void readEveryLength() {
+            for (int length = 1; length <= 10; length++) {
+                // the smallest value of each length, and -1 for ten bytes
+                final long value = length == 10 ? -1L : (1L << (7 * (length - 1)));
+                final byte[] encoded = encodeVarLong(value);
+                assertThat(encoded).hasSize(length);
+                for (final int padding : new int[] {0, 1, 16}) {
+                    final var seq = sequence(Arrays.copyOf(encoded, length + padding));
+                    final var pos = seq.position();
+                    assertThat(seq.readVarLong(false)).isEqualTo(value);
+                    assertThat(seq.position()).isEqualTo(pos + length);
+                }
+            }
+        }
+
         @Test
         @DisplayName("Reading a varlong that is not properly encoded throws DataEncodingException")
         void readInvalidVarLong() {
@@ -1315,4 +1433,21 @@ public abstract class ReadableTestBase extends SequentialTestBase {
             assertThatThrownBy(() -> seq.readVarLong(false)).isInstanceOf(DataEncodingException.class);
         }
     }
+
+    /**
+     * Encode a value as a protobuf varint
+     *
+     * @param value the value to encode
+     * @return the 1 to 10 bytes of the varint
+     */
+    private static byte[] encodeVarLong(long value) {
+        final byte[] bytes = new byte[10];
+        int i = 0;
+        while ((value & ~0x7FL) != 0) {
+            bytes[i++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[i++] = (byte) value;
+        return Arrays.copyOf(bytes, i);
+    }
 }
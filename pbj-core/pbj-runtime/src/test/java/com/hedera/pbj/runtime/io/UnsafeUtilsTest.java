@@ -60,5 +60,17 @@ public class UnsafeUtilsTest {
             assertEquals(getLong(src, i), UnsafeUtils.getLong(src, i));
         }
     }
-    
+
+    // Tests that UnsafeUtils.getLongLittleEndian() reads the same bytes as getLong(), in reverse order
+    @Test
+    void getLongLittleEndianTest() {
+        final int SIZE = 1000;
+        final byte[] src = new byte[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            src[i] = (byte) (i % 111);
+        }
+        for (int i = 0; i < SIZE + 1 - Long.BYTES; i++) {
+            assertEquals(Long.reverseBytes(getLong(src, i)), UnsafeUtils.getLongLittleEndian(src, i));
+        }
+    }
 }
@@ -649,6 +649,52 @@ public abstract class WritableTestBase extends SequentialTestBase {
         }
     }
 
+    @Nested
+    @DisplayName("writeUtf8String()")
+    final class WriteUtf8StringTest {
+        @Test
+        @DisplayName("Writing a string to an eof sequence throws BufferOverflowException")
+        void writeToEofSequenceThrows() {
+            final var seq = eofSequence();
+            assertThatThrownBy(() -> seq.writeUtf8String("abc", 3)).isInstanceOf(BufferOverflowException.class);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "ASCII only", "Latin: été über", "CJK: 你好世界", "Emoji: 😀👍", "Mixed a€😀é"})
+        @DisplayName("Written bytes are the UTF-8 encoding of the string")
+        void write(final String value) {
+            final var seq = sequence();
+            final var pos = seq.position();
+            final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            seq.writeUtf8String(value, expected.length);
+            assertThat(extractWrittenBytes(seq)).isEqualTo(expected);
+            assertThat(seq.position()).isEqualTo(pos + expected.length);
+        }
+
+        @Test
+        @DisplayName("Writing a string with an unpaired surrogate throws IllegalArgumentException")
+        void unpairedSurrogateThrows() {
+            final var seq = sequence();
+            assertThatThrownBy(() -> seq.writeUtf8String("a\ud83d", 4)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> seq.writeUtf8String("\ude00a", 4)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Writing a string that encodes to fewer bytes than the given length throws IllegalArgumentException")
+        void wrongLengthThrows() {
+            final var seq = sequence();
+            assertThatThrownBy(() -> seq.writeUtf8String("é", 3)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Writing a non-ASCII string with its char count as the length throws BufferOverflowException")
+        void charCountAsLengthThrows() {
+            final var seq = sequence();
+            assertThatThrownBy(() -> seq.writeUtf8String("\u00e9t\u00e9", 3))
+                    .isInstanceOf(BufferOverflowException.class);
+        }
+    }
+
     @Nested
     @DisplayName("writeInt()")
     final class WriteIntTest {
@@ -0,0 +1,139 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+final class BufferPoolTest {
+
+    @Test
+    @DisplayName("Buffers are rounded up to a size class and reused by the same thread")
+    void reusedBySameThread() {
+        final BufferPool pool = new BufferPool();
+        final BufferedData first;
+        try (BufferPool.Lease lease = pool.acquire(1000)) {
+            first = lease.buffer();
+            assertThat(first.capacity()).isEqualTo(1024);
+            first.writeLong(123);
+        }
+        assertThat(pool.bytesRetained()).isEqualTo(1024);
+        try (BufferPool.Lease lease = pool.acquire(600)) {
+            assertThat(lease.buffer()).isSameAs(first);
+            assertThat(lease.buffer().position()).isZero();
+            assertThat(lease.buffer().limit()).isEqualTo(1024);
+            assertThat(pool.bytesRetained()).isZero();
+        }
+        try (BufferPool.Lease lease = pool.acquire(0)) {
+            assertThat(lease.buffer().capacity()).isEqualTo(256);
+        }
+        assertThat(pool.hits()).isEqualTo(1);
+        assertThat(pool.misses()).isEqualTo(2);
+        assertThat(pool.hitRate()).isEqualTo(1 / 3.0);
+        assertThat(pool.bytesRetained()).isEqualTo(1024 + 256);
+    }
+
+    @Test
+    @DisplayName("Buffers larger than the largest size class are not pooled")
+    void largeBuffersNotPooled() {
+        final BufferPool pool = new BufferPool(false, 4096, 2, 2);
+        try (BufferPool.Lease lease = pool.acquire(5000)) {
+            assertThat(lease.buffer().capacity()).isEqualTo(5000);
+        }
+        try (BufferPool.Lease lease = pool.acquire(4096)) {
+            assertThat(lease.buffer().capacity()).isEqualTo(4096);
+        }
+        assertThat(pool.misses()).isEqualTo(2);
+        assertThat(pool.bytesRetained()).isEqualTo(4096);
+    }
+
+    @Test
+    @DisplayName("Buffers released when the thread's cache is full are reused by other threads")
+    void sharedBetweenThreads() throws InterruptedException {
+        final BufferPool pool = new BufferPool(false, 4096, 1, 1);
+        final BufferPool.Lease lease1 = pool.acquire(100);
+        final BufferPool.Lease lease2 = pool.acquire(100);
+        final BufferPool.Lease lease3 = pool.acquire(100);
+        final BufferedData shared = lease2.buffer();
+        lease1.close();
+        lease2.close();
+        // both caches are full, so this one is dropped
+        lease3.close();
+        assertThat(pool.bytesRetained()).isEqualTo(512);
+
+        final AtomicReference<BufferedData> other = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try (BufferPool.Lease lease = pool.acquire(100)) {
+                other.set(lease.buffer());
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(other.get()).isSameAs(shared);
+        assertThat(pool.hits()).isEqualTo(1);
+        assertThat(pool.misses()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A closed lease has no buffer, and closing it again has no effect")
+    void closedLease() {
+        final BufferPool pool = new BufferPool();
+        final BufferPool.Lease lease = pool.acquire(10);
+        lease.close();
+        lease.close();
+        assertThatThrownBy(lease::buffer).isInstanceOf(IllegalStateException.class);
+        assertThat(pool.bytesRetained()).isEqualTo(256);
+        try (BufferPool.Lease lease1 = pool.acquire(10);
+                BufferPool.Lease lease2 = pool.acquire(10)) {
+            assertThat(lease1.buffer()).isNotSameAs(lease2.buffer());
+        }
+    }
+
+    @Test
+    @DisplayName("A lease closed by several threads at once gives its buffer back only once")
+    void concurrentClose() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            // no thread caches, so every released buffer goes to the shared stack
+            final BufferPool pool = new BufferPool(false, 4096, 0, 16);
+            final BufferPool.Lease lease = pool.acquire(10);
+            final CountDownLatch start = new CountDownLatch(1);
+            final Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    lease.close();
+                });
+                threads[t].start();
+            }
+            start.countDown();
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+            assertThat(pool.bytesRetained()).isEqualTo(256);
+        }
+    }
+
+    @Test
+    @DisplayName("An off heap pool allocates direct buffers")
+    void offHeap() {
+        final BufferPool pool = new BufferPool(true, 4096, 2, 2);
+        try (BufferPool.Lease lease = pool.acquire(10)) {
+            assertThat(lease.buffer()).isInstanceOf(DirectBufferedData.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid sizes are rejected")
+    void invalidSizes() {
+        assertThatThrownBy(() -> new BufferPool(false, 0, 2, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BufferPool(false, 4096, -1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BufferPool().acquire(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
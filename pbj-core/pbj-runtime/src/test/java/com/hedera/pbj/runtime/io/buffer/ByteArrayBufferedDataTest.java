@@ -1,7 +1,12 @@
 package com.hedera.pbj.runtime.io.buffer;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
 final class ByteArrayBufferedDataTest extends BufferedDataTestBase {
 
@@ -22,4 +27,32 @@ final class ByteArrayBufferedDataTest extends BufferedDataTestBase {
     protected BufferedData wrap(final byte[] arr, final int offset, final int len) {
         return new ByteArrayBufferedData(ByteBuffer.wrap(arr, offset, len));
     }
+
+    @Test
+    @DisplayName("readBytes() and getBytes() of an aliasing buffer share the array")
+    void aliasingReadBytesShares() {
+        final byte[] bytes = new byte[] {1, 2, 3, 4, 5};
+        final var buf = BufferedData.wrapAliasing(bytes, 1, 3);
+        final Bytes readBytes = buf.readBytes(3);
+        final Bytes gotBytes = buf.getBytes(2, 2);
+        assertArrayEquals(new byte[] {2, 3, 4}, readBytes.toByteArray());
+        assertArrayEquals(new byte[] {3, 4}, gotBytes.toByteArray());
+        bytes[3] = 127;
+        assertArrayEquals(new byte[] {2, 3, 127}, readBytes.toByteArray());
+        assertArrayEquals(new byte[] {3, 127}, gotBytes.toByteArray());
+        assertEquals(4, buf.position());
+    }
+
+    @Test
+    @DisplayName("Slices and views of an aliasing buffer are aliasing")
+    void aliasingSlicesShare() {
+        final byte[] bytes = new byte[] {1, 2, 3, 4, 5, 6};
+        final var buf = BufferedData.wrapAliasing(bytes);
+        final Bytes fromSlice = buf.slice(1, 4).readBytes(2);
+        buf.skip(2);
+        final Bytes fromView = buf.view(3).readBytes(3);
+        bytes[2] = 127;
+        assertArrayEquals(new byte[] {2, 127}, fromSlice.toByteArray());
+        assertArrayEquals(new byte[] {127, 4, 5}, fromView.toByteArray());
+    }
 }
@@ -23,6 +23,7 @@ import java.util.stream.Stream;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.*;
 
 final class BytesTest {
@@ -631,6 +632,55 @@ final class BytesTest {
         );
     }
 
+    @Test
+    @DisplayName("Comparing slices of Bytes only compares the bytes in the slices")
+    void compareSlices() {
+        final Bytes bytes = Bytes.wrap(new byte[] {9, 1, 2, 3, -1, 9});
+        final Bytes other = Bytes.wrap(new byte[] {1, 2, 3, 4});
+        assertEquals(0, Bytes.SORT_BY_SIGNED_VALUE.compare(bytes.slice(1, 3), other.slice(0, 3)));
+        assertEquals(-1, Bytes.SORT_BY_SIGNED_VALUE.compare(bytes.slice(1, 3), other));
+        assertEquals(1, Bytes.SORT_BY_SIGNED_VALUE.compare(other, bytes.slice(1, 3)));
+        assertEquals(-5, Bytes.SORT_BY_SIGNED_VALUE.compare(bytes.slice(1, 4), other));
+        assertEquals(251, Bytes.SORT_BY_UNSIGNED_VALUE.compare(bytes.slice(1, 4), other));
+    }
+
+    @Test
+    @DisplayName("Equal Bytes have equal hash codes, which are cached")
+    void hashCodeOfSlices() {
+        final byte[] arr = new byte[100];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (byte) (i * 7);
+        }
+        final Bytes slice = Bytes.wrap(arr).slice(3, 90);
+        final Bytes copy = Bytes.wrap(Arrays.copyOfRange(arr, 3, 93));
+        assertEquals(copy, slice);
+        assertEquals(copy.hashCode(), slice.hashCode());
+        assertEquals(slice.hashCode(), slice.hashCode());
+        assertEquals(Arrays.hashCode(new byte[] {3, 2, 1}), Bytes.wrap(new byte[] {1, 2, 3}).hashCode());
+        assertNotEquals(copy, Bytes.wrap(arr).slice(4, 90));
+    }
+
+    @Test
+    @DisplayName("hashCode64 depends on every byte and the length, and not on where the bytes are")
+    void hashCode64() {
+        final byte[] arr = new byte[40];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = (byte) (i + 1);
+        }
+        for (int len = 0; len <= 20; len++) {
+            final Bytes slice = Bytes.wrap(arr).slice(5, len);
+            final Bytes copy = Bytes.wrap(Arrays.copyOfRange(arr, 5, 5 + len));
+            assertEquals(copy.hashCode64(), slice.hashCode64());
+            assertNotEquals(slice.hashCode64(), Bytes.wrap(arr).slice(5, len + 1).hashCode64());
+            for (int i = 0; i < len; i++) {
+                final byte[] changed = copy.toByteArray();
+                changed[i] ^= 0x10;
+                assertNotEquals(slice.hashCode64(), Bytes.wrap(changed).hashCode64());
+            }
+        }
+        assertNotEquals(Bytes.EMPTY.hashCode64(), Bytes.wrap(new byte[1]).hashCode64());
+    }
+
     @Test
     @DisplayName("Appends two Bytes objects")
     void appendBytes() {
@@ -684,4 +734,29 @@ final class BytesTest {
         final Bytes bytes = Bytes.wrap(value.getBytes(StandardCharsets.UTF_8));
         assertThat(bytes.asUtf8String()).isEqualTo(value);
     }
+
+    @Test
+    @DisplayName("asUtf8String of part of the bytes decodes only that part")
+    void asUtf8StringOfRange() {
+        final Bytes bytes = Bytes.wrap("ABC€DEF".getBytes(StandardCharsets.UTF_8));
+        assertThat(bytes.asUtf8String(2, 4)).isEqualTo("C€");
+        assertThat(bytes.slice(1, 6).asUtf8String(1, 4)).isEqualTo("C€");
+    }
+
+    @Test
+    @DisplayName("getVarInt and getVarLong of a slice read from the start of the slice")
+    void getVarLongOfSlice() {
+        // 300 as a varint, then -151 zigzag encoded, then 2^56 as a 9 byte varint, with bytes around them
+        final byte[] arr = {9, 9, (byte) 0b10101100, 0b00000010, (byte) 0b10101101, 0b00000010,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                1, 9, 9, 9, 9, 9, 9, 9, 9};
+        final Bytes slice = Bytes.wrap(arr).slice(2, 13);
+        assertThat(slice.getVarInt(0, false)).isEqualTo(300);
+        assertThat(slice.getVarLong(0, false)).isEqualTo(300);
+        assertThat(slice.getVarInt(2, true)).isEqualTo(-151);
+        assertThat(slice.getVarLong(2, true)).isEqualTo(-151);
+        assertThat(slice.getVarLong(4, false)).isEqualTo(1L << 56);
+        // the varint at the end of the slice is cut short by it
+        assertThatThrownBy(() -> slice.slice(0, 12).getVarLong(4, false)).isInstanceOf(RuntimeException.class);
+    }
 }
@@ -0,0 +1,220 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link CompositeBytes}. Test data is split into parts of 1, 2, 3... bytes, so that values cross from one
+ * part to the next, and each part is a slice of a bigger array.
+ */
+final class CompositeBytesTest extends RandomAccessTestBase {
+
+    @NonNull
+    private static CompositeBytes split(@NonNull final byte[] bytes) {
+        final List<Bytes> parts = new ArrayList<>();
+        int offset = 0;
+        for (int size = 1; offset < bytes.length; size++) {
+            final int length = Math.min(size, bytes.length - offset);
+            final byte[] array = new byte[length + 2];
+            System.arraycopy(bytes, offset, array, 1, length);
+            parts.add(Bytes.wrap(array).slice(1, length));
+            // empty parts are dropped
+            parts.add(Bytes.EMPTY);
+            offset += length;
+        }
+        return CompositeBytes.of(parts);
+    }
+
+    @NonNull
+    private static byte[] testData(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7 + 3);
+        }
+        return bytes;
+    }
+
+    @NonNull
+    @Override
+    protected ReadableSequentialData emptySequence() {
+        return CompositeBytes.EMPTY.toReadableSequentialData();
+    }
+
+    @NonNull
+    @Override
+    protected ReadableSequentialData fullyUsedSequence() {
+        final var buf = split(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}).toReadableSequentialData();
+        buf.skip(10);
+        return buf;
+    }
+
+    @NonNull
+    @Override
+    protected ReadableSequentialData sequence(@NonNull final byte[] arr) {
+        return split(arr).toReadableSequentialData();
+    }
+
+    @NonNull
+    @Override
+    protected RandomAccessData randomAccessData(@NonNull final byte[] bytes) {
+        return split(bytes);
+    }
+
+    @Test
+    @DisplayName("Values that cross parts are read like values within a part")
+    void valuesAcrossParts() {
+        final byte[] bytes = testData(200);
+        final CompositeBytes composite = split(bytes);
+        final Bytes expected = Bytes.wrap(bytes);
+        assertThat(composite.length()).isEqualTo(200);
+        assertThat(composite.parts()).hasSize(20);
+        for (int i = 0; i <= 200 - Long.BYTES; i++) {
+            assertThat(composite.getByte(i)).isEqualTo(expected.getByte(i));
+            assertThat(composite.getInt(i)).isEqualTo(expected.getInt(i));
+            assertThat(composite.getLong(i)).isEqualTo(expected.getLong(i));
+        }
+        final BufferedData varints = BufferedData.allocate(200);
+        for (int i = 0; i < 20; i++) {
+            varints.writeVarLong(-1L << (i * 3), false);
+        }
+        final byte[] encoded = new byte[(int) varints.position()];
+        varints.getBytes(0, encoded);
+        final CompositeBytes composite2 = split(encoded);
+        long offset = 0;
+        for (int i = 0; i < 20; i++) {
+            assertThat(composite2.getVarLong(offset, false)).isEqualTo(-1L << (i * 3));
+            offset += 10;
+        }
+        assertThatThrownBy(() -> composite.getLong(195)).isInstanceOf(BufferUnderflowException.class);
+    }
+
+    @Test
+    @DisplayName("Bulk gets copy across parts")
+    void bulkGets() {
+        final byte[] bytes = testData(100);
+        final CompositeBytes composite = split(bytes);
+        final byte[] dst = new byte[50];
+        assertThat(composite.getBytes(27, dst, 0, 50)).isEqualTo(50);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 27, 77), dst);
+        final ByteBuffer buffer = ByteBuffer.allocate(200);
+        assertThat(composite.getBytes(27, buffer)).isEqualTo(73);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 27, 100), Arrays.copyOf(buffer.array(), 73));
+        final BufferedData data = BufferedData.allocate(30);
+        assertThat(composite.getBytes(27, data)).isEqualTo(30);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 27, 57), data.getBytes(0, 30).toByteArray());
+        assertThat(composite.getBytes(10, 40).toByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 10, 50));
+        // within one part the bytes are not copied
+        assertThat(composite.getBytes(91, 5).toByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 91, 96));
+    }
+
+    @Test
+    @DisplayName("Slices reference the parts and can be sliced again")
+    void slices() {
+        final byte[] bytes = testData(100);
+        final CompositeBytes composite = split(bytes);
+        final RandomAccessData slice = composite.slice(5, 80);
+        assertThat(slice).isInstanceOf(CompositeBytes.class);
+        final CompositeBytes sliced = (CompositeBytes) slice;
+        assertThat(sliced.toBytes().toByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 5, 85));
+        assertThat(sliced.slice(10, 20).getBytes(0, 20).toByteArray())
+                .isEqualTo(Arrays.copyOfRange(bytes, 15, 35));
+        assertThat(composite.slice(91, 5)).isInstanceOf(Bytes.class);
+        assertThat(composite.slice(0, 100)).isSameAs(composite);
+        assertThat(composite.slice(100, 0).length()).isZero();
+        assertThatThrownBy(() -> composite.slice(90, 11)).isInstanceOf(BufferUnderflowException.class);
+    }
+
+    @Test
+    @DisplayName("Writing and digesting the whole or a range is the same as for the flattened bytes")
+    void writeTo() throws NoSuchAlgorithmException, IOException {
+        final byte[] bytes = testData(100);
+        final CompositeBytes composite = split(bytes);
+
+        final MessageDigest digest = MessageDigest.getInstance("SHA-384");
+        composite.writeTo(digest);
+        assertArrayEquals(MessageDigest.getInstance("SHA-384").digest(bytes), digest.digest());
+        composite.writeTo(digest, 12, 70);
+        assertArrayEquals(
+                MessageDigest.getInstance("SHA-384").digest(Arrays.copyOfRange(bytes, 12, 82)), digest.digest());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        composite.writeTo(out);
+        composite.writeTo(out, 3, 4);
+        final byte[] expected = Arrays.copyOf(bytes, 104);
+        System.arraycopy(bytes, 3, expected, 100, 4);
+        assertArrayEquals(expected, out.toByteArray());
+
+        final BufferedData data = BufferedData.allocate(104);
+        composite.writeTo(data);
+        composite.writeTo(data, 3, 4);
+        assertArrayEquals(expected, data.getBytes(0, 104).toByteArray());
+        assertThatThrownBy(() -> composite.writeTo(data, 98, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        final ByteBuffer buffer = ByteBuffer.allocate(100);
+        composite.writeTo(buffer);
+        assertArrayEquals(bytes, buffer.array());
+
+        try (InputStream in = composite.toInputStream()) {
+            assertArrayEquals(bytes, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Contents are flattened once, and compare and hash however they are split")
+    void flattenEqualsAndHashCode() {
+        final byte[] bytes = testData(100);
+        final CompositeBytes composite = split(bytes);
+        final Bytes flat = composite.toBytes();
+        assertThat(flat).isEqualTo(Bytes.wrap(bytes));
+        assertThat(composite.toBytes()).isSameAs(flat);
+        final Bytes part = Bytes.wrap(bytes);
+        assertThat(CompositeBytes.of(part).toBytes()).isSameAs(part);
+        assertThat(CompositeBytes.of().toBytes()).isSameAs(Bytes.EMPTY);
+
+        final CompositeBytes halves =
+                CompositeBytes.of(Bytes.wrap(Arrays.copyOf(bytes, 50)), Bytes.wrap(Arrays.copyOfRange(bytes, 50, 100)));
+        assertThat(halves).isEqualTo(composite);
+        assertThat(composite).isEqualTo(halves);
+        assertThat(halves.hashCode()).isEqualTo(composite.hashCode());
+        assertThat(halves.hashCode()).isEqualTo(Bytes.wrap(bytes).hashCode());
+        assertThat(halves.toString()).isEqualTo(Bytes.wrap(bytes).toString());
+        final byte[] other = bytes.clone();
+        other[99]++;
+        assertThat(split(other)).isNotEqualTo(composite);
+        assertThat(split(Arrays.copyOf(bytes, 99))).isNotEqualTo(composite);
+    }
+
+    @Test
+    @DisplayName("Appending references the appended parts, and copies other data")
+    void append() {
+        final Bytes a = Bytes.wrap(new byte[] {1, 2});
+        final Bytes b = Bytes.wrap(new byte[] {3});
+        final byte[] mutable = {4, 5};
+        final CompositeBytes appended = CompositeBytes.of(a)
+                .append(b)
+                .append(Bytes.EMPTY)
+                .append((RandomAccessData) CompositeBytes.of(a, b))
+                .append(BufferedData.wrap(mutable));
+        mutable[0] = 9;
+        assertThat(appended.toBytes().toByteArray()).isEqualTo(new byte[] {1, 2, 3, 1, 2, 3, 4, 5});
+        assertThat(appended.parts()).hasSize(5);
+        assertThat(appended.parts().get(0)).isSameAs(a);
+        assertThat(appended.parts().get(3)).isSameAs(b);
+    }
+}
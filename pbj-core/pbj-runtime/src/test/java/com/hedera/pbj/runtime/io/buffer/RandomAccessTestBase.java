@@ -131,6 +131,22 @@ public abstract class RandomAccessTestBase extends ReadableTestBase {
         assertFalse(slice.contains(1, new byte[]{0x03,0x04,0x05,0x06}));
     }
 
+    @Test
+    void containsDataNonZeroOffset() {
+        final RandomAccessData data = randomAccessData(new byte[]{0x01,0x02,0x03,0x04,0x05,0x06});
+        assertTrue(data.contains(1, Bytes.wrap(new byte[]{0x02,0x03})));
+        assertTrue(data.contains(3, Bytes.wrap(new byte[]{0x04,0x05,0x06})));
+        assertTrue(data.contains(2, randomAccessData(new byte[]{0x03,0x04})));
+        assertTrue(data.contains(5, Bytes.EMPTY));
+        assertFalse(data.contains(1, Bytes.wrap(new byte[]{0x01,0x02})));
+        assertFalse(data.contains(4, Bytes.wrap(new byte[]{0x05,0x06,0x07})));
+        assertFalse(data.contains(2, randomAccessData(new byte[]{0x03,0x05})));
+
+        final RandomAccessData slice = data.slice(1, 4);
+        assertTrue(slice.contains(1, Bytes.wrap(new byte[]{0x01,0x03,0x04}).slice(1, 2)));
+        assertFalse(slice.contains(1, Bytes.wrap(new byte[]{0x03,0x04,0x05,0x06})));
+    }
+
     @Test
     void getInt() {
         final RandomAccessData data = randomAccessData(new byte[]{0x01,0x02,0x03,0x04,0x05,0x06});
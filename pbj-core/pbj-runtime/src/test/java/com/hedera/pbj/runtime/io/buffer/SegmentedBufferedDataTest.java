@@ -0,0 +1,244 @@
+package com.hedera.pbj.runtime.io.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.ReadableTestBase;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.WritableTestBase;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link SegmentedBufferedData}. Most tests use 8 byte segments, so that ints, longs, varints and byte
+ * ranges cross from one segment to the next.
+ */
+final class SegmentedBufferedDataTest {
+
+    private static final int SEGMENT_SIZE = 8;
+
+    @NonNull
+    private static SegmentedBufferedData allocate(final long size) {
+        return SegmentedBufferedData.allocate(size, SEGMENT_SIZE, false);
+    }
+
+    @NonNull
+    private static SegmentedBufferedData wrap(@NonNull final byte[] arr) {
+        final SegmentedBufferedData buf = SegmentedBufferedData.allocate(arr.length, SEGMENT_SIZE, true);
+        buf.writeBytes(arr);
+        buf.reset();
+        return buf;
+    }
+
+    @Test
+    @DisplayName("Values that cross segments are read and written like values within a segment")
+    void valuesAcrossSegments() {
+        final SegmentedBufferedData buf = allocate(128);
+        final BufferedData expected = BufferedData.allocate(128);
+        for (int i = 0; i < 5; i++) {
+            buf.writeVarLong(-1L << (i * 9), true);
+            expected.writeVarLong(-1L << (i * 9), true);
+            buf.writeLong(0x0102030405060708L * i);
+            expected.writeLong(0x0102030405060708L * i);
+            buf.writeInt(0x0A0B0C0D * i);
+            expected.writeInt(0x0A0B0C0D * i);
+        }
+        assertEquals(expected.position(), buf.position());
+        final byte[] bytes = new byte[(int) buf.position()];
+        buf.getBytes(0, bytes);
+        assertArrayEquals(expected.getBytes(0, bytes.length).toByteArray(), bytes);
+
+        buf.flip();
+        for (int i = 0; i < 5; i++) {
+            final long offset = buf.position();
+            assertEquals(-1L << (i * 9), buf.getVarLong(offset, true));
+            assertEquals(-1L << (i * 9), buf.readVarLong(true));
+            assertEquals(0x0102030405060708L * i, buf.getLong(buf.position()));
+            assertEquals(0x0102030405060708L * i, buf.readLong());
+            assertEquals(0x0A0B0C0D * i, buf.getInt(buf.position()));
+            assertEquals(0x0A0B0C0D * i, buf.readInt());
+        }
+        assertThat(buf.hasRemaining()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Slices and views share the memory of the buffer")
+    void slicesShareMemory() {
+        final SegmentedBufferedData buf = wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        final SegmentedBufferedData slice = buf.slice(5, 10);
+        assertThat(slice.capacity()).isEqualTo(10);
+        assertThat(slice.getInt(2)).isEqualTo(0x0708090A);
+        buf.position(6);
+        final SegmentedBufferedData view = buf.view(4);
+        assertThat(buf.position()).isEqualTo(10);
+        view.writeByte((byte) 99);
+        assertThat(slice.getByte(1)).isEqualTo((byte) 99);
+        assertThat(buf.getByte(6)).isEqualTo((byte) 99);
+        assertThatThrownBy(() -> buf.slice(10, 8)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("A mapped file can be larger than 2GB")
+    void mapLargerThan2GB(@TempDir final Path dir) throws IOException {
+        final long size = 3L << 30;
+        final long offset = size - 100;
+        final Path file = dir.resolve("large.bin");
+        try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final SegmentedBufferedData written =
+                    SegmentedBufferedData.map(channel, FileChannel.MapMode.READ_WRITE, 0, size);
+            assertThat(written.capacity()).isEqualTo(size);
+            written.position(offset);
+            written.writeVarLong(Long.MIN_VALUE, true);
+            written.writeLong(123456789L);
+            assertThat(channel.size()).isEqualTo(size);
+            final SegmentedBufferedData read =
+                    SegmentedBufferedData.map(channel, FileChannel.MapMode.READ_ONLY, 0, size);
+            read.position(offset);
+            assertThat(read.readVarLong(true)).isEqualTo(Long.MIN_VALUE);
+            assertThat(read.readLong()).isEqualTo(123456789L);
+            assertThatThrownBy(() -> read.writeByte((byte) 1)).isInstanceOf(ReadOnlyBufferException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("A mapped region is read in segments")
+    void mapRegion(@TempDir final Path dir) throws IOException {
+        final Path file = dir.resolve("small.bin");
+        final byte[] bytes = new byte[100];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Files.write(file, bytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final SegmentedBufferedData buf =
+                    SegmentedBufferedData.map(channel, FileChannel.MapMode.READ_ONLY, 10, 50, SEGMENT_SIZE);
+            assertThat(buf.capacity()).isEqualTo(50);
+            assertThat(buf.readBytes(50).toByteArray()).isEqualTo(Arrays.copyOfRange(bytes, 10, 60));
+        }
+    }
+
+    @Nested
+    final class ReadableSequentialDataTest extends ReadableTestBase {
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData emptySequence() {
+            return allocate(0);
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData fullyUsedSequence() {
+            final var buf = wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            buf.skip(10);
+            return buf;
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData sequence(@NonNull byte[] arr) {
+            return wrap(arr);
+        }
+    }
+
+    @Nested
+    final class ReadableSequentialDataViewTest extends ReadableTestBase {
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData emptySequence() {
+            final var buf = wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            buf.position(7);
+            return buf.view(0);
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData fullyUsedSequence() {
+            final var buf = wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            buf.position(2);
+            final var view = buf.view(5);
+            view.skip(5);
+            return view;
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData sequence(@NonNull byte[] arr) {
+            final var buf = allocate(arr.length + 13L);
+            buf.position(5);
+            buf.writeBytes(arr);
+            buf.position(5);
+            return buf.view(arr.length);
+        }
+    }
+
+    @Nested
+    final class RandomAccessDataTest extends RandomAccessTestBase {
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData emptySequence() {
+            return new RandomAccessSequenceAdapter(allocate(0));
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData fullyUsedSequence() {
+            final var buf = wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+            buf.skip(10);
+            return new RandomAccessSequenceAdapter(buf, 10);
+        }
+
+        @NonNull
+        @Override
+        protected ReadableSequentialData sequence(@NonNull byte[] arr) {
+            return new RandomAccessSequenceAdapter(wrap(arr));
+        }
+
+        @NonNull
+        @Override
+        protected RandomAccessData randomAccessData(@NonNull byte[] arr) {
+            return wrap(arr);
+        }
+    }
+
+    @Nested
+    final class WritableSequentialDataTest extends WritableTestBase {
+        @NonNull
+        @Override
+        protected WritableSequentialData sequence() {
+            // the largest expected test value is 1024 * 1024, in larger segments to keep the number of them down
+            return SegmentedBufferedData.allocate(1024 * 1024 * 2, 1024, false);
+        }
+
+        @NonNull
+        @Override
+        protected WritableSequentialData eofSequence() {
+            return allocate(0);
+        }
+
+        @NonNull
+        @Override
+        protected byte[] extractWrittenBytes(@NonNull WritableSequentialData seq) {
+            final var buf = (SegmentedBufferedData) seq;
+            final var bytes = new byte[Math.toIntExact(buf.position())];
+            buf.getBytes(0, bytes);
+            return bytes;
+        }
+    }
+}
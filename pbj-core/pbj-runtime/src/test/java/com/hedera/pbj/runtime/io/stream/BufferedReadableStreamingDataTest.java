@@ -0,0 +1,155 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.ReadableTestBase;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the {@link ReadableTestBase} tests against a {@link ReadableStreamingData} that reads ahead into a buffer.
+ * The buffer is kept small so that reads regularly cross buffer refills.
+ */
+final class BufferedReadableStreamingDataTest extends ReadableTestBase {
+
+    private static final int BUFFER_SIZE = 16;
+
+    @NonNull
+    @Override
+    protected ReadableStreamingData emptySequence() {
+        final var stream = new ReadableStreamingData(new ByteArrayInputStream(new byte[0]), BUFFER_SIZE);
+        stream.limit(0);
+        return stream;
+    }
+
+    @NonNull
+    @Override
+    protected ReadableStreamingData fullyUsedSequence() {
+        final var s = "This is a test string!";
+        final var stream = sequence(s.getBytes(StandardCharsets.UTF_8));
+        stream.limit(s.length());
+        stream.skip(s.getBytes(StandardCharsets.UTF_8).length);
+        return stream;
+    }
+
+    @Override
+    @NonNull
+    protected ReadableStreamingData sequence(@NonNull byte [] arr) {
+        final var stream = new ReadableStreamingData(new ByteArrayInputStream(arr), BUFFER_SIZE);
+        stream.limit(arr.length);
+        return stream;
+    }
+
+    @Test
+    @DisplayName("Buffer size must be large enough for a long")
+    void bufferTooSmall() {
+        final var in = new ByteArrayInputStream(new byte[0]);
+        assertThatThrownBy(() -> new ReadableStreamingData(in, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Nothing past the limit is read from the underlying stream")
+    void doesNotReadPastLimit() throws IOException {
+        final var in = new ByteArrayInputStream("0123456789".getBytes(StandardCharsets.UTF_8));
+        try (var stream = new ReadableStreamingData(in, BUFFER_SIZE)) {
+            stream.limit(4);
+            assertThat(stream.readByte()).isEqualTo((byte) '0');
+            assertThat(in.available()).isEqualTo(6);
+            stream.limit(10);
+            assertThat(stream.readBytes(3).asUtf8String()).isEqualTo("123");
+            assertThat(stream.readByte()).isEqualTo((byte) '4');
+            assertThat(in.available()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Values that cross a buffer refill are read correctly")
+    void valuesAcrossRefills() {
+        final var data = BufferedData.allocate(2000);
+        for (int i = 0; i < 50; i++) {
+            data.writeVarLong(i * 0x0102030405L, true);
+            data.writeInt(i);
+            data.writeLong(-i);
+            data.writeVarInt(-i, false);
+        }
+        data.flip();
+        final var bytes = new byte[(int) data.remaining()];
+        data.readBytes(bytes);
+        // An input stream that gives back at most 3 bytes per read, so refills often come up short
+        final InputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+        try (var stream = new ReadableStreamingData(in, BUFFER_SIZE)) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(stream.readVarLong(true)).isEqualTo(i * 0x0102030405L);
+                assertThat(stream.readInt()).isEqualTo(i);
+                assertThat(stream.readLong()).isEqualTo(-i);
+                assertThat(stream.readVarInt(false)).isEqualTo(-i);
+            }
+            assertThat(stream.position()).isEqualTo(bytes.length);
+            assertThatThrownBy(() -> stream.readVarInt(false)).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("A var int is read as soon as its last byte arrives, without waiting for more bytes")
+    void varIntDoesNotWaitForMoreBytes() {
+        // An input stream that gives back one chunk per read, like a socket, and fails where a socket would block
+        final var chunks = new ArrayDeque<>(List.of(new byte[] {0x05}, new byte[] {(byte) 0x96}, new byte[] {0x01}));
+        final InputStream in = new InputStream() {
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                final byte[] chunk = chunks.poll();
+                if (chunk == null) {
+                    throw new IllegalStateException("would block");
+                }
+                System.arraycopy(chunk, 0, b, off, chunk.length);
+                return chunk.length;
+            }
+        };
+        final var stream = new ReadableStreamingData(in, BUFFER_SIZE);
+        assertThat(stream.readVarInt(false)).isEqualTo(5);
+        assertThat(stream.readVarInt(false)).isEqualTo(150);
+        assertThat(stream.position()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Bytes are read from a file")
+    void readFromFile(@TempDir Path dir) throws IOException {
+        final var file = dir.resolve("data.bin");
+        final var bytes = new byte[100_000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        Files.write(file, bytes);
+        try (var stream = new ReadableStreamingData(file)) {
+            assertThat(stream.readByte()).isEqualTo((byte) 0);
+            assertThat(stream.skip(50_000)).isEqualTo(50_000);
+            final var read = new byte[bytes.length];
+            assertThat(stream.readBytes(read)).isEqualTo(bytes.length - 50_001);
+            assertThat(read[0]).isEqualTo(bytes[50_001]);
+            assertThat(stream.hasRemaining()).isFalse();
+        }
+    }
+}
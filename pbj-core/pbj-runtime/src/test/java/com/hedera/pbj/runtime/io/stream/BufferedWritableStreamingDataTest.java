@@ -0,0 +1,111 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.DataAccessException;
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.WritableTestBase;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the {@link WritableTestBase} tests against a {@link WritableStreamingData} that combines writes in a buffer.
+ * The buffer is kept small so that writes regularly cross buffer flushes.
+ */
+final class BufferedWritableStreamingDataTest extends WritableTestBase {
+    private static final int BUFFER_SIZE = 16;
+
+    private ByteArrayOutputStream out;
+
+    @NonNull
+    @Override
+    protected WritableStreamingData sequence() {
+        return new WritableStreamingData(out = new ByteArrayOutputStream(), Long.MAX_VALUE, BUFFER_SIZE);
+    }
+
+    @NonNull
+    @Override
+    protected WritableStreamingData eofSequence() {
+        final var sequence = new WritableStreamingData(out = new ByteArrayOutputStream(), 10, BUFFER_SIZE);
+        sequence.writeBytes("0123456789".getBytes(StandardCharsets.UTF_8));
+        return sequence;
+    }
+
+    @NonNull
+    @Override
+    protected byte[] extractWrittenBytes(@NonNull WritableSequentialData seq) {
+        ((WritableStreamingData) seq).flush();
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Buffer size must be large enough for a long")
+    void bufferTooSmall() {
+        final var stream = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> new WritableStreamingData(stream, Long.MAX_VALUE, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Small writes are held back until flush")
+    void writesHeldUntilFlush() {
+        final var seq = sequence();
+        seq.writeInt(1);
+        seq.writeVarLong(300, false);
+        assertThat(seq.position()).isEqualTo(6);
+        assertThat(out.size()).isZero();
+        seq.flush();
+        assertThat(out.toByteArray()).containsExactly(0, 0, 0, 1, 0xAC - 256, 0x02);
+    }
+
+    @Test
+    @DisplayName("Writes larger than the buffer go straight to the stream, after what was already buffered")
+    void largeWriteKeepsOrder() {
+        final var seq = sequence();
+        seq.writeByte((byte) 7);
+        final var large = new byte[BUFFER_SIZE * 3];
+        large[0] = 1;
+        seq.writeBytes(large);
+        assertThat(out.size()).isEqualTo(large.length + 1);
+        assertThat(out.toByteArray()[0]).isEqualTo((byte) 7);
+        assertThat(out.toByteArray()[1]).isEqualTo((byte) 1);
+    }
+
+    @Test
+    @DisplayName("Closing writes out the buffered bytes")
+    void closeFlushes() throws IOException {
+        final var seq = sequence();
+        seq.writeLong(0x0102030405060708L);
+        seq.close();
+        assertThat(out.toByteArray()).containsExactly(1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    @DisplayName("A failure writing the buffered bytes on flush throws DataAccessException")
+    void flushFails() throws IOException {
+        final var stream = mock(OutputStream.class);
+        doThrow(IOException.class).when(stream).write(any(), anyInt(), anyInt());
+        final var seq = new WritableStreamingData(stream, Long.MAX_VALUE, BUFFER_SIZE);
+        seq.writeInt(1);
+        assertThatThrownBy(seq::flush).isInstanceOf(DataAccessException.class);
+    }
+
+    @Test
+    @DisplayName("A failure writing the buffered bytes on close throws IOException")
+    void closeFails() throws IOException {
+        final var stream = mock(OutputStream.class);
+        doThrow(IOException.class).when(stream).write(any(), anyInt(), anyInt());
+        final var seq = new WritableStreamingData(stream, Long.MAX_VALUE, BUFFER_SIZE);
+        seq.writeInt(1);
+        assertThatThrownBy(seq::close).isInstanceOf(IOException.class);
+    }
+}
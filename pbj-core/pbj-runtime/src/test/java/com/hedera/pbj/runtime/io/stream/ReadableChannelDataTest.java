@@ -0,0 +1,183 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.ReadableTestBase;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the {@link ReadableTestBase} tests against a {@link ReadableChannelData}. The buffer is kept small so that
+ * reads regularly cross buffer refills.
+ */
+final class ReadableChannelDataTest extends ReadableTestBase {
+
+    private static final int BUFFER_SIZE = 16;
+
+    @NonNull
+    @Override
+    protected ReadableChannelData emptySequence() {
+        final var stream = sequence(new byte[0]);
+        stream.limit(0);
+        return stream;
+    }
+
+    @NonNull
+    @Override
+    protected ReadableChannelData fullyUsedSequence() {
+        final var s = "This is a test string!";
+        final var stream = sequence(s.getBytes(StandardCharsets.UTF_8));
+        stream.skip(s.length());
+        return stream;
+    }
+
+    @Override
+    @NonNull
+    protected ReadableChannelData sequence(@NonNull byte [] arr) {
+        final var stream = new ReadableChannelData(Channels.newChannel(new ByteArrayInputStream(arr)), BUFFER_SIZE);
+        stream.limit(arr.length);
+        return stream;
+    }
+
+    @NonNull
+    private static byte[] testData(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7 + 3);
+        }
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Buffer size must be large enough for a long")
+    void bufferTooSmall() {
+        final var channel = Channels.newChannel(new ByteArrayInputStream(new byte[0]));
+        assertThatThrownBy(() -> new ReadableChannelData(channel, 8)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Reads larger than the buffer go straight to the channel, after what was already buffered")
+    void largeReads(@TempDir Path dir) throws IOException {
+        final Path file = dir.resolve("data.bin");
+        final byte[] data = testData(10_000);
+        Files.write(file, data);
+        try (var seq = new ReadableChannelData(FileChannel.open(file), BUFFER_SIZE)) {
+            assertThat(seq.readByte()).isEqualTo(data[0]);
+            final byte[] dst = new byte[5_000];
+            assertThat(seq.readBytes(dst)).isEqualTo(5_000);
+            assertThat(dst).isEqualTo(Arrays.copyOfRange(data, 1, 5_001));
+            // a seekable channel skips without reading
+            assertThat(seq.skip(3_000)).isEqualTo(3_000);
+            assertThat(seq.position()).isEqualTo(8_001);
+            assertThat(seq.readBytes(1_999).toByteArray()).isEqualTo(Arrays.copyOfRange(data, 8_001, 10_000));
+            assertThatThrownBy(seq::readByte).isInstanceOf(EOFException.class);
+            assertThat(seq.hasRemaining()).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Bytes are transferred between files, after what was already buffered")
+    void transferToFile(@TempDir Path dir) throws IOException {
+        final Path src = dir.resolve("src.bin");
+        final Path dst = dir.resolve("dst.bin");
+        final byte[] data = testData(5_000);
+        Files.write(src, data);
+        try (var seq = new ReadableChannelData(src);
+                var target = FileChannel.open(dst, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            seq.readInt();
+            assertThat(seq.transferTo(target, 4_000)).isEqualTo(4_000);
+            assertThat(seq.position()).isEqualTo(4_004);
+            assertThatThrownBy(() -> seq.transferTo(target, 2_000)).isInstanceOf(EOFException.class);
+        }
+        assertThat(Arrays.copyOf(Files.readAllBytes(dst), 4_000)).isEqualTo(Arrays.copyOfRange(data, 4, 4_004));
+    }
+
+    @Test
+    @DisplayName("Bytes are transferred to a channel that is not a file through the buffer")
+    void transferToStream() {
+        final byte[] data = testData(1_000);
+        final var out = new ByteArrayOutputStream();
+        try (var seq = sequence(data)) {
+            seq.readLong();
+            assertThat(seq.transferTo(Channels.newChannel(out), 900)).isEqualTo(900);
+            assertThat(seq.remaining()).isEqualTo(92);
+        }
+        assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(data, 8, 908));
+    }
+
+    @Test
+    @DisplayName("A writable channel data transfers the rest of a readable channel data")
+    void channelToChannel(@TempDir Path dir) throws IOException {
+        final Path src = dir.resolve("src.bin");
+        final Path dst = dir.resolve("dst.bin");
+        final byte[] data = testData(3_000);
+        Files.write(src, data);
+        try (var in = new ReadableChannelData(src);
+                var out = new WritableChannelData(dst)) {
+            out.writeByte(in.readByte());
+            out.transferFrom(in, 2_999);
+            assertThat(out.position()).isEqualTo(3_000);
+            assertThat(in.position()).isEqualTo(3_000);
+        }
+        assertThat(Files.readAllBytes(dst)).isEqualTo(data);
+    }
+
+    @Test
+    @DisplayName("A var int is read as soon as its last byte arrives, without waiting for more bytes")
+    void varIntDoesNotWaitForMoreBytes() {
+        // A channel that gives back one chunk per read, like a socket, and fails where a socket would block
+        final var chunks = new ArrayDeque<>(List.of(new byte[] {0x05}, new byte[] {(byte) 0x96}, new byte[] {0x01}));
+        final ReadableByteChannel channel = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                final byte[] chunk = chunks.poll();
+                if (chunk == null) {
+                    throw new IllegalStateException("would block");
+                }
+                dst.put(chunk);
+                return chunk.length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        };
+        final var seq = new ReadableChannelData(channel, BUFFER_SIZE);
+        assertThat(seq.readVarInt(false)).isEqualTo(5);
+        assertThat(seq.readVarInt(false)).isEqualTo(150);
+        assertThat(seq.position()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Closing twice is safe, and nothing more can be read")
+    void close() {
+        final var seq = sequence(testData(100));
+        seq.readInt();
+        seq.close();
+        seq.close();
+        assertThat(seq.hasRemaining()).isFalse();
+        assertThatThrownBy(seq::readByte).isInstanceOf(BufferUnderflowException.class);
+    }
+}
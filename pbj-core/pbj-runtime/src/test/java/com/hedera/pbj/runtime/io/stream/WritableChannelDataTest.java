@@ -0,0 +1,154 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.WritableTestBase;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.buffer.CompositeBytes;
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import com.hedera.pbj.runtime.io.buffer.SegmentedBufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the {@link WritableTestBase} tests against a {@link WritableChannelData}. The buffer is kept small so that
+ * writes regularly cross buffer flushes.
+ */
+final class WritableChannelDataTest extends WritableTestBase {
+    private static final int BUFFER_SIZE = 16;
+
+    private ByteArrayOutputStream out;
+
+    @NonNull
+    @Override
+    protected WritableChannelData sequence() {
+        out = new ByteArrayOutputStream();
+        return new WritableChannelData(Channels.newChannel(out), Long.MAX_VALUE, BUFFER_SIZE);
+    }
+
+    @NonNull
+    @Override
+    protected WritableChannelData eofSequence() {
+        out = new ByteArrayOutputStream();
+        final var sequence = new WritableChannelData(Channels.newChannel(out), 10, BUFFER_SIZE);
+        sequence.writeBytes("0123456789".getBytes(StandardCharsets.UTF_8));
+        return sequence;
+    }
+
+    @NonNull
+    @Override
+    protected byte[] extractWrittenBytes(@NonNull WritableSequentialData seq) {
+        ((WritableChannelData) seq).flush();
+        return out.toByteArray();
+    }
+
+    @NonNull
+    private static byte[] testData(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7 + 3);
+        }
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Buffer size must be large enough for a long")
+    void bufferTooSmall() {
+        final var channel = Channels.newChannel(new ByteArrayOutputStream());
+        assertThatThrownBy(() -> new WritableChannelData(channel, Long.MAX_VALUE, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Writes larger than the buffer are gathered with what was already buffered")
+    void largeWritesKeepOrder(@TempDir Path dir) throws IOException {
+        final Path file = dir.resolve("large.bin");
+        final byte[] large = testData(10_000);
+        final byte[] parts = testData(300);
+        final var composite = CompositeBytes.of(
+                Bytes.wrap(Arrays.copyOf(parts, 100)), Bytes.wrap(Arrays.copyOfRange(parts, 100, 300)));
+        final var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try (var seq = new WritableChannelData(channel, Long.MAX_VALUE, BUFFER_SIZE)) {
+            seq.writeByte((byte) 1);
+            seq.writeBytes(large);
+            seq.writeByte((byte) 2);
+            seq.writeBytes(Bytes.wrap(large));
+            seq.writeByte((byte) 3);
+            seq.writeBytes(composite);
+            assertThat(seq.position()).isEqualTo(20_303);
+        }
+        final byte[] written = Files.readAllBytes(file);
+        assertThat(written).hasSize(20_303);
+        assertThat(written[0]).isEqualTo((byte) 1);
+        assertThat(Arrays.copyOfRange(written, 1, 10_001)).isEqualTo(large);
+        assertThat(written[10_001]).isEqualTo((byte) 2);
+        assertThat(Arrays.copyOfRange(written, 10_002, 20_002)).isEqualTo(large);
+        assertThat(written[20_002]).isEqualTo((byte) 3);
+        assertThat(Arrays.copyOfRange(written, 20_003, 20_303)).isEqualTo(parts);
+    }
+
+    @Test
+    @DisplayName("Random access buffers of any size are written in full")
+    void randomAccessBuffers() {
+        final byte[] small = testData(10);
+        final byte[] large = testData(1_000);
+        final var segmented = SegmentedBufferedData.allocate(large.length);
+        segmented.writeBytes(large);
+        final var seq = sequence();
+        seq.writeBytes((RandomAccessData) BufferedData.wrap(small));
+        seq.writeBytes((RandomAccessData) BufferedData.wrap(large));
+        seq.writeBytes((RandomAccessData) segmented);
+        assertThat(seq.position()).isEqualTo(2_010);
+        final byte[] written = extractWrittenBytes(seq);
+        assertThat(Arrays.copyOf(written, 10)).isEqualTo(small);
+        assertThat(Arrays.copyOfRange(written, 10, 1_010)).isEqualTo(large);
+        assertThat(Arrays.copyOfRange(written, 1_010, 2_010)).isEqualTo(large);
+    }
+
+    @Test
+    @DisplayName("Bytes are transferred from a file channel, after what was already buffered")
+    void transferFromFile(@TempDir Path dir) throws IOException {
+        final Path src = dir.resolve("src.bin");
+        final Path dst = dir.resolve("dst.bin");
+        final byte[] data = testData(5_000);
+        Files.write(src, data);
+        try (var channel = FileChannel.open(src);
+                var seq = new WritableChannelData(dst)) {
+            seq.writeInt(42);
+            seq.transferFrom(channel, 1_000, 3_000);
+            assertThat(seq.position()).isEqualTo(3_004);
+            assertThatThrownBy(() -> seq.transferFrom(channel, 4_000, 2_000)).isInstanceOf(EOFException.class);
+        }
+        final byte[] written = Files.readAllBytes(dst);
+        assertThat(Arrays.copyOf(written, 4)).containsExactly(0, 0, 0, 42);
+        assertThat(Arrays.copyOfRange(written, 4, 3_004)).isEqualTo(Arrays.copyOfRange(data, 1_000, 4_000));
+    }
+
+    @Test
+    @DisplayName("Closing writes the buffered bytes once, and nothing can be written afterwards")
+    void close() throws IOException {
+        final var seq = sequence();
+        seq.writeLong(7);
+        assertThat(out.size()).isZero();
+        seq.close();
+        seq.close();
+        assertThat(out.toByteArray()).containsExactly(0, 0, 0, 0, 0, 0, 0, 7);
+        assertThat(seq.hasRemaining()).isFalse();
+        assertThatThrownBy(() -> seq.writeByte((byte) 1)).isInstanceOf(BufferOverflowException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package com.hedera.pbj.runtime.io.stream;
+
+import com.hedera.pbj.runtime.io.WritableSequentialData;
+import com.hedera.pbj.runtime.io.WritableTestBase;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.buffer.CompositeBytes;
+import com.hedera.pbj.runtime.io.buffer.RandomAccessData;
+import com.hedera.pbj.runtime.io.buffer.SegmentedBufferedData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link WritableTestBase} tests against a {@link WritableDigestData}, with a digest that records the bytes
+ * it is given so they can be checked.
+ */
+final class WritableDigestDataTest extends WritableTestBase {
+
+    /** A digest of the bytes it was given, which are the bytes themselves */
+    private static final class RecordingDigest extends MessageDigest {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private int updates;
+
+        RecordingDigest() {
+            super("recording");
+        }
+
+        @Override
+        protected void engineUpdate(byte input) {
+            updates++;
+            out.write(input);
+        }
+
+        @Override
+        protected void engineUpdate(byte[] input, int offset, int len) {
+            updates++;
+            out.write(input, offset, len);
+        }
+
+        @Override
+        protected byte[] engineDigest() {
+            final byte[] bytes = out.toByteArray();
+            engineReset();
+            return bytes;
+        }
+
+        @Override
+        protected void engineReset() {
+            out.reset();
+        }
+    }
+
+    private RecordingDigest digest;
+
+    @NonNull
+    @Override
+    protected WritableDigestData sequence() {
+        return new WritableDigestData(digest = new RecordingDigest());
+    }
+
+    @NonNull
+    @Override
+    protected WritableDigestData eofSequence() {
+        final var sequence = new WritableDigestData(digest = new RecordingDigest(), 10);
+        sequence.writeBytes("0123456789".getBytes(StandardCharsets.UTF_8));
+        return sequence;
+    }
+
+    @NonNull
+    @Override
+    protected byte[] extractWrittenBytes(@NonNull WritableSequentialData seq) {
+        ((WritableDigestData) seq).flush();
+        return digest.out.toByteArray();
+    }
+
+    @NonNull
+    private static byte[] testData(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7 + 3);
+        }
+        return bytes;
+    }
+
+    @Test
+    @DisplayName("Small writes are combined, and large ones are passed to the digest without being copied")
+    void combinesSmallWrites() {
+        final var seq = sequence();
+        for (int i = 0; i < 100; i++) {
+            seq.writeVarInt(i, false);
+        }
+        assertThat(digest.updates).isZero();
+        final byte[] large = testData(1000);
+        seq.writeBytes(large);
+        assertThat(digest.updates).isEqualTo(2);
+        seq.writeBytes(Bytes.wrap(large));
+        seq.writeBytes(BufferedData.wrap(large));
+        seq.writeBytes(ByteBuffer.wrap(large));
+        seq.writeBytes(CompositeBytes.of(Bytes.wrap(large), Bytes.wrap(large)));
+        assertThat(digest.updates).isEqualTo(7);
+        seq.writeLong(5);
+        seq.flush();
+        assertThat(digest.updates).isEqualTo(8);
+        final byte[] written = digest.out.toByteArray();
+        assertThat(written).hasSize(100 + 6 * 1000 + 8);
+        for (int i = 0; i < 6; i++) {
+            assertThat(Arrays.copyOfRange(written, 100 + i * 1000, 1100 + i * 1000)).isEqualTo(large);
+        }
+    }
+
+    @Test
+    @DisplayName("The digest is of everything written, and is reset by completing it")
+    void digest() throws NoSuchAlgorithmException {
+        final byte[] data = testData(1000);
+        final var seq = new WritableDigestData(MessageDigest.getInstance("SHA-384"));
+        seq.writeByte(data[0]);
+        seq.writeBytes(data, 1, 999);
+        assertThat(seq.digest()).isEqualTo(MessageDigest.getInstance("SHA-384").digest(data));
+        seq.writeBytes(data, 0, 10);
+        assertThat(seq.position()).isEqualTo(1010);
+        assertThat(seq.digest()).isEqualTo(MessageDigest.getInstance("SHA-384").digest(Arrays.copyOf(data, 10)));
+    }
+
+    @Test
+    @DisplayName("Random access buffers smaller and larger than the buffer are digested in full")
+    void randomAccessBuffers() throws NoSuchAlgorithmException {
+        final byte[] small = testData(100);
+        final byte[] large = testData(1000);
+        final var segmented = SegmentedBufferedData.allocate(large.length);
+        segmented.writeBytes(large);
+        for (final RandomAccessData src : new RandomAccessData[] {
+                BufferedData.wrap(small), BufferedData.wrap(large), segmented.slice(0, 100), segmented}) {
+            final var seq = new WritableDigestData(MessageDigest.getInstance("SHA-384"));
+            seq.writeBytes(src);
+            assertThat(seq.position()).isEqualTo(src.length());
+            final byte[] bytes = src.getBytes(0, src.length()).toByteArray();
+            assertThat(seq.digest()).isEqualTo(MessageDigest.getInstance("SHA-384").digest(bytes));
+        }
+    }
+}
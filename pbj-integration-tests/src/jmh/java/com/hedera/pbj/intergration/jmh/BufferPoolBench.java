@@ -0,0 +1,70 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.io.buffer.BufferPool;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing an {@link Everything} object into a scratch buffer that is allocated for each write, compared to one
+ * acquired from a {@link BufferPool}, on several threads at once.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Threads(4)
+public class BufferPoolBench {
+    private static final int SIZE = Everything.PROTOBUF.measureRecord(EverythingTestData.EVERYTHING);
+
+    private final BufferPool heapPool = new BufferPool();
+    private final BufferPool offHeapPool = new BufferPool(true, BufferPool.DEFAULT_MAX_BUFFER_SIZE,
+            BufferPool.DEFAULT_BUFFERS_PER_THREAD, BufferPool.DEFAULT_SHARED_BUFFERS);
+
+    @Benchmark
+    public void allocate(Blackhole blackhole) throws IOException {
+        final BufferedData buffer = BufferedData.allocate(SIZE);
+        Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, buffer);
+        blackhole.consume(buffer);
+    }
+
+    @Benchmark
+    public void allocateOffHeap(Blackhole blackhole) throws IOException {
+        final BufferedData buffer = BufferedData.allocateOffHeap(SIZE);
+        Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, buffer);
+        blackhole.consume(buffer);
+    }
+
+    @Benchmark
+    public void pooled(Blackhole blackhole) throws IOException {
+        try (BufferPool.Lease lease = heapPool.acquire(SIZE)) {
+            Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, lease.buffer());
+            blackhole.consume(lease.buffer());
+        }
+    }
+
+    @Benchmark
+    public void pooledOffHeap(Blackhole blackhole) throws IOException {
+        try (BufferPool.Lease lease = offHeapPool.acquire(SIZE)) {
+            Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, lease.buffer());
+            blackhole.consume(lease.buffer());
+        }
+    }
+}
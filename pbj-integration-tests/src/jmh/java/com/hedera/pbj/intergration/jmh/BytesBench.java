@@ -0,0 +1,146 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.runtime.io.buffer.CompositeBytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing, hashing and looking up {@link Bytes} keys, such as account aliases and hashes. The keys are slices of
+ * bigger arrays, and equal keys only differ in their last byte, so every byte has to be compared. Also hashing a
+ * payload built from many fragments, by appending {@link Bytes} or by concatenating them with {@link CompositeBytes}.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class BytesBench {
+    private static final int KEYS = 1024;
+    private static final int FRAGMENTS = 16;
+
+    /** The number of bytes in each key */
+    @Param({"32", "4096"})
+    public int size;
+
+    private Bytes key;
+    private Bytes equalKey;
+    private Bytes lastByteDiffers;
+    private byte[] keyArray;
+    private Map<Bytes, Integer> map;
+    private Bytes[] fragments;
+    private MessageDigest digest;
+
+    @Setup
+    public void setup() throws NoSuchAlgorithmException {
+        final Random random = new Random(9387498731984L);
+        keyArray = new byte[size];
+        random.nextBytes(keyArray);
+        key = slice(keyArray);
+        equalKey = slice(keyArray);
+        final byte[] other = keyArray.clone();
+        other[size - 1]++;
+        lastByteDiffers = slice(other);
+        map = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            final byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+            map.put(slice(bytes), i);
+        }
+        map.put(slice(keyArray), KEYS);
+        fragments = new Bytes[FRAGMENTS];
+        for (int i = 0; i < FRAGMENTS; i++) {
+            final byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+            fragments[i] = slice(bytes);
+        }
+        digest = MessageDigest.getInstance("SHA-384");
+    }
+
+    /** Wraps a copy of the bytes in the middle of a bigger array, like a field read from a message */
+    private static Bytes slice(final byte[] bytes) {
+        final byte[] array = new byte[bytes.length + 10];
+        System.arraycopy(bytes, 0, array, 7, bytes.length);
+        return Bytes.wrap(array).slice(7, bytes.length);
+    }
+
+    @Benchmark
+    public void equalsSame(Blackhole blackhole) {
+        blackhole.consume(key.equals(equalKey));
+    }
+
+    @Benchmark
+    public void equalsDifferent(Blackhole blackhole) {
+        blackhole.consume(key.equals(lastByteDiffers));
+    }
+
+    @Benchmark
+    public void compareSigned(Blackhole blackhole) {
+        blackhole.consume(Bytes.SORT_BY_SIGNED_VALUE.compare(key, lastByteDiffers));
+    }
+
+    @Benchmark
+    public void compareUnsigned(Blackhole blackhole) {
+        blackhole.consume(Bytes.SORT_BY_UNSIGNED_VALUE.compare(key, lastByteDiffers));
+    }
+
+    @Benchmark
+    public void hashCodeFresh(Blackhole blackhole) {
+        blackhole.consume(Bytes.wrap(keyArray).hashCode());
+    }
+
+    @Benchmark
+    public void hashCodeCached(Blackhole blackhole) {
+        blackhole.consume(key.hashCode());
+    }
+
+    @Benchmark
+    public void hashCode64(Blackhole blackhole) {
+        blackhole.consume(key.hashCode64());
+    }
+
+    @Benchmark
+    public void hashMapGetFresh(Blackhole blackhole) {
+        blackhole.consume(map.get(Bytes.wrap(keyArray)));
+    }
+
+    @Benchmark
+    public void hashMapGetCached(Blackhole blackhole) {
+        blackhole.consume(map.get(equalKey));
+    }
+
+    @Benchmark
+    public void digestAppended(Blackhole blackhole) {
+        Bytes payload = Bytes.EMPTY;
+        for (final Bytes fragment : fragments) {
+            payload = payload.append(fragment);
+        }
+        payload.writeTo(digest);
+        blackhole.consume(digest.digest());
+    }
+
+    @Benchmark
+    public void digestComposite(Blackhole blackhole) {
+        CompositeBytes.of(fragments).writeTo(digest);
+        blackhole.consume(digest.digest());
+    }
+}
@@ -2,9 +2,12 @@ package com.hedera.pbj.intergration.jmh;
 
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.test.proto.pbj.Hasheval;
+import com.hedera.pbj.test.proto.pbj.HashevalCached;
 import com.hedera.pbj.test.proto.pbj.Suit;
 import com.hedera.pbj.test.proto.pbj.TimestampTest;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -66,6 +69,9 @@ public class ComplexEqualsHashCodeBench {
     private final HashevalJavaRecord hashevalJavaRecord;
     private final HashevalJavaRecord hashevalJavaRecord1;
     private final HashevalJavaRecord hashevalJavaRecordDifferent;
+    private final HashevalCached hashevalCached1;
+    private final Map<Hasheval, Integer> hashevalMap = new HashMap<>();
+    private final Map<HashevalCached, Integer> hashevalCachedMap = new HashMap<>();
 
     public ComplexEqualsHashCodeBench() {
         hasheval = new Hasheval(123, 123, 123,
@@ -104,6 +110,27 @@ public class ComplexEqualsHashCodeBench {
                 Suit.ACES, new TimestampTest(987L, 123),
                 "Different",
                 Bytes.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, (byte)255}));
+        hashevalCached1 = new HashevalCached(123, 123, 123,
+                123, 123, 1.23f, 123L, 123L,
+                123L, 123L, 123L, 1.23D, true,
+                Suit.ACES, new TimestampTest(987L, 123),
+                "FooBarKKKKHHHHOIOIOI",
+                Bytes.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, (byte)255}));
+        // fill maps with keys that only differ in one field, lookups use an equal but not identical key
+        for (int i = 0; i < 1000; i++) {
+            hashevalMap.put(new Hasheval(123, 123, 123,
+                    123, 123, 1.23f, 123L, 123L,
+                    123L, 123L, 123L, 1.23D, true,
+                    Suit.ACES, new TimestampTest(987L, 123),
+                    "FooBarKKKKHHHHOIOIOI",
+                    Bytes.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, (byte)255})).copyBuilder().int32Number(i).build(), i);
+            hashevalCachedMap.put(new HashevalCached(123, 123, 123,
+                    123, 123, 1.23f, 123L, 123L,
+                    123L, 123L, 123L, 1.23D, true,
+                    Suit.ACES, new TimestampTest(987L, 123),
+                    "FooBarKKKKHHHHOIOIOI",
+                    Bytes.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, (byte)255})).copyBuilder().int32Number(i).build(), i);
+        }
     }
 
     @Benchmark
@@ -152,4 +179,28 @@ public class ComplexEqualsHashCodeBench {
             blackhole.consume(hashevalJavaRecord.equals(hashevalJavaRecordDifferent));
         }
     }
-}
\ No newline at end of file
+
+    @Benchmark
+    @OperationsPerInvocation(1050)
+    public void benchCachedHashCode(Blackhole blackhole) {
+        for (int i = 0; i < 1050; i++) {
+            blackhole.consume(hashevalCached1.hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1050)
+    public void benchRepeatedMapLookup(Blackhole blackhole) {
+        for (int i = 0; i < 1050; i++) {
+            blackhole.consume(hashevalMap.get(hasheval1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1050)
+    public void benchCachedRepeatedMapLookup(Blackhole blackhole) {
+        for (int i = 0; i < 1050; i++) {
+            blackhole.consume(hashevalCachedMap.get(hashevalCached1));
+        }
+    }
+}
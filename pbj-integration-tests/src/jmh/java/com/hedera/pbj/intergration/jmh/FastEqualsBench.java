@@ -0,0 +1,66 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparing an {@link Everything} model with encoded bytes using the codec's fastEquals, which compares while reading,
+ * against parsing the bytes and calling equals. Measured for equal bytes, for bytes that differ in the first field
+ * written and for bytes that differ in a field written near the end.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class FastEqualsBench {
+    /** Which bytes the model is compared with */
+    @Param({"EQUAL", "EARLY_MISMATCH", "LATE_MISMATCH"})
+    public String comparison;
+
+    private Everything item;
+    private BufferedData data;
+
+    @Setup
+    public void setup() {
+        item = EverythingTestData.EVERYTHING;
+        final Everything encoded = switch (comparison) {
+            // int32Number is field 1, the first field written
+            case "EARLY_MISMATCH" -> item.copyBuilder().int32Number(item.int32Number() + 1).build();
+            // stringBoxed is field 10011, after all the lists
+            case "LATE_MISMATCH" -> item.copyBuilder().stringBoxed(item.stringBoxed() + "?").build();
+            default -> item;
+        };
+        data = BufferedData.wrap(Everything.PROTOBUF.toBytes(encoded).toByteArray());
+    }
+
+    @Benchmark
+    public void fastEquals(Blackhole blackhole) throws IOException {
+        data.reset();
+        blackhole.consume(Everything.PROTOBUF.fastEquals(item, data));
+    }
+
+    @Benchmark
+    public void parseAndEquals(Blackhole blackhole) throws IOException {
+        data.reset();
+        blackhole.consume(item.equals(Everything.PROTOBUF.parse(data)));
+    }
+}
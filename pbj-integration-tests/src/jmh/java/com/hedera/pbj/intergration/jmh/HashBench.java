@@ -46,6 +46,14 @@ public class HashBench {
         }
     }
 
+    @Benchmark
+    @OperationsPerInvocation(1050)
+    public void hashBenchSHA256Digest(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < 1050; i++) {
+            TestHashFunctions.hash3(hasheval);
+        }
+    }
+
     @Benchmark
     @OperationsPerInvocation(1050)
     public void hashBenchFieldWise(Blackhole blackhole) throws IOException {
@@ -53,4 +61,12 @@ public class HashBench {
             TestHashFunctions.hash2(hasheval);
         }
     }
+
+    @Benchmark
+    @OperationsPerInvocation(1050)
+    public void hashBenchContentHash(Blackhole blackhole) throws IOException {
+        for (int i = 0; i < 1050; i++) {
+            blackhole.consume(hasheval.contentHash64());
+        }
+    }
 }
\ No newline at end of file
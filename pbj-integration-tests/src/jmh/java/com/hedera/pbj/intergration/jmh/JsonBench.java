@@ -9,6 +9,7 @@ import com.hedera.pbj.integration.AccountDetailsPbj;
 import com.hedera.pbj.integration.EverythingTestData;
 import com.hedera.pbj.runtime.Codec;
 import com.hedera.pbj.runtime.JsonCodec;
+import com.hedera.pbj.runtime.JsonTools;
 import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.test.proto.pbj.Everything;
 import com.hederahashgraph.api.proto.java.GetAccountDetailsResponse;
@@ -83,6 +84,13 @@ public abstract class JsonBench<P extends Record,G extends GeneratedMessageV3> {
 		blackhole.consume(benchmarkState.pbjJsonCodec.parse(benchmarkState.jsonDataBuffer));
 	}
 
+	/** Parse by building the full ANTLR parse tree first, the way JsonCodec used to parse, for comparison */
+	@Benchmark
+	public void parsePbjAntlr(JsonBenchmarkState<P,G> benchmarkState, Blackhole blackhole) throws IOException {
+		benchmarkState.jsonDataBuffer.position(0);
+		blackhole.consume(benchmarkState.pbjJsonCodec.parse(JsonTools.parseJson(benchmarkState.jsonDataBuffer), false));
+	}
+
 	@Benchmark
 	public void parseProtoC(JsonBenchmarkState<P,G> benchmarkState, Blackhole blackhole) throws IOException {
 		var builder = benchmarkState.builderSupplier.get();
@@ -98,6 +106,14 @@ public abstract class JsonBench<P extends Record,G extends GeneratedMessageV3> {
 		blackhole.consume(benchmarkState.outDataBuffer);
 	}
 
+	/** Build the JSON String with toJSON() and encode it to UTF-8, the way JsonCodec used to write, for comparison */
+	@Benchmark
+	public void writePbjString(JsonBenchmarkState<P,G> benchmarkState, Blackhole blackhole) throws IOException {
+		benchmarkState.outDataBuffer.reset();
+		benchmarkState.outDataBuffer.writeUTF8(benchmarkState.pbjJsonCodec.toJSON(benchmarkState.pbjModelObject));
+		blackhole.consume(benchmarkState.outDataBuffer);
+	}
+
 	@Benchmark
 	public void writeProtoC(JsonBenchmarkState<P,G> benchmarkState, Blackhole blackhole) throws InvalidProtocolBufferException {
 		blackhole.consume(JsonFormat.printer().print(benchmarkState.googleModelObject));
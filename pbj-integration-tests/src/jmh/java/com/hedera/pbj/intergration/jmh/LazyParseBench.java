@@ -0,0 +1,76 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.test.proto.pbj.Envelope;
+import com.hedera.pbj.test.proto.pbj.LazyEnvelope;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing an {@link Envelope} and reading only its header fields, compared to the same message generated with the
+ * {@code pbj.lazy_sub_messages} option where the large body is never parsed. Also measures a parse and write round
+ * trip, where the lazy message copies the body bytes back out.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class LazyParseBench {
+    private BufferedData data;
+    private BufferedData out;
+
+    @Setup
+    public void setup() {
+        final Envelope envelope = new Envelope(42, "transfer", new TimestampTest(1234, 5678),
+                EverythingTestData.EVERYTHING);
+        data = BufferedData.wrap(Envelope.PROTOBUF.toBytes(envelope).toByteArray());
+        out = BufferedData.allocate((int) data.length());
+    }
+
+    @Benchmark
+    public void peekHeaderEager(Blackhole blackhole) throws IOException {
+        data.reset();
+        final Envelope envelope = Envelope.PROTOBUF.parse(data);
+        blackhole.consume(envelope.id());
+        blackhole.consume(envelope.kind());
+    }
+
+    @Benchmark
+    public void peekHeaderLazy(Blackhole blackhole) throws IOException {
+        data.reset();
+        final LazyEnvelope envelope = LazyEnvelope.PROTOBUF.parse(data);
+        blackhole.consume(envelope.id());
+        blackhole.consume(envelope.kind());
+    }
+
+    @Benchmark
+    public void roundTripEager() throws IOException {
+        data.reset();
+        out.reset();
+        Envelope.PROTOBUF.write(Envelope.PROTOBUF.parse(data), out);
+    }
+
+    @Benchmark
+    public void roundTripLazy() throws IOException {
+        data.reset();
+        out.reset();
+        LazyEnvelope.PROTOBUF.write(LazyEnvelope.PROTOBUF.parse(data), out);
+    }
+}
@@ -0,0 +1,107 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.google.protobuf.CodedOutputStream;
+import com.hedera.pbj.runtime.PbjMap;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.test.proto.pbj.MapTest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse and write of a {@link MapTest} with two maps of {@link #ENTRIES} entries each, a string to int64 map and an
+ * int32 to string map, with PBJ and with protoc.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MapBench {
+    /** The number of entries in each map */
+    private static final int ENTRIES = 10_000;
+
+    private MapTest pbjModel;
+    private com.hedera.pbj.test.proto.java.MapTest protocModel;
+    private BufferedData data;
+    private byte[] bytes;
+    private BufferedData out;
+    private ByteBuffer protocOut;
+
+    @Setup
+    public void setup() throws IOException {
+        final PbjMap.Builder<String, Long> countByName = new PbjMap.Builder<>(ENTRIES);
+        final PbjMap.Builder<Integer, String> nameById = new PbjMap.Builder<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            // keys are added out of order, as they would be in a real application
+            final int id = (i * 7919) % ENTRIES;
+            countByName.put("account-" + id, (long) id * 1_000_003L);
+            nameById.put(id, "name-" + id);
+        }
+        pbjModel = MapTest.newBuilder()
+                .name("bench")
+                .countByName(countByName.build())
+                .nameById(nameById.build())
+                .build();
+        bytes = MapTest.PROTOBUF.toBytes(pbjModel).toByteArray();
+        data = BufferedData.wrap(bytes);
+        protocModel = com.hedera.pbj.test.proto.java.MapTest.parseFrom(bytes);
+        out = BufferedData.allocate(bytes.length);
+        protocOut = ByteBuffer.allocate(bytes.length);
+    }
+
+    @Benchmark
+    public void parsePbj(Blackhole blackhole) throws IOException {
+        data.reset();
+        blackhole.consume(MapTest.PROTOBUF.parse(data));
+    }
+
+    @Benchmark
+    public void parseProtoC(Blackhole blackhole) throws IOException {
+        blackhole.consume(com.hedera.pbj.test.proto.java.MapTest.parseFrom(bytes));
+    }
+
+    @Benchmark
+    public void writePbj(Blackhole blackhole) throws IOException {
+        out.reset();
+        MapTest.PROTOBUF.write(pbjModel, out);
+        blackhole.consume(out);
+    }
+
+    @Benchmark
+    public void writeProtoC(Blackhole blackhole) throws IOException {
+        protocOut.clear();
+        final CodedOutputStream output = CodedOutputStream.newInstance(protocOut);
+        protocModel.writeTo(output);
+        output.flush();
+        blackhole.consume(protocOut);
+    }
+
+    @Benchmark
+    public void lookupPbj(Blackhole blackhole) {
+        for (int i = 0; i < ENTRIES; i += 100) {
+            blackhole.consume(pbjModel.nameById().get(i));
+        }
+    }
+
+    @Benchmark
+    public void lookupProtoC(Blackhole blackhole) {
+        for (int i = 0; i < ENTRIES; i += 100) {
+            blackhole.consume(protocModel.getNameByIdOrDefault(i, null));
+        }
+    }
+}
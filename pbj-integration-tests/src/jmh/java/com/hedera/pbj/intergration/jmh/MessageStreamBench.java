@@ -0,0 +1,75 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.MessageStreamReader;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a stream of length delimited {@link Everything} objects, parsing them on the reading thread compared to
+ * parsing batches of them on a {@link ForkJoinPool}.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MessageStreamBench {
+    private static final int COUNT = 10_000;
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    private byte[] bytes;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() throws IOException {
+        final int size = Everything.PROTOBUF.measureRecord(EverythingTestData.EVERYTHING);
+        final BufferedData out = BufferedData.allocate(COUNT * (size + 5));
+        for (int i = 0; i < COUNT; i++) {
+            Everything.PROTOBUF.writeDelimited(EverythingTestData.EVERYTHING, out);
+        }
+        bytes = new byte[(int) out.position()];
+        out.getBytes(0, bytes);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        final var input = new ReadableStreamingData(new ByteArrayInputStream(bytes));
+        new MessageStreamReader<>(input, Everything.PROTOBUF).forEachRemaining(blackhole::consume);
+    }
+
+    @Benchmark
+    public void parallel(Blackhole blackhole) {
+        final var input = new ReadableStreamingData(new ByteArrayInputStream(bytes));
+        new MessageStreamReader<>(input, Everything.PROTOBUF, pool, batchSize).forEachRemaining(blackhole::consume);
+    }
+}
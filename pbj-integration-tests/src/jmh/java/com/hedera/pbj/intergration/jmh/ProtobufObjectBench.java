@@ -6,6 +6,7 @@ import com.hedera.hapi.node.base.Timestamp;
 import com.hedera.hapi.node.token.AccountDetails;
 import com.hedera.pbj.integration.AccountDetailsPbj;
 import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.integration.NestedTestData;
 import com.hedera.pbj.integration.NonSynchronizedByteArrayInputStream;
 import com.hedera.pbj.integration.NonSynchronizedByteArrayOutputStream;
 import com.hedera.pbj.runtime.Codec;
@@ -13,6 +14,7 @@ import com.hedera.pbj.runtime.io.buffer.BufferedData;
 import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import com.hedera.pbj.test.proto.pbj.Everything;
+import com.hedera.pbj.test.proto.pbj.NestedLevel1;
 import com.hederahashgraph.api.proto.java.GetAccountDetailsResponse;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
@@ -165,6 +167,22 @@ public abstract class ProtobufObjectBench<P extends Record,G extends GeneratedMe
 		}
 	}
 
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_COUNT)
+	public void writePbjToBytes(BenchmarkState<P,G> benchmarkState, Blackhole blackhole) {
+		for (int i = 0; i < 1000; i++) {
+			blackhole.consume(benchmarkState.pbjCodec.toBytes(benchmarkState.pbjModelObject));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_COUNT)
+	public void writePbjToBytesScratch(BenchmarkState<P,G> benchmarkState, Blackhole blackhole) {
+		for (int i = 0; i < 1000; i++) {
+			blackhole.consume(benchmarkState.pbjCodec.toBytes(benchmarkState.pbjModelObject, benchmarkState.outDataBuffer));
+		}
+	}
+
 	/** Same as writePbjByteBuffer because DataBuffer.wrap(byte[]) uses ByteBuffer today, added this because makes result plotting easier */
 	@Benchmark
 	@OperationsPerInvocation(OPERATION_COUNT)
@@ -282,4 +300,17 @@ public abstract class ProtobufObjectBench<P extends Record,G extends GeneratedMe
 					GetAccountDetailsResponse.AccountDetails::parseFrom);
 		}
 	}
+
+	/** Six levels of nested messages, write cost should grow linearly with depth not with depth squared */
+	@State(Scope.Benchmark)
+	public static class DeepNestedBench extends ProtobufObjectBench<NestedLevel1, com.hedera.pbj.test.proto.java.NestedLevel1> {
+		@Setup
+		public void setup(BenchmarkState<NestedLevel1, com.hedera.pbj.test.proto.java.NestedLevel1> benchmarkState) {
+			benchmarkState.configure(NestedTestData.NESTED,
+					NestedLevel1.PROTOBUF,
+					com.hedera.pbj.test.proto.java.NestedLevel1::parseFrom,
+					com.hedera.pbj.test.proto.java.NestedLevel1::parseFrom,
+					com.hedera.pbj.test.proto.java.NestedLevel1::parseFrom);
+		}
+	}
 }
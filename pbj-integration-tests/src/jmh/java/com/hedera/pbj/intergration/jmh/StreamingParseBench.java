@@ -0,0 +1,100 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of {@link Everything} objects read from a file, with and without read ahead buffering in
+ * {@link ReadableStreamingData}. The file holds {@link #COUNT} length delimited objects.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class StreamingParseBench {
+    /** The number of objects written to the file, we parse them all in each invocation */
+    private static final int COUNT = 1000;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final int size = Everything.PROTOBUF.measureRecord(EverythingTestData.EVERYTHING);
+        final BufferedData data = BufferedData.allocate(COUNT * (size + Integer.BYTES + 1));
+        for (int i = 0; i < COUNT; i++) {
+            data.writeVarInt(size, false);
+            Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, data);
+        }
+        data.flip();
+        final byte[] bytes = new byte[(int) data.remaining()];
+        data.readBytes(bytes);
+        file = Files.createTempFile("pbj-streaming-parse", ".bin");
+        Files.write(file, bytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void parseUnbuffered(Blackhole blackhole) throws IOException {
+        try (ReadableStreamingData in = new ReadableStreamingData(new FileInputStream(file.toFile()))) {
+            parseAll(in, blackhole);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void parseBufferedInputStream(Blackhole blackhole) throws IOException {
+        try (ReadableStreamingData in = new ReadableStreamingData(
+                new BufferedInputStream(new FileInputStream(file.toFile())))) {
+            parseAll(in, blackhole);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void parseReadAhead(Blackhole blackhole) throws IOException {
+        try (ReadableStreamingData in = new ReadableStreamingData(file)) {
+            parseAll(in, blackhole);
+        }
+    }
+
+    private static void parseAll(ReadableStreamingData in, Blackhole blackhole) throws IOException {
+        for (int i = 0; i < COUNT; i++) {
+            final int size = in.readVarInt(false);
+            final long oldLimit = in.limit();
+            in.limit(in.position() + size);
+            blackhole.consume(Everything.PROTOBUF.parse(in));
+            in.limit(oldLimit);
+        }
+    }
+}
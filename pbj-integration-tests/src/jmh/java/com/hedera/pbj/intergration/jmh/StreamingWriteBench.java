@@ -0,0 +1,75 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of {@link Everything} objects written with {@code Codec.write} to a {@link FileOutputStream},
+ * with and without write combining in {@link WritableStreamingData}.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class StreamingWriteBench {
+    /** The number of objects written to the file in each invocation */
+    private static final int COUNT = 1000;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("pbj-streaming-write", ".bin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void writeUnbuffered() throws IOException {
+        try (WritableStreamingData out = new WritableStreamingData(new FileOutputStream(file.toFile()))) {
+            writeAll(out);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void writeBuffered() throws IOException {
+        try (WritableStreamingData out = new WritableStreamingData(new FileOutputStream(file.toFile()),
+                Long.MAX_VALUE, WritableStreamingData.DEFAULT_BUFFER_SIZE)) {
+            writeAll(out);
+        }
+    }
+
+    private static void writeAll(WritableStreamingData out) throws IOException {
+        for (int i = 0; i < COUNT; i++) {
+            Everything.PROTOBUF.write(EverythingTestData.EVERYTHING, out);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.hedera.pbj.intergration.jmh;
+
+import com.google.protobuf.CodedOutputStream;
+import com.hedera.pbj.runtime.FieldDefinition;
+import com.hedera.pbj.runtime.FieldType;
+import com.hedera.pbj.runtime.ProtoWriterTools;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a string field with {@link ProtoWriterTools#writeString} to heap and direct buffers, and measuring it with
+ * {@link ProtoWriterTools#sizeOfString}, compared with protobuf's {@link CodedOutputStream} and the JDK encoder.
+ * Measured for strings that are all ASCII, mostly Latin-1, CJK and emoji.
+ */
+@SuppressWarnings("unused")
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class Utf8Bench {
+    private static final FieldDefinition FIELD = new FieldDefinition("value", FieldType.STRING, false, 1);
+
+    /** The kind of characters in the string */
+    @Param({"ASCII", "LATIN", "CJK", "EMOJI"})
+    public String chars;
+
+    /** The number of chars in the string */
+    @Param({"16", "1024"})
+    public int length;
+
+    private String value;
+    private BufferedData heap;
+    private BufferedData direct;
+    private byte[] protobufArray;
+
+    @Setup
+    public void setup() {
+        final String unit = switch (chars) {
+            case "LATIN" -> "Größe été, über ";
+            case "CJK" -> "你好世界，这是一个测试。";
+            case "EMOJI" -> "😀👍🎉🚀";
+            default -> "The quick brown fox ";
+        };
+        value = unit.repeat(length / unit.length() + 1).substring(0, length);
+        final int capacity = 16 + value.getBytes(StandardCharsets.UTF_8).length;
+        heap = BufferedData.allocate(capacity);
+        direct = BufferedData.allocateOffHeap(capacity);
+        protobufArray = new byte[capacity];
+    }
+
+    @Benchmark
+    public void writeHeap(Blackhole blackhole) throws IOException {
+        heap.reset();
+        ProtoWriterTools.writeString(heap, FIELD, value);
+        blackhole.consume(heap);
+    }
+
+    @Benchmark
+    public void writeDirect(Blackhole blackhole) throws IOException {
+        direct.reset();
+        ProtoWriterTools.writeString(direct, FIELD, value);
+        blackhole.consume(direct);
+    }
+
+    @Benchmark
+    public void writeProtobuf(Blackhole blackhole) throws IOException {
+        final CodedOutputStream cout = CodedOutputStream.newInstance(protobufArray);
+        cout.writeString(1, value);
+        blackhole.consume(cout);
+    }
+
+    @Benchmark
+    public void writeJdk(Blackhole blackhole) {
+        heap.reset();
+        heap.writeUTF8(value);
+        blackhole.consume(heap);
+    }
+
+    @Benchmark
+    public void measure(Blackhole blackhole) {
+        blackhole.consume(ProtoWriterTools.sizeOfString(FIELD, value));
+    }
+
+    @Benchmark
+    public void measureProtobuf(Blackhole blackhole) {
+        blackhole.consume(CodedOutputStream.computeStringSize(1, value));
+    }
+}
@@ -12,6 +12,7 @@ import org.openjdk.jmh.infra.Blackhole;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.*;
+import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
@@ -146,6 +147,76 @@ public class VarIntBench {
 			blackhole.consume(readRawVarint64SlowPath(bufferDirect));
 		}
 	}
+	/**
+	 * 1050 varints that are all the same number of bytes long, to compare decoding one at a time, in a batch as for a
+	 * packed repeated field, and with protobuf, across lengths.
+	 */
+	@State(Scope.Benchmark)
+	public static class SizedVarInts {
+		@Param({"1", "5", "10"})
+		public int bytesPerValue;
+
+		BufferedData data;
+		Bytes bytes;
+		byte[] array;
+		final long[] values = new long[1050];
+
+		@Setup
+		public void setup() throws IOException {
+			final Random random = new Random(9387498731984L);
+			final ByteBuffer buf = ByteBuffer.allocate(1050 * 10);
+			final CodedOutputStream cout = CodedOutputStream.newInstance(buf);
+			for (int i = 0; i < 1050; i++) {
+				// 10 byte varints are negative numbers, all other lengths are 7 bits per byte
+				cout.writeUInt64NoTag(bytesPerValue == 10
+						? random.nextLong(Long.MIN_VALUE, 0)
+						: random.nextLong(1L << (7 * (bytesPerValue - 1)), 1L << (7 * bytesPerValue)));
+			}
+			cout.flush();
+			array = Arrays.copyOf(buf.array(), buf.position());
+			data = BufferedData.wrap(array);
+			bytes = Bytes.wrap(array);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(1050)
+	public void sizedDataBuffer(SizedVarInts sized, Blackhole blackhole) {
+		final BufferedData data = sized.data;
+		data.reset();
+		for (int i = 0; i < 1050; i++) {
+			blackhole.consume(data.readVarLong(false));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(1050)
+	public void sizedDataBufferPacked(SizedVarInts sized, Blackhole blackhole) {
+		final BufferedData data = sized.data;
+		data.reset();
+		blackhole.consume(data.readVarLongs(sized.values, 0, 1050, false));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(1050)
+	public void sizedBytes(SizedVarInts sized, Blackhole blackhole) {
+		final Bytes bytes = sized.bytes;
+		long offset = 0;
+		for (int i = 0; i < 1050; i++) {
+			blackhole.consume(bytes.getVarLong(offset, false));
+			offset += sized.bytesPerValue;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(1050)
+	public void sizedGoogle(SizedVarInts sized, Blackhole blackhole) throws IOException {
+		final CodedInputStream codedInputStream = CodedInputStream.newInstance(sized.array);
+		for (int i = 0; i < 1050; i++) {
+			blackhole.consume(codedInputStream.readRawVarint64());
+		}
+	}
+
 	private static long readRawVarint64SlowPath(ByteBuffer buf) throws MalformedProtobufException {
 		long result = 0;
 		for (int shift = 0; shift < 64; shift += 7) {
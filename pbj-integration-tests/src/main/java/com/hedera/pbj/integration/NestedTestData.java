@@ -0,0 +1,51 @@
+package com.hedera.pbj.integration;
+
+import com.hedera.pbj.test.proto.pbj.NestedLevel1;
+import com.hedera.pbj.test.proto.pbj.NestedLevel2;
+import com.hedera.pbj.test.proto.pbj.NestedLevel3;
+import com.hedera.pbj.test.proto.pbj.NestedLevel4;
+import com.hedera.pbj.test.proto.pbj.NestedLevel5;
+import com.hedera.pbj.test.proto.pbj.NestedLevel6;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Sample test data for a message with six levels of nesting
+ */
+public class NestedTestData {
+
+    private static final List<Integer> NUMBERS = IntStream.range(0, 20).boxed().toList();
+
+    // input objects
+    public static final NestedLevel1 NESTED = new NestedLevel1.Builder()
+            .text("Level 1")
+            .number(1_000_001L)
+            .numberList(NUMBERS)
+            .child(new NestedLevel2.Builder()
+                    .text("Level 2")
+                    .number(2_000_002L)
+                    .numberList(NUMBERS)
+                    .child(new NestedLevel3.Builder()
+                            .text("Level 3")
+                            .number(3_000_003L)
+                            .numberList(NUMBERS)
+                            .child(new NestedLevel4.Builder()
+                                    .text("Level 4")
+                                    .number(4_000_004L)
+                                    .numberList(NUMBERS)
+                                    .child(new NestedLevel5.Builder()
+                                            .text("Level 5")
+                                            .number(5_000_005L)
+                                            .numberList(NUMBERS)
+                                            .child(new NestedLevel6.Builder()
+                                                    .text("Level 6")
+                                                    .number(6_000_006L)
+                                                    .numberList(NUMBERS)
+                                                    .build())
+                                            .build())
+                                    .build())
+                            .build())
+                    .build())
+            .build();
+}
@@ -0,0 +1,23 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import org.junit.jupiter.api.Test;
+
+class CodecTest {
+
+    @Test
+    void toBytesWithScratchNeverSharesTheScratch() {
+        final TimestampTest first = new TimestampTest(1_000_003L, 7);
+        final TimestampTest second = new TimestampTest(9_999_999L, 123);
+        // an aliasing buffer returns views of its array from getBytes
+        final BufferedData scratch = BufferedData.wrapAliasing(new byte[64]);
+        final Bytes firstBytes = TimestampTest.PROTOBUF.toBytes(first, scratch);
+        final Bytes secondBytes = TimestampTest.PROTOBUF.toBytes(second, scratch);
+        assertEquals(TimestampTest.PROTOBUF.toBytes(first), firstBytes);
+        assertEquals(TimestampTest.PROTOBUF.toBytes(second), secondBytes);
+    }
+}
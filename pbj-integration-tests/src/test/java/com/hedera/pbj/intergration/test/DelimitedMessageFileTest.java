@@ -0,0 +1,116 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.pbj.runtime.DelimitedMessageFile;
+import com.hedera.pbj.runtime.MalformedProtobufException;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DelimitedMessageFileTest {
+    private static final int COUNT = 1000;
+
+    @TempDir
+    Path dir;
+
+    /** Write COUNT timestamps with protoc, so the delimited format is the standard one */
+    private Path writeFile(final List<TimestampTest> expected) throws IOException {
+        final Path file = dir.resolve("timestamps.bin");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < COUNT; i++) {
+                com.hedera.pbj.test.proto.java.TimestampTest.newBuilder()
+                        .setSeconds(i * 1_000_003L)
+                        .setNanos(i)
+                        .build()
+                        .writeDelimitedTo(out);
+                expected.add(new TimestampTest(i * 1_000_003L, i));
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void iterateInOrder() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final Path file = writeFile(expected);
+        try (DelimitedMessageFile<TimestampTest> messages = DelimitedMessageFile.open(file, TimestampTest.PROTOBUF)) {
+            final List<TimestampTest> read = new ArrayList<>();
+            messages.forEach(read::add);
+            assertEquals(expected, read);
+            assertEquals(expected, messages.stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void indexGivesRandomAccessAndParallelStreams() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final Path file = writeFile(expected);
+        final long[] offsets;
+        try (DelimitedMessageFile<TimestampTest> messages = DelimitedMessageFile.open(file, TimestampTest.PROTOBUF)) {
+            assertEquals(COUNT, messages.count());
+            assertEquals(expected.get(0), messages.get(0));
+            assertEquals(expected.get(567), messages.get(567));
+            assertEquals(expected.get(COUNT - 1), messages.get(COUNT - 1));
+            assertThrows(IndexOutOfBoundsException.class, () -> messages.get(COUNT));
+            assertEquals(expected, messages.stream().parallel().collect(Collectors.toList()));
+            offsets = messages.offsets();
+            assertEquals(COUNT + 1, offsets.length);
+            assertEquals(Files.size(file), offsets[COUNT]);
+        }
+        // a saved index is used as it is
+        try (DelimitedMessageFile<TimestampTest> messages =
+                DelimitedMessageFile.open(file, TimestampTest.PROTOBUF, offsets)) {
+            assertEquals(expected.get(COUNT / 2), messages.get(COUNT / 2));
+            assertArrayEquals(offsets, messages.offsets());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> DelimitedMessageFile.open(file, TimestampTest.PROTOBUF, new long[] {0, 10}));
+    }
+
+    @Test
+    void iteratorsKeepWorkingAfterClose() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final Path file = writeFile(expected);
+        final DelimitedMessageFile<TimestampTest> messages = DelimitedMessageFile.open(file, TimestampTest.PROTOBUF);
+        final Iterator<TimestampTest> iterator = messages.iterator();
+        assertEquals(expected.get(0), iterator.next());
+        messages.close();
+        assertEquals(expected.get(1), iterator.next());
+        assertThrows(IllegalStateException.class, messages::iterator);
+        assertThrows(IllegalStateException.class, () -> messages.get(0));
+        assertThrows(IllegalStateException.class, messages::data);
+    }
+
+    @Test
+    void emptyFile() throws IOException {
+        final Path file = Files.createFile(dir.resolve("empty.bin"));
+        try (DelimitedMessageFile<TimestampTest> messages = DelimitedMessageFile.open(file, TimestampTest.PROTOBUF)) {
+            assertFalse(messages.iterator().hasNext());
+            assertEquals(0, messages.count());
+            assertEquals(0, messages.data().length());
+        }
+    }
+
+    @Test
+    void truncatedFile() throws IOException {
+        final Path file = Files.write(dir.resolve("truncated.bin"), new byte[] {2, 0x08, 1, 4, 0x08, 1});
+        try (DelimitedMessageFile<TimestampTest> messages = DelimitedMessageFile.open(file, TimestampTest.PROTOBUF)) {
+            final Iterator<TimestampTest> iterator = messages.iterator();
+            assertEquals(new TimestampTest(1, 0), iterator.next());
+            assertThrows(RuntimeException.class, iterator::next);
+            assertThrows(MalformedProtobufException.class, messages::index);
+        }
+    }
+}
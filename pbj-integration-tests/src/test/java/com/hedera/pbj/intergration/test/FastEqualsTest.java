@@ -0,0 +1,82 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import java.io.IOException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that fastEquals agrees with equals on the parsed bytes for the floating point edge cases, -0.0 and NaN.
+ * Single fields are compared with {@code !=} by equals, lists, wrappers and oneofs by their bits.
+ */
+class FastEqualsTest {
+
+    /**
+     * Write {@code stored}, then check fastEquals of {@code item} with the bytes is the same as equals of it with
+     * the parsed bytes, and is the expected result
+     */
+    private static void assertFastEquals(final boolean expected, final Everything stored, final Everything item)
+            throws IOException {
+        final Bytes bytes = Everything.PROTOBUF.toBytes(stored);
+        assertEquals(expected, item.equals(Everything.PROTOBUF.parse(bytes.toReadableSequentialData())));
+        assertEquals(expected, Everything.PROTOBUF.fastEquals(item, bytes.toReadableSequentialData()));
+    }
+
+    @Test
+    void singleFields() throws IOException {
+        assertFastEquals(true,
+                Everything.newBuilder().floatNumber(0f).doubleNumber(0d).build(),
+                Everything.newBuilder().floatNumber(-0f).doubleNumber(-0d).build());
+        assertFastEquals(false,
+                Everything.newBuilder().floatNumber(Float.NaN).build(),
+                Everything.newBuilder().floatNumber(Float.NaN).build());
+        assertFastEquals(false,
+                Everything.newBuilder().doubleNumber(Double.NaN).build(),
+                Everything.newBuilder().doubleNumber(Double.NaN).build());
+    }
+
+    @Test
+    void repeatedFields() throws IOException {
+        assertFastEquals(false,
+                Everything.newBuilder().floatNumberList(List.of(1f, 0f)).build(),
+                Everything.newBuilder().floatNumberList(List.of(1f, -0f)).build());
+        assertFastEquals(true,
+                Everything.newBuilder().floatNumberList(List.of(Float.NaN)).build(),
+                Everything.newBuilder().floatNumberList(List.of(Float.NaN)).build());
+        assertFastEquals(false,
+                Everything.newBuilder().doubleNumberList(List.of(1d, 0d)).build(),
+                Everything.newBuilder().doubleNumberList(List.of(1d, -0d)).build());
+        assertFastEquals(true,
+                Everything.newBuilder().doubleNumberList(List.of(Double.NaN)).build(),
+                Everything.newBuilder().doubleNumberList(List.of(Double.NaN)).build());
+    }
+
+    @Test
+    void wrapperFields() throws IOException {
+        assertFastEquals(false,
+                Everything.newBuilder().floatBoxed(0f).build(),
+                Everything.newBuilder().floatBoxed(-0f).build());
+        assertFastEquals(true,
+                Everything.newBuilder().floatBoxed(Float.NaN).build(),
+                Everything.newBuilder().floatBoxed(Float.NaN).build());
+        assertFastEquals(false,
+                Everything.newBuilder().doubleBoxed(0d).build(),
+                Everything.newBuilder().doubleBoxed(-0d).build());
+        assertFastEquals(true,
+                Everything.newBuilder().doubleBoxed(Double.NaN).build(),
+                Everything.newBuilder().doubleBoxed(Double.NaN).build());
+    }
+
+    @Test
+    void oneOfFields() throws IOException {
+        assertFastEquals(false,
+                Everything.newBuilder().floatNumberOneOf(0f).build(),
+                Everything.newBuilder().floatNumberOneOf(-0f).build());
+        assertFastEquals(true,
+                Everything.newBuilder().doubleNumberOneOf(Double.NaN).build(),
+                Everything.newBuilder().doubleNumberOneOf(Double.NaN).build());
+    }
+}
@@ -1,11 +1,22 @@
 package com.hedera.pbj.intergration.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
+import com.hedera.pbj.runtime.ContentHash;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import org.junit.jupiter.api.Test;
 
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import com.hedera.pbj.test.proto.pbj.Hasheval;
+import com.hedera.pbj.test.proto.pbj.HashevalCached;
+import com.hedera.pbj.test.proto.pbj.Suit;
 import com.hedera.pbj.test.proto.pbj.TimestampTest;
 import com.hedera.pbj.test.proto.pbj.TimestampTest2;
 
@@ -89,4 +100,69 @@ class HashEqualsTest {
 
         assertNotEquals(tst.hashCode(), tst2.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void digestIsOfSerializedBytes() throws NoSuchAlgorithmException {
+        final byte[] expected = MessageDigest.getInstance("SHA-384")
+                .digest(Everything.PROTOBUF.toBytes(EverythingTestData.EVERYTHING).toByteArray());
+        final MessageDigest digest = MessageDigest.getInstance("SHA-384");
+        assertArrayEquals(expected, Everything.PROTOBUF.digest(EverythingTestData.EVERYTHING, digest));
+        // the digest was reset, so it can be used again
+        assertArrayEquals(expected, Everything.PROTOBUF.digest(EverythingTestData.EVERYTHING, digest));
+    }
+
+    @Test
+    void contentHashIsOfFieldValues() {
+        // fields with default values are not written, so they are not hashed either
+        assertEquals(ContentHash.finish(ContentHash.SEED), TimestampTest.DEFAULT.contentHash64());
+        assertEquals(TimestampTest.DEFAULT.contentHash64(), new TimestampTest2(0, 0, 0).contentHash64());
+        final long expected = ContentHash.finish(ContentHash.mix(ContentHash.mix(
+                ContentHash.mix(ContentHash.mix(ContentHash.SEED, 1), 1234), 2), 5678));
+        assertEquals(expected, new TimestampTest(1234, 5678).contentHash64());
+        assertEquals(expected, new TimestampTest2(1234, 5678, 0).contentHash64());
+        assertNotEquals(expected, new TimestampTest(5678, 1234).contentHash64());
+    }
+
+    @Test
+    void cachedHashCodeIsStable() throws IOException {
+        final Bytes bytes = Bytes.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, (byte) 255});
+        final Hasheval hasheval = new Hasheval(123, -123, 123, 123, -123, 1.23f, 123L, -123L, 123L, 123L, -123L,
+                1.23D, true, Suit.ACES, new TimestampTest(987L, 123), "FooBar\u00e9", bytes);
+        final HashevalCached cached = new HashevalCached(123, -123, 123, 123, -123, 1.23f, 123L, -123L, 123L, 123L,
+                -123L, 1.23D, true, Suit.ACES, new TimestampTest(987L, 123), "FooBar\u00e9", bytes);
+        // the cached hash code is the one computed without caching
+        assertEquals(hasheval.hashCode(), cached.hashCode());
+        assertEquals(Hasheval.DEFAULT.hashCode(), HashevalCached.DEFAULT.hashCode());
+
+        final HashevalCached parsed =
+                HashevalCached.PROTOBUF.parse(HashevalCached.PROTOBUF.toBytes(cached).toReadableSequentialData());
+        final HashevalCached copied = cached.copyBuilder().build();
+        final HashevalCached rebuilt = cached.copyBuilder().enumSuit(Suit.SPADES).enumSuit(Suit.ACES).build();
+        for (final HashevalCached equal : new HashevalCached[] {parsed, copied, rebuilt}) {
+            assertEquals(cached, equal);
+            assertEquals(equal, cached);
+            assertEquals(cached.hashCode(), equal.hashCode());
+        }
+
+        final HashevalCached changed = cached.copyBuilder().enumSuit(Suit.SPADES).build();
+        assertNotEquals(cached, changed);
+        assertNotEquals(changed, cached);
+        assertNotEquals(cached, cached.copyBuilder().text("FooBar").build());
+        assertNotEquals(cached, HashevalCached.DEFAULT);
+        assertEquals(changed.hashCode(), hasheval.copyBuilder().enumSuit(Suit.SPADES).build().hashCode());
+    }
+
+    @Test
+    void cachedContentHashIsTheSameAsComputed() throws IOException {
+        final Bytes bytes = Bytes.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, (byte) 255});
+        final Hasheval hasheval = new Hasheval(123, -123, 123, 123, -123, 1.23f, 123L, -123L, 123L, 123L, -123L,
+                1.23D, true, Suit.ACES, new TimestampTest(987L, 123), "FooBar\u00e9", bytes);
+        final HashevalCached cached = new HashevalCached(123, -123, 123, 123, -123, 1.23f, 123L, -123L, 123L, 123L,
+                -123L, 1.23D, true, Suit.ACES, new TimestampTest(987L, 123), "FooBar\u00e9", bytes);
+        assertEquals(hasheval.contentHash64(), cached.contentHash64());
+        assertEquals(hasheval.contentHash64(), Hasheval.PROTOBUF.parse(
+                Hasheval.PROTOBUF.toBytes(hasheval).toReadableSequentialData()).contentHash64());
+        assertEquals(Hasheval.DEFAULT.contentHash64(), HashevalCached.DEFAULT.contentHash64());
+        assertNotEquals(cached.contentHash64(), cached.copyBuilder().enumSuit(Suit.SPADES).build().contentHash64());
+    }
+}
@@ -0,0 +1,124 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.MalformedProtobufException;
+import com.hedera.pbj.runtime.OneOf;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import com.hedera.pbj.test.proto.pbj.Envelope;
+import com.hedera.pbj.test.proto.pbj.LazyEnvelope;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import com.hedera.pbj.test.proto.pbj.TimestampTest2;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LazySubMessagesTest {
+    private static final Envelope ENVELOPE = new Envelope(42, "transfer", new TimestampTest(1234, 5678),
+            EverythingTestData.EVERYTHING);
+
+    @Test
+    void subMessagesAreNotParsedUntilAccessed() throws Exception {
+        final Bytes bytes = Envelope.PROTOBUF.toBytes(ENVELOPE);
+        final LazyEnvelope lazy = LazyEnvelope.PROTOBUF.parse(bytes.toReadableSequentialData());
+        assertEquals(42, lazy.id());
+        assertEquals("transfer", lazy.kind());
+        assertFalse(lazy.$body().isParsed());
+        assertFalse(lazy.$timestamp().isParsed());
+        // comparing with identical bytes, copying and writing do not need to parse
+        final LazyEnvelope other = LazyEnvelope.PROTOBUF.parse(bytes.toReadableSequentialData());
+        assertEquals(lazy, other);
+        assertEquals(bytes, LazyEnvelope.PROTOBUF.toBytes(lazy));
+        final LazyEnvelope copy = lazy.copyBuilder().id(43).build();
+        assertEquals(43, copy.id());
+        assertFalse(lazy.$body().isParsed());
+        assertFalse(copy.$body().isParsed());
+        // accessing parses
+        assertEquals(EverythingTestData.EVERYTHING, lazy.body());
+        assertTrue(lazy.$body().isParsed());
+        assertEquals(new TimestampTest(1234, 5678), lazy.timestamp());
+        assertEquals(lazy.hashCode(), other.hashCode());
+        assertEquals(lazy.contentHash64(), other.contentHash64());
+    }
+
+    @Test
+    void differentEncodingsOfEqualSubMessagesAreEqual() throws Exception {
+        // the timestamp with its fields in reverse order, which is valid but not the canonical encoding
+        final Bytes bytes = Bytes.wrap(new byte[] {(3 << 3) | 2, 4, (2 << 3), 2, (1 << 3), 1});
+        final LazyEnvelope reversed = LazyEnvelope.PROTOBUF.parse(bytes.toReadableSequentialData());
+        final LazyEnvelope built = LazyEnvelope.newBuilder().timestamp(new TimestampTest(1, 2)).build();
+        assertEquals(built, reversed);
+        assertEquals(built.hashCode(), reversed.hashCode());
+        assertEquals(built.contentHash64(), reversed.contentHash64());
+        assertTrue(LazyEnvelope.PROTOBUF.fastEquals(built, bytes.toReadableSequentialData()));
+        // bytes parsed from are still written back verbatim
+        assertEquals(bytes, LazyEnvelope.PROTOBUF.toBytes(reversed));
+    }
+
+    @Test
+    void nullSubMessagesCanBePassedToTheConstructor() {
+        final LazyEnvelope envelope = new LazyEnvelope(1, "", null, null, List.of(),
+                new OneOf<>(LazyEnvelope.ExtraOneOfType.UNSET, null));
+        assertNull(envelope.timestamp());
+        assertEquals(LazyEnvelope.newBuilder().id(1).build(), envelope);
+    }
+
+    @Test
+    void lengthPastTheEndIsRejected() {
+        final Bytes bytes = Bytes.wrap(new byte[] {(3 << 3) | 2, 10, (1 << 3), 1});
+        assertThrows(MalformedProtobufException.class,
+                () -> LazyEnvelope.PROTOBUF.parse(bytes.toReadableSequentialData()));
+        assertThrows(MalformedProtobufException.class,
+                () -> LazyEnvelope.PROTOBUF.parseStrict(bytes.toReadableSequentialData()));
+    }
+
+    @Test
+    void parsedAndBuiltAreEqual() throws Exception {
+        final LazyEnvelope built = LazyEnvelope.newBuilder()
+                .id(42)
+                .kind("transfer")
+                .timestamp(new TimestampTest(1234, 5678))
+                .body(EverythingTestData.EVERYTHING)
+                .build();
+        final LazyEnvelope parsed = LazyEnvelope.PROTOBUF.parse(
+                Envelope.PROTOBUF.toBytes(ENVELOPE).toReadableSequentialData());
+        assertEquals(built, parsed);
+        assertEquals(built.hashCode(), parsed.hashCode());
+        assertEquals(built.contentHash64(), parsed.contentHash64());
+        assertEquals(built.toString(), parsed.toString());
+        assertEquals(Envelope.PROTOBUF.toBytes(ENVELOPE), LazyEnvelope.PROTOBUF.toBytes(built));
+        assertNotEquals(built, built.copyBuilder().timestamp(new TimestampTest(1, 2)).build());
+    }
+
+    @Test
+    void unsetSubMessagesAreNull() throws Exception {
+        final LazyEnvelope lazy = LazyEnvelope.PROTOBUF.parse(
+                Envelope.PROTOBUF.toBytes(new Envelope(7, "", null, null)).toReadableSequentialData());
+        assertNull(lazy.$body());
+        assertNull(lazy.body());
+        assertFalse(lazy.hasBody());
+        assertEquals(LazyEnvelope.newBuilder().id(7).build(), lazy);
+    }
+
+    @Test
+    void unknownFieldsInSubMessagesAreWrittenBack() throws Exception {
+        // a newer version of the timestamp with an extra field, written as field 3 of the envelope
+        final Bytes timestamp = TimestampTest2.PROTOBUF.toBytes(new TimestampTest2(1, 2, 3));
+        final BufferedData data = BufferedData.allocate((int) timestamp.length() + 2);
+        data.writeVarInt((3 << 3) | 2, false);
+        data.writeVarInt((int) timestamp.length(), false);
+        data.writeBytes(timestamp);
+        data.flip();
+        final Bytes bytes = data.readBytes((int) data.remaining());
+
+        final LazyEnvelope lazy = LazyEnvelope.PROTOBUF.parse(bytes.toReadableSequentialData());
+        assertEquals(new TimestampTest(1, 2), lazy.timestamp());
+        assertEquals(bytes, LazyEnvelope.PROTOBUF.toBytes(lazy));
+    }
+}
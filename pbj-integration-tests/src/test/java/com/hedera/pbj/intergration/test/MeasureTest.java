@@ -0,0 +1,57 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.pbj.integration.EverythingTestData;
+import com.hedera.pbj.runtime.MalformedProtobufException;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.test.proto.pbj.Everything;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class MeasureTest {
+
+    @Test
+    void measureMatchesWrittenSize() throws IOException {
+        final byte[] bytes = Everything.PROTOBUF.toBytes(EverythingTestData.EVERYTHING).toByteArray();
+        final BufferedData data = BufferedData.wrap(bytes);
+        assertEquals(bytes.length, Everything.PROTOBUF.measure(data));
+        assertEquals(bytes.length, data.position());
+    }
+
+    @Test
+    void measureManyFindsDelimitedBoundaries() throws IOException {
+        // written by protoc, so the delimited format is the standard one
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final long[] expected = new long[4];
+        for (int i = 0; i < 3; i++) {
+            com.hedera.pbj.test.proto.java.TimestampTest.newBuilder()
+                    .setSeconds(i * 1_000_000L)
+                    .setNanos(i)
+                    .build()
+                    .writeDelimitedTo(out);
+            expected[i + 1] = out.size();
+        }
+        final BufferedData data = BufferedData.wrap(out.toByteArray());
+        final long[] boundaries = new long[4];
+        assertEquals(3, TimestampTest.PROTOBUF.measureMany(data, boundaries));
+        assertArrayEquals(expected, boundaries);
+        assertEquals(out.size(), data.position());
+
+        // stops when the boundaries array is full
+        data.reset();
+        assertEquals(2, TimestampTest.PROTOBUF.measureMany(data, new long[3]));
+        assertEquals(expected[2], data.position());
+    }
+
+    @Test
+    void measureManyRejectsTruncatedItem() {
+        final BufferedData data = BufferedData.wrap(new byte[] {4, 0x08, 1});
+        assertThrows(MalformedProtobufException.class,
+                () -> TimestampTest.PROTOBUF.measureMany(data, new long[2]));
+    }
+}
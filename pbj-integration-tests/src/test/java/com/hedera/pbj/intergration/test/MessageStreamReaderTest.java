@@ -0,0 +1,179 @@
+package com.hedera.pbj.intergration.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.hedera.pbj.runtime.MalformedProtobufException;
+import com.hedera.pbj.runtime.MessageStreamReader;
+import com.hedera.pbj.runtime.io.ReadableSequentialData;
+import com.hedera.pbj.runtime.io.buffer.BufferedData;
+import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
+import com.hedera.pbj.test.proto.pbj.TimestampTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MessageStreamReaderTest {
+    private static final int COUNT = 1000;
+
+    /** Write COUNT timestamps with protoc, so the delimited format is the standard one */
+    private static byte[] writeDelimited(final List<TimestampTest> expected) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < COUNT; i++) {
+            com.hedera.pbj.test.proto.java.TimestampTest.newBuilder()
+                    .setSeconds(i * 1_000_003L)
+                    .setNanos(i)
+                    .build()
+                    .writeDelimitedTo(out);
+            expected.add(new TimestampTest(i * 1_000_003L, i));
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void writeAndParseDelimitedMatchProtoc() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final byte[] bytes = writeDelimited(expected);
+        final BufferedData written = BufferedData.allocate(bytes.length);
+        for (TimestampTest timestamp : expected) {
+            TimestampTest.PROTOBUF.writeDelimited(timestamp, written);
+        }
+        assertEquals(bytes.length, written.position());
+        written.flip();
+        assertEquals(BufferedData.wrap(bytes), written);
+
+        final BufferedData input = BufferedData.wrap(bytes);
+        for (TimestampTest timestamp : expected) {
+            assertEquals(timestamp, TimestampTest.PROTOBUF.parseDelimited(input));
+        }
+        assertFalse(input.hasRemaining());
+        assertEquals(bytes.length, input.limit());
+    }
+
+    @Test
+    void readSequentially() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final byte[] bytes = writeDelimited(expected);
+        assertEquals(expected, read(new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF)));
+        // a stream only finds its end when reading the next length
+        final ReadableSequentialData stream = new ReadableStreamingData(new ByteArrayInputStream(bytes));
+        assertEquals(expected, new MessageStreamReader<>(stream, TimestampTest.PROTOBUF)
+                .stream()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void readInParallelKeepsOrder() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final byte[] bytes = writeDelimited(expected);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int batchSize : new int[] {1, 7, 64, COUNT * 2}) {
+                final ReadableSequentialData stream = new ReadableStreamingData(new ByteArrayInputStream(bytes));
+                final var reader = new MessageStreamReader<>(stream, TimestampTest.PROTOBUF, pool, batchSize);
+                assertEquals(expected, read(reader));
+            }
+            assertThrows(IllegalArgumentException.class,
+                    () -> new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF, pool, 0));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void emptyInput() {
+        final Iterator<TimestampTest> reader =
+                new MessageStreamReader<>(BufferedData.EMPTY_BUFFER, TimestampTest.PROTOBUF);
+        assertFalse(reader.hasNext());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    @Test
+    void truncatedInput() {
+        final byte[] bytes = {2, 0x08, 1, 4, 0x08, 1};
+        final Iterator<TimestampTest> reader =
+                new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF);
+        assertEquals(new TimestampTest(1, 0), reader.next());
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::next);
+        assertEquals(MalformedProtobufException.class, e.getCause().getClass());
+
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final Iterator<TimestampTest> parallel =
+                new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF, pool, 10);
+        assertEquals(new TimestampTest(1, 0), parallel.next());
+        assertThrows(UncheckedIOException.class, parallel::hasNext);
+        assertThrows(MalformedProtobufException.class,
+                () -> TimestampTest.PROTOBUF.parseDelimited(BufferedData.wrap(new byte[] {4, 0x08, 1})));
+    }
+
+    @Test
+    void lengthsOverTheMaxMessageSizeAreRejected() {
+        // a length of 0x7FFFFFF0, then far fewer bytes, read from a stream that does not know its own length
+        final byte[] huge = {(byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0x08, 1};
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final Iterator<TimestampTest> parallel = new MessageStreamReader<>(
+                new ReadableStreamingData(new ByteArrayInputStream(huge)), TimestampTest.PROTOBUF, pool, 10);
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, parallel::hasNext);
+        assertEquals(MalformedProtobufException.class, e.getCause().getClass());
+
+        final byte[] bytes = {2, 0x08, 1, 4, 0x08, 1, 0x10, 1};
+        final Iterator<TimestampTest> reader =
+                new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF, 3);
+        assertEquals(new TimestampTest(1, 0), reader.next());
+        assertThrows(UncheckedIOException.class, reader::next);
+        assertEquals(List.of(new TimestampTest(1, 0), new TimestampTest(1, 1)),
+                read(new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF, pool, 10, 4)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF, -1));
+    }
+
+    @Test
+    void badLengthIsThrownAfterTheMessagesBeforeIt() throws IOException {
+        final List<TimestampTest> expected = new ArrayList<>();
+        final byte[] valid = writeDelimited(expected);
+        // a length of 0x7FFFFFF0, over the max message size, then a message that must never be read
+        final byte[] bad = {(byte) 0xF0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 2, 0x08, 1};
+        final byte[] bytes = Arrays.copyOf(valid, valid.length + bad.length);
+        System.arraycopy(bad, 0, bytes, valid.length, bad.length);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int batchSize : new int[] {1, 7, COUNT * 2}) {
+                final var reader = new MessageStreamReader<>(
+                        new ReadableStreamingData(new ByteArrayInputStream(bytes)), TimestampTest.PROTOBUF, pool,
+                        batchSize);
+                assertBadLengthAfter(expected, reader);
+            }
+            assertBadLengthAfter(expected, new MessageStreamReader<>(BufferedData.wrap(bytes), TimestampTest.PROTOBUF));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Check the reader returns the expected messages, then throws the same error for every later call */
+    private static void assertBadLengthAfter(final List<TimestampTest> expected, final Iterator<TimestampTest> reader) {
+        for (TimestampTest timestamp : expected) {
+            assertEquals(timestamp, reader.next());
+        }
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, reader::hasNext);
+        assertEquals(MalformedProtobufException.class, e.getCause().getClass());
+        assertSame(e.getCause(), assertThrows(UncheckedIOException.class, reader::next).getCause());
+        assertSame(e.getCause(), assertThrows(UncheckedIOException.class, reader::hasNext).getCause());
+    }
+
+    private static List<TimestampTest> read(final Iterator<TimestampTest> reader) {
+        final List<TimestampTest> read = new ArrayList<>();
+        reader.forEachRemaining(read::add);
+        return read;
+    }
+}
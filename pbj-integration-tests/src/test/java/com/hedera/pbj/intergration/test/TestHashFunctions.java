@@ -22,6 +22,17 @@ public final class TestHashFunctions {
         }
     }
 
+    /** The same hash as {@link #hash1(Hasheval)}, with the object written straight into the digest */
+    public static int hash3(Hasheval hashEval) {
+        try {
+            byte[] hash = Hasheval.PROTOBUF.digest(hashEval, MessageDigest.getInstance("SHA-256"));
+            int res = hash[0] << 24 | hash[1] << 16 | hash[2] << 8 | hash[3];
+            return processForBetterDistribution(res);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static int hash2(Hasheval hashEval) {
         if (hashEval == null) return 0;
 